@@ -2,6 +2,7 @@ package com.aksi.config;
 
 import java.util.Map;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import org.slf4j.MDC;
 import org.springframework.context.annotation.Bean;
@@ -44,6 +45,59 @@ public class AsyncConfig implements AsyncConfigurer {
         return executor;
     }
 
+    /**
+     * CPU-bound receipt rendering (batch printing), one thread per core.
+     */
+    @Bean(name = "receiptRenderExecutor")
+    public ThreadPoolTaskExecutor receiptRenderExecutor() {
+        int cores = Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(cores);
+        executor.setMaxPoolSize(cores);
+        executor.setQueueCapacity(Integer.MAX_VALUE);
+        executor.setThreadNamePrefix("receipt-render-");
+        executor.setTaskDecorator(mdcTaskDecorator());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * CPU-bound price matrix rows of the games calculator, one thread per core. The queue is
+     * bounded; once it is full the requesting thread prices the row itself, which slows callers
+     * down instead of queueing without limit.
+     */
+    @Bean(name = "priceMatrixExecutor")
+    public ThreadPoolTaskExecutor priceMatrixExecutor() {
+        int cores = Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(cores);
+        executor.setMaxPoolSize(cores);
+        executor.setQueueCapacity(cores * 64);
+        executor.setThreadNamePrefix("price-matrix-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setTaskDecorator(mdcTaskDecorator());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Thumbnail and preview generation after photo uploads. Bounded so that a burst of uploads
+     * cannot pile up decoded images; tasks that do not fit are dropped and the derivatives are
+     * generated on first request instead.
+     */
+    @Bean(name = "imageDerivativeExecutor")
+    public ThreadPoolTaskExecutor imageDerivativeExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(200);
+        executor.setThreadNamePrefix("image-derivative-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        executor.setTaskDecorator(mdcTaskDecorator());
+        executor.initialize();
+        return executor;
+    }
+
     /**
      * Default async executor with MDC support.
      */
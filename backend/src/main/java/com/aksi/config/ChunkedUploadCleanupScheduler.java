@@ -0,0 +1,31 @@
+package com.aksi.config;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.aksi.service.storage.upload.ChunkedUploadService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/** Scheduled task for discarding abandoned resumable uploads */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChunkedUploadCleanupScheduler {
+
+  private final ChunkedUploadService chunkedUploadService;
+
+  /** Purge expired upload sessions every 10 minutes */
+  @Scheduled(fixedDelay = 600000) // 10 minutes in milliseconds
+  public void purgeExpiredSessions() {
+    try {
+      int purged = chunkedUploadService.purgeExpired();
+      if (purged > 0) {
+        log.info("Purged {} expired upload sessions", purged);
+      }
+    } catch (Exception e) {
+      log.error("Error during upload session cleanup", e);
+    }
+  }
+}
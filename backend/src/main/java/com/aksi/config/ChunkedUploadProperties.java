@@ -0,0 +1,25 @@
+package com.aksi.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import lombok.Data;
+
+/** Configuration properties for resumable chunked uploads of photos from branch tablets */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.chunked-upload")
+public class ChunkedUploadProperties {
+
+  /** Size of every chunk but the last; a dropped connection costs at most one chunk */
+  private DataSize chunkSize = DataSize.ofMegabytes(1);
+
+  /** Sessions without a chunk for this long are discarded with their partial file */
+  private Duration sessionTtl = Duration.ofHours(24);
+
+  /** Upper bound of open sessions, each reserving up to the maximum file size on disk */
+  private int maxSessions = 200;
+}
@@ -0,0 +1,59 @@
+package com.aksi.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/** Configuration properties for the garbage collector of files nothing references */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.file-gc")
+public class FileGcProperties {
+
+  /** What happens to an orphaned file */
+  public enum Action {
+    /** Only count and log orphans */
+    REPORT,
+    /** Move orphans below the quarantine directory, deleted after the retention period */
+    QUARANTINE,
+    /** Delete orphans right away */
+    DELETE
+  }
+
+  /** Run the scheduled collector */
+  private boolean enabled = true;
+
+  /** Storage directories searched for orphans; other directories are never touched */
+  private List<String> directories = List.of("orders", "cas");
+
+  /** Files modified more recently than this are never orphans, whatever the database says */
+  private Duration gracePeriod = Duration.ofDays(7);
+
+  /** What the scheduled run does with orphans */
+  private Action action = Action.QUARANTINE;
+
+  /** Storage directory receiving quarantined files */
+  private String quarantineDirectory = "quarantine";
+
+  /** How long quarantined files are kept before they are deleted */
+  private Duration quarantineRetention = Duration.ofDays(30);
+
+  /** Storage partitions walked at the same time */
+  private int parallelism = 4;
+
+  /** Files checked against the database per query */
+  private int batchSize = 500;
+
+  /** Files moved or deleted per second across all walkers, so that serving stays responsive */
+  private int maxOperationsPerSecond = 50;
+
+  /** Redis lease letting only one instance collect at a time */
+  private String leaseKey = "aksi:file-gc:lease";
+
+  /** Lease time-to-live, an upper bound of one run; released as soon as the run ends */
+  private Duration leaseTtl = Duration.ofHours(6);
+}
@@ -0,0 +1,30 @@
+package com.aksi.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/** Configuration properties for the integrity scrubber of content-addressed file storage */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.file-scrub")
+public class FileScrubProperties {
+
+  /** Run the scheduled scrubber */
+  private boolean enabled = true;
+
+  /** Files re-hashed per run, least recently verified first */
+  private int verifyBatchSize = 500;
+
+  /** Unreferenced files deleted per run */
+  private int purgeBatchSize = 500;
+
+  /** How long content stays on disk after its last reference was released */
+  private Duration unreferencedGracePeriod = Duration.ofHours(24);
+
+  /** Upload temp files older than this are left over from a crash */
+  private Duration tempFileMaxAge = Duration.ofHours(6);
+}
@@ -0,0 +1,31 @@
+package com.aksi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/** Configuration properties for precomputed level-to-level prices of game price configurations */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.game-price-tables")
+public class GamePriceTableProperties {
+
+  /** Materialize price tables; otherwise every price runs its calculation strategy */
+  private boolean enabled = true;
+
+  /** Largest level space materialized; a table holds maxLevels * (maxLevels + 1) / 2 prices */
+  private int maxLevels = 200;
+
+  /** Highest level tabulated for formulas without level bounds of their own (all but RANGE) */
+  private int defaultMaxLevel = 100;
+
+  /** Price configurations whose tables are kept in memory */
+  private int maxTables = 256;
+
+  /** Price matrices kept in memory; each is reused while its catalog version is unchanged */
+  private int maxMatrices = 64;
+
+  /** Largest price matrix (service types * difficulty levels * level jumps) one request may ask for */
+  private int maxMatrixCells = 10_000;
+}
@@ -0,0 +1,28 @@
+package com.aksi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/** Configuration properties for downscaled copies (thumbnails, previews) of uploaded photos */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.image-derivatives")
+public class ImageDerivativeProperties {
+
+  /** Generate derivatives in the background right after upload; otherwise only on first request */
+  private boolean eager = true;
+
+  /** Longest side of thumbnails in pixels (order lists, item cards) */
+  private int thumbnailSize = 240;
+
+  /** Longest side of previews in pixels (photo viewer) */
+  private int previewSize = 1280;
+
+  /** JPEG quality between 0 and 1 */
+  private float quality = 0.8f;
+
+  /** Images decoded at the same time, background and on-request together; bounds heap use */
+  private int maxConcurrent = 2;
+}
@@ -0,0 +1,36 @@
+package com.aksi.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/** Configuration properties for order partition maintenance and the compressed order archive */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.order-archive")
+public class OrderArchiveProperties {
+
+  /** Move old, completed and fully paid orders into archive files */
+  private boolean enabled = false;
+
+  /** Directory holding archive files */
+  private String directory = "./archive/orders";
+
+  /** Minimum order age (by creation time) before it is archived */
+  private Duration minAge = Duration.ofDays(365);
+
+  /** Orders written per archive file */
+  private int batchSize = 200;
+
+  /** Upper bound of archive files written in one run */
+  private int maxBatchesPerRun = 50;
+
+  /** Monthly order partitions kept created ahead of the current month */
+  private int partitionsAhead = 3;
+
+  /** Drop monthly partitions older than the archive cutoff once they are empty */
+  private boolean dropEmptyPartitions = true;
+}
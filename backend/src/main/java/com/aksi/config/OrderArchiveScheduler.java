@@ -0,0 +1,67 @@
+package com.aksi.config;
+
+import java.time.Instant;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.aksi.service.order.archive.OrderArchiveService;
+import com.aksi.service.order.archive.OrderPartitionManager;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/** Scheduled tasks for order partition maintenance and archiving */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderArchiveScheduler {
+
+  private final OrderPartitionManager partitionManager;
+  private final OrderArchiveService archiveService;
+  private final OrderArchiveProperties properties;
+
+  /** Make sure upcoming monthly partitions exist on startup */
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    maintainPartitions();
+  }
+
+  /** Create upcoming monthly partitions every day */
+  @Scheduled(cron = "${app.order-archive.partition-cron:0 0 2 * * *}")
+  public void maintainPartitions() {
+    try {
+      if (partitionManager.isPartitioned()) {
+        partitionManager.ensureFuturePartitions();
+      }
+    } catch (Exception e) {
+      log.error("Error during orders partition maintenance", e);
+    }
+  }
+
+  /** Archive old orders every night, then drop emptied partitions */
+  @Scheduled(cron = "${app.order-archive.cron:0 30 3 * * *}")
+  public void archiveOrders() {
+    if (!properties.isEnabled()) {
+      return;
+    }
+    log.info("Starting order archiving");
+    try {
+      int archived = archiveService.archiveEligibleOrders();
+      int dropped = 0;
+      if (properties.isDropEmptyPartitions() && partitionManager.isPartitioned()) {
+        dropped =
+            partitionManager.dropEmptyPartitionsBefore(
+                Instant.now().minus(properties.getMinAge()));
+      }
+      log.info(
+          "Completed order archiving. Archived {} orders, dropped {} partitions",
+          archived,
+          dropped);
+    } catch (Exception e) {
+      log.error("Error during order archiving", e);
+    }
+  }
+}
@@ -0,0 +1,36 @@
+package com.aksi.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/** Configuration properties for in-memory order deadline tracking (due-soon / overdue) */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.order-deadlines")
+public class OrderDeadlineProperties {
+
+  /** Enable timing-wheel tracking; when disabled due/overdue lists fall back to range queries */
+  private boolean enabled = true;
+
+  /** Timing wheel tick, also the delay between scheduler runs */
+  private Duration tick = Duration.ofSeconds(1);
+
+  /** How long before the expected completion date an order is considered due soon */
+  private Duration dueSoonWindow = Duration.ofHours(24);
+
+  /** Full reload interval, a safety net for changes missed from other instances */
+  private Duration resyncInterval = Duration.ofMinutes(15);
+
+  /** Redis pub/sub channel on which instances share committed status changes */
+  private String syncChannel = "aksi:order-deadlines:changes";
+
+  /** Redis lease used to elect the single instance that publishes deadline events */
+  private String leaseKey = "aksi:order-deadlines:lease";
+
+  /** Lease time-to-live, renewed every third of it */
+  private Duration leaseTtl = Duration.ofSeconds(30);
+}
@@ -0,0 +1,52 @@
+package com.aksi.config;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.aksi.service.order.OrderPaymentReconciliationService;
+import com.aksi.util.RedisLease;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Scheduled verification of stored order payment totals against the payment ledger. The cron fires
+ * on every instance; a Redis lease lets only one of them run the reconciliation.
+ */
+@Slf4j
+@Component
+public class OrderPaymentReconciliationScheduler {
+
+  private final OrderPaymentReconciliationService reconciliationService;
+  private final OrderReconciliationProperties properties;
+  private final RedisLease lease;
+
+  public OrderPaymentReconciliationScheduler(
+      OrderPaymentReconciliationService reconciliationService,
+      OrderReconciliationProperties properties,
+      StringRedisTemplate redisTemplate) {
+    this.reconciliationService = reconciliationService;
+    this.properties = properties;
+    this.lease = new RedisLease(redisTemplate, properties.getLeaseKey(), properties.getLeaseTtl());
+  }
+
+  /** Reconcile payment totals every night */
+  @Scheduled(cron = "${app.order-reconciliation.cron:0 0 4 * * *}")
+  public void reconcilePaymentTotals() {
+    if (!properties.isEnabled()) {
+      return;
+    }
+    if (!lease.tryAcquire()) {
+      log.info("Order payment totals reconciliation runs on another instance, skipping");
+      return;
+    }
+    log.info("Starting order payment totals reconciliation");
+    try {
+      reconciliationService.reconcile();
+    } catch (Exception e) {
+      log.error("Error during order payment totals reconciliation", e);
+    } finally {
+      lease.release();
+    }
+  }
+}
@@ -0,0 +1,33 @@
+package com.aksi.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/** Configuration properties for reconciling stored order payment totals with the payment ledger */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.order-reconciliation")
+public class OrderReconciliationProperties {
+
+  /** Run the scheduled reconciliation */
+  private boolean enabled = true;
+
+  /** Orders verified by one query */
+  private int chunkSize = 1000;
+
+  /** Chunks verified concurrently */
+  private int parallelism = 4;
+
+  /** Overwrite mismatching totals with the ledger sum (otherwise only report) */
+  private boolean repair = true;
+
+  /** Redis lease letting only one instance run a reconciliation */
+  private String leaseKey = "aksi:order-reconciliation:lease";
+
+  /** Lease time-to-live, an upper bound of one run; released as soon as the run ends */
+  private Duration leaseTtl = Duration.ofHours(1);
+}
@@ -0,0 +1,38 @@
+package com.aksi.config;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.aksi.exception.ConflictException;
+import com.aksi.service.storage.OrphanFileCollector;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Scheduled collection of stored files nothing references. The cron fires on every instance; the
+ * collector's Redis lease lets only one of them run.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrphanFileGcScheduler {
+
+  private final OrphanFileCollector collector;
+  private final FileGcProperties properties;
+
+  /** Collect orphaned files every night */
+  @Scheduled(cron = "${app.file-gc.cron:0 45 3 * * *}")
+  public void collectOrphanedFiles() {
+    if (!properties.isEnabled()) {
+      return;
+    }
+    try {
+      collector.collect(properties.getAction());
+    } catch (ConflictException e) {
+      log.info("Orphaned file collection runs on another instance, skipping");
+    } catch (Exception e) {
+      log.error("Error during orphaned file collection", e);
+    }
+  }
+}
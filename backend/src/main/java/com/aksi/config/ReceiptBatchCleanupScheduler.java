@@ -0,0 +1,31 @@
+package com.aksi.config;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.aksi.service.receipt.batch.ReceiptBatchService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/** Scheduled task for deleting merged PDFs of finished receipt batches */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReceiptBatchCleanupScheduler {
+
+  private final ReceiptBatchService receiptBatchService;
+
+  /** Purge expired batches every 10 minutes */
+  @Scheduled(fixedDelay = 600000) // 10 minutes in milliseconds
+  public void purgeExpiredBatches() {
+    try {
+      int purged = receiptBatchService.purgeExpired();
+      if (purged > 0) {
+        log.info("Purged {} expired receipt batches", purged);
+      }
+    } catch (Exception e) {
+      log.error("Error during receipt batch cleanup", e);
+    }
+  }
+}
@@ -1,5 +1,8 @@
 package com.aksi.config;
 
+import java.time.Duration;
+import java.util.List;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
@@ -27,6 +30,18 @@ public class ReceiptConfiguration {
   // PDF layout configuration
   private LayoutConfig layout = new LayoutConfig();
 
+  // Rendered receipt cache
+  private CacheConfig cache = new CacheConfig();
+
+  // Batch printing
+  private BatchConfig batch = new BatchConfig();
+
+  // ESC/POS thermal printer output
+  private ThermalConfig thermal = new ThermalConfig();
+
+  // Declarative receipt templates
+  private TemplatesConfig templates = new TemplatesConfig();
+
   @Data
   public static class FontConfig {
     private String directory = "fonts/";
@@ -61,4 +76,39 @@ public class ReceiptConfiguration {
     private float contentStartY = 792f; // pageHeight - marginTop
     private float contentEndY = 50f; // marginBottom
   }
+
+  @Data
+  public static class CacheConfig {
+    private boolean enabled = true;
+    private String directory = "./cache/receipts";
+    private long maxBytes = 512L * 1024 * 1024; // disk budget
+    private long memoryMaxBytes = 32L * 1024 * 1024; // 0 disables the in-memory front
+    private boolean prerender = true; // render after order creation commits
+    private List<String> prerenderLocales = List.of("uk");
+  }
+
+  @Data
+  public static class BatchConfig {
+    private String directory = "./cache/receipt-batches";
+    private int maxOrders = 500;
+    private int chunkSize = 50; // orders loaded per set of queries
+    private Duration retention = Duration.ofHours(2); // merged PDFs are deleted afterwards
+    private Duration staleAfter = Duration.ofMinutes(5); // unfinished without progress: failed
+  }
+
+  @Data
+  public static class ThermalConfig {
+    private int columns = 48; // 80 mm paper, font A
+    private String charset = "windows-1251"; // covers Ukrainian letters incl. Ґ, Є, І, Ї
+    private int codePage = 46; // ESC t n for WPC1251 on Epson-compatible printers
+    private int feedLines = 4; // blank lines before the cut
+    private boolean cut = true;
+  }
+
+  @Data
+  public static class TemplatesConfig {
+    private String location = "classpath:receipt-templates/"; // *.yml, *.yaml and *.json files
+    private boolean hotReload = false; // poll the location and recompile changed templates
+    private Duration reloadInterval = Duration.ofSeconds(10);
+  }
 }
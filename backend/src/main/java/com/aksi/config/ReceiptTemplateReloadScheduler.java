@@ -0,0 +1,30 @@
+package com.aksi.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.aksi.service.receipt.pdf.ReceiptTemplateRegistry;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/** Scheduled task recompiling receipt templates whose files changed, enabled by hot-reload */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "receipt.templates", name = "hot-reload", havingValue = "true")
+public class ReceiptTemplateReloadScheduler {
+
+  private final ReceiptTemplateRegistry templateRegistry;
+
+  /** Poll the template location, every 10 seconds by default */
+  @Scheduled(fixedDelayString = "${receipt.templates.reload-interval:PT10S}")
+  public void reloadTemplates() {
+    try {
+      templateRegistry.reload();
+    } catch (Exception e) {
+      log.error("Error during receipt template reload", e);
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package com.aksi.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Redis pub/sub used to share state changes between application instances. Kept separate from the
+ * listener container of Spring Session so application channels do not compete with session events.
+ */
+@Configuration
+public class RedisMessagingConfig {
+
+  /** Listener container for application channels */
+  @Bean(name = "appRedisMessageListenerContainer")
+  public RedisMessageListenerContainer appRedisMessageListenerContainer(
+      RedisConnectionFactory connectionFactory) {
+    RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+    container.setConnectionFactory(connectionFactory);
+    return container;
+  }
+}
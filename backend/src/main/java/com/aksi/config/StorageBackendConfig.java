@@ -0,0 +1,81 @@
+package com.aksi.config;
+
+import java.net.URI;
+import java.nio.file.Paths;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import com.aksi.service.storage.backend.LocalStorageBackend;
+import com.aksi.service.storage.backend.S3StorageBackend;
+import com.aksi.service.storage.backend.StorageBackend;
+
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+
+/**
+ * Selects where stored file content lives: a directory on local disk (default) or an
+ * S3-compatible bucket shared by several application nodes. Uploads are staged under
+ * app.file-storage.upload-dir in either case.
+ */
+@Configuration
+@Slf4j
+public class StorageBackendConfig {
+
+  @Bean
+  @ConditionalOnProperty(name = "app.storage.backend", havingValue = "local", matchIfMissing = true)
+  public StorageBackend localStorageBackend(
+      @Value("${app.file-storage.upload-dir}") String uploadDir, StorageProperties properties) {
+    StorageProperties.Local local = properties.getLocal();
+    log.info(
+        "Storing files on local disk in {} ({} layout, fsync {})",
+        uploadDir,
+        local.getLayout(),
+        local.getFsync());
+    return new LocalStorageBackend(Paths.get(uploadDir), local.getLayout(), local.getFsync());
+  }
+
+  @Bean(destroyMethod = "close")
+  @ConditionalOnProperty(name = "app.storage.backend", havingValue = "s3")
+  public S3Client storageS3Client(StorageProperties properties) {
+    StorageProperties.S3 s3 = properties.getS3();
+    S3ClientBuilder builder =
+        S3Client.builder()
+            .region(Region.of(s3.getRegion()))
+            .forcePathStyle(s3.isPathStyleAccess())
+            .credentialsProvider(credentialsProvider(s3));
+    if (StringUtils.hasText(s3.getEndpoint())) {
+      builder.endpointOverride(URI.create(s3.getEndpoint()));
+    }
+    return builder.build();
+  }
+
+  @Bean
+  @ConditionalOnProperty(name = "app.storage.backend", havingValue = "s3")
+  public StorageBackend s3StorageBackend(S3Client storageS3Client, StorageProperties properties) {
+    StorageProperties.S3 s3 = properties.getS3();
+    if (!StringUtils.hasText(s3.getBucket())) {
+      throw new IllegalStateException("app.storage.s3.bucket is required for the s3 backend");
+    }
+    log.info("Storing files in S3 bucket {} ({})", s3.getBucket(), s3.getEndpoint());
+    return new S3StorageBackend(
+        storageS3Client, s3.getBucket(), s3.getKeyPrefix(), s3.getPartSize().toBytes());
+  }
+
+  private static AwsCredentialsProvider credentialsProvider(StorageProperties.S3 s3) {
+    if (StringUtils.hasText(s3.getAccessKey())) {
+      return StaticCredentialsProvider.create(
+          AwsBasicCredentials.create(s3.getAccessKey(), s3.getSecretKey()));
+    }
+    return DefaultCredentialsProvider.builder().build();
+  }
+}
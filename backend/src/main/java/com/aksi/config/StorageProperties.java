@@ -0,0 +1,59 @@
+package com.aksi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import com.aksi.service.storage.backend.LocalStorageBackend.FsyncPolicy;
+import com.aksi.service.storage.backend.LocalStorageBackend.Layout;
+
+import lombok.Data;
+
+/** Configuration properties selecting and tuning the backend that holds stored file content */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.storage")
+public class StorageProperties {
+
+  /** {@code local} (directory under app.file-storage.upload-dir) or {@code s3} */
+  private String backend = "local";
+
+  private Local local = new Local();
+
+  private S3 s3 = new S3();
+
+  @Data
+  public static class Local {
+
+    /** Directory layout; files written by the flat layout stay readable under the sharded one */
+    private Layout layout = Layout.SHARDED;
+
+    /** Durability of writes before an upload is acknowledged */
+    private FsyncPolicy fsync = FsyncPolicy.FILE;
+  }
+
+  @Data
+  public static class S3 {
+
+    /** Endpoint of an S3-compatible service such as MinIO; empty for AWS */
+    private String endpoint;
+
+    private String region = "us-east-1";
+
+    private String bucket;
+
+    /** Prefix of every object key, e.g. the environment name */
+    private String keyPrefix = "";
+
+    /** Static credentials; the default AWS provider chain is used when empty */
+    private String accessKey;
+
+    private String secretKey;
+
+    /** Path-style addressing, required by most S3-compatible services */
+    private boolean pathStyleAccess = true;
+
+    /** Files larger than this are uploaded in parts of this size (S3 minimum is 5 MB) */
+    private DataSize partSize = DataSize.ofMegabytes(8);
+  }
+}
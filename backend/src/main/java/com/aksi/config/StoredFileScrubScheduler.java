@@ -0,0 +1,32 @@
+package com.aksi.config;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.aksi.service.storage.StoredFileScrubber;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/** Scheduled integrity check and cleanup of content-addressed file storage */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StoredFileScrubScheduler {
+
+  private final StoredFileScrubber scrubber;
+  private final FileScrubProperties properties;
+
+  /** Scrub stored files every hour */
+  @Scheduled(cron = "${app.file-scrub.cron:0 15 * * * *}")
+  public void scrubStoredFiles() {
+    if (!properties.isEnabled()) {
+      return;
+    }
+    try {
+      scrubber.scrub();
+    } catch (Exception e) {
+      log.error("Error during stored file scrubbing", e);
+    }
+  }
+}
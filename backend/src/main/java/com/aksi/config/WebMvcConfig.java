@@ -0,0 +1,227 @@
+package com.aksi.config;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.ResourceHttpMessageConverter;
+import org.springframework.lang.NonNull;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.aksi.api.file.dto.ImageSize;
+import com.aksi.service.receipt.StreamingReceiptResource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/** Spring MVC customizations */
+@Configuration
+@RequiredArgsConstructor
+public class WebMvcConfig implements WebMvcConfigurer {
+
+  private final MeterRegistry meterRegistry;
+
+  /**
+   * Streaming receipts must win over the default resource converter, which buffers them; stored
+   * files go through sendfile where the container supports it, and plain text uploads are read as
+   * a stream
+   */
+  @Override
+  public void extendMessageConverters(@NonNull List<HttpMessageConverter<?>> converters) {
+    converters.addFirst(new SendfileResourceHttpMessageConverter());
+    converters.addFirst(new StreamingResourceHttpMessageConverter());
+    converters.addFirst(new StreamingReceiptHttpMessageConverter());
+  }
+
+  @Override
+  public void addInterceptors(@NonNull InterceptorRegistry registry) {
+    registry
+        .addInterceptor(new FileServingMetricsInterceptor(meterRegistry))
+        .addPathPatterns("/api/files/**");
+  }
+
+  /** Renders {@link StreamingReceiptResource} straight into the servlet output stream */
+  static class StreamingReceiptHttpMessageConverter
+      extends AbstractHttpMessageConverter<StreamingReceiptResource> {
+
+    StreamingReceiptHttpMessageConverter() {
+      super(MediaType.APPLICATION_PDF, MediaType.APPLICATION_OCTET_STREAM, MediaType.ALL);
+    }
+
+    @Override
+    protected boolean supports(@NonNull Class<?> clazz) {
+      return StreamingReceiptResource.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(@NonNull Class<?> clazz, MediaType mediaType) {
+      return false;
+    }
+
+    @Override
+    protected @NonNull StreamingReceiptResource readInternal(
+        @NonNull Class<? extends StreamingReceiptResource> clazz,
+        @NonNull HttpInputMessage inputMessage) {
+      throw new HttpMessageNotReadableException(
+          "Streaming receipts are write-only", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(
+        @NonNull StreamingReceiptResource resource, @NonNull HttpOutputMessage outputMessage)
+        throws IOException {
+      resource.writeTo(outputMessage.getBody());
+    }
+  }
+
+  /**
+   * Hands complete responses of files on disk to Tomcat's {@code sendfile}, which copies them from
+   * the page cache to the socket without passing through the heap. Byte ranges, HEAD requests,
+   * small files and containers without sendfile use the regular resource converters.
+   */
+  static class SendfileResourceHttpMessageConverter extends ResourceHttpMessageConverter {
+
+    /** Below this size copying is cheaper than setting up sendfile (Tomcat's own default) */
+    static final long SENDFILE_THRESHOLD = 48 * 1024;
+
+    private static final String SENDFILE_SUPPORTED_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    @Override
+    protected boolean supports(@NonNull Class<?> clazz) {
+      return FileSystemResource.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(@NonNull Class<?> clazz, MediaType mediaType) {
+      return false;
+    }
+
+    @Override
+    protected void writeContent(
+        @NonNull Resource resource, @NonNull HttpOutputMessage outputMessage) throws IOException {
+      HttpServletRequest request =
+          RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+              ? attributes.getRequest()
+              : null;
+      if (request != null
+          && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTR))
+          && !HttpMethod.HEAD.matches(request.getMethod())
+          && resource.isFile()
+          && resource.contentLength() >= SENDFILE_THRESHOLD) {
+        // Content-Length is already set; Tomcat writes the body after the handler returns
+        request.setAttribute(SENDFILE_FILENAME_ATTR, resource.getFile().getCanonicalPath());
+        request.setAttribute(SENDFILE_START_ATTR, 0L);
+        request.setAttribute(SENDFILE_END_ATTR, resource.contentLength());
+        return;
+      }
+      super.writeContent(resource, outputMessage);
+    }
+  }
+
+  /**
+   * Reads plain text and binary {@link Resource} request bodies as a stream over the request. The
+   * default resource converter copies them into a byte array first, which for base64 uploads and
+   * upload chunks means holding the whole body in memory.
+   */
+  static class StreamingResourceHttpMessageConverter extends ResourceHttpMessageConverter {
+
+    StreamingResourceHttpMessageConverter() {
+      setSupportedMediaTypes(List.of(MediaType.TEXT_PLAIN, MediaType.APPLICATION_OCTET_STREAM));
+    }
+
+    @Override
+    protected boolean supports(@NonNull Class<?> clazz) {
+      return Resource.class == clazz;
+    }
+
+    @Override
+    public boolean canWrite(@NonNull Class<?> clazz, MediaType mediaType) {
+      return false;
+    }
+
+    @Override
+    protected @NonNull Resource readInternal(
+        @NonNull Class<? extends Resource> clazz, @NonNull HttpInputMessage inputMessage)
+        throws IOException {
+      return new InputStreamResource(inputMessage.getBody());
+    }
+  }
+
+  /** Records latency and bytes of file downloads, by status and requested image size */
+  @RequiredArgsConstructor
+  static class FileServingMetricsInterceptor implements HandlerInterceptor {
+
+    private static final String STARTED_ATTR =
+        FileServingMetricsInterceptor.class.getName() + ".started";
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public boolean preHandle(
+        @NonNull HttpServletRequest request,
+        @NonNull HttpServletResponse response,
+        @NonNull Object handler) {
+      if (handler instanceof HandlerMethod method
+          && "serveFile".equals(method.getMethod().getName())) {
+        request.setAttribute(STARTED_ATTR, System.nanoTime());
+      }
+      return true;
+    }
+
+    @Override
+    public void afterCompletion(
+        @NonNull HttpServletRequest request,
+        @NonNull HttpServletResponse response,
+        @NonNull Object handler,
+        Exception ex) {
+      if (!(request.getAttribute(STARTED_ATTR) instanceof Long started)) {
+        return;
+      }
+      String status = String.valueOf(response.getStatus());
+      String variant = variant(request.getParameter("size"));
+      meterRegistry
+          .timer("storage.files.serve", "status", status, "variant", variant)
+          .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+
+      String contentLength = response.getHeader(HttpHeaders.CONTENT_LENGTH);
+      if (contentLength != null) {
+        meterRegistry
+            .summary("storage.files.served.bytes", "status", status, "variant", variant)
+            .record(Long.parseLong(contentLength));
+      }
+    }
+
+    /** Tag value from the size parameter, limited to known sizes */
+    private static String variant(String size) {
+      for (ImageSize imageSize : ImageSize.values()) {
+        if (imageSize.getValue().equals(size)) {
+          return imageSize.getValue().toLowerCase(Locale.ROOT);
+        }
+      }
+      return "original";
+    }
+  }
+}
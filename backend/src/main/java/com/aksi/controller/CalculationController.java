@@ -1,9 +1,13 @@
 package com.aksi.controller;
 
+import java.util.List;
+
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.aksi.api.game.CalculatorApi;
+import com.aksi.api.game.dto.PriceMatrixResponse;
 import com.aksi.api.game.dto.UniversalCalculationRequest;
 import com.aksi.api.game.dto.UniversalCalculationResponse;
 import com.aksi.service.game.CalculationService;
@@ -15,6 +19,9 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class CalculationController implements CalculatorApi {
 
+  /** Price matrices are revalidated by catalog version, unchanged ones are answered with 304 */
+  private static final CacheControl PRICE_MATRIX_CACHE = CacheControl.noCache().cachePublic();
+
   private final CalculationService calculationService;
 
   @Override
@@ -26,4 +33,20 @@ public class CalculationController implements CalculatorApi {
         formulaType, universalCalculationRequest);
     return ResponseEntity.ok(response);
   }
+
+  @Override
+  public ResponseEntity<PriceMatrixResponse> getPriceMatrix(
+      String gameCode,
+      List<String> levelJumps,
+      List<String> serviceTypes,
+      List<String> difficultyLevels,
+      List<String> modifiers) {
+
+    PriceMatrixResponse response = calculationService.getPriceMatrix(
+        gameCode, levelJumps, serviceTypes, difficultyLevels, modifiers);
+    return ResponseEntity.ok()
+        .eTag(response.getCatalogVersion())
+        .cacheControl(PRICE_MATRIX_CACHE)
+        .body(response);
+  }
 }
@@ -1,6 +1,14 @@
 package com.aksi.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.UUID;
+
 import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
@@ -8,9 +16,15 @@ import org.springframework.web.multipart.MultipartFile;
 import com.aksi.api.file.FilesApi;
 import com.aksi.api.file.dto.Base64FileResponse;
 import com.aksi.api.file.dto.Base64FileUploadRequest;
+import com.aksi.api.file.dto.CreateUploadSessionRequest;
 import com.aksi.api.file.dto.FileInfo;
 import com.aksi.api.file.dto.FileUploadResponse;
+import com.aksi.api.file.dto.ImageSize;
+import com.aksi.api.file.dto.UploadSessionStatus;
+import com.aksi.exception.BadRequestException;
 import com.aksi.service.storage.FileStorageService;
+import com.aksi.service.storage.ServedFile;
+import com.aksi.service.storage.upload.ChunkedUploadService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -19,12 +33,25 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class FileController implements FilesApi {
 
+  /** Content-addressed files never change; private because photos belong to customers */
+  private static final CacheControl IMMUTABLE =
+      CacheControl.maxAge(Duration.ofDays(365)).cachePrivate().immutable();
+
+  private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
   private final FileStorageService fileStorageService;
+  private final ChunkedUploadService chunkedUploadService;
 
   @Override
-  public ResponseEntity<Resource> serveFile(String filePath) {
-    Resource resource = fileStorageService.serveFile(filePath);
-    return ResponseEntity.ok(resource);
+  public ResponseEntity<Resource> serveFile(String filePath, ImageSize size) {
+    // Spring answers If-None-Match / If-Modified-Since with 304 and Range with 206 from these
+    ServedFile file = fileStorageService.serveFile(filePath, size);
+    return ResponseEntity.ok()
+        .contentType(file.contentType())
+        .eTag(file.etag())
+        .lastModified(file.lastModified())
+        .cacheControl(file.immutable() ? IMMUTABLE : REVALIDATE)
+        .body(file.resource());
   }
 
   @Override
@@ -43,6 +70,50 @@ public class FileController implements FilesApi {
     return ResponseEntity.ok(response);
   }
 
+  @Override
+  public ResponseEntity<FileUploadResponse> uploadBase64FileStream(
+      String directory, String filename, Resource body) {
+    try (InputStream base64Data = body.getInputStream()) {
+      return ResponseEntity.ok(
+          fileStorageService.storeBase64Stream(base64Data, directory, filename));
+    } catch (IOException ex) {
+      throw new BadRequestException("Could not read base64 data", ex);
+    }
+  }
+
+  @Override
+  public ResponseEntity<UploadSessionStatus> createUploadSession(
+      CreateUploadSessionRequest request) {
+    return ResponseEntity.status(HttpStatus.CREATED)
+        .body(chunkedUploadService.createSession(request));
+  }
+
+  @Override
+  public ResponseEntity<UploadSessionStatus> getUploadSession(UUID uploadId) {
+    return ResponseEntity.ok(chunkedUploadService.getStatus(uploadId));
+  }
+
+  @Override
+  public ResponseEntity<UploadSessionStatus> uploadChunk(
+      UUID uploadId, Long offset, String sha256, Resource body) {
+    try (InputStream chunk = body.getInputStream()) {
+      return ResponseEntity.ok(chunkedUploadService.writeChunk(uploadId, offset, sha256, chunk));
+    } catch (IOException ex) {
+      throw new BadRequestException("Could not read chunk", ex);
+    }
+  }
+
+  @Override
+  public ResponseEntity<FileUploadResponse> completeUploadSession(UUID uploadId) {
+    return ResponseEntity.ok(chunkedUploadService.complete(uploadId));
+  }
+
+  @Override
+  public ResponseEntity<Void> cancelUploadSession(UUID uploadId) {
+    chunkedUploadService.cancel(uploadId);
+    return ResponseEntity.noContent().build();
+  }
+
   @Override
   public ResponseEntity<FileInfo> getFileInfo(String filePath) {
     FileInfo fileInfo = fileStorageService.getFileInfo(filePath);
@@ -54,4 +125,11 @@ public class FileController implements FilesApi {
     Base64FileResponse response = fileStorageService.getFileAsBase64(filePath);
     return ResponseEntity.ok(response);
   }
+
+  @Override
+  public ResponseEntity<Resource> getFileAsBase64Stream(String filePath) {
+    return ResponseEntity.ok()
+        .contentType(MediaType.TEXT_PLAIN)
+        .body(fileStorageService.getFileAsBase64Stream(filePath));
+  }
 }
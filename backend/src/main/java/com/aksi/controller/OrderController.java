@@ -1,9 +1,12 @@
 package com.aksi.controller;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -14,6 +17,8 @@ import org.springframework.web.multipart.MultipartFile;
 
 import com.aksi.api.order.OrdersApi;
 import com.aksi.api.order.dto.AddPaymentRequest;
+import com.aksi.api.order.dto.BulkOrderStatusUpdateRequest;
+import com.aksi.api.order.dto.BulkOrderStatusUpdateResponse;
 import com.aksi.api.order.dto.CreateOrderRequest;
 import com.aksi.api.order.dto.ItemPhotoInfo;
 import com.aksi.api.order.dto.OrderInfo;
@@ -27,6 +32,7 @@ import com.aksi.api.order.dto.SortOrder;
 import com.aksi.api.order.dto.UpdateItemCharacteristicsRequest;
 import com.aksi.api.order.dto.UpdateOrderStatusRequest;
 import com.aksi.service.order.OrderService;
+import com.aksi.service.order.SignatureImage;
 
 import lombok.RequiredArgsConstructor;
 
@@ -83,6 +89,14 @@ public class OrderController implements OrdersApi {
     return ResponseEntity.ok(updatedOrder);
   }
 
+  @Override
+  public ResponseEntity<BulkOrderStatusUpdateResponse> bulkUpdateOrderStatus(
+      BulkOrderStatusUpdateRequest bulkOrderStatusUpdateRequest) {
+    BulkOrderStatusUpdateResponse response =
+        orderService.bulkUpdateOrderStatus(bulkOrderStatusUpdateRequest);
+    return ResponseEntity.ok(response);
+  }
+
   @Override
   public ResponseEntity<OrderItemInfo> updateItemCharacteristics(
       UUID orderId,
@@ -113,16 +127,11 @@ public class OrderController implements OrdersApi {
 
   @Override
   public ResponseEntity<org.springframework.core.io.Resource> getOrderReceipt(UUID orderId) {
-    byte[] pdfContent = orderService.getOrderReceipt(orderId);
-
-    // Create resource from byte array
-    org.springframework.core.io.Resource resource =
-        new org.springframework.core.io.ByteArrayResource(pdfContent);
+    org.springframework.core.io.Resource resource = orderService.getOrderReceipt(orderId);
 
     HttpHeaders headers = new HttpHeaders();
     headers.setContentType(MediaType.APPLICATION_PDF);
     headers.setContentDispositionFormData("attachment", "order-" + orderId + "-receipt.pdf");
-    headers.setContentLength(pdfContent.length);
 
     return ResponseEntity.ok().headers(headers).body(resource);
   }
@@ -192,4 +201,15 @@ public class OrderController implements OrdersApi {
         orderService.saveCustomerSignature(orderId, saveSignatureRequest.getSignature());
     return ResponseEntity.ok(updatedOrder);
   }
+
+  @Override
+  public ResponseEntity<org.springframework.core.io.Resource> getCustomerSignature(UUID orderId) {
+    SignatureImage signature = orderService.getCustomerSignature(orderId);
+    // A signature is never replaced once saved
+    return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType(signature.contentType()))
+        .lastModified(signature.signedAt())
+        .cacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePrivate().immutable())
+        .body(new ByteArrayResource(signature.content()));
+  }
 }
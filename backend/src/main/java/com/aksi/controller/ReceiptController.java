@@ -1,10 +1,12 @@
 package com.aksi.controller;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.UUID;
 
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
@@ -13,9 +15,14 @@ import org.springframework.web.bind.annotation.RestController;
 import com.aksi.api.receipt.ReceiptsApi;
 import com.aksi.api.receipt.dto.EmailReceiptRequest;
 import com.aksi.api.receipt.dto.EmailReceiptResponse;
+import com.aksi.api.receipt.dto.ReceiptBatchRequest;
+import com.aksi.api.receipt.dto.ReceiptBatchStatus;
+import com.aksi.api.receipt.dto.ReceiptOutputFormat;
 import com.aksi.api.receipt.dto.ReceiptPreviewRequest;
 import com.aksi.api.receipt.dto.ReceiptTemplate;
+import com.aksi.service.receipt.ReceiptFacade;
 import com.aksi.service.receipt.ReceiptService;
+import com.aksi.service.receipt.batch.ReceiptBatchService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -25,15 +32,18 @@ import lombok.RequiredArgsConstructor;
 public class ReceiptController implements ReceiptsApi {
 
   private final ReceiptService receiptService;
+  private final ReceiptBatchService receiptBatchService;
 
   @Override
-  public ResponseEntity<Resource> generateOrderReceipt(UUID orderId, String locale) {
-    Resource resource = receiptService.generateOrderReceipt(orderId, locale);
+  public ResponseEntity<Resource> generateOrderReceipt(
+      UUID orderId, String locale, String templateId) {
+    Resource resource = receiptService.generateOrderReceipt(orderId, locale, templateId);
+    ReceiptOutputFormat format = receiptService.getOutputFormat(templateId);
+    String filename = "receipt-" + orderId + ReceiptFacade.fileExtension(format);
 
     HttpHeaders headers = new HttpHeaders();
-    headers.setContentType(MediaType.APPLICATION_PDF);
-    headers.set(
-        HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"receipt-" + orderId + ".pdf\"");
+    headers.setContentType(mediaType(format));
+    headers.set(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + filename + "\"");
     headers.set(HttpHeaders.CACHE_CONTROL, "no-cache, no-store, must-revalidate");
     headers.set(HttpHeaders.PRAGMA, "no-cache");
     headers.set(HttpHeaders.EXPIRES, "0");
@@ -44,10 +54,12 @@ public class ReceiptController implements ReceiptsApi {
   @Override
   public ResponseEntity<Resource> generateReceiptPreview(ReceiptPreviewRequest request) {
     Resource resource = receiptService.generateReceiptPreview(request);
+    ReceiptOutputFormat format = receiptService.getOutputFormat(request.getTemplateId());
+    String filename = "receipt-preview" + ReceiptFacade.fileExtension(format);
 
     HttpHeaders headers = new HttpHeaders();
-    headers.setContentType(MediaType.APPLICATION_PDF);
-    headers.set(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"receipt-preview.pdf\"");
+    headers.setContentType(mediaType(format));
+    headers.set(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + filename + "\"");
     headers.set(HttpHeaders.CACHE_CONTROL, "no-cache, no-store, must-revalidate");
     headers.set(HttpHeaders.PRAGMA, "no-cache");
     headers.set(HttpHeaders.EXPIRES, "0");
@@ -67,4 +79,35 @@ public class ReceiptController implements ReceiptsApi {
     List<ReceiptTemplate> templates = receiptService.getAvailableTemplates();
     return ResponseEntity.ok(templates);
   }
+
+  @Override
+  public ResponseEntity<ReceiptBatchStatus> startReceiptBatch(ReceiptBatchRequest request) {
+    ReceiptBatchStatus status = receiptBatchService.startBatch(request);
+    return ResponseEntity.status(HttpStatus.ACCEPTED).body(status);
+  }
+
+  @Override
+  public ResponseEntity<ReceiptBatchStatus> getReceiptBatchStatus(UUID batchId) {
+    return ResponseEntity.ok(receiptBatchService.getStatus(batchId));
+  }
+
+  @Override
+  public ResponseEntity<Resource> downloadReceiptBatch(UUID batchId) {
+    Resource resource = receiptBatchService.getBatchPdf(batchId);
+
+    HttpHeaders headers = new HttpHeaders();
+    headers.setContentType(MediaType.APPLICATION_PDF);
+    headers.set(
+        HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"receipts-" + batchId + ".pdf\"");
+
+    return ResponseEntity.ok().headers(headers).body(resource);
+  }
+
+  private static MediaType mediaType(ReceiptOutputFormat format) {
+    return switch (format) {
+      case PDF -> MediaType.APPLICATION_PDF;
+      case ESC_POS -> MediaType.APPLICATION_OCTET_STREAM;
+      case TEXT -> new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+    };
+  }
 }
@@ -0,0 +1,31 @@
+package com.aksi.controller.admin;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.aksi.config.FileGcProperties.Action;
+import com.aksi.service.storage.OrphanFileCollector;
+import com.aksi.service.storage.OrphanFileCollector.GcReport;
+
+import lombok.RequiredArgsConstructor;
+
+/** Admin controller for file storage maintenance operations */
+@RestController
+@RequestMapping("/api/admin/files")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class FileStorageAdminController {
+
+  private final OrphanFileCollector orphanFileCollector;
+
+  /** Collect orphaned files now; without an action only reports what would be collected */
+  @PostMapping("/gc")
+  public ResponseEntity<GcReport> collectOrphanedFiles(
+      @RequestParam(defaultValue = "REPORT") Action action) {
+    return ResponseEntity.ok(orphanFileCollector.collect(action));
+  }
+}
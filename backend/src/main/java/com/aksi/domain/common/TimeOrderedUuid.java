@@ -0,0 +1,20 @@
+package com.aksi.domain.common;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+/**
+ * Marks an identifier as generated with {@link TimeOrderedUuidGenerator}. Generated values are
+ * RFC 9562 version 7 UUIDs, so consecutive inserts land next to each other in primary-key indexes
+ * instead of being scattered like random v4 UUIDs.
+ */
+@IdGeneratorType(TimeOrderedUuidGenerator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface TimeOrderedUuid {}
@@ -0,0 +1,82 @@
+package com.aksi.domain.common;
+
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+/**
+ * Hibernate identifier generator producing version 7 (Unix epoch time-ordered) UUIDs.
+ *
+ * <p>Layout: 48-bit millisecond timestamp, 4-bit version, 12-bit sub-millisecond counter, 2-bit
+ * variant and 62 random bits. The counter keeps identifiers generated by this JVM strictly
+ * increasing even when many rows are inserted within the same millisecond.
+ */
+public class TimeOrderedUuidGenerator implements BeforeExecutionGenerator {
+
+  private static final SecureRandom RANDOM = new SecureRandom();
+
+  private static final int COUNTER_BITS = 12;
+  private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+  private static final long VERSION_7 = 0x7000L;
+  private static final long VARIANT_MASK = 0x3FFFFFFFFFFFFFFFL;
+  private static final long VARIANT_RFC = 0x8000000000000000L;
+
+  /** Last issued (timestamp << 12 | counter) value. */
+  private static final AtomicLong LAST_STATE = new AtomicLong();
+
+  @Override
+  public Object generate(
+      SharedSessionContractImplementor session,
+      Object owner,
+      Object currentValue,
+      EventType eventType) {
+    return nextUuid();
+  }
+
+  @Override
+  public EnumSet<EventType> getEventTypes() {
+    return EventTypeSets.INSERT_ONLY;
+  }
+
+  /**
+   * Generate the next time-ordered UUID.
+   *
+   * @return version 7 UUID, monotonic within this JVM
+   */
+  public static UUID nextUuid() {
+    long now = System.currentTimeMillis();
+    long state =
+        LAST_STATE.updateAndGet(
+            previous -> {
+              long candidate = now << COUNTER_BITS;
+              return candidate > previous ? candidate : previous + 1;
+            });
+
+    long timestamp = state >>> COUNTER_BITS;
+    long counter = state & COUNTER_MASK;
+    long mostSigBits = (timestamp << 16) | VERSION_7 | counter;
+    long leastSigBits = (RANDOM.nextLong() & VARIANT_MASK) | VARIANT_RFC;
+    return new UUID(mostSigBits, leastSigBits);
+  }
+
+  /**
+   * Extract the embedded creation time of a time-ordered UUID.
+   *
+   * @param uuid identifier
+   * @return millisecond timestamp, empty for non-version-7 identifiers
+   */
+  public static Optional<Instant> timestampOf(UUID uuid) {
+    if (uuid == null || uuid.version() != 7) {
+      return Optional.empty();
+    }
+    return Optional.of(Instant.ofEpochMilli(uuid.getMostSignificantBits() >>> 16));
+  }
+}
@@ -1,5 +1,6 @@
 package com.aksi.domain.game.formula;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -29,6 +30,8 @@ public class FormulaFormulaEntity extends CalculationFormulaEntity {
     @JsonProperty("variables")
     private final Map<String, Integer> variables = new HashMap<>();
 
+    private final Map<String, Integer> variablesView = Collections.unmodifiableMap(variables);
+
 
 
     // Конструктори
@@ -46,6 +49,13 @@ public class FormulaFormulaEntity extends CalculationFormulaEntity {
         return new HashMap<>(variables);
     }
 
+    /**
+     * Read-only view of the variables, for evaluation without copying
+     */
+    public Map<String, Integer> variablesView() {
+        return variablesView;
+    }
+
     /**
      * Set variables map
      */
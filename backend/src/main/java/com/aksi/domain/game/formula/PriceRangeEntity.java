@@ -2,35 +2,37 @@ package com.aksi.domain.game.formula;
 
 import java.util.Objects;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import lombok.Getter;
-import lombok.Setter;
 
 /**
  * Price range for range-based calculations.
  * Defines FIXED price for the entire range from-to levels inclusive.
  * <p>
  * Example: {from: 1, to: 5, price: 4.0} means levels 1-5 cost 4.0 total
+ * <p>
+ * Immutable: a range formula caches its compiled ranges until its range list changes.
  */
-@Setter
 @Getter
 public class PriceRangeEntity {
 
-  // Гетери та сетери
+  // Гетери
   @JsonProperty("from")
-    private int from;
+    private final int from;
 
     @JsonProperty("to")
-    private int to;
+    private final int to;
 
     @JsonProperty("price")
-    private Integer price;
-
-    // Required for Jackson JSON deserialization
-    public PriceRangeEntity() {}
+    private final Integer price;
 
-    public PriceRangeEntity(int from, int to, Integer price) {
+    @JsonCreator
+    public PriceRangeEntity(
+            @JsonProperty("from") int from,
+            @JsonProperty("to") int to,
+            @JsonProperty("price") Integer price) {
         this.from = from;
         this.to = to;
         this.price = price;
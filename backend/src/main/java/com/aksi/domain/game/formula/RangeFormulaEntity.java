@@ -1,14 +1,18 @@
 package com.aksi.domain.game.formula;
 
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.RandomAccess;
 
 import com.aksi.api.game.dto.CalculationFormula.TypeEnum;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import lombok.Getter;
+import lombok.Setter;
 
 /**
  * Range-based calculation formula.
@@ -26,13 +30,32 @@ public class RangeFormulaEntity extends CalculationFormulaEntity {
 
   // Гетери та методи для роботи з діапазонами
   @JsonProperty("ranges")
-    private final List<PriceRangeEntity> ranges = new ArrayList<>();
+    private final List<PriceRangeEntity> ranges = new Ranges();
+
+    /**
+     * Ranges compiled by RangeFormulaCalculator on first use. Not persisted and not part of
+     * equality; cleared whenever the range list changes. Ranges themselves are immutable.
+     */
+    @JsonIgnore
+    @Setter
+    private transient volatile RangeIndex index;
 
     // Конструктори
     public RangeFormulaEntity() {
         super(TypeEnum.RANGE);
     }
 
+    /**
+     * Replace all ranges.
+     */
+    @JsonProperty("ranges")
+    public void setRanges(List<PriceRangeEntity> ranges) {
+        this.ranges.clear();
+        if (ranges != null) {
+            this.ranges.addAll(ranges);
+        }
+    }
+
     // REFACTORED: Business logic methods moved to RangeFormulaCalculator service
     // calculate() -> RangeFormulaCalculator.calculate()
     // validate() -> RangeFormulaCalculator.validateFormula()
@@ -56,4 +79,43 @@ public class RangeFormulaEntity extends CalculationFormulaEntity {
     public String toString() {
         return String.format("RangeFormula{ranges=%s}", ranges);
     }
+
+    /**
+     * Range list that drops the compiled index on every change. All mutators of AbstractList,
+     * including iterator removal, sorting and bulk operations, end in set, add or remove.
+     */
+    private final class Ranges extends AbstractList<PriceRangeEntity> implements RandomAccess {
+
+        private final List<PriceRangeEntity> elements = new ArrayList<>();
+
+        @Override
+        public PriceRangeEntity get(int i) {
+            return elements.get(i);
+        }
+
+        @Override
+        public int size() {
+            return elements.size();
+        }
+
+        @Override
+        public PriceRangeEntity set(int i, PriceRangeEntity range) {
+            index = null;
+            return elements.set(i, range);
+        }
+
+        @Override
+        public void add(int i, PriceRangeEntity range) {
+            index = null;
+            modCount++;
+            elements.add(i, range);
+        }
+
+        @Override
+        public PriceRangeEntity remove(int i) {
+            index = null;
+            modCount++;
+            return elements.remove(i);
+        }
+    }
 }
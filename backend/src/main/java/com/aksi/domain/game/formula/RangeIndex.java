@@ -0,0 +1,101 @@
+package com.aksi.domain.game.formula;
+
+import java.util.List;
+
+/**
+ * Range formula compiled for price lookups.
+ * Range bounds are kept in sorted primitive arrays together with prefix sums of the prices.
+ * <p>
+ * Ranges may only touch at their boundaries, so once sorted by start level they are sorted by
+ * end level as well. The ranges overlapping a requested level span are then one contiguous run:
+ * its start is found by a binary search over end levels, its end by a binary search over start
+ * levels, and its total is the difference of two prefix sums.
+ */
+public final class RangeIndex {
+
+    private final int[] from;
+    private final int[] to;
+    /** prefixSums[i] is the total price of the first i ranges */
+    private final long[] prefixSums;
+
+    private RangeIndex(int[] from, int[] to, long[] prefixSums) {
+        this.from = from;
+        this.to = to;
+        this.prefixSums = prefixSums;
+    }
+
+    /**
+     * Build an index from validated, non-overlapping ranges.
+     *
+     * @param sortedRanges Ranges sorted by start level, then end level
+     * @return Compiled index
+     */
+    public static RangeIndex of(List<PriceRangeEntity> sortedRanges) {
+        int size = sortedRanges.size();
+        int[] from = new int[size];
+        int[] to = new int[size];
+        long[] prefixSums = new long[size + 1];
+        for (int i = 0; i < size; i++) {
+            PriceRangeEntity range = sortedRanges.get(i);
+            from[i] = range.getFrom();
+            to[i] = range.getTo();
+            prefixSums[i + 1] = prefixSums[i] + range.getPrice();
+        }
+        return new RangeIndex(from, to, prefixSums);
+    }
+
+    /**
+     * Total price of all ranges overlapping the level span, touching boundaries included.
+     *
+     * @param fromLevel Starting level
+     * @param toLevel Target level
+     * @return Sum of range prices in cents
+     */
+    public long sum(int fromLevel, int toLevel) {
+        int first = firstEndingAtOrAfter(fromLevel);
+        int end = firstStartingAfter(toLevel);
+        return end > first ? prefixSums[end] - prefixSums[first] : 0;
+    }
+
+    /**
+     * Number of ranges overlapping the level span.
+     */
+    public int count(int fromLevel, int toLevel) {
+        return Math.max(0, firstStartingAfter(toLevel) - firstEndingAtOrAfter(fromLevel));
+    }
+
+    /**
+     * Number of indexed ranges.
+     */
+    public int size() {
+        return from.length;
+    }
+
+    private int firstEndingAtOrAfter(int level) {
+        int low = 0;
+        int high = to.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (to[mid] < level) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int firstStartingAfter(int level) {
+        int low = 0;
+        int high = from.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (from[mid] <= level) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
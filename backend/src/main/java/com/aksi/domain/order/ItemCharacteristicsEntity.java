@@ -1,5 +1,7 @@
 package com.aksi.domain.order;
 
+import java.time.Instant;
+
 import com.aksi.api.order.dto.FillerCondition;
 import com.aksi.api.order.dto.WearLevel;
 import com.aksi.domain.common.BaseEntity;
@@ -12,6 +14,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -33,6 +36,10 @@ public class ItemCharacteristicsEntity extends BaseEntity {
   @JoinColumn(name = "order_item_id", nullable = false)
   private OrderItemEntity orderItemEntity;
 
+  /** Partition key of the order, part of the foreign key to the partitioned order items table */
+  @Column(name = "order_created_at", nullable = false, updatable = false)
+  private Instant orderCreatedAt;
+
   @Column(name = "material", length = 100)
   private String material;
 
@@ -49,4 +56,11 @@ public class ItemCharacteristicsEntity extends BaseEntity {
   @Enumerated(EnumType.STRING)
   @Column(name = "wear_level", length = 20)
   private WearLevel wearLevel;
+
+  @PrePersist
+  protected void bindOrderCreatedAt() {
+    if (orderCreatedAt == null && orderItemEntity != null) {
+      orderCreatedAt = orderItemEntity.resolveOrderCreatedAt();
+    }
+  }
 }
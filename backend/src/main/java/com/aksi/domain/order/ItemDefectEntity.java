@@ -1,5 +1,7 @@
 package com.aksi.domain.order;
 
+import java.time.Instant;
+
 import com.aksi.api.order.dto.DefectType;
 import com.aksi.domain.common.BaseEntity;
 
@@ -11,6 +13,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -33,10 +36,21 @@ public class ItemDefectEntity extends BaseEntity {
   @JoinColumn(name = "order_item_id", nullable = false)
   private OrderItemEntity orderItemEntity;
 
+  /** Partition key of the order, part of the foreign key to the partitioned order items table */
+  @Column(name = "order_created_at", nullable = false, updatable = false)
+  private Instant orderCreatedAt;
+
   @Enumerated(EnumType.STRING)
   @Column(name = "defect_type", nullable = false, length = 30)
   private DefectType type;
 
   @Column(name = "description", columnDefinition = "TEXT")
   private String description;
+
+  @PrePersist
+  protected void bindOrderCreatedAt() {
+    if (orderCreatedAt == null && orderItemEntity != null) {
+      orderCreatedAt = orderItemEntity.resolveOrderCreatedAt();
+    }
+  }
 }
@@ -1,5 +1,7 @@
 package com.aksi.domain.order;
 
+import java.time.Instant;
+
 import com.aksi.domain.common.BaseEntity;
 
 import jakarta.persistence.Column;
@@ -10,6 +12,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -40,6 +43,10 @@ public class ItemModifierEntity extends BaseEntity {
   @JoinColumn(name = "order_item_id", nullable = false)
   private OrderItemEntity orderItemEntity;
 
+  /** Partition key of the order, part of the foreign key to the partitioned order items table */
+  @Column(name = "order_created_at", nullable = false, updatable = false)
+  private Instant orderCreatedAt;
+
   @Column(name = "modifier_code", nullable = false, length = 50)
   private String code;
 
@@ -58,4 +65,11 @@ public class ItemModifierEntity extends BaseEntity {
 
   @Column(name = "jexl_formula", columnDefinition = "TEXT")
   private String jexlFormula;
+
+  @PrePersist
+  protected void bindOrderCreatedAt() {
+    if (orderCreatedAt == null && orderItemEntity != null) {
+      orderCreatedAt = orderItemEntity.resolveOrderCreatedAt();
+    }
+  }
 }
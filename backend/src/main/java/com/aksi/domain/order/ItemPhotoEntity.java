@@ -14,6 +14,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -27,7 +28,8 @@ import lombok.Setter;
     indexes = {
       @Index(name = "idx_item_photo_order_item", columnList = "order_item_id"),
       @Index(name = "idx_item_photo_type", columnList = "photo_type"),
-      @Index(name = "idx_item_photo_uploaded_at", columnList = "uploaded_at")
+      @Index(name = "idx_item_photo_uploaded_at", columnList = "uploaded_at"),
+      @Index(name = "idx_item_photo_content_hash", columnList = "content_hash")
     })
 @Getter
 @Setter
@@ -39,6 +41,10 @@ public class ItemPhotoEntity extends BaseEntity {
   @JoinColumn(name = "order_item_id", nullable = false)
   private OrderItemEntity orderItemEntity;
 
+  /** Partition key of the order, part of the foreign key to the partitioned order items table */
+  @Column(name = "order_created_at", nullable = false, updatable = false)
+  private Instant orderCreatedAt;
+
   @Column(name = "url", nullable = false, length = 500)
   private String url;
 
@@ -64,4 +70,15 @@ public class ItemPhotoEntity extends BaseEntity {
 
   @Column(name = "original_filename")
   private String originalFilename;
+
+  /** SHA-256 of the stored file holding one reference to it; null for photos stored by path */
+  @Column(name = "content_hash", length = 64)
+  private String contentHash;
+
+  @PrePersist
+  protected void bindOrderCreatedAt() {
+    if (orderCreatedAt == null && orderItemEntity != null) {
+      orderCreatedAt = orderItemEntity.resolveOrderCreatedAt();
+    }
+  }
 }
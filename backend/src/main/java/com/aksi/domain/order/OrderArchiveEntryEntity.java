@@ -0,0 +1,50 @@
+package com.aksi.domain.order;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import com.aksi.domain.common.BaseEntity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** Index entry of an order moved from the live tables into a compressed archive file */
+@Entity
+@Table(
+    name = "order_archive_entries",
+    indexes = {
+      @Index(name = "idx_order_archive_customer", columnList = "customer_id"),
+      @Index(name = "idx_order_archive_file", columnList = "archive_file")
+    })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderArchiveEntryEntity extends BaseEntity {
+
+  @Column(name = "order_id", nullable = false)
+  private UUID orderId;
+
+  @Column(name = "order_number", nullable = false, unique = true, length = 50)
+  private String orderNumber;
+
+  @Column(name = "customer_id", nullable = false)
+  private UUID customerId;
+
+  /** Archive file name relative to the archive directory */
+  @Column(name = "archive_file", nullable = false)
+  private String archiveFile;
+
+  /** Entry holding the order document inside the archive file */
+  @Column(name = "entry_name", nullable = false)
+  private String entryName;
+
+  @Column(name = "order_created_at", nullable = false)
+  private Instant orderCreatedAt;
+}
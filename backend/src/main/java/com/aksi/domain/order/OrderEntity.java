@@ -42,7 +42,8 @@ import lombok.Setter;
 @AllArgsConstructor
 public class OrderEntity extends BaseEntity {
 
-  @Column(name = "order_number", nullable = false, unique = true, length = 50)
+  // Unique across partitions through the order_numbers registry
+  @Column(name = "order_number", nullable = false, length = 50)
   private String orderNumber;
 
   @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -76,8 +77,13 @@ public class OrderEntity extends BaseEntity {
   @Column(name = "notes", columnDefinition = "TEXT")
   private String notes;
 
-  @Column(name = "customer_signature", columnDefinition = "TEXT")
-  private String customerSignature;
+  /**
+   * Time the customer signed; the image is an {@link OrderSignatureEntity}. Signatures moved by
+   * migration 103 have the order's last update before the move, as the signing time was never
+   * recorded.
+   */
+  @Column(name = "signed_at")
+  private Instant signedAt;
 
   @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "created_by")
@@ -107,4 +113,11 @@ public class OrderEntity extends BaseEntity {
 
   @Column(name = "total_amount", nullable = false)
   private Integer totalAmount = 0;
+
+  // Running payment totals, maintained with every payment (optimistic locking via version)
+  @Column(name = "paid_amount", nullable = false)
+  private Integer paidAmount = 0;
+
+  @Column(name = "balance_due", nullable = false)
+  private Integer balanceDue = 0;
 }
@@ -1,5 +1,6 @@
 package com.aksi.domain.order;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -15,6 +16,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -39,6 +41,10 @@ public class OrderItemEntity extends BaseEntity {
   @JoinColumn(name = "order_id", nullable = false)
   private OrderEntity orderEntity;
 
+  /** Partition key of the order, part of the foreign key to the partitioned orders table */
+  @Column(name = "order_created_at", nullable = false, updatable = false)
+  private Instant orderCreatedAt;
+
   @ManyToOne(fetch = FetchType.LAZY, optional = false)
   @JoinColumn(name = "price_list_item_id", nullable = false)
   private PriceListItemEntity priceListItemEntity;
@@ -105,4 +111,17 @@ public class OrderItemEntity extends BaseEntity {
 
   @Column(name = "discount_eligible", nullable = false)
   private boolean discountEligible = true;
+
+  @PrePersist
+  protected void bindOrderCreatedAt() {
+    if (orderCreatedAt == null && orderEntity != null) {
+      orderCreatedAt = orderEntity.getCreatedAt();
+    }
+  }
+
+  /** Partition key of the order, bound from the order if the item is not persisted yet */
+  public Instant resolveOrderCreatedAt() {
+    bindOrderCreatedAt();
+    return orderCreatedAt;
+  }
 }
@@ -14,6 +14,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -39,6 +40,10 @@ public class OrderPaymentEntity extends BaseEntity {
   @JoinColumn(name = "order_id", nullable = false)
   private OrderEntity orderEntity;
 
+  /** Partition key of the order, part of the foreign key to the partitioned orders table */
+  @Column(name = "order_created_at", nullable = false, updatable = false)
+  private Instant orderCreatedAt;
+
   @Column(name = "amount", nullable = false)
   private Integer amount;
 
@@ -58,4 +63,11 @@ public class OrderPaymentEntity extends BaseEntity {
 
   @Column(name = "notes", columnDefinition = "TEXT")
   private String notes;
+
+  @PrePersist
+  protected void bindOrderCreatedAt() {
+    if (orderCreatedAt == null && orderEntity != null) {
+      orderCreatedAt = orderEntity.getCreatedAt();
+    }
+  }
 }
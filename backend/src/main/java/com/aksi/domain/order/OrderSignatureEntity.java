@@ -0,0 +1,39 @@
+package com.aksi.domain.order;
+
+import java.util.UUID;
+
+import com.aksi.domain.common.BaseEntity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Customer signature image of an order, kept out of the orders table so that loading orders never
+ * reads it. Like other children of the partitioned orders table it refers to its order by ID only.
+ */
+@Entity
+@Table(name = "order_signatures")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderSignatureEntity extends BaseEntity {
+
+  @Column(name = "order_id", nullable = false, unique = true)
+  private UUID orderId;
+
+  /** Decoded image bytes */
+  @Column(name = "content", nullable = false)
+  private byte[] content;
+
+  @Column(name = "content_type", nullable = false, length = 100)
+  private String contentType;
+
+  @Column(name = "size_bytes", nullable = false)
+  private int sizeBytes;
+}
@@ -0,0 +1,58 @@
+package com.aksi.domain.storage;
+
+import java.time.Instant;
+
+import com.aksi.domain.common.BaseEntity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Content-addressed file, stored once per distinct content and shared by every record that
+ * references it
+ */
+@Entity
+@Table(
+    name = "stored_files",
+    indexes = {
+      @Index(name = "idx_stored_file_verified_at", columnList = "last_verified_at"),
+      @Index(name = "idx_stored_file_reference_count", columnList = "reference_count")
+    })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StoredFileEntity extends BaseEntity {
+
+  /** SHA-256 of the content, lowercase hex */
+  @Column(name = "content_hash", nullable = false, unique = true, length = 64)
+  private String contentHash;
+
+  /** Path relative to the storage root */
+  @Column(name = "storage_path", nullable = false, length = 500)
+  private String storagePath;
+
+  @Column(name = "size_bytes", nullable = false)
+  private long sizeBytes;
+
+  @Column(name = "content_type", length = 100)
+  private String contentType;
+
+  /** Records referencing this content; at zero the file is deleted after a grace period */
+  @Column(name = "reference_count", nullable = false)
+  private int referenceCount;
+
+  /** Last time the integrity scrubber re-hashed the file */
+  @Column(name = "last_verified_at")
+  private Instant lastVerifiedAt;
+
+  /** File found missing or with different content by the scrubber; healed by a re-upload */
+  @Column(name = "corrupted", nullable = false)
+  private boolean corrupted;
+}
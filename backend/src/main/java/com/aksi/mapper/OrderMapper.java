@@ -1,10 +1,13 @@
 package com.aksi.mapper;
 
+import org.mapstruct.AfterMapping;
 import org.mapstruct.BeanMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
+import org.springframework.beans.factory.annotation.Autowired;
 
+import com.aksi.api.file.dto.ImageSize;
 import com.aksi.api.order.dto.CreateOrderRequest;
 import com.aksi.api.order.dto.CustomerSummary;
 import com.aksi.api.order.dto.ItemCharacteristics;
@@ -36,11 +39,14 @@ import com.aksi.domain.order.ItemStainEntity;
 import com.aksi.domain.order.OrderEntity;
 import com.aksi.domain.order.OrderItemEntity;
 import com.aksi.domain.order.OrderPaymentEntity;
+import com.aksi.service.storage.FilePathResolver;
 
 /** MapStruct mapper for Order domain entities and DTOs */
 @Mapper(componentModel = "spring")
 public abstract class OrderMapper {
 
+  @Autowired protected FilePathResolver filePathResolver;
+
   /** Map Order entity to OrderInfo DTO */
   @Mapping(target = "customer", source = "customerEntity")
   @Mapping(target = "customerId", source = "customerEntity.id")
@@ -68,9 +74,7 @@ public abstract class OrderMapper {
   @Mapping(target = "phone", source = "phonePrimary")
   public abstract CustomerSummary toCustomerSummary(CustomerEntity customerEntity);
 
-  /** Map Order entity to OrderPricingInfo DTO */
-  @Mapping(target = "paidAmount", ignore = true)
-  @Mapping(target = "balanceDue", ignore = true)
+  /** Map Order entity to OrderPricingInfo DTO (running payment totals are stored on the order) */
   @Mapping(target = "total", source = "totalAmount")
   public abstract OrderPricingInfo mapPricing(OrderEntity orderEntity);
 
@@ -105,8 +109,21 @@ public abstract class OrderMapper {
   /** Map ItemPhoto entity to ItemPhotoInfo DTO */
   @Mapping(target = "type", source = "type", defaultValue = "GENERAL")
   @Mapping(target = "uploadedBy", source = "uploadedBy.id")
+  @Mapping(target = "thumbnailUrl", ignore = true)
+  @Mapping(target = "previewUrl", ignore = true)
   public abstract ItemPhotoInfo toItemPhotoInfo(ItemPhotoEntity photo);
 
+  /** Order views load downscaled copies; the original stays available under {@code url} */
+  @AfterMapping
+  protected void addPhotoDerivativeUrls(
+      ItemPhotoEntity photo, @MappingTarget ItemPhotoInfo photoInfo) {
+    String filePath = filePathResolver.extractRelativePathFromUrl(photo.getUrl());
+    if (filePath != null) {
+      photoInfo.setThumbnailUrl(filePathResolver.generateFileUrl(filePath, ImageSize.THUMBNAIL));
+      photoInfo.setPreviewUrl(filePathResolver.generateFileUrl(filePath, ImageSize.PREVIEW));
+    }
+  }
+
   // Back-references проставляються у доменних add*() методах, after-mapping не потрібен
 
   /** Map OrderItemModifier entity to OrderItemModifier DTO */
@@ -129,7 +146,6 @@ public abstract class OrderMapper {
   @BeanMapping(ignoreByDefault = true)
   @Mapping(target = "uniqueLabel", source = "uniqueLabel")
   @Mapping(target = "notes", source = "notes")
-  @Mapping(target = "customerSignature", source = "customerSignature")
   @Mapping(target = "termsAccepted", source = "termsAccepted", defaultValue = "false")
   public abstract void applyCreateRequest(
       CreateOrderRequest request, @MappingTarget OrderEntity orderEntity);
@@ -25,7 +25,6 @@ public interface PricingMapper {
   @Mapping(target = "createdAt", ignore = true)
   @Mapping(target = "updatedAt", ignore = true)
   @Mapping(target = "version", ignore = true)
-  @Mapping(target = "jexlFormula", ignore = true)
   @Mapping(target = "sortOrder", constant = "0")
   PriceModifierEntity toPriceModifierEntity(PriceModifier dto);
 
@@ -34,7 +33,6 @@ public interface PricingMapper {
   @Mapping(target = "createdAt", ignore = true)
   @Mapping(target = "updatedAt", ignore = true)
   @Mapping(target = "version", ignore = true)
-  @Mapping(target = "jexlFormula", ignore = true)
   @Mapping(target = "sortOrder", ignore = true)
   void updatePriceModifierFromDto(PriceModifier dto, @MappingTarget PriceModifierEntity entity);
 
@@ -28,4 +28,42 @@ public interface CartRepository
   @Modifying
   @Query("DELETE FROM CartEntity c WHERE c.expiresAt < :now")
   int deleteExpiredCarts(@Param("now") Instant now);
+
+  /** Delete modifiers of all items in cart */
+  @Modifying(flushAutomatically = true)
+  @Query(
+      "DELETE FROM CartItemModifierEntity m WHERE m.cartItem.id IN "
+          + "(SELECT i.id FROM CartItem i WHERE i.cartEntity.id = :cartId)")
+  int deleteItemModifiersByCartId(@Param("cartId") UUID cartId);
+
+  /** Delete characteristics of all items in cart */
+  @Modifying(flushAutomatically = true)
+  @Query(
+      "DELETE FROM CartItemCharacteristicsEntity ch WHERE ch.cartItem.id IN "
+          + "(SELECT i.id FROM CartItem i WHERE i.cartEntity.id = :cartId)")
+  int deleteItemCharacteristicsByCartId(@Param("cartId") UUID cartId);
+
+  /** Delete all items of cart */
+  @Modifying(flushAutomatically = true)
+  @Query("DELETE FROM CartItem i WHERE i.cartEntity.id = :cartId")
+  int deleteItemsByCartId(@Param("cartId") UUID cartId);
+
+  /** Delete cart row only (children must be removed first) */
+  @Modifying(flushAutomatically = true)
+  @Query("DELETE FROM CartEntity c WHERE c.id = :cartId")
+  int deleteCartRowById(@Param("cartId") UUID cartId);
+
+  /**
+   * Delete cart with its whole item graph using set-based statements (one statement per table)
+   * instead of loading and removing every child entity individually.
+   *
+   * @param cartId cart ID
+   * @return number of deleted carts
+   */
+  default int deleteCartGraph(UUID cartId) {
+    deleteItemModifiersByCartId(cartId);
+    deleteItemCharacteristicsByCartId(cartId);
+    deleteItemsByCartId(cartId);
+    return deleteCartRowById(cartId);
+  }
 }
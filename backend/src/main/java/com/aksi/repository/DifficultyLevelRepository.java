@@ -1,5 +1,6 @@
 package com.aksi.repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -22,6 +23,11 @@ public interface DifficultyLevelRepository
 
   Optional<DifficultyLevelEntity> findByGameIdAndCode(UUID gameId, String code);
 
+  /** Find active difficulty levels by game ID ordered by sort order using specifications. */
+  default List<DifficultyLevelEntity> findActiveByGameIdOrderBySortOrder(UUID gameId) {
+    return findAll(DifficultyLevelSpecification.findActiveByGameIdOrderedBySortOrder(gameId));
+  }
+
   /**
    * Find difficulty levels with search and pagination using specifications. This method uses
    * DifficultyLevelSpecification.filterDifficultyLevels()
@@ -24,6 +24,12 @@ public class DifficultyLevelSpecification {
     return SpecificationUtils.orderBySortOrder();
   }
 
+  /** Creates a specification for finding active difficulty levels by game ID with ordering. */
+  public static Specification<DifficultyLevelEntity> findActiveByGameIdOrderedBySortOrder(
+      UUID gameId) {
+    return Specification.allOf(hasActive(true), hasGameId(gameId), orderBySortOrder());
+  }
+
   /** Creates a specification for filtering difficulty levels with search and pagination. */
   public static Specification<DifficultyLevelEntity> filterDifficultyLevels(
       Boolean active, UUID gameId, String search) {
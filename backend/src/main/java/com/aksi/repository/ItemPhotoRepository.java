@@ -0,0 +1,21 @@
+package com.aksi.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.aksi.domain.order.ItemPhotoEntity;
+
+/** Repository for photos of order items */
+@Repository
+public interface ItemPhotoRepository extends JpaRepository<ItemPhotoEntity, UUID> {
+
+  /** URLs of all photos of the given order items */
+  @Query("SELECT p.url FROM ItemPhotoEntity p WHERE p.orderItemEntity.id IN :orderItemIds")
+  List<String> findUrlsByOrderItemIds(@Param("orderItemIds") Collection<UUID> orderItemIds);
+}
@@ -0,0 +1,26 @@
+package com.aksi.repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.aksi.domain.order.OrderArchiveEntryEntity;
+
+/** Repository for the archived orders index */
+@Repository
+public interface OrderArchiveEntryRepository extends JpaRepository<OrderArchiveEntryEntity, UUID> {
+
+  /** Find archive entry by order number */
+  Optional<OrderArchiveEntryEntity> findByOrderNumber(String orderNumber);
+
+  /** Check if an order number was archived */
+  boolean existsByOrderNumber(String orderNumber);
+
+  /** Archive files holding at least one archived order */
+  @Query("SELECT DISTINCT e.archiveFile FROM OrderArchiveEntryEntity e")
+  List<String> findDistinctArchiveFiles();
+}
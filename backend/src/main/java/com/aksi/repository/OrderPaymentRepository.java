@@ -0,0 +1,34 @@
+package com.aksi.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.aksi.domain.order.OrderPaymentEntity;
+
+/** Repository for order payments (the payment ledger) */
+@Repository
+public interface OrderPaymentRepository extends JpaRepository<OrderPaymentEntity, UUID> {
+
+  /**
+   * Compare stored running totals of the given orders against the payment ledger
+   *
+   * @return orders whose paid amount or balance due disagree with their payments
+   */
+  @Query(
+      "SELECT o.id AS id, o.orderNumber AS orderNumber, o.totalAmount AS totalAmount, "
+          + "o.paidAmount AS paidAmount, o.balanceDue AS balanceDue, "
+          + "COALESCE(SUM(p.amount), 0) AS ledgerPaidAmount "
+          + "FROM OrderEntity o LEFT JOIN o.payments p "
+          + "WHERE o.id IN :orderIds "
+          + "GROUP BY o.id, o.orderNumber, o.totalAmount, o.paidAmount, o.balanceDue "
+          + "HAVING o.paidAmount <> COALESCE(SUM(p.amount), 0) "
+          + "OR o.balanceDue <> o.totalAmount - COALESCE(SUM(p.amount), 0)")
+  List<OrderPaymentTotalsMismatch> findPaymentTotalsMismatches(
+      @Param("orderIds") Collection<UUID> orderIds);
+}
@@ -0,0 +1,19 @@
+package com.aksi.repository;
+
+import java.util.UUID;
+
+/** Projection of an order whose stored payment totals disagree with the payment ledger */
+public interface OrderPaymentTotalsMismatch {
+
+  UUID getId();
+
+  String getOrderNumber();
+
+  Integer getTotalAmount();
+
+  Integer getPaidAmount();
+
+  Integer getBalanceDue();
+
+  Long getLedgerPaidAmount();
+}
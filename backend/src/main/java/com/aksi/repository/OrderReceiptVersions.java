@@ -0,0 +1,11 @@
+package com.aksi.repository;
+
+/** Optimistic-lock versions of an order and the customer and branch printed on its receipt */
+public interface OrderReceiptVersions {
+
+  Long getOrderVersion();
+
+  Long getCustomerVersion();
+
+  Long getBranchVersion();
+}
@@ -1,15 +1,24 @@
 package com.aksi.repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.aksi.domain.order.OrderEntity;
+import com.aksi.domain.order.OrderItemEntity;
 
 /** Repository interface for Order entity using Spring Data and Specifications */
 @Repository
@@ -21,11 +30,208 @@ public interface OrderRepository
   /** Find order by order number */
   Optional<OrderEntity> findByOrderNumber(String orderNumber);
 
+  /** Find order by order number within a created_at window (prunes order partitions) */
+  Optional<OrderEntity> findByOrderNumberAndCreatedAtBetween(
+      String orderNumber, Instant createdFrom, Instant createdTo);
+
   /** Find orders by customer ID */
   Page<OrderEntity> findByCustomerEntityIdOrderByCreatedAtDesc(UUID customerId, Pageable pageable);
 
-  /** Check if order number exists */
-  boolean existsByOrderNumber(String orderNumber);
+  /**
+   * Reserve an order number in the global order number registry. Concurrent reservations of the
+   * same number serialize on the registry key, so exactly one of them succeeds.
+   *
+   * @return 1 if reserved, 0 if the number is already taken
+   */
+  @Modifying
+  @Query(
+      value =
+          "INSERT INTO order_numbers (order_number) VALUES (:orderNumber) "
+              + "ON CONFLICT (order_number) DO NOTHING",
+      nativeQuery = true)
+  int reserveOrderNumber(@Param("orderNumber") String orderNumber);
+
+  /** Find the created_at (partition key) of the order registered under the given number */
+  @Query(
+      value = "SELECT n.order_created_at FROM order_numbers n WHERE n.order_number = :orderNumber",
+      nativeQuery = true)
+  Optional<Instant> findRegisteredCreatedAt(@Param("orderNumber") String orderNumber);
+
+  /**
+   * Load status snapshots for orders referenced by number or unique label and lock the rows until
+   * the end of the transaction (used by bulk status transitions). Rows are locked with an explicit
+   * {@code SELECT ... FOR UPDATE} before the snapshots are read, because lock modes are not
+   * reliably applied to projection queries. Empty reference sets are not queried.
+   */
+  default List<OrderStatusSnapshot> findStatusSnapshotsForUpdate(
+      Collection<String> orderNumbers, Collection<String> uniqueLabels) {
+    Set<UUID> ids = new LinkedHashSet<>();
+    if (!orderNumbers.isEmpty()) {
+      ids.addAll(lockIdsByOrderNumbers(orderNumbers));
+    }
+    if (!uniqueLabels.isEmpty()) {
+      ids.addAll(lockIdsByUniqueLabels(uniqueLabels));
+    }
+    return ids.isEmpty() ? List.of() : findStatusSnapshotsByIdIn(ids);
+  }
+
+  /** Lock orders by order number, in ID order to avoid deadlocks between concurrent batches */
+  @Query(
+      value =
+          "SELECT o.id FROM orders o WHERE o.order_number IN (:orderNumbers) "
+              + "ORDER BY o.id FOR UPDATE",
+      nativeQuery = true)
+  List<UUID> lockIdsByOrderNumbers(@Param("orderNumbers") Collection<String> orderNumbers);
+
+  /** Lock orders by unique label, in ID order to avoid deadlocks between concurrent batches */
+  @Query(
+      value =
+          "SELECT o.id FROM orders o WHERE o.unique_label IN (:uniqueLabels) "
+              + "ORDER BY o.id FOR UPDATE",
+      nativeQuery = true)
+  List<UUID> lockIdsByUniqueLabels(@Param("uniqueLabels") Collection<String> uniqueLabels);
+
+  /** Load status snapshots of orders by ID */
+  @Query(
+      "SELECT o.id AS id, o.orderNumber AS orderNumber, o.uniqueLabel AS uniqueLabel, "
+          + "o.status AS status, o.version AS version, "
+          + "o.expectedCompletionDate AS expectedCompletionDate "
+          + "FROM OrderEntity o "
+          + "WHERE o.id IN :ids")
+  List<OrderStatusSnapshot> findStatusSnapshotsByIdIn(@Param("ids") Collection<UUID> ids);
+
+  /**
+   * Load status snapshots of orders in the given statuses that have a promised completion date
+   * (used to seed deadline tracking).
+   */
+  @Query(
+      "SELECT o.id AS id, o.orderNumber AS orderNumber, o.uniqueLabel AS uniqueLabel, "
+          + "o.status AS status, o.version AS version, "
+          + "o.expectedCompletionDate AS expectedCompletionDate "
+          + "FROM OrderEntity o "
+          + "WHERE o.status IN :statuses AND o.expectedCompletionDate IS NOT NULL")
+  List<OrderStatusSnapshot> findDeadlineSnapshots(@Param("statuses") Collection<String> statuses);
+
+  /**
+   * Find IDs of orders in the given status created before the cutoff that are fully paid, oldest
+   * first (archive candidates).
+   */
+  @Query(
+      "SELECT o.id FROM OrderEntity o "
+          + "WHERE o.status = :status AND o.createdAt < :cutoff AND o.balanceDue <= 0 "
+          + "ORDER BY o.createdAt")
+  List<UUID> findArchiveCandidates(
+      @Param("status") String status, @Param("cutoff") Instant cutoff, Pageable pageable);
+
+  /**
+   * Set-based delete of archived orders. Items and payments (with all item children) are removed
+   * by the cascading foreign keys; the created_at bounds prune untouched partitions.
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(
+      "DELETE FROM OrderEntity o "
+          + "WHERE o.id IN :ids AND o.createdAt BETWEEN :createdFrom AND :createdTo")
+  int deleteArchived(
+      @Param("ids") Collection<UUID> ids,
+      @Param("createdFrom") Instant createdFrom,
+      @Param("createdTo") Instant createdTo);
+
+  /**
+   * Set-based status transition for orders currently in {@code fromStatus}. Increments version so
+   * concurrent entity updates fail their optimistic check. Completion date is only set when it is
+   * still empty and {@code completionDate} is not null.
+   *
+   * @return number of updated orders
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(
+      "UPDATE OrderEntity o SET o.status = :toStatus, "
+          + "o.version = COALESCE(o.version, 0) + 1, "
+          + "o.updatedAt = :now, "
+          + "o.actualCompletionDate = COALESCE(o.actualCompletionDate, :completionDate) "
+          + "WHERE o.id IN :ids AND o.status = :fromStatus")
+  int transitionStatus(
+      @Param("ids") Collection<UUID> ids,
+      @Param("fromStatus") String fromStatus,
+      @Param("toStatus") String toStatus,
+      @Param("now") Instant now,
+      @Param("completionDate") Instant completionDate);
+
+  /**
+   * Current optimistic-lock versions of an order and of its customer and branch, without loading
+   * the aggregate
+   */
+  @Query(
+      "SELECT COALESCE(o.version, 0) AS orderVersion, COALESCE(c.version, 0) AS customerVersion, "
+          + "COALESCE(b.version, 0) AS branchVersion "
+          + "FROM OrderEntity o JOIN o.customerEntity c JOIN o.branchEntity b WHERE o.id = :id")
+  Optional<OrderReceiptVersions> findReceiptVersionsById(@Param("id") UUID id);
+
+  /** IDs of a branch's orders created in [from, to), oldest first (batch receipt printing) */
+  @Query(
+      "SELECT o.id FROM OrderEntity o "
+          + "WHERE o.branchEntity.id = :branchId AND o.createdAt >= :from AND o.createdAt < :to "
+          + "ORDER BY o.createdAt")
+  List<UUID> findIdsByBranchAndCreatedAtRange(
+      @Param("branchId") UUID branchId,
+      @Param("from") Instant from,
+      @Param("to") Instant to,
+      Pageable pageable);
+
+  /*
+   * Receipt graph loading: one query per collection level, so a chunk of orders is loaded with a
+   * fixed number of statements and without cartesian products between sibling collections.
+   */
+
+  /** Orders with customer and branch */
+  @Query(
+      "SELECT o FROM OrderEntity o "
+          + "JOIN FETCH o.customerEntity JOIN FETCH o.branchEntity "
+          + "WHERE o.id IN :ids")
+  List<OrderEntity> findWithPartiesByIdIn(@Param("ids") Collection<UUID> ids);
+
+  /** Initialize items with price list entries and characteristics of already loaded orders */
+  @Query(
+      "SELECT DISTINCT o FROM OrderEntity o "
+          + "LEFT JOIN FETCH o.items i "
+          + "LEFT JOIN FETCH i.priceListItemEntity "
+          + "LEFT JOIN FETCH i.characteristics "
+          + "WHERE o.id IN :ids")
+  List<OrderEntity> fetchItemsByIdIn(@Param("ids") Collection<UUID> ids);
+
+  /** Initialize item modifiers of already loaded orders */
+  @Query(
+      "SELECT DISTINCT i FROM OrderItemEntity i "
+          + "LEFT JOIN FETCH i.modifiers "
+          + "WHERE i.orderEntity.id IN :ids")
+  List<OrderItemEntity> fetchItemModifiersByOrderIdIn(@Param("ids") Collection<UUID> ids);
+
+  /** Initialize payments of already loaded orders */
+  @Query(
+      "SELECT DISTINCT o FROM OrderEntity o LEFT JOIN FETCH o.payments WHERE o.id IN :ids")
+  List<OrderEntity> fetchPaymentsByIdIn(@Param("ids") Collection<UUID> ids);
+
+  /** Page through order IDs in key order (reconciliation chunks) */
+  @Query("SELECT o.id FROM OrderEntity o WHERE o.id > :after ORDER BY o.id")
+  List<UUID> findIdsAfter(@Param("after") UUID after, Pageable pageable);
+
+  /**
+   * Overwrite stored payment totals with the ledger sum. Only applies if the stored totals are
+   * still the ones that were checked, so a concurrent payment is never overwritten.
+   *
+   * @return 1 if repaired, 0 if the order changed meanwhile
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(
+      "UPDATE OrderEntity o SET o.paidAmount = :ledgerPaidAmount, "
+          + "o.balanceDue = o.totalAmount - :ledgerPaidAmount, "
+          + "o.version = COALESCE(o.version, 0) + 1 "
+          + "WHERE o.id = :id AND o.paidAmount = :paidAmount AND o.balanceDue = :balanceDue")
+  int repairPaymentTotals(
+      @Param("id") UUID id,
+      @Param("paidAmount") Integer paidAmount,
+      @Param("balanceDue") Integer balanceDue,
+      @Param("ledgerPaidAmount") Integer ledgerPaidAmount);
 
   // All complex queries are now handled through OrderSpecification
   // Use: orderRepository.findAll(OrderSpecification.method(), pageable)
@@ -0,0 +1,17 @@
+package com.aksi.repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.aksi.domain.order.OrderSignatureEntity;
+
+/** Repository for customer signatures of orders */
+@Repository
+public interface OrderSignatureRepository extends JpaRepository<OrderSignatureEntity, UUID> {
+
+  /** Find the signature of an order */
+  Optional<OrderSignatureEntity> findByOrderId(UUID orderId);
+}
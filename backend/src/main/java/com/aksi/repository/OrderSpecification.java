@@ -1,20 +1,43 @@
 package com.aksi.repository;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.util.StringUtils;
 
 import com.aksi.api.order.dto.OrderStatus;
+import com.aksi.domain.common.TimeOrderedUuidGenerator;
 import com.aksi.domain.order.OrderEntity;
 
 import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
 
-/** Specifications for Order entity queries - only used methods */
+/**
+ * Specifications for Order entity queries - only used methods. The orders table is range
+ * partitioned by created_at; filters add created_at bounds wherever they can be derived so
+ * PostgreSQL prunes untouched partitions.
+ */
 public class OrderSpecification {
 
+  /** Tolerance between identifier generation time and the persisted created_at */
+  private static final Duration ID_TIMESTAMP_TOLERANCE = Duration.ofHours(1);
+
+  /** IDs per IN list; larger sets are split into OR-ed chunks */
+  private static final int ID_CHUNK_SIZE = 1000;
+
+  /**
+   * Largest ID set {@link #hasIdIn} should be used for. Every ID is one bind parameter and
+   * PostgreSQL accepts at most 32767 per statement, so callers switch to range predicates above it.
+   */
+  public static final int MAX_ID_FILTER_SIZE = 10_000;
+
   private OrderSpecification() {}
 
   /** Filter by customer ID */
@@ -108,6 +131,59 @@ public class OrderSpecification {
     };
   }
 
+  /**
+   * Filter by a set of order IDs (empty set matches nothing), at most {@link #MAX_ID_FILTER_SIZE}.
+   * IDs are sent in IN lists of {@value #ID_CHUNK_SIZE}. When all IDs are time-ordered, their
+   * embedded timestamps bound created_at for partition pruning; callers that find fewer orders
+   * than IDs should retry with {@link #hasIdIn(Collection, boolean)} without pruning.
+   */
+  public static Specification<OrderEntity> hasIdIn(Collection<UUID> orderIds) {
+    return hasIdIn(orderIds, true);
+  }
+
+  /**
+   * Filter by a set of order IDs, optionally bounding created_at by the ID timestamps
+   *
+   * @param orderIds order IDs, at most {@link #MAX_ID_FILTER_SIZE}
+   * @param pruneByIdTimestamp whether to add created_at bounds derived from the IDs
+   */
+  public static Specification<OrderEntity> hasIdIn(
+      Collection<UUID> orderIds, boolean pruneByIdTimestamp) {
+    return (root, query, cb) -> {
+      if (orderIds.isEmpty()) {
+        return cb.disjunction();
+      }
+      List<UUID> ids = List.copyOf(orderIds);
+      List<Predicate> chunks = new ArrayList<>();
+      for (int from = 0; from < ids.size(); from += ID_CHUNK_SIZE) {
+        int to = Math.min(from + ID_CHUNK_SIZE, ids.size());
+        chunks.add(root.get("id").in(ids.subList(from, to)));
+      }
+      Predicate predicate =
+          chunks.size() == 1 ? chunks.get(0) : cb.or(chunks.toArray(Predicate[]::new));
+      if (!pruneByIdTimestamp) {
+        return predicate;
+      }
+      Instant min = null;
+      Instant max = null;
+      for (UUID orderId : orderIds) {
+        Optional<Instant> timestamp = TimeOrderedUuidGenerator.timestampOf(orderId);
+        if (timestamp.isEmpty()) {
+          return predicate;
+        }
+        Instant value = timestamp.get();
+        min = min == null || value.isBefore(min) ? value : min;
+        max = max == null || value.isAfter(max) ? value : max;
+      }
+      return cb.and(
+          predicate,
+          cb.between(
+              root.get("createdAt"),
+              min.minus(ID_TIMESTAMP_TOLERANCE),
+              max.plus(ID_TIMESTAMP_TOLERANCE)));
+    };
+  }
+
   /** Combine all search criteria for order listing */
   public static Specification<OrderEntity> searchOrders(
       UUID customerId,
@@ -0,0 +1,20 @@
+package com.aksi.repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/** Lightweight projection of order status fields used by bulk status transitions */
+public interface OrderStatusSnapshot {
+
+  UUID getId();
+
+  String getOrderNumber();
+
+  String getUniqueLabel();
+
+  String getStatus();
+
+  Long getVersion();
+
+  Instant getExpectedCompletionDate();
+}
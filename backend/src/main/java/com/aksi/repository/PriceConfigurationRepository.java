@@ -1,5 +1,6 @@
 package com.aksi.repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -27,6 +28,14 @@ public interface PriceConfigurationRepository
         PriceConfigurationSpecification.findActiveByGameIdOrderedBySortOrder(gameId), pageable);
   }
 
+  /**
+   * Find all active price configurations of a game using specifications. Used in
+   * GamePriceMatrixService.
+   */
+  default List<PriceConfigurationEntity> findActiveByGameId(UUID gameId) {
+    return findAll(PriceConfigurationSpecification.findActiveByGameId(gameId));
+  }
+
   /**
    * Find all active price configurations with pagination using specifications. Used in
    * PriceConfigurationQueryService.
@@ -0,0 +1,82 @@
+package com.aksi.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.aksi.domain.storage.StoredFileEntity;
+
+import jakarta.persistence.LockModeType;
+
+/** Repository for content-addressed stored files */
+@Repository
+public interface StoredFileRepository extends JpaRepository<StoredFileEntity, UUID> {
+
+  /** Find stored file by content hash */
+  Optional<StoredFileEntity> findByContentHash(String contentHash);
+
+  /**
+   * Find stored file by content hash and lock the row until the end of the transaction, so that
+   * reference count changes and file deletion of the same content are serialized
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT s FROM StoredFileEntity s WHERE s.contentHash = :contentHash")
+  Optional<StoredFileEntity> findByContentHashForUpdate(@Param("contentHash") String contentHash);
+
+  /**
+   * Register content without references unless its hash is already known. A concurrent insert of
+   * the same hash waits on the unique key until the first transaction ends, then inserts nothing,
+   * so concurrent first uploads of identical content never fail on the constraint.
+   *
+   * @return 1 if the row was inserted, 0 if the content was already registered
+   */
+  @Modifying
+  @Query(
+      value =
+          "INSERT INTO stored_files (id, content_hash, storage_path, size_bytes, content_type, "
+              + "reference_count, last_verified_at) "
+              + "VALUES (:id, :contentHash, :storagePath, :sizeBytes, :contentType, 0, :verifiedAt) "
+              + "ON CONFLICT (content_hash) DO NOTHING",
+      nativeQuery = true)
+  int insertIfAbsent(
+      @Param("id") UUID id,
+      @Param("contentHash") String contentHash,
+      @Param("storagePath") String storagePath,
+      @Param("sizeBytes") long sizeBytes,
+      @Param("contentType") String contentType,
+      @Param("verifiedAt") Instant verifiedAt);
+
+  /** Stored files verified longest ago (never verified first) */
+  @Query("SELECT s FROM StoredFileEntity s ORDER BY s.lastVerifiedAt ASC NULLS FIRST, s.id ASC")
+  List<StoredFileEntity> findLeastRecentlyVerified(Pageable pageable);
+
+  /** Content hashes of files nothing has referenced since the cutoff */
+  @Query(
+      "SELECT s.contentHash FROM StoredFileEntity s "
+          + "WHERE s.referenceCount <= 0 AND s.updatedAt < :cutoff")
+  List<String> findUnreferencedHashes(@Param("cutoff") Instant cutoff, Pageable pageable);
+
+  /** Those of the given storage paths that belong to a stored file */
+  @Query("SELECT s.storagePath FROM StoredFileEntity s WHERE s.storagePath IN :storagePaths")
+  List<String> findExistingStoragePaths(@Param("storagePaths") Collection<String> storagePaths);
+
+  /** Record a scrubber verification without touching the entity version */
+  @Modifying
+  @Query(
+      "UPDATE StoredFileEntity s SET s.lastVerifiedAt = :verifiedAt, s.corrupted = :corrupted "
+          + "WHERE s.id = :id")
+  int markVerified(
+      @Param("id") UUID id,
+      @Param("verifiedAt") Instant verifiedAt,
+      @Param("corrupted") boolean corrupted);
+}
@@ -1,5 +1,8 @@
 package com.aksi.service.game;
 
+import java.util.List;
+
+import com.aksi.api.game.dto.PriceMatrixResponse;
 import com.aksi.api.game.dto.UniversalCalculationRequest;
 import com.aksi.api.game.dto.UniversalCalculationResponse;
 
@@ -17,4 +20,17 @@ public interface CalculationService {
      * @return universal calculation response
      */
     UniversalCalculationResponse calculateWithFormula(String formulaType, UniversalCalculationRequest request);
+
+    /**
+     * Price matrix of a game: every service type × difficulty level × level jump combination
+     *
+     * @param gameCode game code
+     * @param levelJumps level jumps as "fromLevel-toLevel"
+     * @param serviceTypes service type codes, all active ones if empty
+     * @param difficultyLevels difficulty level codes, all active ones if empty
+     * @param modifiers modifier codes applied to every price
+     * @return columnar price matrix with its catalog version
+     */
+    PriceMatrixResponse getPriceMatrix(String gameCode, List<String> levelJumps, List<String> serviceTypes,
+                                       List<String> difficultyLevels, List<String> modifiers);
 }
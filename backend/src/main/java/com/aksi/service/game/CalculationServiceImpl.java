@@ -1,10 +1,14 @@
 package com.aksi.service.game;
 
+import java.util.List;
+
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.aksi.api.game.dto.PriceMatrixResponse;
 import com.aksi.api.game.dto.UniversalCalculationRequest;
 import com.aksi.api.game.dto.UniversalCalculationResponse;
+import com.aksi.service.game.calculation.GamePriceMatrixService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -18,9 +22,18 @@ import lombok.RequiredArgsConstructor;
 public class CalculationServiceImpl implements CalculationService {
 
   private final CalculationQueryService queryService;
+  private final GamePriceMatrixService priceMatrixService;
 
   @Override
   public UniversalCalculationResponse calculateWithFormula(String formulaType, UniversalCalculationRequest request) {
     return queryService.calculateWithFormula(formulaType, request);
   }
+
+  @Override
+  @Transactional(readOnly = true)
+  public PriceMatrixResponse getPriceMatrix(String gameCode, List<String> levelJumps,
+      List<String> serviceTypes, List<String> difficultyLevels, List<String> modifiers) {
+    return priceMatrixService.getPriceMatrix(
+        gameCode, levelJumps, serviceTypes, difficultyLevels, modifiers);
+  }
 }
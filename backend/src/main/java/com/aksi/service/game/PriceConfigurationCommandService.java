@@ -2,6 +2,7 @@ package com.aksi.service.game;
 
 import java.util.UUID;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -11,6 +12,8 @@ import com.aksi.api.game.dto.UpdatePriceConfigurationRequest;
 import com.aksi.domain.game.PriceConfigurationEntity;
 import com.aksi.exception.NotFoundException;
 import com.aksi.repository.PriceConfigurationRepository;
+import com.aksi.service.game.calculation.LevelPriceTables;
+import com.aksi.service.game.event.PriceConfigurationSavedEvent;
 import com.aksi.service.game.factory.PriceConfigurationFactory;
 import com.aksi.service.game.util.PriceConfigurationOperationUtils;
 
@@ -31,6 +34,8 @@ public class PriceConfigurationCommandService {
   private final PriceConfigurationValidationService validationService;
   private final PriceConfigurationFactory priceConfigurationFactory;
   private final PriceConfigurationOperationUtils priceConfigurationOperationUtils;
+  private final LevelPriceTables levelPriceTables;
+  private final ApplicationEventPublisher eventPublisher;
 
   /**
    * Create a new price configuration.
@@ -55,6 +60,7 @@ public class PriceConfigurationCommandService {
 
     // Save entity
     PriceConfigurationEntity savedEntity = priceConfigurationRepository.save(entity);
+    eventPublisher.publishEvent(new PriceConfigurationSavedEvent(savedEntity.getId()));
     log.info("Created price configuration with id: {}", savedEntity.getId());
 
     return priceConfigurationFactory.toDto(savedEntity);
@@ -91,6 +97,8 @@ public class PriceConfigurationCommandService {
 
     // Save updated entity
     PriceConfigurationEntity savedEntity = priceConfigurationRepository.save(updatedEntity);
+    levelPriceTables.evict(savedEntity.getId());
+    eventPublisher.publishEvent(new PriceConfigurationSavedEvent(savedEntity.getId()));
     log.info("Updated price configuration with id: {}", savedEntity.getId());
 
     return priceConfigurationFactory.toDto(savedEntity);
@@ -104,5 +112,6 @@ public class PriceConfigurationCommandService {
    */
   public void deletePriceConfiguration(UUID priceConfigurationId) {
     priceConfigurationOperationUtils.softDelete(priceConfigurationId);
+    levelPriceTables.evict(priceConfigurationId);
   }
 }
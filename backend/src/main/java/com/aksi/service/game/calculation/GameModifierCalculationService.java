@@ -48,6 +48,27 @@ public class GameModifierCalculationService {
                 .orElse(ModifierCalculationResult.noModifiers(basePrice));
     }
 
+    /**
+     * Total adjustment of already loaded and validated modifiers, without per-modifier logging.
+     * Used when many prices are adjusted by the same modifiers, e.g. a price matrix.
+     *
+     * @param modifiers Modifier entities to apply
+     * @param basePrice Base price before modifiers
+     * @param startLevel Starting level
+     * @param targetLevel Target level
+     * @return Sum of all modifier adjustments in cents
+     */
+    public int totalAdjustment(List<GameModifierEntity> modifiers, Integer basePrice,
+                               int startLevel, int targetLevel) {
+        int total = 0;
+        for (GameModifierEntity modifier : modifiers) {
+            if (modifier != null && modifier.getValue() != null) {
+                total += calculateAdjustmentValue(modifier, basePrice, startLevel, targetLevel);
+            }
+        }
+        return total;
+    }
+
     /**
      * Process all modifiers and calculate total adjustment.
      */
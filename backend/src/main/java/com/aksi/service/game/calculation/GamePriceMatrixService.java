@@ -0,0 +1,318 @@
+package com.aksi.service.game.calculation;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import com.aksi.api.game.dto.PriceMatrixResponse;
+import com.aksi.config.GamePriceTableProperties;
+import com.aksi.domain.common.BaseEntity;
+import com.aksi.domain.game.DifficultyLevelEntity;
+import com.aksi.domain.game.GameEntity;
+import com.aksi.domain.game.GameModifierEntity;
+import com.aksi.domain.game.PriceConfigurationEntity;
+import com.aksi.domain.game.ServiceTypeEntity;
+import com.aksi.exception.BadRequestException;
+import com.aksi.exception.NotFoundException;
+import com.aksi.repository.DifficultyLevelRepository;
+import com.aksi.repository.GameRepository;
+import com.aksi.repository.PriceConfigurationRepository;
+import com.aksi.repository.ServiceTypeRepository;
+import com.aksi.service.game.GameModifierService;
+import com.aksi.service.game.calculation.util.CalculationConstants;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Prices of a whole game catalog grid: service types × difficulty levels × level jumps.
+ * <p>
+ * The game, its service types, difficulty levels, price configurations and the requested
+ * modifiers are loaded once per request. Every service type × difficulty level row is then priced
+ * as its own task on the price matrix executor, through the precomputed level price tables.
+ * <p>
+ * The entity versions of everything loaded make up the catalog version of the matrix. A matrix is
+ * cached per request and reused for as long as its catalog version is unchanged, so repeated
+ * requests only pay for loading the catalog.
+ */
+@Service
+@Slf4j
+public class GamePriceMatrixService {
+
+    private final GameRepository gameRepository;
+    private final ServiceTypeRepository serviceTypeRepository;
+    private final DifficultyLevelRepository difficultyLevelRepository;
+    private final PriceConfigurationRepository priceConfigurationRepository;
+    private final GameModifierService gameModifierService;
+    private final GameModifierCalculationService modifierCalculationService;
+    private final LevelPriceTables levelPriceTables;
+    private final GamePriceTableProperties properties;
+    private final Executor matrixExecutor;
+
+    /** Matrices by request key; responses are shared and must be treated as read-only */
+    private final Map<String, PriceMatrixResponse> matrices = new ConcurrentHashMap<>();
+
+    public GamePriceMatrixService(
+            GameRepository gameRepository,
+            ServiceTypeRepository serviceTypeRepository,
+            DifficultyLevelRepository difficultyLevelRepository,
+            PriceConfigurationRepository priceConfigurationRepository,
+            GameModifierService gameModifierService,
+            GameModifierCalculationService modifierCalculationService,
+            LevelPriceTables levelPriceTables,
+            GamePriceTableProperties properties,
+            @Qualifier("priceMatrixExecutor") Executor matrixExecutor) {
+        this.gameRepository = gameRepository;
+        this.serviceTypeRepository = serviceTypeRepository;
+        this.difficultyLevelRepository = difficultyLevelRepository;
+        this.priceConfigurationRepository = priceConfigurationRepository;
+        this.gameModifierService = gameModifierService;
+        this.modifierCalculationService = modifierCalculationService;
+        this.levelPriceTables = levelPriceTables;
+        this.properties = properties;
+        this.matrixExecutor = matrixExecutor;
+    }
+
+    /**
+     * Price matrix of a game.
+     *
+     * @param gameCode Game code
+     * @param levelJumps Level jumps as "fromLevel-toLevel"
+     * @param serviceTypeCodes Service type codes, or null/empty for all active service types
+     * @param difficultyLevelCodes Difficulty level codes, or null/empty for all active levels
+     * @param modifierCodes Modifier codes applied to every price, may be null
+     * @return Columnar price matrix with its catalog version
+     */
+    public PriceMatrixResponse getPriceMatrix(String gameCode, List<String> levelJumps,
+                                              List<String> serviceTypeCodes,
+                                              List<String> difficultyLevelCodes,
+                                              List<String> modifierCodes) {
+        int[][] jumps = parseLevelJumps(levelJumps);
+
+        // Step 1: Load the catalog once
+        GameEntity game = gameRepository.findByCode(gameCode)
+                .orElseThrow(() -> new NotFoundException("Game not found with code: " + gameCode));
+        List<ServiceTypeEntity> serviceTypes = select(
+                serviceTypeRepository.findByGameIdAndActiveTrue(game.getId()),
+                serviceTypeCodes, ServiceTypeEntity::getCode, "Service type", gameCode);
+        List<DifficultyLevelEntity> difficultyLevels = select(
+                difficultyLevelRepository.findActiveByGameIdOrderBySortOrder(game.getId()),
+                difficultyLevelCodes, DifficultyLevelEntity::getCode, "Difficulty level", gameCode);
+        List<PriceConfigurationEntity> configurations =
+                priceConfigurationRepository.findActiveByGameId(game.getId());
+        List<GameModifierEntity> modifiers = modifierCodes == null || modifierCodes.isEmpty()
+                ? List.of()
+                : gameModifierService.getModifiersByCodes(modifierCodes);
+        gameModifierService.validateModifierCompatibility(modifiers);
+
+        long cells = (long) serviceTypes.size() * difficultyLevels.size() * jumps.length;
+        if (cells > properties.getMaxMatrixCells()) {
+            throw new BadRequestException(String.format(
+                    "Price matrix of %d cells exceeds the limit of %d", cells, properties.getMaxMatrixCells()));
+        }
+
+        // Step 2: Reuse the cached matrix while the catalog is unchanged
+        String catalogVersion = catalogVersion(game, serviceTypes, difficultyLevels, configurations, modifiers);
+        String key = String.join("|", gameCode, String.valueOf(serviceTypeCodes),
+                String.valueOf(difficultyLevelCodes), String.valueOf(levelJumps), String.valueOf(modifierCodes));
+        PriceMatrixResponse cached = matrices.get(key);
+        if (cached != null && catalogVersion.equals(cached.getCatalogVersion())) {
+            return cached;
+        }
+
+        // Step 3: Price every row in parallel
+        long startTime = System.nanoTime();
+        PriceMatrixResponse matrix = build(gameCode, catalogVersion, serviceTypes, difficultyLevels,
+                configurations, modifiers, jumps);
+        log.debug("Priced {} cells of game {} (catalog {}) in {} ms", cells, gameCode, catalogVersion,
+                (System.nanoTime() - startTime) / 1_000_000);
+
+        if (matrices.size() >= properties.getMaxMatrices()) {
+            // Arbitrary eviction keeps the cache bounded; matrices are cheap to rebuild
+            Iterator<String> iterator = matrices.keySet().iterator();
+            if (iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+        matrices.put(key, matrix);
+        return matrix;
+    }
+
+    private PriceMatrixResponse build(String gameCode, String catalogVersion,
+                                      List<ServiceTypeEntity> serviceTypes,
+                                      List<DifficultyLevelEntity> difficultyLevels,
+                                      List<PriceConfigurationEntity> configurations,
+                                      List<GameModifierEntity> modifiers, int[][] jumps) {
+        // Resolve configurations per row in the request thread, so workers never touch lazy associations
+        Map<String, PriceConfigurationEntity> byRow = new HashMap<>();
+        configurations.stream()
+                .sorted(Comparator.comparing(PriceConfigurationEntity::getSortOrder,
+                        Comparator.nullsLast(Comparator.naturalOrder())))
+                .forEach(configuration -> byRow.putIfAbsent(
+                        rowKey(configuration.getServiceType().getId(), configuration.getDifficultyLevel().getId()),
+                        configuration));
+
+        int rows = serviceTypes.size() * difficultyLevels.size();
+        Integer[] prices = new Integer[rows * jumps.length];
+        List<String> currencies = new ArrayList<>(rows);
+        List<CompletableFuture<Void>> tasks = new ArrayList<>(rows);
+
+        for (int s = 0; s < serviceTypes.size(); s++) {
+            for (int d = 0; d < difficultyLevels.size(); d++) {
+                int offset = (s * difficultyLevels.size() + d) * jumps.length;
+                PriceConfigurationEntity configuration = byRow.get(
+                        rowKey(serviceTypes.get(s).getId(), difficultyLevels.get(d).getId()));
+                currencies.add(configuration != null ? configuration.getCurrency() : null);
+                if (configuration != null) {
+                    // Each row writes its own slice of the array; join() publishes the writes
+                    tasks.add(CompletableFuture.runAsync(
+                            () -> priceRow(configuration, modifiers, jumps, prices, offset), matrixExecutor));
+                }
+            }
+        }
+        try {
+            CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            // Surface a failed row as the exception its pricing threw
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+
+        var matrix = new PriceMatrixResponse();
+        matrix.setGameCode(gameCode);
+        matrix.setCatalogVersion(catalogVersion);
+        matrix.setServiceTypes(serviceTypes.stream().map(ServiceTypeEntity::getCode).toList());
+        matrix.setDifficultyLevels(difficultyLevels.stream().map(DifficultyLevelEntity::getCode).toList());
+        matrix.setFromLevels(Arrays.stream(jumps).map(jump -> jump[0]).toList());
+        matrix.setToLevels(Arrays.stream(jumps).map(jump -> jump[1]).toList());
+        matrix.setModifiers(modifiers.stream().map(GameModifierEntity::getCode).toList());
+        matrix.setCurrencies(currencies);
+        matrix.setPrices(Arrays.asList(prices));
+        return matrix;
+    }
+
+    private void priceRow(PriceConfigurationEntity configuration, List<GameModifierEntity> modifiers,
+                          int[][] jumps, Integer[] prices, int offset) {
+        for (int j = 0; j < jumps.length; j++) {
+            prices[offset + j] = priceCell(configuration, modifiers, jumps[j][0], jumps[j][1]);
+        }
+    }
+
+    /**
+     * Price of one cell, or null where the configuration's strategy cannot price the level jump.
+     * Any other failure fails the matrix instead of showing up as a missing price.
+     */
+    private Integer priceCell(PriceConfigurationEntity configuration, List<GameModifierEntity> modifiers,
+                              int fromLevel, int toLevel) {
+        Integer price = levelPriceTables.findPrice(configuration, fromLevel, toLevel);
+        if (price == null) {
+            return null;
+        }
+        // Same final price as /calculate: free and fully discounted jumps are prices too
+        return modifiers.isEmpty()
+                ? price
+                : price + modifierCalculationService.totalAdjustment(modifiers, price, fromLevel, toLevel);
+    }
+
+    /**
+     * Parse "fromLevel-toLevel" pairs.
+     */
+    private int[][] parseLevelJumps(List<String> levelJumps) {
+        if (levelJumps == null || levelJumps.isEmpty()) {
+            throw new BadRequestException("At least one level jump is required");
+        }
+        int[][] jumps = new int[levelJumps.size()][];
+        for (int i = 0; i < jumps.length; i++) {
+            String jump = levelJumps.get(i);
+            int separator = jump != null ? jump.indexOf('-') : -1;
+            if (separator < 0) {
+                throw new BadRequestException("Invalid level jump: " + jump);
+            }
+            try {
+                int from = Integer.parseInt(jump.substring(0, separator));
+                int to = Integer.parseInt(jump.substring(separator + 1));
+                if (from < CalculationConstants.Limits.MIN_LEVEL || to < from) {
+                    throw new BadRequestException("Invalid level jump: " + jump);
+                }
+                jumps[i] = new int[] {from, to};
+            } catch (NumberFormatException e) {
+                throw new BadRequestException("Invalid level jump: " + jump);
+            }
+        }
+        return jumps;
+    }
+
+    /**
+     * Entities of the requested codes in request order, or all entities when no codes are given.
+     */
+    private <T> List<T> select(List<T> entities, List<String> codes, Function<T, String> codeOf,
+                               String kind, String gameCode) {
+        if (codes == null || codes.isEmpty()) {
+            return entities;
+        }
+        Map<String, T> byCode = new HashMap<>();
+        entities.forEach(entity -> byCode.putIfAbsent(codeOf.apply(entity), entity));
+        return codes.stream()
+                .distinct()
+                .map(code -> {
+                    T entity = byCode.get(code);
+                    if (entity == null) {
+                        throw new NotFoundException(kind + " not found: " + code + " for game: " + gameCode);
+                    }
+                    return entity;
+                })
+                .toList();
+    }
+
+    /**
+     * Hash of the IDs and versions of everything a matrix is calculated from.
+     */
+    private String catalogVersion(GameEntity game, List<ServiceTypeEntity> serviceTypes,
+                                  List<DifficultyLevelEntity> difficultyLevels,
+                                  List<PriceConfigurationEntity> configurations,
+                                  List<GameModifierEntity> modifiers) {
+        List<String> parts = new ArrayList<>();
+        parts.add(versionOf("G", game));
+        serviceTypes.forEach(entity -> parts.add(versionOf("S", entity)));
+        difficultyLevels.forEach(entity -> parts.add(versionOf("D", entity)));
+        configurations.forEach(entity -> parts.add(versionOf("P", entity)));
+        modifiers.forEach(entity -> parts.add(versionOf("M", entity)));
+        parts.sort(Comparator.naturalOrder());
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(String.join(",", parts).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String versionOf(String kind, BaseEntity entity) {
+        return kind + ":" + entity.getId() + ":" + Objects.toString(entity.getVersion(), "");
+    }
+
+    private static String rowKey(UUID serviceTypeId, UUID difficultyLevelId) {
+        return serviceTypeId + "/" + difficultyLevelId;
+    }
+}
@@ -0,0 +1,98 @@
+package com.aksi.service.game.calculation;
+
+/**
+ * Prices of every level pair of one price configuration, in one primitive array.
+ * <p>
+ * Only pairs with {@code 1 <= fromLevel <= toLevel <= maxLevel} exist, so the matrix is stored
+ * as its upper triangle row by row: row {@code fromLevel} holds targets {@code fromLevel} to
+ * {@code maxLevel}. A lookup is two array reads.
+ */
+final class LevelPriceTable {
+
+    /** Marks pairs outside the table and pairs the strategy could not price */
+    static final int NOT_PRICED = Integer.MIN_VALUE;
+
+    private final Long version;
+    private final int maxLevel;
+    private final int[] rowOffsets;
+    private final int[] prices;
+
+    private LevelPriceTable(Long version, int maxLevel, int[] prices) {
+        this.version = version;
+        this.maxLevel = maxLevel;
+        this.prices = prices;
+        this.rowOffsets = new int[maxLevel + 1];
+        int offset = 0;
+        for (int from = 1; from <= maxLevel; from++) {
+            rowOffsets[from] = offset - from;
+            offset += maxLevel - from + 1;
+        }
+    }
+
+    /**
+     * Table without prices, remembering that a configuration version is not tabulated.
+     */
+    static LevelPriceTable empty(Long version) {
+        return new LevelPriceTable(version, 0, new int[0]);
+    }
+
+    /**
+     * Tabulate prices for levels 1 to maxLevel.
+     *
+     * @param version Version of the price configuration the prices belong to
+     * @param maxLevel Highest level
+     * @param pricer Price of one level pair, or {@link #NOT_PRICED}
+     */
+    static LevelPriceTable build(Long version, int maxLevel, LevelPairPricer pricer) {
+        int[] prices = new int[size(maxLevel)];
+        int index = 0;
+        for (int from = 1; from <= maxLevel; from++) {
+            for (int to = from; to <= maxLevel; to++) {
+                prices[index++] = pricer.price(from, to);
+            }
+        }
+        return new LevelPriceTable(version, maxLevel, prices);
+    }
+
+    /**
+     * Number of level pairs for levels 1 to maxLevel.
+     */
+    static int size(int maxLevel) {
+        return maxLevel * (maxLevel + 1) / 2;
+    }
+
+    /**
+     * Price of a level pair.
+     *
+     * @return Price in cents, or {@link #NOT_PRICED}
+     */
+    int price(int fromLevel, int toLevel) {
+        if (!covers(fromLevel, toLevel)) {
+            return NOT_PRICED;
+        }
+        return prices[rowOffsets[fromLevel] + toLevel];
+    }
+
+    /**
+     * Whether the level pair lies within the table, priced or not.
+     */
+    boolean covers(int fromLevel, int toLevel) {
+        return fromLevel >= 1 && toLevel >= fromLevel && toLevel <= maxLevel;
+    }
+
+    Long version() {
+        return version;
+    }
+
+    int maxLevel() {
+        return maxLevel;
+    }
+
+    /**
+     * Price source used while a table is built.
+     */
+    @FunctionalInterface
+    interface LevelPairPricer {
+        int price(int fromLevel, int toLevel);
+    }
+}
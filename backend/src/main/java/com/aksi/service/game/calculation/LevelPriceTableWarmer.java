@@ -0,0 +1,39 @@
+package com.aksi.service.game.calculation;
+
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.aksi.repository.PriceConfigurationRepository;
+import com.aksi.service.game.event.PriceConfigurationSavedEvent;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Tabulates saved price configurations on the background executor once their transaction commits,
+ * so the first price asked afterwards is already a table lookup. The configuration is read again
+ * to tabulate the committed version.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LevelPriceTableWarmer {
+
+    private final PriceConfigurationRepository priceConfigurationRepository;
+    private final LevelPriceTables levelPriceTables;
+
+    @Async("taskExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSaved(PriceConfigurationSavedEvent event) {
+        try {
+            priceConfigurationRepository.findById(event.configurationId())
+                    .filter(configuration -> Boolean.TRUE.equals(configuration.getActive()))
+                    .ifPresent(levelPriceTables::warm);
+        } catch (RuntimeException e) {
+            log.warn("Could not warm price table of configuration {}: {}",
+                    event.configurationId(), e.getMessage());
+        }
+    }
+}
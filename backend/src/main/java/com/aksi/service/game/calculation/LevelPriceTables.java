@@ -0,0 +1,192 @@
+package com.aksi.service.game.calculation;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import com.aksi.config.GamePriceTableProperties;
+import com.aksi.domain.game.PriceConfigurationEntity;
+import com.aksi.domain.game.formula.CalculationFormulaEntity;
+import com.aksi.domain.game.formula.PriceRangeEntity;
+import com.aksi.domain.game.formula.RangeFormulaEntity;
+import com.aksi.service.game.calculation.strategy.CalculationStrategy;
+import com.aksi.service.game.calculation.strategy.CalculationStrategyFactory;
+import com.aksi.service.game.calculation.util.CalculationConstants;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Prices of price configurations answered from precomputed level-to-level tables.
+ * <p>
+ * The first price asked for a configuration tabulates every level pair of its level space with
+ * the configuration's calculation strategy; later prices are an O(1) table lookup. A RANGE
+ * formula's level space ends at its highest range, other formulas use the configured default.
+ * Level spaces above the configured size, and level pairs outside the table, are priced by the
+ * strategy directly.
+ * <p>
+ * Tables are cached by configuration ID together with the entity version, so a configuration
+ * saved with a new formula or base price is tabulated again; saved configurations are warmed
+ * right after commit. Concurrent misses of one configuration wait for a single build. Formulas
+ * that are not saved configurations, such as those sent with a calculation request, are priced
+ * by their strategy directly.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LevelPriceTables {
+
+    private final CalculationStrategyFactory strategyFactory;
+    private final GamePriceTableProperties properties;
+
+    private final Map<UUID, LevelPriceTable> tables = new ConcurrentHashMap<>();
+
+    /**
+     * Calculate price of a configuration for a level pair.
+     *
+     * @param configuration Price configuration with its formula and base price
+     * @param fromLevel Starting level
+     * @param toLevel Target level
+     * @return Calculated price in cents
+     */
+    public Integer calculatePrice(PriceConfigurationEntity configuration, int fromLevel, int toLevel) {
+        return price(configuration, fromLevel, toLevel, false);
+    }
+
+    /**
+     * Price of a configuration for a level pair, or null if the strategy failed on that pair while
+     * the table was built. Any other failure, such as a formula that cannot be tabulated at all,
+     * is thrown as by {@link #calculatePrice(PriceConfigurationEntity, int, int)}.
+     *
+     * @param configuration Price configuration with its formula and base price
+     * @param fromLevel Starting level
+     * @param toLevel Target level
+     * @return Calculated price in cents, or null
+     */
+    public Integer findPrice(PriceConfigurationEntity configuration, int fromLevel, int toLevel) {
+        return price(configuration, fromLevel, toLevel, true);
+    }
+
+    private Integer price(PriceConfigurationEntity configuration, int fromLevel, int toLevel,
+                          boolean unpricedAsNull) {
+        CalculationFormulaEntity formula = requireFormula(configuration.getCalculationFormula());
+        CalculationStrategy strategy = strategyFactory.getStrategy(formula.getType().getValue());
+
+        if (properties.isEnabled() && configuration.getId() != null) {
+            LevelPriceTable table = tableFor(configuration, formula, strategy);
+            int price = table.price(fromLevel, toLevel);
+            if (price != LevelPriceTable.NOT_PRICED) {
+                return price;
+            }
+            if (unpricedAsNull && table.covers(fromLevel, toLevel)) {
+                return null;
+            }
+        }
+
+        return strategy.calculatePrice(formula, configuration.getBasePrice(), fromLevel, toLevel);
+    }
+
+    /**
+     * Tabulate a saved configuration ahead of its first price.
+     */
+    public void warm(PriceConfigurationEntity configuration) {
+        CalculationFormulaEntity formula = configuration.getCalculationFormula();
+        if (!properties.isEnabled() || configuration.getId() == null || formula == null) {
+            return;
+        }
+        tableFor(configuration, formula, strategyFactory.getStrategy(formula.getType().getValue()));
+    }
+
+    /**
+     * Drop the table of a configuration that was updated or deleted.
+     */
+    public void evict(UUID configurationId) {
+        if (configurationId != null && tables.remove(configurationId) != null) {
+            log.debug("Evicted price table of configuration {}", configurationId);
+        }
+    }
+
+    private LevelPriceTable tableFor(PriceConfigurationEntity configuration,
+                                     CalculationFormulaEntity formula, CalculationStrategy strategy) {
+        LevelPriceTable table = tables.get(configuration.getId());
+        if (table != null && Objects.equals(table.version(), configuration.getVersion())) {
+            return table;
+        }
+
+        makeRoom();
+        // compute() runs once per key at a time, so concurrent misses share one build
+        return tables.compute(configuration.getId(), (id, current) ->
+                current != null && Objects.equals(current.version(), configuration.getVersion())
+                        ? current
+                        : build("configuration " + id, configuration.getVersion(), formula,
+                                configuration.getBasePrice(), strategy));
+    }
+
+    /**
+     * Evict an arbitrary table before adding one; tables are cheap to rebuild.
+     * Runs outside compute() because a mapping function must not change other keys.
+     */
+    private void makeRoom() {
+        if (tables.size() >= properties.getMaxTables()) {
+            Iterator<UUID> iterator = tables.keySet().iterator();
+            if (iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+    }
+
+    private LevelPriceTable build(String source, Long version, CalculationFormulaEntity formula,
+                                  Integer basePrice, CalculationStrategy strategy) {
+        int maxLevel = maxLevel(formula);
+        if (maxLevel < CalculationConstants.Limits.MIN_LEVEL || maxLevel > properties.getMaxLevels()) {
+            log.debug("Not tabulating {}: level space of {} levels", source, maxLevel);
+            return LevelPriceTable.empty(version);
+        }
+
+        try {
+            // Validate once up front so a broken formula fails here instead of in every cell
+            strategy.calculatePrice(formula, basePrice, 1, 1);
+        } catch (RuntimeException e) {
+            log.warn("Not tabulating {}: {}", source, e.getMessage());
+            return LevelPriceTable.empty(version);
+        }
+
+        long startTime = System.nanoTime();
+        LevelPriceTable table = LevelPriceTable.build(version, maxLevel, (from, to) -> {
+            try {
+                return strategy.calculatePrice(formula, basePrice, from, to);
+            } catch (RuntimeException e) {
+                return LevelPriceTable.NOT_PRICED;
+            }
+        });
+
+        log.debug("Tabulated {} prices of {} (version {}) in {} ms",
+                LevelPriceTable.size(maxLevel), source, version, (System.nanoTime() - startTime) / 1_000_000);
+        return table;
+    }
+
+    private static CalculationFormulaEntity requireFormula(CalculationFormulaEntity formula) {
+        return Optional.ofNullable(formula)
+                .orElseThrow(() -> new IllegalArgumentException(CalculationConstants.ErrorMessages.FORMULA_NULL));
+    }
+
+    /**
+     * Highest level of the formula's level space.
+     */
+    private int maxLevel(CalculationFormulaEntity formula) {
+        if (formula instanceof RangeFormulaEntity range) {
+            return range.getRanges().stream()
+                    .filter(Objects::nonNull)
+                    .mapToInt(PriceRangeEntity::getTo)
+                    .max()
+                    .orElse(0);
+        }
+        return properties.getDefaultMaxLevel();
+    }
+}
@@ -0,0 +1,473 @@
+package com.aksi.service.game.calculation.expression;
+
+/**
+ * Node of a compiled expression tree. Every operator has its own node class, and operations with a
+ * constant operand get dedicated nodes, so evaluation is a handful of monomorphic calls with no
+ * boxing, lookups or allocation. Arithmetic is exact: overflow and division by zero throw {@link
+ * ArithmeticException} instead of producing a wrong price. Decimal literals exist only while
+ * parsing; multiplying or dividing by one yields a node that scales by the fraction and rounds
+ * half away from zero.
+ */
+abstract class ExpressionNode {
+
+  /** Evaluate against variable values indexed by slot */
+  abstract long evaluate(long[] slots);
+
+  /** Value known at compile time, or null */
+  Long constantValue() {
+    return null;
+  }
+
+  /** Whether this is a decimal literal, valid only as a factor or divisor */
+  boolean isDecimal() {
+    return false;
+  }
+
+  static ExpressionNode constant(long value) {
+    return new Constant(value);
+  }
+
+  /** Decimal literal numerator / denominator, an integer constant if the fraction is whole */
+  static ExpressionNode decimal(long numerator, long denominator) {
+    if (denominator == 0) {
+      throw new ArithmeticException("Division by zero");
+    }
+    if (denominator < 0) {
+      numerator = Math.negateExact(numerator);
+      denominator = Math.negateExact(denominator);
+    }
+    long gcd = gcd(Math.abs(numerator), denominator);
+    numerator /= gcd;
+    denominator /= gcd;
+    return denominator == 1 ? constant(numerator) : new Decimal(numerator, denominator);
+  }
+
+  static ExpressionNode slot(int index) {
+    return new Slot(index);
+  }
+
+  static ExpressionNode negate(ExpressionNode operand) {
+    if (operand instanceof Decimal d) {
+      return decimal(Math.negateExact(d.numerator), d.denominator);
+    }
+    Long value = operand.constantValue();
+    return value != null ? constant(Math.negateExact(value)) : new Negate(operand);
+  }
+
+  static ExpressionNode add(ExpressionNode left, ExpressionNode right) {
+    Long l = left.constantValue();
+    Long r = right.constantValue();
+    if (l != null && r != null) {
+      return constant(Math.addExact(l, r));
+    }
+    if (r != null) {
+      return r == 0 ? left : new AddConstant(left, r);
+    }
+    if (l != null) {
+      return l == 0 ? right : new AddConstant(right, l);
+    }
+    return new Add(left, right);
+  }
+
+  static ExpressionNode subtract(ExpressionNode left, ExpressionNode right) {
+    Long l = left.constantValue();
+    Long r = right.constantValue();
+    if (l != null && r != null) {
+      return constant(Math.subtractExact(l, r));
+    }
+    if (r != null) {
+      return r == 0 ? left : new AddConstant(left, Math.negateExact(r));
+    }
+    return new Subtract(left, right);
+  }
+
+  static ExpressionNode multiply(ExpressionNode left, ExpressionNode right) {
+    if (left instanceof Decimal l && right instanceof Decimal r) {
+      return decimal(
+          Math.multiplyExact(l.numerator, r.numerator),
+          Math.multiplyExact(l.denominator, r.denominator));
+    }
+    if (right instanceof Decimal r) {
+      return multiplyFraction(left, r.numerator, r.denominator);
+    }
+    if (left instanceof Decimal l) {
+      return multiplyFraction(right, l.numerator, l.denominator);
+    }
+    Long l = left.constantValue();
+    Long r = right.constantValue();
+    if (l != null && r != null) {
+      return constant(Math.multiplyExact(l, r));
+    }
+    if (r != null) {
+      return r == 1 ? left : new MultiplyConstant(left, r);
+    }
+    if (l != null) {
+      return l == 1 ? right : new MultiplyConstant(right, l);
+    }
+    return new Multiply(left, right);
+  }
+
+  static ExpressionNode divide(ExpressionNode left, ExpressionNode right) {
+    if (left instanceof Decimal l) {
+      Long r = right.constantValue();
+      if (right instanceof Decimal d) {
+        return decimal(
+            Math.multiplyExact(l.numerator, d.denominator),
+            Math.multiplyExact(l.denominator, d.numerator));
+      }
+      if (r == null) {
+        throw new ArithmeticException("Decimal numbers can only be divided by constants");
+      }
+      return decimal(l.numerator, Math.multiplyExact(l.denominator, r));
+    }
+    if (right instanceof Decimal r) {
+      return multiplyFraction(left, r.denominator, r.numerator);
+    }
+    Long l = left.constantValue();
+    Long r = right.constantValue();
+    if (r != null && r == 0) {
+      throw new ArithmeticException("Division by zero");
+    }
+    if (l != null && r != null) {
+      return constant(Math.divideExact(l, r));
+    }
+    if (r != null) {
+      return r == 1 ? left : new DivideConstant(left, r);
+    }
+    return new Divide(left, right);
+  }
+
+  /** Multiply by a fraction, rounding the result half away from zero */
+  static ExpressionNode multiplyFraction(
+      ExpressionNode operand, long numerator, long denominator) {
+    ExpressionNode fraction = decimal(numerator, denominator);
+    if (!(fraction instanceof Decimal d)) {
+      return multiply(operand, fraction);
+    }
+    Long value = operand.constantValue();
+    return value != null
+        ? constant(scale(value, d.numerator, d.denominator))
+        : new MultiplyFraction(operand, d.numerator, d.denominator);
+  }
+
+  /** value * numerator / denominator rounded half away from zero; denominator is positive */
+  static long scale(long value, long numerator, long denominator) {
+    long product = Math.multiplyExact(value, numerator);
+    long quotient = product / denominator;
+    long remainder = Math.abs(product % denominator);
+    if (remainder >= denominator - remainder) {
+      quotient += Long.signum(product);
+    }
+    return quotient;
+  }
+
+  private static long gcd(long a, long b) {
+    while (b != 0) {
+      long t = a % b;
+      a = b;
+      b = t;
+    }
+    return a == 0 ? 1 : a;
+  }
+
+  static ExpressionNode remainder(ExpressionNode left, ExpressionNode right) {
+    Long l = left.constantValue();
+    Long r = right.constantValue();
+    if (r != null && r == 0) {
+      throw new ArithmeticException("Division by zero");
+    }
+    if (l != null && r != null) {
+      return constant(l % r);
+    }
+    return new Remainder(left, right);
+  }
+
+  static ExpressionNode min(ExpressionNode left, ExpressionNode right) {
+    Long l = left.constantValue();
+    Long r = right.constantValue();
+    return l != null && r != null ? constant(Math.min(l, r)) : new Min(left, right);
+  }
+
+  static ExpressionNode max(ExpressionNode left, ExpressionNode right) {
+    Long l = left.constantValue();
+    Long r = right.constantValue();
+    return l != null && r != null ? constant(Math.max(l, r)) : new Max(left, right);
+  }
+
+  static ExpressionNode abs(ExpressionNode operand) {
+    Long value = operand.constantValue();
+    return value != null ? constant(Math.absExact(value)) : new Abs(operand);
+  }
+
+  private static final class Constant extends ExpressionNode {
+
+    private final long value;
+    private final Long boxed;
+
+    Constant(long value) {
+      this.value = value;
+      this.boxed = value;
+    }
+
+    @Override
+    long evaluate(long[] slots) {
+      return value;
+    }
+
+    @Override
+    Long constantValue() {
+      return boxed;
+    }
+  }
+
+  /** Reduced fraction with a denominator above one; never evaluated */
+  private static final class Decimal extends ExpressionNode {
+
+    private final long numerator;
+    private final long denominator;
+
+    Decimal(long numerator, long denominator) {
+      this.numerator = numerator;
+      this.denominator = denominator;
+    }
+
+    @Override
+    long evaluate(long[] slots) {
+      throw new IllegalStateException("Decimal literal outside a multiplication or division");
+    }
+
+    @Override
+    boolean isDecimal() {
+      return true;
+    }
+  }
+
+  private static final class Slot extends ExpressionNode {
+
+    private final int index;
+
+    Slot(int index) {
+      this.index = index;
+    }
+
+    @Override
+    long evaluate(long[] slots) {
+      return slots[index];
+    }
+  }
+
+  private static final class Negate extends ExpressionNode {
+
+    private final ExpressionNode operand;
+
+    Negate(ExpressionNode operand) {
+      this.operand = operand;
+    }
+
+    @Override
+    long evaluate(long[] slots) {
+      return Math.negateExact(operand.evaluate(slots));
+    }
+  }
+
+  private static final class Abs extends ExpressionNode {
+
+    private final ExpressionNode operand;
+
+    Abs(ExpressionNode operand) {
+      this.operand = operand;
+    }
+
+    @Override
+    long evaluate(long[] slots) {
+      return Math.absExact(operand.evaluate(slots));
+    }
+  }
+
+  private static final class Add extends ExpressionNode {
+
+    private final ExpressionNode left;
+    private final ExpressionNode right;
+
+    Add(ExpressionNode left, ExpressionNode right) {
+      this.left = left;
+      this.right = right;
+    }
+
+    @Override
+    long evaluate(long[] slots) {
+      return Math.addExact(left.evaluate(slots), right.evaluate(slots));
+    }
+  }
+
+  private static final class AddConstant extends ExpressionNode {
+
+    private final ExpressionNode operand;
+    private final long constant;
+
+    AddConstant(ExpressionNode operand, long constant) {
+      this.operand = operand;
+      this.constant = constant;
+    }
+
+    @Override
+    long evaluate(long[] slots) {
+      return Math.addExact(operand.evaluate(slots), constant);
+    }
+  }
+
+  private static final class Subtract extends ExpressionNode {
+
+    private final ExpressionNode left;
+    private final ExpressionNode right;
+
+    Subtract(ExpressionNode left, ExpressionNode right) {
+      this.left = left;
+      this.right = right;
+    }
+
+    @Override
+    long evaluate(long[] slots) {
+      return Math.subtractExact(left.evaluate(slots), right.evaluate(slots));
+    }
+  }
+
+  private static final class Multiply extends ExpressionNode {
+
+    private final ExpressionNode left;
+    private final ExpressionNode right;
+
+    Multiply(ExpressionNode left, ExpressionNode right) {
+      this.left = left;
+      this.right = right;
+    }
+
+    @Override
+    long evaluate(long[] slots) {
+      return Math.multiplyExact(left.evaluate(slots), right.evaluate(slots));
+    }
+  }
+
+  private static final class MultiplyConstant extends ExpressionNode {
+
+    private final ExpressionNode operand;
+    private final long constant;
+
+    MultiplyConstant(ExpressionNode operand, long constant) {
+      this.operand = operand;
+      this.constant = constant;
+    }
+
+    @Override
+    long evaluate(long[] slots) {
+      return Math.multiplyExact(operand.evaluate(slots), constant);
+    }
+  }
+
+  private static final class MultiplyFraction extends ExpressionNode {
+
+    private final ExpressionNode operand;
+    private final long numerator;
+    private final long denominator;
+
+    MultiplyFraction(ExpressionNode operand, long numerator, long denominator) {
+      this.operand = operand;
+      this.numerator = numerator;
+      this.denominator = denominator;
+    }
+
+    @Override
+    long evaluate(long[] slots) {
+      return scale(operand.evaluate(slots), numerator, denominator);
+    }
+  }
+
+  private static final class Divide extends ExpressionNode {
+
+    private final ExpressionNode left;
+    private final ExpressionNode right;
+
+    Divide(ExpressionNode left, ExpressionNode right) {
+      this.left = left;
+      this.right = right;
+    }
+
+    @Override
+    long evaluate(long[] slots) {
+      long divisor = right.evaluate(slots);
+      if (divisor == 0) {
+        throw new ArithmeticException("Division by zero");
+      }
+      return Math.divideExact(left.evaluate(slots), divisor);
+    }
+  }
+
+  /** Divisor checked at compile time: non-zero */
+  private static final class DivideConstant extends ExpressionNode {
+
+    private final ExpressionNode operand;
+    private final long divisor;
+
+    DivideConstant(ExpressionNode operand, long divisor) {
+      this.operand = operand;
+      this.divisor = divisor;
+    }
+
+    @Override
+    long evaluate(long[] slots) {
+      return Math.divideExact(operand.evaluate(slots), divisor);
+    }
+  }
+
+  private static final class Remainder extends ExpressionNode {
+
+    private final ExpressionNode left;
+    private final ExpressionNode right;
+
+    Remainder(ExpressionNode left, ExpressionNode right) {
+      this.left = left;
+      this.right = right;
+    }
+
+    @Override
+    long evaluate(long[] slots) {
+      long divisor = right.evaluate(slots);
+      if (divisor == 0) {
+        throw new ArithmeticException("Division by zero");
+      }
+      return left.evaluate(slots) % divisor;
+    }
+  }
+
+  private static final class Min extends ExpressionNode {
+
+    private final ExpressionNode left;
+    private final ExpressionNode right;
+
+    Min(ExpressionNode left, ExpressionNode right) {
+      this.left = left;
+      this.right = right;
+    }
+
+    @Override
+    long evaluate(long[] slots) {
+      return Math.min(left.evaluate(slots), right.evaluate(slots));
+    }
+  }
+
+  private static final class Max extends ExpressionNode {
+
+    private final ExpressionNode left;
+    private final ExpressionNode right;
+
+    Max(ExpressionNode left, ExpressionNode right) {
+      this.left = left;
+      this.right = right;
+    }
+
+    @Override
+    long evaluate(long[] slots) {
+      return Math.max(left.evaluate(slots), right.evaluate(slots));
+    }
+  }
+}
@@ -0,0 +1,266 @@
+package com.aksi.service.game.calculation.expression;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Recursive descent parser for price expressions, folding constants while it builds the tree.
+ *
+ * <pre>
+ * expression := term (('+' | '-') term)*
+ * term       := unary (('*' | '/' | '%') unary)*
+ * unary      := ('-' | '+') unary | primary
+ * primary    := number | variable | function '(' arguments ')' | '(' expression ')'
+ * number     := digits ('.' digits)?
+ * function   := 'min' | 'max' | 'abs'
+ * </pre>
+ *
+ * A decimal number stays a fraction until it multiplies or divides another operand, which turns
+ * the product into an integer rounded half away from zero. Anywhere else it is rejected, so
+ * fractions never reach addition, remainders, functions or the result.
+ *
+ * Each variable gets the slot of its first occurrence. Operations are counted against {@link
+ * FormulaExpression#MAX_OPERATIONS} and nesting against {@link FormulaExpression#MAX_DEPTH}; the
+ * grammar has no loops or calls out of the expression, so these limits bound every evaluation.
+ */
+final class ExpressionParser {
+
+  /** Decimal places a number may have */
+  static final int MAX_SCALE = 4;
+
+  private final String source;
+  private final Map<String, Integer> slots = new LinkedHashMap<>();
+  private int position;
+  private int operations;
+
+  ExpressionParser(String source) {
+    this.source = source;
+  }
+
+  FormulaExpression parse() {
+    ExpressionNode root = integer(expression(0));
+    skipWhitespace();
+    if (position < source.length()) {
+      throw error("Unexpected '" + source.charAt(position) + "'");
+    }
+    return new FormulaExpression(source, root, slots.keySet().toArray(String[]::new), operations);
+  }
+
+  private ExpressionNode expression(int depth) {
+    checkDepth(depth);
+    ExpressionNode left = term(depth);
+    while (true) {
+      if (accept('+')) {
+        left = operation(left, '+', term(depth));
+      } else if (accept('-')) {
+        left = operation(left, '-', term(depth));
+      } else {
+        return left;
+      }
+    }
+  }
+
+  private ExpressionNode term(int depth) {
+    ExpressionNode left = unary(depth);
+    while (true) {
+      if (accept('*')) {
+        left = operation(left, '*', unary(depth));
+      } else if (accept('/')) {
+        left = operation(left, '/', unary(depth));
+      } else if (accept('%')) {
+        left = operation(left, '%', unary(depth));
+      } else {
+        return left;
+      }
+    }
+  }
+
+  private ExpressionNode unary(int depth) {
+    checkDepth(depth);
+    if (accept('-')) {
+      ExpressionNode operand = unary(depth + 1);
+      count();
+      return fold(() -> ExpressionNode.negate(operand));
+    }
+    if (accept('+')) {
+      return unary(depth + 1);
+    }
+    return primary(depth);
+  }
+
+  private ExpressionNode primary(int depth) {
+    skipWhitespace();
+    if (position >= source.length()) {
+      throw error("Unexpected end of expression");
+    }
+    char c = source.charAt(position);
+    if (c == '(') {
+      position++;
+      ExpressionNode inner = expression(depth + 1);
+      expect(')');
+      return inner;
+    }
+    if (Character.isDigit(c)) {
+      return number();
+    }
+    if (Character.isLetter(c) || c == '_') {
+      String name = identifier();
+      return accept('(') ? function(name, depth) : variable(name);
+    }
+    throw error("Unexpected '" + c + "'");
+  }
+
+  private ExpressionNode number() {
+    int start = position;
+    while (position < source.length() && Character.isDigit(source.charAt(position))) {
+      position++;
+    }
+    String digits = source.substring(start, position);
+    int scale = 0;
+    if (position < source.length() && source.charAt(position) == '.') {
+      position++;
+      int fractionStart = position;
+      while (position < source.length() && Character.isDigit(source.charAt(position))) {
+        position++;
+      }
+      scale = position - fractionStart;
+      if (scale == 0) {
+        throw error("Expected digits after the decimal point");
+      }
+      if (scale > MAX_SCALE) {
+        throw error("Decimal numbers have at most " + MAX_SCALE + " decimal places");
+      }
+      digits += source.substring(fractionStart, position);
+    }
+    long unscaled;
+    try {
+      unscaled = Long.parseLong(digits);
+    } catch (NumberFormatException e) {
+      throw error("Number is too large");
+    }
+    long denominator = (long) Math.pow(10, scale);
+    return fold(() -> ExpressionNode.decimal(unscaled, denominator));
+  }
+
+  private String identifier() {
+    int start = position;
+    while (position < source.length()
+        && (Character.isLetterOrDigit(source.charAt(position)) || source.charAt(position) == '_')) {
+      position++;
+    }
+    return source.substring(start, position);
+  }
+
+  private ExpressionNode variable(String name) {
+    Integer slot = slots.get(name);
+    if (slot == null) {
+      if (slots.size() >= FormulaExpression.MAX_VARIABLES) {
+        throw error("Expression uses more than " + FormulaExpression.MAX_VARIABLES + " variables");
+      }
+      slot = slots.size();
+      slots.put(name, slot);
+    }
+    return ExpressionNode.slot(slot);
+  }
+
+  private ExpressionNode function(String name, int depth) {
+    ExpressionNode first = integer(expression(depth + 1));
+    ExpressionNode result;
+    switch (name) {
+      case "abs" -> {
+        count();
+        result = fold(() -> ExpressionNode.abs(first));
+      }
+      case "min", "max" -> {
+        expect(',');
+        ExpressionNode second = integer(expression(depth + 1));
+        count();
+        result =
+            fold(
+                () ->
+                    name.equals("min")
+                        ? ExpressionNode.min(first, second)
+                        : ExpressionNode.max(first, second));
+      }
+      default -> throw error("Unknown function '" + name + "'");
+    }
+    expect(')');
+    return result;
+  }
+
+  private ExpressionNode operation(ExpressionNode left, char operator, ExpressionNode right) {
+    if (operator != '*' && operator != '/') {
+      integer(left);
+      integer(right);
+    }
+    count();
+    return fold(
+        () ->
+            switch (operator) {
+              case '+' -> ExpressionNode.add(left, right);
+              case '-' -> ExpressionNode.subtract(left, right);
+              case '*' -> ExpressionNode.multiply(left, right);
+              case '/' -> ExpressionNode.divide(left, right);
+              default -> ExpressionNode.remainder(left, right);
+            });
+  }
+
+  /** Reject a decimal number where only integers may appear */
+  private ExpressionNode integer(ExpressionNode node) {
+    if (node.isDecimal()) {
+      throw error("Decimal numbers can only multiply or divide");
+    }
+    return node;
+  }
+
+  /** Build a node, reporting arithmetic errors found while folding constants as syntax errors */
+  private ExpressionNode fold(Supplier<ExpressionNode> builder) {
+    try {
+      return builder.get();
+    } catch (ArithmeticException e) {
+      throw error(e.getMessage());
+    }
+  }
+
+  private void checkDepth(int depth) {
+    if (depth > FormulaExpression.MAX_DEPTH) {
+      throw error("Expression is nested deeper than " + FormulaExpression.MAX_DEPTH + " levels");
+    }
+  }
+
+  private void count() {
+    if (++operations > FormulaExpression.MAX_OPERATIONS) {
+      throw error("Expression has more than " + FormulaExpression.MAX_OPERATIONS + " operations");
+    }
+  }
+
+  private boolean accept(char expected) {
+    skipWhitespace();
+    if (position < source.length() && source.charAt(position) == expected) {
+      position++;
+      return true;
+    }
+    return false;
+  }
+
+  private void expect(char expected) {
+    if (!accept(expected)) {
+      throw error(
+          position < source.length()
+              ? "Expected '" + expected + "' but found '" + source.charAt(position) + "'"
+              : "Expected '" + expected + "' at end of expression");
+    }
+  }
+
+  private void skipWhitespace() {
+    while (position < source.length() && Character.isWhitespace(source.charAt(position))) {
+      position++;
+    }
+  }
+
+  private IllegalArgumentException error(String message) {
+    return new IllegalArgumentException(
+        String.format("%s at position %d in expression '%s'", message, position + 1, source));
+  }
+}
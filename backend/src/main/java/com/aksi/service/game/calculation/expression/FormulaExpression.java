@@ -0,0 +1,133 @@
+package com.aksi.service.game.calculation.expression;
+
+import java.util.List;
+import java.util.Map;
+
+import com.aksi.service.game.calculation.util.CalculationConstants;
+
+/**
+ * Price expression compiled once into a tree of arithmetic nodes and evaluated many times.
+ *
+ * <p>Expressions use integer arithmetic on fixed-point amounts (cents, percentage points) with
+ * {@code + - * / %}, parentheses and the functions {@code min}, {@code max} and {@code abs}.
+ * Division truncates toward zero. Decimal literals with up to {@value ExpressionParser#MAX_SCALE}
+ * places may only multiply or divide, as in {@code pricePerLevel * 1.5}; the product is rounded
+ * half away from zero. Every identifier is a variable: a formula variable when the formula
+ * defines one of that name, otherwise one of {@code basePrice}, {@code levelDiff} (also spelled
+ * {@code levelDifference}), {@code fromLevel} and {@code toLevel}, otherwise zero.
+ *
+ * <p>Variables are bound to array slots at compile time, so an evaluation does one map lookup per
+ * distinct variable and none inside the tree. The slot array is reused per thread, which makes
+ * evaluation allocation-free. Instances are immutable and safe to share.
+ */
+public final class FormulaExpression {
+
+  /** Operators and function calls an expression may contain */
+  public static final int MAX_OPERATIONS = 256;
+
+  /** Nesting of parentheses, function calls and unary operators */
+  public static final int MAX_DEPTH = 32;
+
+  /** Distinct variables an expression may refer to */
+  public static final int MAX_VARIABLES = 32;
+
+  private static final List<String> BUILTINS =
+      List.of(
+          CalculationConstants.Universal.BASE_PRICE_PARAM,
+          CalculationConstants.Universal.LEVEL_DIFF_PARAM,
+          "fromLevel",
+          "toLevel");
+
+  private static final ThreadLocal<long[]> SLOTS =
+      ThreadLocal.withInitial(() -> new long[MAX_VARIABLES]);
+
+  private final String source;
+  private final ExpressionNode root;
+  private final String[] variables;
+  private final int[] builtins;
+  private final int operations;
+
+  FormulaExpression(String source, ExpressionNode root, String[] variables, int operations) {
+    this.source = source;
+    this.root = root;
+    this.variables = variables;
+    this.builtins = new int[variables.length];
+    for (int i = 0; i < variables.length; i++) {
+      builtins[i] = BUILTINS.indexOf(builtinName(variables[i]));
+    }
+    this.operations = operations;
+  }
+
+  private static String builtinName(String variable) {
+    return variable.equals(CalculationConstants.Universal.LEVEL_DIFF_ALIAS)
+        ? CalculationConstants.Universal.LEVEL_DIFF_PARAM
+        : variable;
+  }
+
+  /**
+   * Parse and compile an expression
+   *
+   * @param source expression text
+   * @return compiled expression
+   * @throws IllegalArgumentException if the expression is malformed or exceeds a limit
+   */
+  public static FormulaExpression compile(String source) {
+    return new ExpressionParser(source).parse();
+  }
+
+  /**
+   * Evaluate the expression
+   *
+   * @param formulaVariables formula variables, taking precedence over the built-in values
+   * @param basePrice base price in cents
+   * @param levelDiff levels between start and target
+   * @param fromLevel starting level
+   * @param toLevel target level
+   * @return result, unbounded
+   * @throws ArithmeticException on overflow or division by zero
+   */
+  public long evaluate(
+      Map<String, Integer> formulaVariables,
+      long basePrice,
+      long levelDiff,
+      long fromLevel,
+      long toLevel) {
+    long[] slots = SLOTS.get();
+    for (int i = 0; i < variables.length; i++) {
+      Integer value = formulaVariables.get(variables[i]);
+      if (value != null) {
+        slots[i] = value;
+      } else {
+        slots[i] =
+            switch (builtins[i]) {
+              case 0 -> basePrice;
+              case 1 -> levelDiff;
+              case 2 -> fromLevel;
+              case 3 -> toLevel;
+              default -> 0;
+            };
+      }
+    }
+    return root.evaluate(slots);
+  }
+
+  /** Expression text as compiled */
+  public String getSource() {
+    return source;
+  }
+
+  /** Variables in slot order */
+  public List<String> getVariables() {
+    return List.of(variables);
+  }
+
+  /** Operators and function calls before constant folding */
+  public int getOperations() {
+    return operations;
+  }
+
+  /** Whether the whole expression folded into one value */
+  public boolean isConstant() {
+    return root.constantValue() != null;
+  }
+}
@@ -1,11 +1,13 @@
 package com.aksi.service.game.calculation.strategy;
 
+import java.util.Iterator;
 import java.util.Map;
-import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.stereotype.Component;
 
 import com.aksi.domain.game.formula.FormulaFormulaEntity;
+import com.aksi.service.game.calculation.expression.FormulaExpression;
 import com.aksi.service.game.calculation.util.CalculationConstants;
 import com.aksi.service.game.calculation.util.CalculationUtils;
 
@@ -14,12 +16,20 @@ import lombok.extern.slf4j.Slf4j;
 /**
  * Business logic calculator for Formula Expression calculations.
  * Extracted from FormulaFormulaEntity to follow DDD principles.
- * Handles mathematical expressions with variables.
+ * Expressions are parsed and compiled once, cached by their text and evaluated
+ * against formula variables; see {@link FormulaExpression} for the syntax.
  */
 @Component
 @Slf4j
 public class FormulaExpressionCalculator {
 
+    /** Compiled expressions kept; formulas come from a bounded set of price configurations */
+    static final int MAX_CACHED_EXPRESSIONS = 1024;
+
+    private static final int MAX_EXPRESSION_LENGTH = 1000;
+
+    private final Map<String, FormulaExpression> compiledExpressions = new ConcurrentHashMap<>();
+
     /**
      * Calculate price using formula expression with variables.
      * Moved from FormulaFormulaEntity.calculate() method.
@@ -28,109 +38,85 @@ public class FormulaExpressionCalculator {
      * @param basePrice Base price in cents
      * @param fromLevel Starting level
      * @param toLevel Target level
-     * @return Calculated price in cents
+     * @return Calculated price in cents, never negative
      */
     public Integer calculate(FormulaFormulaEntity formula, Integer basePrice, int fromLevel, int toLevel) {
-        validateInputs(formula, basePrice, fromLevel, toLevel);
-
-        String expression = formula.getExpression().trim();
-        Map<String, Integer> variables = formula.getVariables();
+        FormulaExpression expression = validateInputs(formula, basePrice, fromLevel, toLevel);
 
-        // For complex expressions, return base price (placeholder for full expression engine)
-        if (isComplexExpression(expression)) {
-            log.debug("Complex expression detected, returning basePrice: {}", expression);
-            return basePrice;
+        long value;
+        try {
+            value = expression.evaluate(
+                    formula.variablesView(),
+                    basePrice,
+                    CalculationUtils.calculateLevelDifference(fromLevel, toLevel),
+                    fromLevel,
+                    toLevel);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException(
+                    "Cannot evaluate expression '" + expression.getSource() + "': " + e.getMessage(), e);
         }
-
-        // Handle simple expressions
-        Integer result = evaluateSimpleExpression(expression, basePrice, variables);
+        int result = (int) Math.min(Integer.MAX_VALUE, Math.max(0, value));
 
         if (log.isDebugEnabled()) {
             log.debug("Formula expression calculation: expression='{}', variables={}, basePrice={}, result={}",
-                    expression, variables, basePrice, result);
+                    expression.getSource(), formula.variablesView(), basePrice, result);
         }
 
         return result;
     }
 
-    /**
-     * Evaluate simple mathematical expressions.
-     * Supports basic addition and subtraction with variables.
-     */
-    private Integer evaluateSimpleExpression(String expression, Integer basePrice, Map<String, Integer> variables) {
-        // Simple addition: "basePrice + variable" or "basePrice + number"
-        if (expression.startsWith("basePrice + ")) {
-            String operand = expression.substring("basePrice + ".length()).trim();
-            Integer value = parseOperand(operand, variables);
-            return CalculationUtils.safeAdd(basePrice, value);
-        }
-
-        // Simple subtraction: "basePrice - number"
-        if (expression.startsWith("basePrice - ")) {
-            String operand = expression.substring("basePrice - ".length()).trim();
-            Integer value = parseOperand(operand, variables);
-            return Math.max(0, basePrice - value);
-        }
-
-        // Direct variable or number
-        Integer value = parseOperand(expression, variables);
-        return value != null ? value : basePrice;
-    }
-
-    /**
-     * Parse operand as either number or variable.
-     */
-    private Integer parseOperand(String operand, Map<String, Integer> variables) {
-        // Try to parse as number first
-        try {
-            return Integer.valueOf(operand);
-        } catch (NumberFormatException e) {
-            // Try to find in variables
-            return Optional.ofNullable(variables)
-                    .filter(vars -> vars.containsKey(operand))
-                    .map(vars -> vars.get(operand))
-                    .orElse(0);
-        }
-    }
-
-    /**
-     * Check if expression is too complex for simple evaluation.
-     */
-    private boolean isComplexExpression(String expression) {
-        return expression.contains("*") ||
-               expression.contains("/") ||
-               (expression.contains("(") && !expression.equals("basePrice + levelDiff"));
-    }
-
     /**
      * Validate formula expression configuration.
      * Moved from FormulaFormulaEntity.validate() method.
+     * The expression must compile: only arithmetic, variables and the supported
+     * functions are accepted, within the operation and nesting limits.
      *
      * @param formula Formula expression configuration
      * @throws IllegalArgumentException if validation fails
      */
     public void validateFormula(FormulaFormulaEntity formula) {
+        compile(formula);
+    }
+
+    /**
+     * Compiled expression of a formula, from the cache when it was compiled before.
+     */
+    private FormulaExpression compile(FormulaFormulaEntity formula) {
         String expression = formula.getExpression();
 
         if (expression == null || expression.trim().isEmpty()) {
             throw new IllegalArgumentException("Expression is required for FormulaFormula");
         }
 
-        // Basic safety checks for expression
-        if (expression.length() > 1000) {
-            throw new IllegalArgumentException("Expression too long (max 1000 characters)");
+        FormulaExpression compiled = compiledExpressions.get(expression);
+        if (compiled != null) {
+            return compiled;
         }
 
-        // Check for potentially dangerous patterns
-        if (expression.contains("System") || expression.contains("Runtime") || expression.contains("Class")) {
-            throw new IllegalArgumentException("Expression contains forbidden keywords");
+        if (expression.length() > MAX_EXPRESSION_LENGTH) {
+            throw new IllegalArgumentException("Expression too long (max " + MAX_EXPRESSION_LENGTH + " characters)");
         }
+
+        compiled = FormulaExpression.compile(expression.trim());
+        if (compiledExpressions.size() >= MAX_CACHED_EXPRESSIONS) {
+            // Evict an arbitrary entry; reaching the bound means formulas churn, not that any is hot
+            Iterator<String> keys = compiledExpressions.keySet().iterator();
+            if (keys.hasNext()) {
+                compiledExpressions.remove(keys.next());
+            }
+        }
+        compiledExpressions.put(expression, compiled);
+        log.debug("Compiled formula expression '{}' ({} operations)", expression, compiled.getOperations());
+        return compiled;
     }
 
     /**
      * Validate all inputs for calculation.
+     *
+     * @return compiled expression of the formula
      */
-    private void validateInputs(FormulaFormulaEntity formula, Integer basePrice, int fromLevel, int toLevel) {
+    private FormulaExpression validateInputs(
+            FormulaFormulaEntity formula, Integer basePrice, int fromLevel, int toLevel) {
         if (formula == null) {
             throw new IllegalArgumentException(CalculationConstants.ErrorMessages.FORMULA_NULL);
         }
@@ -141,7 +127,7 @@ public class FormulaExpressionCalculator {
             throw new IllegalArgumentException("Invalid level range: from=" + fromLevel + ", to=" + toLevel);
         }
 
-        validateFormula(formula);
+        return compile(formula);
     }
 
     /**
@@ -1,11 +1,14 @@
 package com.aksi.service.game.calculation.strategy;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 import org.springframework.stereotype.Component;
 
 import com.aksi.domain.game.formula.PriceRangeEntity;
 import com.aksi.domain.game.formula.RangeFormulaEntity;
+import com.aksi.domain.game.formula.RangeIndex;
 import com.aksi.service.game.calculation.util.CalculationConstants;
 import com.aksi.service.game.calculation.util.CalculationUtils;
 
@@ -19,9 +22,16 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class RangeFormulaCalculator {
 
+    private static final Comparator<PriceRangeEntity> BY_BOUNDS =
+        Comparator.comparingInt(PriceRangeEntity::getFrom)
+            .thenComparingInt(PriceRangeEntity::getTo);
+
     /**
      * Calculate price using range formula: sum of all overlapping range prices.
      * Moved from RangeFormulaEntity.calculate() method.
+     *<p>
+     * Any overlap between range and request applies the range price, so request 1-5 includes
+     * range (5-10). Uses the compiled {@link RangeIndex}: two binary searches and a subtraction.
      *
      * @param formula Range formula configuration
      * @param basePrice Base price in cents
@@ -30,28 +40,14 @@ public class RangeFormulaCalculator {
      * @return Calculated price in cents
      */
     public Integer calculate(RangeFormulaEntity formula, Integer basePrice, int fromLevel, int toLevel) {
-        validateInputs(formula, basePrice, fromLevel, toLevel);
-
-        int total = 0;
-        int applicableRanges = 0;
-
-        // Find all ranges that overlap with requested level range
-        for (PriceRangeEntity range : formula.getRanges()) {
-            if (rangeOverlaps(range, fromLevel, toLevel)) {
-                total = CalculationUtils.safeAdd(total, range.getPrice());
-                applicableRanges++;
-
-                if (log.isDebugEnabled()) {
-                    log.debug("Applied range {}-{} with price {}", range.getFrom(), range.getTo(), range.getPrice());
-                }
-            }
-        }
+        RangeIndex index = validateInputs(formula, basePrice, fromLevel, toLevel);
 
-        int result = CalculationUtils.safeAdd(basePrice, total);
+        long total = index.sum(fromLevel, toLevel);
+        int result = CalculationUtils.safeAdd(basePrice, (int) Math.min(total, Integer.MAX_VALUE));
 
         if (log.isDebugEnabled()) {
             log.debug("Range calculation: basePrice={}, applicableRanges={}, total={}, result={}",
-                    basePrice, applicableRanges, total, result);
+                    basePrice, index.count(fromLevel, toLevel), total, result);
         }
 
         return result;
@@ -65,8 +61,28 @@ public class RangeFormulaCalculator {
      * @throws IllegalArgumentException if validation fails
      */
     public void validateFormula(RangeFormulaEntity formula) {
-        List<PriceRangeEntity> ranges = formula.getRanges();
+        compile(formula);
+    }
+
+    /**
+     * Validate the formula and compile its ranges into a {@link RangeIndex}, cached on the formula
+     * until its range list changes.
+     *<p>
+     * Overlaps are found with a sort-and-sweep in O(n log n): with ranges sorted by start level,
+     * a range truly overlaps an earlier one exactly when it starts before the furthest end seen
+     * so far.
+     *
+     * @param formula Range formula configuration
+     * @return Compiled ranges
+     * @throws IllegalArgumentException if validation fails
+     */
+    public RangeIndex compile(RangeFormulaEntity formula) {
+        RangeIndex index = formula.getIndex();
+        if (index != null) {
+            return index;
+        }
 
+        List<PriceRangeEntity> ranges = formula.getRanges();
         if (ranges.isEmpty()) {
             throw new IllegalArgumentException("At least one price range is required for RangeFormula");
         }
@@ -77,16 +93,24 @@ public class RangeFormulaCalculator {
                 throw new IllegalArgumentException("Range at index " + i + " cannot be null");
             }
             validatePriceRange(range);
+        }
 
-            // Check for range overlaps
-            for (int j = i + 1; j < ranges.size(); j++) {
-                PriceRangeEntity other = ranges.get(j);
-                if (priceRangesOverlap(range, other)) {
-                    throw new IllegalArgumentException(
-                        String.format("Ranges overlap: %s and %s", range, other));
-                }
+        List<PriceRangeEntity> sorted = new ArrayList<>(ranges);
+        sorted.sort(BY_BOUNDS);
+        PriceRangeEntity furthest = null;
+        for (PriceRangeEntity range : sorted) {
+            if (furthest != null && priceRangesOverlap(furthest, range)) {
+                throw new IllegalArgumentException(
+                    String.format("Ranges overlap: %s and %s", furthest, range));
+            }
+            if (furthest == null || range.getTo() > furthest.getTo()) {
+                furthest = range;
             }
         }
+
+        index = RangeIndex.of(sorted);
+        formula.setIndex(index);
+        return index;
     }
 
     /**
@@ -108,22 +132,6 @@ public class RangeFormulaCalculator {
         }
     }
 
-    /**
-     * Check if range overlaps with level range.
-     *<p>
-     * Business Logic: Any overlap between range and request applies the range price.
-     * This matches the original Excel-based logic where overlapping ranges are cumulative.
-     *<p>
-     * Examples:
-     * - Request 1-5, Range (1-5): overlap -> true
-     * - Request 1-5, Range (5-10): overlap at level 5 -> true
-     * - Request 3-12, Range (1-5): overlap at levels 3-5 -> true
-     * - Request 3-12, Range (15-20): no overlap -> false
-     */
-    private boolean rangeOverlaps(PriceRangeEntity range, int fromLevel, int toLevel) {
-        return range.getFrom() <= toLevel && range.getTo() >= fromLevel;
-    }
-
     /**
      * Check if two price ranges have true overlap (not just touching at boundaries).
      * Moved from RangeFormulaEntity.rangesOverlap() method.
@@ -140,7 +148,8 @@ public class RangeFormulaCalculator {
     /**
      * Validate all inputs for calculation.
      */
-    private void validateInputs(RangeFormulaEntity formula, Integer basePrice, int fromLevel, int toLevel) {
+    private RangeIndex validateInputs(
+            RangeFormulaEntity formula, Integer basePrice, int fromLevel, int toLevel) {
         if (formula == null) {
             throw new IllegalArgumentException(CalculationConstants.ErrorMessages.FORMULA_NULL);
         }
@@ -151,7 +160,7 @@ public class RangeFormulaCalculator {
             throw new IllegalArgumentException("Invalid level range: from=" + fromLevel + ", to=" + toLevel);
         }
 
-        validateFormula(formula);
+        return compile(formula);
     }
 
     /**
@@ -100,6 +100,7 @@ public final class CalculationConstants {
     public static final class Universal {
         public static final String BASE_PRICE_PARAM = "basePrice";
         public static final String LEVEL_DIFF_PARAM = "levelDiff";
+        public static final String LEVEL_DIFF_ALIAS = "levelDifference";
         public static final String DEFAULT_EXPRESSION = "basePrice + levelDiff";
 
         private Universal() {
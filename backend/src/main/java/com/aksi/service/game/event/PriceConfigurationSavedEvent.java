@@ -0,0 +1,11 @@
+package com.aksi.service.game.event;
+
+import java.util.UUID;
+
+/**
+ * Application event published when a price configuration is created or updated. Listeners use it
+ * to rebuild derived data such as level price tables.
+ *
+ * @param configurationId saved price configuration
+ */
+public record PriceConfigurationSavedEvent(UUID configurationId) {}
@@ -0,0 +1,16 @@
+package com.aksi.service.order;
+
+import com.aksi.api.order.dto.BulkOrderStatusUpdateRequest;
+import com.aksi.api.order.dto.BulkOrderStatusUpdateResponse;
+
+/** Service for bulk order status transitions (e.g. end-of-shift IN_PROGRESS to READY) */
+public interface OrderBulkStatusService {
+
+  /**
+   * Apply the same status transition to many orders
+   *
+   * @param request bulk transition request with order references
+   * @return per-order result codes
+   */
+  BulkOrderStatusUpdateResponse updateStatuses(BulkOrderStatusUpdateRequest request);
+}
@@ -0,0 +1,228 @@
+package com.aksi.service.order;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import com.aksi.api.order.dto.BulkOrderStatusResult;
+import com.aksi.api.order.dto.BulkOrderStatusResultCode;
+import com.aksi.api.order.dto.BulkOrderStatusUpdateItem;
+import com.aksi.api.order.dto.BulkOrderStatusUpdateRequest;
+import com.aksi.api.order.dto.BulkOrderStatusUpdateResponse;
+import com.aksi.api.order.dto.OrderStatus;
+import com.aksi.exception.BadRequestException;
+import com.aksi.exception.ConflictException;
+import com.aksi.repository.OrderRepository;
+import com.aksi.repository.OrderStatusSnapshot;
+import com.aksi.service.order.event.OrderStatusChangedEvent;
+import com.aksi.service.order.event.OrderStatusChangedEvent.StatusChange;
+import com.aksi.service.order.validator.OrderValidator;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Implementation of OrderBulkStatusService. Loads lightweight status snapshots (rows locked for the
+ * transaction), validates every order independently and applies one set-based UPDATE per source
+ * status instead of loading, saving and re-mapping each order.
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor
+@Slf4j
+public class OrderBulkStatusServiceImpl implements OrderBulkStatusService {
+
+  private final OrderRepository orderRepository;
+  private final OrderValidator orderValidator;
+  private final ApplicationEventPublisher eventPublisher;
+
+  @Override
+  public BulkOrderStatusUpdateResponse updateStatuses(BulkOrderStatusUpdateRequest request) {
+    OrderStatus targetStatus = request.getStatus();
+    List<BulkOrderStatusUpdateItem> items = request.getItems();
+    if (items == null || items.isEmpty()) {
+      throw new BadRequestException("At least one order is required");
+    }
+    log.info("Bulk status transition of {} orders to {}", items.size(), targetStatus);
+
+    // Step 1: Load and lock snapshots for all references
+    Map<String, OrderStatusSnapshot> byNumber = new HashMap<>();
+    Map<String, OrderStatusSnapshot> byLabel = new HashMap<>();
+    loadSnapshots(items, byNumber, byLabel);
+
+    // Step 2: Validate every order independently and group by source status
+    List<BulkOrderStatusResult> results = new ArrayList<>(items.size());
+    Map<OrderStatus, List<OrderStatusSnapshot>> transitions = new EnumMap<>(OrderStatus.class);
+    Map<UUID, BulkOrderStatusResult> pending = new HashMap<>();
+    Set<UUID> seen = new HashSet<>();
+
+    for (BulkOrderStatusUpdateItem item : items) {
+      OrderStatusSnapshot snapshot = resolve(item, byNumber, byLabel);
+      BulkOrderStatusResult result = classify(item, snapshot, targetStatus, seen);
+      results.add(result);
+      if (result.getResult() == BulkOrderStatusResultCode.UPDATED) {
+        transitions
+            .computeIfAbsent(OrderStatus.fromValue(snapshot.getStatus()), s -> new ArrayList<>())
+            .add(snapshot);
+        pending.put(snapshot.getId(), result);
+      }
+    }
+
+    // Step 3: One set-based update per (from, to) status pair
+    Instant now = Instant.now();
+    Instant completionDate = targetStatus == OrderStatus.COMPLETED ? now : null;
+    List<StatusChange> changes = new ArrayList<>(pending.size());
+
+    transitions.forEach(
+        (fromStatus, snapshots) -> {
+          List<UUID> ids = snapshots.stream().map(OrderStatusSnapshot::getId).toList();
+          int updated =
+              orderRepository.transitionStatus(
+                  ids, fromStatus.getValue(), targetStatus.getValue(), now, completionDate);
+          if (updated != ids.size()) {
+            // Rows are locked, so this only happens if data changed outside of the lock
+            throw new ConflictException(
+                String.format(
+                    "Bulk transition %s -> %s updated %d of %d orders",
+                    fromStatus, targetStatus, updated, ids.size()));
+          }
+          snapshots.forEach(
+              snapshot ->
+                  changes.add(
+                      new StatusChange(
+                          snapshot.getId(),
+                          snapshot.getOrderNumber(),
+                          fromStatus,
+                          targetStatus,
+                          snapshot.getExpectedCompletionDate(),
+                          now)));
+        });
+
+    // Step 4: Publish all status changes as one event
+    if (!changes.isEmpty()) {
+      eventPublisher.publishEvent(new OrderStatusChangedEvent(changes));
+    }
+
+    int updatedCount = pending.size();
+    log.info(
+        "Bulk status transition to {} finished: {} updated, {} failed in {} statements",
+        targetStatus,
+        updatedCount,
+        items.size() - updatedCount,
+        transitions.size());
+
+    BulkOrderStatusUpdateResponse response = new BulkOrderStatusUpdateResponse();
+    response.setStatus(targetStatus);
+    response.setUpdatedCount(updatedCount);
+    response.setFailedCount(items.size() - updatedCount);
+    response.setResults(results);
+    return response;
+  }
+
+  private void loadSnapshots(
+      List<BulkOrderStatusUpdateItem> items,
+      Map<String, OrderStatusSnapshot> byNumber,
+      Map<String, OrderStatusSnapshot> byLabel) {
+    Set<String> orderNumbers = new LinkedHashSet<>();
+    Set<String> uniqueLabels = new LinkedHashSet<>();
+    for (BulkOrderStatusUpdateItem item : items) {
+      if (StringUtils.hasText(item.getOrderNumber())) {
+        orderNumbers.add(item.getOrderNumber().trim());
+      } else if (StringUtils.hasText(item.getUniqueLabel())) {
+        uniqueLabels.add(item.getUniqueLabel().trim());
+      }
+    }
+
+    for (OrderStatusSnapshot snapshot :
+        orderRepository.findStatusSnapshotsForUpdate(orderNumbers, uniqueLabels)) {
+      byNumber.put(snapshot.getOrderNumber(), snapshot);
+      if (snapshot.getUniqueLabel() != null) {
+        byLabel.put(snapshot.getUniqueLabel(), snapshot);
+      }
+    }
+  }
+
+  private OrderStatusSnapshot resolve(
+      BulkOrderStatusUpdateItem item,
+      Map<String, OrderStatusSnapshot> byNumber,
+      Map<String, OrderStatusSnapshot> byLabel) {
+    if (StringUtils.hasText(item.getOrderNumber())) {
+      return byNumber.get(item.getOrderNumber().trim());
+    }
+    if (StringUtils.hasText(item.getUniqueLabel())) {
+      return byLabel.get(item.getUniqueLabel().trim());
+    }
+    return null;
+  }
+
+  private BulkOrderStatusResult classify(
+      BulkOrderStatusUpdateItem item,
+      OrderStatusSnapshot snapshot,
+      OrderStatus targetStatus,
+      Set<UUID> seen) {
+
+    BulkOrderStatusResult result = new BulkOrderStatusResult();
+    result.setOrderNumber(item.getOrderNumber());
+    result.setUniqueLabel(item.getUniqueLabel());
+
+    if (!StringUtils.hasText(item.getOrderNumber()) && !StringUtils.hasText(item.getUniqueLabel())) {
+      return fail(
+          result, BulkOrderStatusResultCode.INVALID_REFERENCE, "Order number or label required");
+    }
+    if (snapshot == null) {
+      return fail(result, BulkOrderStatusResultCode.NOT_FOUND, "Order not found");
+    }
+
+    OrderStatus currentStatus = OrderStatus.fromValue(snapshot.getStatus());
+    long currentVersion = snapshot.getVersion() != null ? snapshot.getVersion() : 0L;
+    result.setOrderId(snapshot.getId());
+    result.setOrderNumber(snapshot.getOrderNumber());
+    result.setUniqueLabel(snapshot.getUniqueLabel());
+    result.setPreviousStatus(currentStatus);
+    result.setVersion(currentVersion);
+
+    if (!seen.add(snapshot.getId())) {
+      return fail(result, BulkOrderStatusResultCode.UNCHANGED, "Duplicate reference in batch");
+    }
+    if (currentStatus == targetStatus) {
+      return fail(result, BulkOrderStatusResultCode.UNCHANGED, "Order already in " + targetStatus);
+    }
+    if (item.getExpectedVersion() != null && item.getExpectedVersion() != currentVersion) {
+      return fail(
+          result,
+          BulkOrderStatusResultCode.VERSION_CONFLICT,
+          String.format(
+              "Expected version %d but order is at version %d",
+              item.getExpectedVersion(), currentVersion));
+    }
+    if (!orderValidator.isStatusTransitionAllowed(currentStatus, targetStatus)) {
+      return fail(
+          result,
+          BulkOrderStatusResultCode.INVALID_TRANSITION,
+          String.format("Invalid status transition from %s to %s", currentStatus, targetStatus));
+    }
+
+    result.setResult(BulkOrderStatusResultCode.UPDATED);
+    result.setVersion(currentVersion + 1);
+    return result;
+  }
+
+  private BulkOrderStatusResult fail(
+      BulkOrderStatusResult result, BulkOrderStatusResultCode code, String message) {
+    result.setResult(code);
+    result.setMessage(message);
+    return result;
+  }
+}
@@ -6,6 +6,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.aksi.api.order.dto.AddPaymentRequest;
+import com.aksi.api.order.dto.BulkOrderStatusUpdateRequest;
+import com.aksi.api.order.dto.BulkOrderStatusUpdateResponse;
 import com.aksi.api.order.dto.CreateOrderRequest;
 import com.aksi.api.order.dto.ItemPhotoInfo;
 import com.aksi.api.order.dto.OrderInfo;
@@ -28,6 +30,7 @@ public class OrderCommandService {
   // Use-case services
   private final OrderCreationService orderCreationService;
   private final OrderStatusService orderStatusService;
+  private final OrderBulkStatusService orderBulkStatusService;
   private final OrderItemService orderItemService;
   private final OrderPhotoService orderPhotoService;
   private final OrderPaymentService orderPaymentService;
@@ -43,6 +46,11 @@ public class OrderCommandService {
     return orderStatusService.updateStatus(orderId, request);
   }
 
+  /** Apply status transition to many orders */
+  public BulkOrderStatusUpdateResponse bulkUpdateOrderStatus(BulkOrderStatusUpdateRequest request) {
+    return orderBulkStatusService.updateStatuses(request);
+  }
+
   /** Update order item characteristics */
   public OrderItemInfo updateItemCharacteristics(
       UUID orderId, UUID itemId, UpdateItemCharacteristicsRequest request) {
@@ -1,10 +1,15 @@
 package com.aksi.service.order;
 
+import java.time.Instant;
+
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 import com.aksi.api.order.dto.CreateOrderRequest;
 import com.aksi.api.order.dto.OrderInfo;
+import com.aksi.api.order.dto.OrderStatus;
 import com.aksi.domain.branch.BranchEntity;
 import com.aksi.domain.cart.CartEntity;
 import com.aksi.domain.order.OrderEntity;
@@ -13,10 +18,13 @@ import com.aksi.mapper.OrderMapper;
 import com.aksi.repository.CartRepository;
 import com.aksi.repository.OrderRepository;
 import com.aksi.service.auth.AuthQueryService;
+import com.aksi.service.order.event.OrderStatusChangedEvent;
+import com.aksi.service.order.event.OrderStatusChangedEvent.StatusChange;
 import com.aksi.service.order.factory.OrderFactory;
 import com.aksi.service.order.guard.OrderGuard;
 import com.aksi.service.order.validator.OrderValidator;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -38,6 +46,9 @@ public class OrderCreationServiceImpl implements OrderCreationService {
   private final OrderPricingCalculator pricingCalculator;
   private final AuthQueryService authQueryService;
   private final OrderMapper orderMapper;
+  private final OrderSignatureService orderSignatureService;
+  private final EntityManager entityManager;
+  private final ApplicationEventPublisher eventPublisher;
 
   @Override
   public OrderInfo create(CreateOrderRequest request) {
@@ -59,19 +70,29 @@ public class OrderCreationServiceImpl implements OrderCreationService {
     // Step 4: Create order
     OrderEntity order = orderFactory.createOrder(request, cart, branch, currentUser, pricing);
 
-    // Step 5: Persist
+    // Step 5: Persist (child inserts are JDBC-batched, cart is removed with bulk statements)
     order = orderRepository.save(order);
-    cartRepository.delete(cart);
+    if (StringUtils.hasText(request.getCustomerSignature())) {
+      orderSignatureService.attachSignature(order, request.getCustomerSignature());
+    }
+    entityManager.detach(cart);
+    cartRepository.deleteCartGraph(cart.getId());
 
     log.info(
         "Created order {} for customer {}",
         order.getOrderNumber(),
         order.getCustomerEntity().getId());
+    eventPublisher.publishEvent(
+        OrderStatusChangedEvent.of(
+            new StatusChange(
+                order.getId(),
+                order.getOrderNumber(),
+                null,
+                OrderStatus.fromValue(order.getStatus()),
+                order.getExpectedCompletionDate(),
+                Instant.now())));
 
-    // Step 6: Map to DTO and enrich with calculated fields
-    OrderInfo orderInfo = orderMapper.toOrderInfo(order);
-    orderInfo.getPricing().setPaidAmount(0); // New order has no payments
-    orderInfo.getPricing().setBalanceDue(order.getTotalAmount());
-    return orderInfo;
+    // Step 6: Map to DTO
+    return orderMapper.toOrderInfo(order);
   }
 }
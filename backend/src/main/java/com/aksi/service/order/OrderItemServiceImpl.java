@@ -4,6 +4,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,9 +19,12 @@ import com.aksi.domain.order.OrderEntity;
 import com.aksi.domain.order.OrderItemEntity;
 import com.aksi.mapper.OrderMapper;
 import com.aksi.repository.OrderRepository;
+import com.aksi.service.order.event.OrderUpdatedEvent;
 import com.aksi.service.order.guard.OrderGuard;
 import com.aksi.service.order.validator.OrderValidator;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -36,6 +40,8 @@ public class OrderItemServiceImpl implements OrderItemService {
   private final OrderGuard orderGuard;
   private final OrderValidator orderValidator;
   private final OrderMapper orderMapper;
+  private final EntityManager entityManager;
+  private final ApplicationEventPublisher eventPublisher;
 
   @Override
   public OrderItemInfo updateCharacteristics(
@@ -103,7 +109,11 @@ public class OrderItemServiceImpl implements OrderItemService {
                       });
             });
 
+    // Item changes do not touch the order row; bump its version so version-keyed caches
+    // (rendered receipts) never serve stale content
+    entityManager.lock(order, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
     orderRepository.save(order);
+    eventPublisher.publishEvent(new OrderUpdatedEvent(orderId));
 
     log.info(
         "Updated characteristics for order item {} in order {}", itemId, order.getOrderNumber());
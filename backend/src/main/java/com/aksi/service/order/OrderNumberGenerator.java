@@ -1,6 +1,7 @@
 package com.aksi.service.order;
 
 import java.time.Instant;
+import java.util.Optional;
 
 import org.springframework.stereotype.Service;
 
@@ -24,7 +25,9 @@ public class OrderNumberGenerator {
   private final OrderRepository orderRepository;
 
   /**
-   * Generate unique order number Format: AKSI-{EPOCH_SECONDS}-{COUNTER}
+   * Generate unique order number Format: AKSI-{EPOCH_SECONDS}-{COUNTER}. The number is reserved
+   * in the global order number registry within the caller's transaction, so concurrent callers
+   * never receive the same number and a rolled back order releases it.
    *
    * @return unique order number
    */
@@ -37,9 +40,31 @@ public class OrderNumberGenerator {
       orderNumber =
           PREFIX + SEPARATOR + timestamp + SEPARATOR + String.format(COUNTER_FORMAT, counter);
       counter++;
-    } while (orderRepository.existsByOrderNumber(orderNumber));
+    } while (orderRepository.reserveOrderNumber(orderNumber) == 0);
 
     log.debug("Generated order number: {}", orderNumber);
     return orderNumber;
   }
+
+  /**
+   * Extract the generation time embedded in an order number
+   *
+   * @param orderNumber order number in AKSI-{EPOCH_SECONDS}-{COUNTER} format
+   * @return generation time, empty if the number has a different format
+   */
+  public static Optional<Instant> extractTimestamp(String orderNumber) {
+    if (orderNumber == null || !orderNumber.startsWith(PREFIX + SEPARATOR)) {
+      return Optional.empty();
+    }
+    int start = PREFIX.length() + SEPARATOR.length();
+    int end = orderNumber.indexOf(SEPARATOR, start);
+    if (end < 0) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(Instant.ofEpochSecond(Long.parseLong(orderNumber, start, end, 10)));
+    } catch (NumberFormatException e) {
+      return Optional.empty();
+    }
+  }
 }
@@ -0,0 +1,21 @@
+package com.aksi.service.order;
+
+/** Service verifying stored order payment totals against the payment ledger */
+public interface OrderPaymentReconciliationService {
+
+  /**
+   * Verify paid amount and balance due of all orders, repairing mismatches if enabled
+   *
+   * @return reconciliation summary
+   */
+  ReconciliationResult reconcile();
+
+  /**
+   * Reconciliation summary
+   *
+   * @param checked number of verified orders
+   * @param mismatched number of orders whose totals disagreed with the ledger
+   * @param repaired number of orders whose totals were overwritten
+   */
+  record ReconciliationResult(int checked, int mismatched, int repaired) {}
+}
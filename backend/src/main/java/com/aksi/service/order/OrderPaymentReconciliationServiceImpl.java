@@ -0,0 +1,120 @@
+package com.aksi.service.order;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.aksi.config.OrderReconciliationProperties;
+import com.aksi.repository.OrderPaymentRepository;
+import com.aksi.repository.OrderPaymentTotalsMismatch;
+import com.aksi.repository.OrderRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Implementation of OrderPaymentReconciliationService. Order IDs are paged in key order on the
+ * calling thread; each chunk is compared against the ledger with one aggregate query on the task
+ * executor, with at most {@code parallelism} chunks in flight.
+ */
+@Service
+@Slf4j
+public class OrderPaymentReconciliationServiceImpl implements OrderPaymentReconciliationService {
+
+  private static final UUID MIN_UUID = new UUID(0L, 0L);
+
+  private final OrderRepository orderRepository;
+  private final OrderPaymentRepository orderPaymentRepository;
+  private final OrderReconciliationProperties properties;
+  private final TransactionTemplate transactionTemplate;
+  private final Executor taskExecutor;
+  private final MeterRegistry meterRegistry;
+
+  public OrderPaymentReconciliationServiceImpl(
+      OrderRepository orderRepository,
+      OrderPaymentRepository orderPaymentRepository,
+      OrderReconciliationProperties properties,
+      TransactionTemplate transactionTemplate,
+      @Qualifier("taskExecutor") Executor taskExecutor,
+      MeterRegistry meterRegistry) {
+    this.orderRepository = orderRepository;
+    this.orderPaymentRepository = orderPaymentRepository;
+    this.properties = properties;
+    this.transactionTemplate = transactionTemplate;
+    this.taskExecutor = taskExecutor;
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  public ReconciliationResult reconcile() {
+    long started = System.currentTimeMillis();
+    int parallelism = Math.max(1, properties.getParallelism());
+    Deque<CompletableFuture<List<OrderPaymentTotalsMismatch>>> inFlight = new ArrayDeque<>();
+    List<OrderPaymentTotalsMismatch> mismatches = new ArrayList<>();
+    int checked = 0;
+
+    // Step 1: Page through order IDs and verify chunks in parallel
+    UUID after = MIN_UUID;
+    while (true) {
+      List<UUID> chunk =
+          orderRepository.findIdsAfter(after, PageRequest.of(0, properties.getChunkSize()));
+      if (chunk.isEmpty()) {
+        break;
+      }
+      checked += chunk.size();
+      after = chunk.getLast();
+
+      if (inFlight.size() >= parallelism) {
+        mismatches.addAll(inFlight.removeFirst().join());
+      }
+      inFlight.addLast(
+          CompletableFuture.supplyAsync(
+              () -> orderPaymentRepository.findPaymentTotalsMismatches(chunk), taskExecutor));
+    }
+    inFlight.forEach(future -> mismatches.addAll(future.join()));
+
+    // Step 2: Report and repair mismatches
+    int repaired = 0;
+    for (OrderPaymentTotalsMismatch mismatch : mismatches) {
+      log.warn(
+          "Order {} payment totals out of sync: paid {} / balance {} stored, ledger paid {}",
+          mismatch.getOrderNumber(),
+          mismatch.getPaidAmount(),
+          mismatch.getBalanceDue(),
+          mismatch.getLedgerPaidAmount());
+      if (properties.isRepair()) {
+        repaired += repair(mismatch);
+      }
+    }
+    meterRegistry.counter("orders.payments.reconciliation.mismatches").increment(mismatches.size());
+
+    log.info(
+        "Reconciled payment totals of {} orders in {} ms: {} mismatched, {} repaired",
+        checked,
+        System.currentTimeMillis() - started,
+        mismatches.size(),
+        repaired);
+    return new ReconciliationResult(checked, mismatches.size(), repaired);
+  }
+
+  private int repair(OrderPaymentTotalsMismatch mismatch) {
+    Integer updated =
+        transactionTemplate.execute(
+            status ->
+                orderRepository.repairPaymentTotals(
+                    mismatch.getId(),
+                    mismatch.getPaidAmount(),
+                    mismatch.getBalanceDue(),
+                    Math.toIntExact(mismatch.getLedgerPaidAmount())));
+    return updated != null ? updated : 0;
+  }
+}
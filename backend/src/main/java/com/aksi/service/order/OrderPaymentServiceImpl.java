@@ -2,6 +2,8 @@ package com.aksi.service.order;
 
 import java.util.UUID;
 
+import org.hibernate.Hibernate;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -10,11 +12,12 @@ import com.aksi.api.order.dto.PaymentInfo;
 import com.aksi.domain.order.OrderEntity;
 import com.aksi.domain.order.OrderPaymentEntity;
 import com.aksi.mapper.OrderMapper;
+import com.aksi.repository.OrderPaymentRepository;
 import com.aksi.repository.OrderRepository;
 import com.aksi.service.auth.AuthQueryService;
+import com.aksi.service.order.event.OrderUpdatedEvent;
 import com.aksi.service.order.factory.OrderFactory;
 import com.aksi.service.order.guard.OrderGuard;
-import com.aksi.service.order.util.OrderQueryUtils;
 import com.aksi.service.order.validator.OrderValidator;
 
 import lombok.RequiredArgsConstructor;
@@ -28,13 +31,14 @@ import lombok.extern.slf4j.Slf4j;
 public class OrderPaymentServiceImpl implements OrderPaymentService {
 
   private final OrderRepository orderRepository;
+  private final OrderPaymentRepository orderPaymentRepository;
 
   private final OrderGuard orderGuard;
   private final OrderValidator orderValidator;
   private final OrderFactory orderFactory;
   private final OrderMapper orderMapper;
-  private final OrderQueryUtils orderQueryUtils;
   private final AuthQueryService authQueryService;
+  private final ApplicationEventPublisher eventPublisher;
 
   @Override
   public PaymentInfo addPayment(UUID orderId, AddPaymentRequest request) {
@@ -46,21 +50,26 @@ public class OrderPaymentServiceImpl implements OrderPaymentService {
     // Step 2: Validate order status
     orderValidator.validateNotCancelled(order);
 
-    // Step 3: Validate payment amount
-    Integer remainingBalance = orderQueryUtils.calculateBalanceDue(order);
-    orderValidator.validatePaymentAmount(request.getAmount(), remainingBalance);
+    // Step 3: Validate payment amount against the stored balance
+    orderValidator.validatePaymentAmount(request.getAmount(), order.getBalanceDue());
 
     // Step 4: Create payment
     var currentUser = authQueryService.getCurrentUser();
     OrderPaymentEntity payment = orderFactory.createPayment(order, request, currentUser);
 
-    // Step 5: Add to order (payment.setOrderEntity already set in factory)
-    order.getPayments().add(payment);
+    // Step 5: Update running totals; the order version check rejects concurrent payments
+    order.setPaidAmount(order.getPaidAmount() + request.getAmount());
+    order.setBalanceDue(order.getTotalAmount() - order.getPaidAmount());
+    if (Hibernate.isInitialized(order.getPayments())) {
+      order.getPayments().add(payment);
+    }
 
-    // Step 6: Persist
+    // Step 6: Persist payment and totals without loading the payments collection
+    orderPaymentRepository.save(payment);
     orderRepository.save(order);
 
     log.info("Added payment of {} to order {}", request.getAmount(), order.getOrderNumber());
+    eventPublisher.publishEvent(new OrderUpdatedEvent(order.getId()));
     return orderMapper.toPaymentInfo(payment);
   }
 }
@@ -3,16 +3,17 @@ package com.aksi.service.order;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import com.aksi.api.file.dto.FileUploadResponse;
 import com.aksi.api.order.dto.ItemPhotoInfo;
 import com.aksi.api.order.dto.PhotoType;
 import com.aksi.domain.order.ItemPhotoEntity;
 import com.aksi.domain.order.OrderEntity;
 import com.aksi.domain.order.OrderItemEntity;
+import com.aksi.domain.storage.StoredFileEntity;
 import com.aksi.exception.BadRequestException;
 import com.aksi.mapper.OrderMapper;
 import com.aksi.repository.OrderRepository;
@@ -21,6 +22,9 @@ import com.aksi.service.order.factory.OrderFactory;
 import com.aksi.service.order.guard.OrderGuard;
 import com.aksi.service.storage.FilePathResolver;
 import com.aksi.service.storage.FileStorageService;
+import com.aksi.service.storage.ImageDerivativeService;
+import com.aksi.service.storage.StoredFileService;
+import com.aksi.service.storage.image.ImageStoredEvent;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -39,13 +43,13 @@ public class OrderPhotoServiceImpl implements OrderPhotoService {
   private final OrderMapper orderMapper;
   private final OrderItemService orderItemService;
   private final FileStorageService fileStorageService;
+  private final StoredFileService storedFileService;
+  private final ImageDerivativeService imageDerivativeService;
   private final FilePathResolver filePathResolver;
   private final AuthQueryService authQueryService;
+  private final ApplicationEventPublisher eventPublisher;
 
   private static final long MAX_FILE_SIZE_BYTES = 10L * 1024 * 1024;
-  private static final String ORDER_ITEM_PHOTOS_DIR = "orders/%s/items/%s/photos";
-
-  // Public URL prefix is handled by FilePathResolver; kept for readability in logs if needed
 
   @Override
   public ItemPhotoInfo uploadPhoto(
@@ -60,18 +64,20 @@ public class OrderPhotoServiceImpl implements OrderPhotoService {
     OrderEntity order = orderGuard.ensureExists(orderId);
     OrderItemEntity orderItem = orderGuard.ensureItemExists(order, itemId);
 
-    // Step 3: Store file
-    FileUploadResponse uploadResponse = storePhotoFile(orderItem, file);
+    // Step 3: Store file, deduplicated by content
+    StoredFileEntity storedFile = storedFileService.store(file);
+    String fileUrl = filePathResolver.generateFileUrl(storedFile.getStoragePath());
 
     // Step 4: Create photo entity
     var currentUser = authQueryService.getCurrentUser();
     ItemPhotoEntity photo =
         orderFactory.createPhoto(
-            orderItem, file, uploadResponse, photoType, photoDescription, currentUser);
+            orderItem, file, storedFile, fileUrl, photoType, photoDescription, currentUser);
     orderItemService.addPhoto(orderItem, photo);
 
-    // Step 5: Persist
+    // Step 5: Persist, thumbnails follow in the background after commit
     orderRepository.save(order);
+    eventPublisher.publishEvent(new ImageStoredEvent(storedFile.getStoragePath()));
 
     log.info("Uploaded photo for order item {} in order {}", itemId, order.getOrderNumber());
     return orderMapper.toItemPhotoInfo(photo);
@@ -86,8 +92,8 @@ public class OrderPhotoServiceImpl implements OrderPhotoService {
     OrderItemEntity orderItem = orderGuard.ensureItemExists(order, itemId);
     ItemPhotoEntity photo = orderGuard.ensurePhotoExists(orderItem, photoId);
 
-    // Step 2: Delete physical file
-    deletePhysicalFile(photo);
+    // Step 2: Release stored file
+    releaseFile(photo);
 
     // Step 3: Remove from entity
     orderItemService.removePhoto(orderItem, photo);
@@ -110,17 +116,19 @@ public class OrderPhotoServiceImpl implements OrderPhotoService {
         contentType != null && contentType.startsWith("image/"), "Only image files are allowed");
   }
 
-  private FileUploadResponse storePhotoFile(OrderItemEntity orderItem, MultipartFile file) {
-    String directory =
-        String.format(ORDER_ITEM_PHOTOS_DIR, orderItem.getOrderEntity().getId(), orderItem.getId());
-
-    return fileStorageService.storeFile(file, directory);
-  }
-
-  private void deletePhysicalFile(ItemPhotoEntity photo) {
+  private void releaseFile(ItemPhotoEntity photo) {
+    if (photo.getContentHash() != null) {
+      storedFileService.release(photo.getContentHash());
+      return;
+    }
+    // Photos uploaded before content-addressed storage own their file
     Optional.ofNullable(photo.getUrl())
         .map(filePathResolver::extractRelativePathFromUrl)
-        .ifPresent(this::tryDeleteFile);
+        .ifPresent(
+            path -> {
+              imageDerivativeService.deleteDerivatives(path);
+              tryDeleteFile(path);
+            });
   }
 
   private void tryDeleteFile(String filePath) {
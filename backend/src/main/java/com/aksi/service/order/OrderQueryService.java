@@ -1,10 +1,10 @@
 package com.aksi.service.order;
 
-import java.io.IOException;
 import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -17,9 +17,12 @@ import com.aksi.api.order.dto.OrderListResponse;
 import com.aksi.api.order.dto.OrderStatus;
 import com.aksi.api.order.dto.PaymentInfo;
 import com.aksi.domain.order.OrderEntity;
+import com.aksi.exception.NotFoundException;
 import com.aksi.mapper.OrderMapper;
 import com.aksi.repository.OrderRepository;
 import com.aksi.repository.OrderSpecification;
+import com.aksi.service.order.archive.OrderArchiveReader;
+import com.aksi.service.order.deadline.OrderDeadlineTracker;
 import com.aksi.service.order.guard.OrderGuard;
 import com.aksi.service.order.util.OrderQueryUtils;
 import com.aksi.service.receipt.ReceiptService;
@@ -44,6 +47,9 @@ public class OrderQueryService {
   private final OrderMapper orderMapper;
   private final OrderQueryUtils queryUtils;
   private final ReceiptService receiptService;
+  private final OrderDeadlineTracker deadlineTracker;
+  private final OrderArchiveReader orderArchiveReader;
+  private final OrderSignatureService orderSignatureService;
 
   /**
    * Get order by ID
@@ -62,7 +68,7 @@ public class OrderQueryService {
   }
 
   /**
-   * Get order by order number
+   * Get order by order number, reading through to the order archive for archived orders
    *
    * @param orderNumber order number
    * @return order information
@@ -70,11 +76,12 @@ public class OrderQueryService {
   public OrderInfo getOrderByNumber(String orderNumber) {
     log.debug("Getting order by number: {}", orderNumber);
 
-    // Step 1: Load entity
-    OrderEntity order = orderGuard.ensureExistsByNumber(orderNumber);
-
-    // Step 2: Map to DTO and enrich with calculated fields
-    return enrichOrderInfo(order);
+    // Live order enriched with calculated fields, otherwise the archived order document
+    return orderGuard
+        .findByNumber(orderNumber)
+        .map(this::enrichOrderInfo)
+        .or(() -> orderArchiveReader.findByOrderNumber(orderNumber))
+        .orElseThrow(() -> new NotFoundException("Order not found: " + orderNumber));
   }
 
   /** List orders with filters and pagination */
@@ -126,6 +133,11 @@ public class OrderQueryService {
     Pageable pageable =
         queryUtils.buildPageable(page, size, sortBy, sortOrder, "expectedCompletionDate");
     Instant targetDate = queryUtils.calculateDueDate(days);
+    List<UUID> trackedIds =
+        deadlineTracker.isReady() ? deadlineTracker.getOrderIdsDueBy(targetDate) : null;
+    if (trackedIds != null && trackedIds.size() <= OrderSpecification.MAX_ID_FILTER_SIZE) {
+      return fetchTrackedToResponse(trackedIds, pageable);
+    }
     return fetchToResponse(OrderSpecification.isDueForCompletion(targetDate), pageable);
   }
 
@@ -137,6 +149,10 @@ public class OrderQueryService {
 
     Pageable pageable =
         queryUtils.buildPageable(page, size, sortBy, sortOrder, "expectedCompletionDate");
+    List<UUID> trackedIds = deadlineTracker.isReady() ? deadlineTracker.getOverdueOrderIds() : null;
+    if (trackedIds != null && trackedIds.size() <= OrderSpecification.MAX_ID_FILTER_SIZE) {
+      return fetchTrackedToResponse(trackedIds, pageable);
+    }
     return fetchToResponse(OrderSpecification.isOverdue(Instant.now()), pageable);
   }
 
@@ -193,17 +209,17 @@ public class OrderQueryService {
     return orderRepository.existsById(orderId);
   }
 
-  /** Get order receipt (placeholder) */
-  public byte[] getOrderReceipt(UUID orderId) {
+  /** Get order receipt */
+  public Resource getOrderReceipt(UUID orderId) {
     log.debug("Preparing receipt for order {}", orderId);
 
-    try {
-      // Delegate to dedicated receipt service (PDF generation implemented there)
-      var resource = receiptService.generateOrderReceipt(orderId, "uk");
-      return resource.getInputStream().readAllBytes();
-    } catch (IOException e) {
-      throw new RuntimeException("Failed to generate receipt PDF", e);
-    }
+    // Delegate to dedicated receipt service (PDF generation and caching implemented there)
+    return receiptService.generateOrderReceipt(orderId, "uk");
+  }
+
+  /** Get customer signature image */
+  public SignatureImage getCustomerSignature(UUID orderId) {
+    return orderSignatureService.getSignature(orderId);
   }
 
   /** Build order list response from page */
@@ -218,26 +234,31 @@ public class OrderQueryService {
     return buildOrderListResponse(page);
   }
 
+  /**
+   * Fetch tracked orders by ID. The created_at window derived from the IDs prunes partitions; if it
+   * misses orders whose created_at lies outside that window, the IDs are looked up unbounded.
+   */
+  private OrderListResponse fetchTrackedToResponse(List<UUID> orderIds, Pageable pageable) {
+    Page<OrderEntity> page =
+        orderRepository.findAll(OrderSpecification.hasIdIn(orderIds), pageable);
+    if (page.getTotalElements() < orderIds.size()) {
+      page = orderRepository.findAll(OrderSpecification.hasIdIn(orderIds, false), pageable);
+    }
+    return buildOrderListResponse(page);
+  }
+
   private String valueOf(OrderStatus status) {
     return status != null ? status.getValue() : null;
   }
 
   /**
-   * Enrich OrderInfo with calculated fields
+   * Map order to DTO. Paid amount and balance due come from the stored running totals, so the
+   * payments collection is not needed for pricing.
    *
    * @param order order entity
-   * @return enriched order info
+   * @return order info
    */
   private OrderInfo enrichOrderInfo(OrderEntity order) {
-    // Step 1: Map entity to DTO
-    OrderInfo orderInfo = orderMapper.toOrderInfo(order);
-
-    // Step 2: Calculate and set pricing fields
-    Integer paidAmount = queryUtils.calculatePaidAmount(order);
-    Integer balanceDue = queryUtils.calculateBalanceDue(order);
-    orderInfo.getPricing().setPaidAmount(paidAmount);
-    orderInfo.getPricing().setBalanceDue(balanceDue);
-
-    return orderInfo;
+    return orderMapper.toOrderInfo(order);
   }
 }
@@ -4,9 +4,12 @@ import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.core.io.Resource;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.aksi.api.order.dto.AddPaymentRequest;
+import com.aksi.api.order.dto.BulkOrderStatusUpdateRequest;
+import com.aksi.api.order.dto.BulkOrderStatusUpdateResponse;
 import com.aksi.api.order.dto.CreateOrderRequest;
 import com.aksi.api.order.dto.ItemPhotoInfo;
 import com.aksi.api.order.dto.OrderInfo;
@@ -54,6 +57,14 @@ public interface OrderService {
    */
   OrderInfo updateOrderStatus(UUID orderId, UpdateOrderStatusRequest request);
 
+  /**
+   * Apply the same status transition to many orders
+   *
+   * @param request Bulk status update request
+   * @return Per-order transition results
+   */
+  BulkOrderStatusUpdateResponse bulkUpdateOrderStatus(BulkOrderStatusUpdateRequest request);
+
   /**
    * Update item characteristics, stains, defects, and risks
    *
@@ -91,9 +102,9 @@ public interface OrderService {
    * Get order receipt as PDF
    *
    * @param orderId Order ID
-   * @return PDF content as byte array
+   * @return PDF resource, rendered while the response is written when not cached
    */
-  byte[] getOrderReceipt(UUID orderId);
+  Resource getOrderReceipt(UUID orderId);
 
   /**
    * Add payment to order
@@ -183,6 +194,14 @@ public interface OrderService {
    */
   OrderInfo saveCustomerSignature(UUID orderId, String signatureBase64);
 
+  /**
+   * Get customer signature image of an order
+   *
+   * @param orderId Order ID
+   * @return Signature image
+   */
+  SignatureImage getCustomerSignature(UUID orderId);
+
   /**
    * Get orders by status without pagination (for reports) - API version
    *
@@ -4,11 +4,14 @@ import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.aksi.api.order.dto.AddPaymentRequest;
+import com.aksi.api.order.dto.BulkOrderStatusUpdateRequest;
+import com.aksi.api.order.dto.BulkOrderStatusUpdateResponse;
 import com.aksi.api.order.dto.CreateOrderRequest;
 import com.aksi.api.order.dto.ItemPhotoInfo;
 import com.aksi.api.order.dto.OrderInfo;
@@ -69,7 +72,7 @@ public class OrderServiceImpl implements OrderService {
   }
 
   @Override
-  public byte[] getOrderReceipt(UUID orderId) {
+  public Resource getOrderReceipt(UUID orderId) {
     return queryService.getOrderReceipt(orderId);
   }
 
@@ -89,6 +92,13 @@ public class OrderServiceImpl implements OrderService {
     return commandService.updateOrderStatus(orderId, request);
   }
 
+  @Override
+  @Transactional
+  public BulkOrderStatusUpdateResponse bulkUpdateOrderStatus(BulkOrderStatusUpdateRequest request) {
+    log.info("Bulk updating {} orders to status {}", request.getItems().size(), request.getStatus());
+    return commandService.bulkUpdateOrderStatus(request);
+  }
+
   @Override
   @Transactional
   public OrderItemInfo updateItemCharacteristics(
@@ -126,6 +136,11 @@ public class OrderServiceImpl implements OrderService {
     return commandService.saveCustomerSignature(orderId, signatureBase64);
   }
 
+  @Override
+  public SignatureImage getCustomerSignature(UUID orderId) {
+    return queryService.getCustomerSignature(orderId);
+  }
+
   @Override
   public OrderListResponse listOrders(
       Integer page,
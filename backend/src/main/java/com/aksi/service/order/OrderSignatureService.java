@@ -3,6 +3,7 @@ package com.aksi.service.order;
 import java.util.UUID;
 
 import com.aksi.api.order.dto.OrderInfo;
+import com.aksi.domain.order.OrderEntity;
 
 /** Service for order signature management Handles customer signature operations */
 public interface OrderSignatureService {
@@ -15,4 +16,20 @@ public interface OrderSignatureService {
    * @return updated order information
    */
   OrderInfo saveSignature(UUID orderId, String signatureBase64);
+
+  /**
+   * Store the signature given when an order is created
+   *
+   * @param order persisted order without signature
+   * @param signatureBase64 signature in base64 format, optionally as data URL
+   */
+  void attachSignature(OrderEntity order, String signatureBase64);
+
+  /**
+   * Get customer signature of an order, including archived orders
+   *
+   * @param orderId order ID
+   * @return signature image
+   */
+  SignatureImage getSignature(UUID orderId);
 }
@@ -1,34 +1,55 @@
 package com.aksi.service.order;
 
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Set;
 import java.util.UUID;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.aksi.api.order.dto.OrderInfo;
 import com.aksi.domain.order.OrderEntity;
+import com.aksi.domain.order.OrderSignatureEntity;
+import com.aksi.exception.BadRequestException;
+import com.aksi.exception.NotFoundException;
 import com.aksi.mapper.OrderMapper;
 import com.aksi.repository.OrderRepository;
+import com.aksi.repository.OrderSignatureRepository;
+import com.aksi.service.order.event.OrderUpdatedEvent;
 import com.aksi.service.order.guard.OrderGuard;
-import com.aksi.service.order.util.OrderQueryUtils;
 import com.aksi.service.order.validator.OrderValidator;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-/** Implementation of OrderSignatureService Manages customer signatures for orders */
+/**
+ * Implementation of OrderSignatureService Manages customer signatures for orders. Signatures are
+ * stored decoded in their own table; the order only records when it was signed.
+ */
 @Service
 @Transactional
 @RequiredArgsConstructor
 @Slf4j
 public class OrderSignatureServiceImpl implements OrderSignatureService {
 
+  /** Canvas signatures are a few kilobytes; anything far larger is not a signature */
+  static final int MAX_SIGNATURE_BYTES = 512 * 1024;
+
+  private static final String DATA_URL_SCHEME = "data:";
+  private static final String BASE64_MARKER = ";base64";
+  private static final String DEFAULT_CONTENT_TYPE = "image/png";
+  private static final Set<String> ALLOWED_CONTENT_TYPES =
+      Set.of("image/png", "image/jpeg", "image/webp");
+
   private final OrderRepository orderRepository;
+  private final OrderSignatureRepository signatureRepository;
 
   private final OrderGuard orderGuard;
   private final OrderValidator orderValidator;
   private final OrderMapper orderMapper;
-  private final OrderQueryUtils queryUtils;
+  private final ApplicationEventPublisher eventPublisher;
 
   @Override
   public OrderInfo saveSignature(UUID orderId, String signatureBase64) {
@@ -41,19 +62,78 @@ public class OrderSignatureServiceImpl implements OrderSignatureService {
     orderValidator.validateCanAddSignature(order);
 
     // Step 3: Apply signature
-    order.setCustomerSignature(signatureBase64);
+    attachSignature(order, signatureBase64);
 
     // Step 4: Persist
     order = orderRepository.save(order);
 
     log.info("Saved customer signature for order {}", order.getOrderNumber());
+    eventPublisher.publishEvent(new OrderUpdatedEvent(order.getId()));
+
+    // Step 5: Map to DTO (payment totals are stored on the order)
+    return orderMapper.toOrderInfo(order);
+  }
+
+  @Override
+  public void attachSignature(OrderEntity order, String signatureBase64) {
+    OrderSignatureEntity signature = decode(signatureBase64);
+    signature.setOrderId(order.getId());
+    signatureRepository.save(signature);
+    order.setSignedAt(Instant.now());
+    log.debug(
+        "Stored signature of order {} ({} bytes)", order.getOrderNumber(), signature.getSizeBytes());
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public SignatureImage getSignature(UUID orderId) {
+    // Looked up by ID alone, so signatures of archived orders stay available
+    OrderSignatureEntity signature =
+        signatureRepository
+            .findByOrderId(orderId)
+            .orElseThrow(() -> new NotFoundException("Signature not found for order: " + orderId));
+    return new SignatureImage(
+        signature.getContent(), signature.getContentType(), signature.getCreatedAt());
+  }
+
+  /** Decode base64 or a base64 data URL into a signature image */
+  private OrderSignatureEntity decode(String signatureBase64) {
+    if (signatureBase64 == null || signatureBase64.isBlank()) {
+      throw new BadRequestException("Signature cannot be empty");
+    }
+
+    String contentType = DEFAULT_CONTENT_TYPE;
+    int start = 0;
+    if (signatureBase64.startsWith(DATA_URL_SCHEME)) {
+      int comma = signatureBase64.indexOf(',');
+      if (comma < 0 || !signatureBase64.startsWith(BASE64_MARKER, comma - BASE64_MARKER.length())) {
+        throw new BadRequestException("Signature must be a base64 encoded data URL");
+      }
+      int parameters = signatureBase64.indexOf(';');
+      contentType = signatureBase64.substring(DATA_URL_SCHEME.length(), parameters);
+      start = comma + 1;
+    }
+    if (!ALLOWED_CONTENT_TYPES.contains(contentType)) {
+      throw new BadRequestException("Unsupported signature image type: " + contentType);
+    }
+
+    byte[] content;
+    try {
+      content = Base64.getDecoder().decode(signatureBase64.substring(start));
+    } catch (IllegalArgumentException ex) {
+      throw new BadRequestException("Invalid base64 signature data", ex);
+    }
+    if (content.length == 0 || content.length > MAX_SIGNATURE_BYTES) {
+      throw new BadRequestException(
+          String.format(
+              "Signature must be between 1 and %d bytes, got %d",
+              MAX_SIGNATURE_BYTES, content.length));
+    }
 
-    // Step 5: Map to DTO and enrich with calculated fields
-    OrderInfo orderInfo = orderMapper.toOrderInfo(order);
-    Integer paidAmount = queryUtils.calculatePaidAmount(order);
-    Integer balanceDue = queryUtils.calculateBalanceDue(order);
-    orderInfo.getPricing().setPaidAmount(paidAmount);
-    orderInfo.getPricing().setBalanceDue(balanceDue);
-    return orderInfo;
+    var signature = new OrderSignatureEntity();
+    signature.setContent(content);
+    signature.setContentType(contentType);
+    signature.setSizeBytes(content.length);
+    return signature;
   }
 }
@@ -3,6 +3,7 @@ package com.aksi.service.order;
 import java.time.Instant;
 import java.util.UUID;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,8 +13,9 @@ import com.aksi.api.order.dto.UpdateOrderStatusRequest;
 import com.aksi.domain.order.OrderEntity;
 import com.aksi.mapper.OrderMapper;
 import com.aksi.repository.OrderRepository;
+import com.aksi.service.order.event.OrderStatusChangedEvent;
+import com.aksi.service.order.event.OrderStatusChangedEvent.StatusChange;
 import com.aksi.service.order.guard.OrderGuard;
-import com.aksi.service.order.util.OrderQueryUtils;
 import com.aksi.service.order.validator.OrderValidator;
 
 import lombok.RequiredArgsConstructor;
@@ -31,7 +33,7 @@ public class OrderStatusServiceImpl implements OrderStatusService {
   private final OrderGuard orderGuard;
   private final OrderValidator orderValidator;
   private final OrderMapper orderMapper;
-  private final OrderQueryUtils queryUtils;
+  private final ApplicationEventPublisher eventPublisher;
 
   @Override
   public OrderInfo updateStatus(UUID orderId, UpdateOrderStatusRequest request) {
@@ -62,13 +64,17 @@ public class OrderStatusServiceImpl implements OrderStatusService {
         order.getOrderNumber(),
         currentStatus,
         targetStatus);
+    eventPublisher.publishEvent(
+        OrderStatusChangedEvent.of(
+            new StatusChange(
+                order.getId(),
+                order.getOrderNumber(),
+                currentStatus,
+                targetStatus,
+                order.getExpectedCompletionDate(),
+                Instant.now())));
 
-    // Step 6: Map to DTO and enrich with calculated fields
-    OrderInfo orderInfo = orderMapper.toOrderInfo(order);
-    Integer paidAmount = queryUtils.calculatePaidAmount(order);
-    Integer balanceDue = queryUtils.calculateBalanceDue(order);
-    orderInfo.getPricing().setPaidAmount(paidAmount);
-    orderInfo.getPricing().setBalanceDue(balanceDue);
-    return orderInfo;
+    // Step 6: Map to DTO (payment totals are stored on the order)
+    return orderMapper.toOrderInfo(order);
   }
 }
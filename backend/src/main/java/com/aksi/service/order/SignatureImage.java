@@ -0,0 +1,6 @@
+package com.aksi.service.order;
+
+import java.time.Instant;
+
+/** Customer signature image as stored */
+public record SignatureImage(byte[] content, String contentType, Instant signedAt) {}
@@ -0,0 +1,89 @@
+package com.aksi.service.order.archive;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.springframework.stereotype.Component;
+
+import com.aksi.api.order.dto.OrderInfo;
+import com.aksi.config.OrderArchiveProperties;
+import com.aksi.domain.order.OrderArchiveEntryEntity;
+import com.aksi.repository.OrderArchiveEntryRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Read-through access to archived orders. The archive index locates the file and entry, the ZIP
+ * central directory gives random access to that single entry without inflating the whole file.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderArchiveReader {
+
+  private final OrderArchiveEntryRepository archiveEntryRepository;
+  private final OrderArchiveProperties properties;
+  private final ObjectMapper objectMapper;
+
+  /**
+   * Find archived order by order number
+   *
+   * @param orderNumber order number
+   * @return archived order document if the order was archived
+   */
+  public Optional<OrderInfo> findByOrderNumber(String orderNumber) {
+    return archiveEntryRepository.findByOrderNumber(orderNumber).map(this::read);
+  }
+
+  /**
+   * Read every order document of one archive file, one entry at a time
+   *
+   * @param archiveFile archive file name as recorded in the index
+   * @param consumer receives each archived order
+   */
+  public void forEachOrder(String archiveFile, Consumer<OrderInfo> consumer) {
+    Path file = Path.of(properties.getDirectory()).resolve(archiveFile);
+    try (ZipFile zip = ZipFile.builder().setPath(file).get()) {
+      for (ZipArchiveEntry entry : Collections.list(zip.getEntries())) {
+        if (!entry.getName().startsWith(OrderArchiveWriter.ORDER_ENTRY_PREFIX)) {
+          continue;
+        }
+        try (InputStream in = zip.getInputStream(entry)) {
+          consumer.accept(objectMapper.readValue(in, OrderInfo.class));
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to read archive " + archiveFile, e);
+    }
+  }
+
+  private OrderInfo read(OrderArchiveEntryEntity archiveEntry) {
+    Path file = Path.of(properties.getDirectory()).resolve(archiveEntry.getArchiveFile());
+    log.debug("Reading archived order {} from {}", archiveEntry.getOrderNumber(), file);
+
+    try (ZipFile zip = ZipFile.builder().setPath(file).get()) {
+      ZipArchiveEntry entry = zip.getEntry(archiveEntry.getEntryName());
+      if (entry == null) {
+        throw new IllegalStateException(
+            String.format(
+                "Archive %s has no entry %s",
+                archiveEntry.getArchiveFile(), archiveEntry.getEntryName()));
+      }
+      try (InputStream in = zip.getInputStream(entry)) {
+        return objectMapper.readValue(in, OrderInfo.class);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(
+          "Failed to read archived order " + archiveEntry.getOrderNumber(), e);
+    }
+  }
+}
@@ -0,0 +1,12 @@
+package com.aksi.service.order.archive;
+
+/** Service moving old, completed and fully paid orders into compressed archive files */
+public interface OrderArchiveService {
+
+  /**
+   * Archive eligible orders in batches, one archive file per batch
+   *
+   * @return number of archived orders
+   */
+  int archiveEligibleOrders();
+}
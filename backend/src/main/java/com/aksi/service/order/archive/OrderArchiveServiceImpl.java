@@ -0,0 +1,113 @@
+package com.aksi.service.order.archive;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.aksi.api.order.dto.OrderInfo;
+import com.aksi.api.order.dto.OrderStatus;
+import com.aksi.config.OrderArchiveProperties;
+import com.aksi.domain.order.OrderArchiveEntryEntity;
+import com.aksi.domain.order.OrderEntity;
+import com.aksi.mapper.OrderMapper;
+import com.aksi.repository.OrderArchiveEntryRepository;
+import com.aksi.repository.OrderRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Implementation of OrderArchiveService. Each batch runs in its own transaction: the archive file
+ * is written first, then index entries are inserted and the orders deleted in one statement (the
+ * database cascades to their items and payments). A failed commit removes the just written file,
+ * so an order is always either live or archived.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderArchiveServiceImpl implements OrderArchiveService {
+
+  private final OrderRepository orderRepository;
+  private final OrderArchiveEntryRepository archiveEntryRepository;
+  private final OrderArchiveWriter archiveWriter;
+  private final OrderMapper orderMapper;
+  private final OrderArchiveProperties properties;
+  private final TransactionTemplate transactionTemplate;
+
+  @Override
+  public int archiveEligibleOrders() {
+    Instant cutoff = Instant.now().minus(properties.getMinAge());
+    log.info("Archiving completed and fully paid orders created before {}", cutoff);
+
+    int archived = 0;
+    for (int batch = 0; batch < properties.getMaxBatchesPerRun(); batch++) {
+      // Step 1: Pick the oldest eligible orders
+      List<UUID> orderIds =
+          orderRepository.findArchiveCandidates(
+              OrderStatus.COMPLETED.getValue(),
+              cutoff,
+              PageRequest.of(0, properties.getBatchSize()));
+      if (orderIds.isEmpty()) {
+        break;
+      }
+
+      // Step 2: Write archive file and remove orders in one transaction
+      AtomicReference<String> archiveFile = new AtomicReference<>();
+      try {
+        Integer count =
+            transactionTemplate.execute(status -> archiveBatch(orderIds, archiveFile));
+        archived += count != null ? count : 0;
+      } catch (RuntimeException e) {
+        if (archiveFile.get() != null) {
+          archiveWriter.delete(archiveFile.get());
+        }
+        log.error("Order archive batch failed, stopping this run", e);
+        break;
+      }
+    }
+
+    log.info("Archived {} orders", archived);
+    return archived;
+  }
+
+  private int archiveBatch(List<UUID> orderIds, AtomicReference<String> archiveFile) {
+    List<OrderEntity> orders = orderRepository.findAllById(orderIds);
+    if (orders.isEmpty()) {
+      return 0;
+    }
+    List<OrderInfo> documents = orders.stream().map(orderMapper::toOrderInfo).toList();
+
+    String fileName = archiveWriter.write(documents);
+    archiveFile.set(fileName);
+
+    List<OrderArchiveEntryEntity> entries = new ArrayList<>(orders.size());
+    for (OrderEntity order : orders) {
+      entries.add(
+          new OrderArchiveEntryEntity(
+              order.getId(),
+              order.getOrderNumber(),
+              order.getCustomerEntity().getId(),
+              fileName,
+              OrderArchiveWriter.entryName(order.getOrderNumber()),
+              order.getCreatedAt()));
+    }
+    archiveEntryRepository.saveAll(entries);
+    // One set-based delete; the database cascades to items and payments. Stored photo files keep
+    // their references and signatures their rows: archived documents still link to them
+    Instant createdFrom = orders.get(0).getCreatedAt();
+    Instant createdTo = createdFrom;
+    for (OrderEntity order : orders) {
+      createdFrom = order.getCreatedAt().isBefore(createdFrom) ? order.getCreatedAt() : createdFrom;
+      createdTo = order.getCreatedAt().isAfter(createdTo) ? order.getCreatedAt() : createdTo;
+    }
+    orderRepository.deleteArchived(
+        orders.stream().map(OrderEntity::getId).toList(), createdFrom, createdTo);
+    return orders.size();
+  }
+}
@@ -0,0 +1,174 @@
+package com.aksi.service.order.archive;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Objects;
+import java.util.zip.Deflater;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.springframework.stereotype.Component;
+
+import com.aksi.api.order.dto.OrderInfo;
+import com.aksi.api.order.dto.OrderItemInfo;
+import com.aksi.config.OrderArchiveProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes batches of orders into compressed ZIP archives (commons-compress).
+ *
+ * <p>Layout of one archive file:
+ *
+ * <ul>
+ *   <li>{@code orders.csv} / {@code order_items.csv} - flat, one row per order / item, ready for
+ *       columnar loading (analytics, COPY into a warehouse);
+ *   <li>{@code orders/{orderNumber}.json} - full order document as served by the API, read back
+ *       by entry for read-through lookups.
+ * </ul>
+ *
+ * Files are written to a temporary name and moved in place atomically.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderArchiveWriter {
+
+  static final String ORDER_ENTRY_PREFIX = "orders/";
+  private static final DateTimeFormatter FILE_TIMESTAMP =
+      DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS").withZone(ZoneOffset.UTC);
+
+  private final OrderArchiveProperties properties;
+  private final ObjectMapper objectMapper;
+
+  /**
+   * Write orders into a new archive file
+   *
+   * @param orders orders to archive
+   * @return archive file name relative to the archive directory
+   */
+  public String write(List<OrderInfo> orders) {
+    Path directory = Path.of(properties.getDirectory());
+    String fileName = "orders-" + FILE_TIMESTAMP.format(Instant.now()) + ".zip";
+    Path target = directory.resolve(fileName);
+    Path temp = directory.resolve(fileName + ".tmp");
+
+    try {
+      Files.createDirectories(directory);
+      try (ZipArchiveOutputStream zip = new ZipArchiveOutputStream(Files.newOutputStream(temp))) {
+        zip.setLevel(Deflater.BEST_COMPRESSION);
+        writeEntry(zip, "orders.csv", ordersCsv(orders));
+        writeEntry(zip, "order_items.csv", itemsCsv(orders));
+        for (OrderInfo order : orders) {
+          writeEntry(zip, entryName(order.getOrderNumber()), objectMapper.writeValueAsBytes(order));
+        }
+      }
+      Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      deleteQuietly(temp);
+      throw new UncheckedIOException("Failed to write order archive " + fileName, e);
+    }
+
+    log.info("Wrote {} orders to archive {}", orders.size(), fileName);
+    return fileName;
+  }
+
+  /**
+   * Remove an archive file (used when the batch could not be committed)
+   *
+   * @param fileName archive file name
+   */
+  public void delete(String fileName) {
+    deleteQuietly(Path.of(properties.getDirectory()).resolve(fileName));
+  }
+
+  /** Entry name of an order document */
+  static String entryName(String orderNumber) {
+    return ORDER_ENTRY_PREFIX + orderNumber + ".json";
+  }
+
+  private void writeEntry(ZipArchiveOutputStream zip, String name, byte[] content)
+      throws IOException {
+    ZipArchiveEntry entry = new ZipArchiveEntry(name);
+    entry.setSize(content.length);
+    zip.putArchiveEntry(entry);
+    zip.write(content);
+    zip.closeArchiveEntry();
+  }
+
+  private byte[] ordersCsv(List<OrderInfo> orders) {
+    StringBuilder csv =
+        new StringBuilder(
+            "id,order_number,customer_id,branch_id,status,created_at,expected_completion_date,"
+                + "actual_completion_date,items_subtotal,discount_amount,urgency_amount,total,"
+                + "paid_amount\n");
+    for (OrderInfo order : orders) {
+      var pricing = order.getPricing();
+      appendRow(
+          csv,
+          order.getId(),
+          order.getOrderNumber(),
+          order.getCustomerId(),
+          order.getBranchId(),
+          order.getStatus(),
+          order.getCreatedAt(),
+          order.getExpectedCompletionDate(),
+          order.getActualCompletionDate(),
+          pricing.getItemsSubtotal(),
+          pricing.getDiscountAmount(),
+          pricing.getUrgencyAmount(),
+          pricing.getTotal(),
+          pricing.getPaidAmount());
+    }
+    return csv.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  private byte[] itemsCsv(List<OrderInfo> orders) {
+    StringBuilder csv = new StringBuilder("order_id,item_id,price_list_item_id,quantity,total\n");
+    for (OrderInfo order : orders) {
+      for (OrderItemInfo item : order.getItems()) {
+        appendRow(
+            csv,
+            order.getId(),
+            item.getId(),
+            item.getPriceListItemId(),
+            item.getQuantity(),
+            item.getPricing().getTotal());
+      }
+    }
+    return csv.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  private void appendRow(StringBuilder csv, Object... values) {
+    for (int i = 0; i < values.length; i++) {
+      if (i > 0) {
+        csv.append(',');
+      }
+      String value = Objects.toString(values[i], "");
+      if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0) {
+        csv.append('"').append(value.replace("\"", "\"\"")).append('"');
+      } else {
+        csv.append(value);
+      }
+    }
+    csv.append('\n');
+  }
+
+  private void deleteQuietly(Path path) {
+    try {
+      Files.deleteIfExists(path);
+    } catch (IOException e) {
+      log.warn("Failed to delete archive file {}: {}", path, e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,152 @@
+package com.aksi.service.order.archive;
+
+import java.sql.Date;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.aksi.config.OrderArchiveProperties;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Maintains monthly range partitions of the orders table and of the order children partitioned
+ * with it (PostgreSQL only). Future partitions are created ahead of time so new orders never land
+ * in the default partition; partitions older than the archive cutoff are dropped once the archiver
+ * has emptied them.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderPartitionManager {
+
+  private static final Pattern PARTITION_NAME = Pattern.compile("orders_p(\\d{6})");
+  /** Tables partitioned by the month of their order, referencing tables first */
+  private static final List<String> CHILD_TABLES =
+      List.of(
+          "item_characteristics",
+          "item_stains",
+          "item_defects",
+          "item_risks",
+          "item_photos",
+          "item_modifiers",
+          "order_items",
+          "order_payments");
+
+  private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+  private final JdbcTemplate jdbcTemplate;
+  private final OrderArchiveProperties properties;
+
+  /** Whether the orders table is partitioned (false on H2 and before migration) */
+  public boolean isPartitioned() {
+    try {
+      Integer count =
+          jdbcTemplate.queryForObject(
+              "SELECT COUNT(*) FROM pg_partitioned_table pt "
+                  + "JOIN pg_class c ON c.oid = pt.partrelid WHERE c.relname = 'orders'",
+              Integer.class);
+      return count != null && count > 0;
+    } catch (DataAccessException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Create partitions for the current month and the configured number of months ahead
+   *
+   * @return number of months checked
+   */
+  public int ensureFuturePartitions() {
+    LocalDate month = LocalDate.now(ZoneOffset.UTC).withDayOfMonth(1);
+    int months = properties.getPartitionsAhead() + 1;
+    for (int i = 0; i < months; i++) {
+      LocalDate monthStart = month.plusMonths(i);
+      try {
+        jdbcTemplate.queryForList("SELECT create_orders_partition(?)", Date.valueOf(monthStart));
+      } catch (DataAccessException e) {
+        // Typically rows of that month already sit in the default partition
+        log.warn("Could not create orders partition for {}: {}", monthStart, e.getMessage());
+      }
+    }
+    return months;
+  }
+
+  /**
+   * Detach and drop empty monthly partitions that end before the cutoff
+   *
+   * @param cutoff archive cutoff
+   * @return number of dropped partitions
+   */
+  public int dropEmptyPartitionsBefore(Instant cutoff) {
+    LocalDate cutoffDate = LocalDate.ofInstant(cutoff, ZoneOffset.UTC);
+    List<String> partitions =
+        jdbcTemplate.queryForList(
+            "SELECT c.relname FROM pg_inherits i "
+                + "JOIN pg_class c ON c.oid = i.inhrelid "
+                + "JOIN pg_class p ON p.oid = i.inhparent "
+                + "WHERE p.relname = 'orders'",
+            String.class);
+
+    int dropped = 0;
+    for (String partition : partitions) {
+      var matcher = PARTITION_NAME.matcher(partition);
+      if (!matcher.matches()) {
+        continue;
+      }
+      LocalDate monthStart = LocalDate.parse(matcher.group(1) + "01", PARTITION_MONTH);
+      if (monthStart.plusMonths(1).isAfter(cutoffDate)) {
+        continue;
+      }
+      // Partition name is validated above, identifiers cannot be bound as parameters
+      Boolean hasRows =
+          jdbcTemplate.queryForObject(
+              "SELECT EXISTS (SELECT 1 FROM " + partition + ")", Boolean.class);
+      if (Boolean.FALSE.equals(hasRows) && dropChildPartitions(matcher.group(1))) {
+        // Detach first: items and payments reference the partitioned parent table
+        jdbcTemplate.execute("ALTER TABLE orders DETACH PARTITION " + partition);
+        jdbcTemplate.execute("DROP TABLE " + partition);
+        log.info("Dropped empty orders partition {}", partition);
+        dropped++;
+      }
+    }
+    return dropped;
+  }
+
+  /**
+   * Detach and drop the child partitions of a month, referencing tables first
+   *
+   * @param month partition suffix in yyyyMM form
+   * @return false if a child partition still has rows
+   */
+  private boolean dropChildPartitions(String month) {
+    for (String table : CHILD_TABLES) {
+      String partition = table + "_p" + month;
+      Boolean exists =
+          jdbcTemplate.queryForObject(
+              "SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition);
+      if (!Boolean.TRUE.equals(exists)) {
+        continue;
+      }
+      Boolean hasRows =
+          jdbcTemplate.queryForObject(
+              "SELECT EXISTS (SELECT 1 FROM " + partition + ")", Boolean.class);
+      if (!Boolean.FALSE.equals(hasRows)) {
+        log.warn("Keeping orders partitions of {}: {} still has rows", month, partition);
+        return false;
+      }
+      jdbcTemplate.execute("ALTER TABLE " + table + " DETACH PARTITION " + partition);
+      jdbcTemplate.execute("DROP TABLE " + partition);
+      log.info("Dropped empty {} partition {}", table, partition);
+    }
+    return true;
+  }
+}
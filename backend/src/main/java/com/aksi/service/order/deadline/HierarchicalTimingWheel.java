@@ -0,0 +1,170 @@
+package com.aksi.service.order.deadline;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel (Varghese &amp; Lauck) with cascading levels.
+ *
+ * <p>Level 0 has 64 slots of one tick each, every next level covers 64 slots of the whole previous
+ * level. Scheduling and cancelling are O(1); advancing fires every expired timer of a tick in O(1)
+ * per timer and cascades higher-level slots down only when a lower level wraps. With five levels
+ * and one-second ticks the wheel spans more than 30 years, so no overflow list is needed.
+ *
+ * <p>Not thread-safe: callers must synchronize access.
+ *
+ * @param <K> timer key (unique per timer)
+ */
+public final class HierarchicalTimingWheel<K> {
+
+  private static final int WHEEL_BITS = 6;
+  private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+  private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+  private static final int LEVELS = 5;
+  private static final long MAX_DELTA = (1L << (WHEEL_BITS * LEVELS)) - 1;
+
+  private final long tickMillis;
+  private final Node<K>[][] wheels;
+  private final Map<K, Node<K>> timers = new HashMap<>();
+  private long currentTick;
+
+  /**
+   * Create wheel starting at the given time
+   *
+   * @param tickMillis tick duration in milliseconds
+   * @param startMillis current time in epoch milliseconds
+   */
+  @SuppressWarnings("unchecked")
+  public HierarchicalTimingWheel(long tickMillis, long startMillis) {
+    if (tickMillis <= 0) {
+      throw new IllegalArgumentException("Tick duration must be positive");
+    }
+    this.tickMillis = tickMillis;
+    this.currentTick = startMillis / tickMillis;
+    this.wheels = new Node[LEVELS][WHEEL_SIZE];
+    for (int level = 0; level < LEVELS; level++) {
+      for (int slot = 0; slot < WHEEL_SIZE; slot++) {
+        wheels[level][slot] = Node.sentinel();
+      }
+    }
+  }
+
+  /**
+   * Schedule (or reschedule) a timer
+   *
+   * @param key timer key, replaces an existing timer with the same key
+   * @param deadlineMillis expiration time in epoch milliseconds
+   * @return false if the deadline is already due (timer is not scheduled)
+   */
+  public boolean schedule(K key, long deadlineMillis) {
+    cancel(key);
+    long expireTick = Math.ceilDiv(deadlineMillis, tickMillis);
+    if (expireTick <= currentTick) {
+      return false;
+    }
+    Node<K> node = new Node<>(key, expireTick);
+    timers.put(key, node);
+    insert(node);
+    return true;
+  }
+
+  /**
+   * Cancel a timer
+   *
+   * @param key timer key
+   * @return true if a pending timer was removed
+   */
+  public boolean cancel(K key) {
+    Node<K> node = timers.remove(key);
+    if (node == null) {
+      return false;
+    }
+    node.unlink();
+    return true;
+  }
+
+  /**
+   * Advance the wheel to the given time and fire every expired timer
+   *
+   * @param nowMillis current time in epoch milliseconds
+   * @param onExpired callback receiving keys of expired timers in expiration order
+   */
+  public void advanceTo(long nowMillis, Consumer<K> onExpired) {
+    long targetTick = nowMillis / tickMillis;
+    while (currentTick < targetTick) {
+      currentTick++;
+      cascade();
+      Node<K> head = wheels[0][(int) (currentTick & WHEEL_MASK)];
+      while (head.next != head) {
+        Node<K> node = head.next;
+        node.unlink();
+        timers.remove(node.key);
+        onExpired.accept(node.key);
+      }
+    }
+  }
+
+  /** Number of pending timers */
+  public int size() {
+    return timers.size();
+  }
+
+  private void insert(Node<K> node) {
+    long delta = Math.min(node.expireTick - currentTick, MAX_DELTA);
+    int level = 0;
+    while (level < LEVELS - 1 && delta >= (1L << (WHEEL_BITS * (level + 1)))) {
+      level++;
+    }
+    long tick = currentTick + delta;
+    int slot = (int) ((tick >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+    wheels[level][slot].append(node);
+  }
+
+  /** Move timers of the current higher-level slots down whenever a lower level wraps */
+  private void cascade() {
+    for (int level = 1; level < LEVELS; level++) {
+      if ((currentTick & ((1L << (WHEEL_BITS * level)) - 1)) != 0) {
+        return;
+      }
+      int slot = (int) ((currentTick >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+      Node<K> head = wheels[level][slot];
+      while (head.next != head) {
+        Node<K> node = head.next;
+        node.unlink();
+        insert(node);
+      }
+    }
+  }
+
+  /** Intrusive doubly-linked list node; a sentinel node is the head of each slot */
+  private static final class Node<K> {
+    private final K key;
+    private final long expireTick;
+    private Node<K> prev = this;
+    private Node<K> next = this;
+
+    private Node(K key, long expireTick) {
+      this.key = key;
+      this.expireTick = expireTick;
+    }
+
+    private static <K> Node<K> sentinel() {
+      return new Node<>(null, Long.MIN_VALUE);
+    }
+
+    private void append(Node<K> node) {
+      node.prev = prev;
+      node.next = this;
+      prev.next = node;
+      prev = node;
+    }
+
+    private void unlink() {
+      prev.next = next;
+      next.prev = prev;
+      prev = this;
+      next = this;
+    }
+  }
+}
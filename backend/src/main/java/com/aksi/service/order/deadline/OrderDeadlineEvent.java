@@ -0,0 +1,23 @@
+package com.aksi.service.order.deadline;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Application event fired by the deadline tracker when an order becomes due soon or overdue. Only
+ * the instance holding the deadline lease publishes it, so listeners run once per cluster.
+ *
+ * @param type deadline type
+ * @param orderId order ID
+ * @param orderNumber order number
+ * @param expectedCompletionDate promised completion date
+ */
+public record OrderDeadlineEvent(
+    Type type, UUID orderId, String orderNumber, Instant expectedCompletionDate) {
+
+  /** Deadline type */
+  public enum Type {
+    DUE_SOON,
+    OVERDUE
+  }
+}
@@ -0,0 +1,52 @@
+package com.aksi.service.order.deadline;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.aksi.service.order.deadline.OrderDeadlineEvent.Type;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Records fired order deadlines. Events are published by the lease holder only, so every deadline is
+ * logged and counted once per cluster; the counters feed the dashboard's due-soon and overdue rates.
+ */
+@Component
+@Slf4j
+public class OrderDeadlineEventListener {
+
+  private final Counter dueSoonCounter;
+  private final Counter overdueCounter;
+
+  public OrderDeadlineEventListener(MeterRegistry meterRegistry) {
+    this.dueSoonCounter =
+        Counter.builder("orders.deadline.fired")
+            .tag("type", "due_soon")
+            .description("Orders that became due soon")
+            .register(meterRegistry);
+    this.overdueCounter =
+        Counter.builder("orders.deadline.fired")
+            .tag("type", "overdue")
+            .description("Orders that became overdue")
+            .register(meterRegistry);
+  }
+
+  @EventListener
+  public void onDeadline(OrderDeadlineEvent event) {
+    if (event.type() == Type.OVERDUE) {
+      overdueCounter.increment();
+      log.warn(
+          "Order {} is overdue (expected completion {})",
+          event.orderNumber(),
+          event.expectedCompletionDate());
+    } else {
+      dueSoonCounter.increment();
+      log.info(
+          "Order {} is due soon (expected completion {})",
+          event.orderNumber(),
+          event.expectedCompletionDate());
+    }
+  }
+}
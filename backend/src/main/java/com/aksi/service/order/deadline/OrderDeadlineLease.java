@@ -0,0 +1,16 @@
+package com.aksi.service.order.deadline;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import com.aksi.config.OrderDeadlineProperties;
+import com.aksi.util.RedisLease;
+
+/** Redis lease electing the instance that publishes deadline events */
+@Component
+public class OrderDeadlineLease extends RedisLease {
+
+  public OrderDeadlineLease(StringRedisTemplate redisTemplate, OrderDeadlineProperties properties) {
+    super(redisTemplate, properties.getLeaseKey(), properties.getLeaseTtl());
+  }
+}
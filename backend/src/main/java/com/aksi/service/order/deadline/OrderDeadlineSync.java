@@ -0,0 +1,100 @@
+package com.aksi.service.order.deadline;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.aksi.config.OrderDeadlineProperties;
+import com.aksi.service.order.event.OrderStatusChangedEvent;
+import com.aksi.service.order.event.OrderStatusChangedEvent.StatusChange;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Shares committed order status changes between instances over Redis pub/sub, so every instance's
+ * {@link OrderDeadlineTracker} sees transitions made elsewhere within milliseconds. Messages are
+ * best effort; the tracker's periodic resync repairs anything lost while Redis was unavailable.
+ */
+@Component
+@Slf4j
+public class OrderDeadlineSync implements MessageListener {
+
+  private final StringRedisTemplate redisTemplate;
+  private final RedisMessageListenerContainer listenerContainer;
+  private final ObjectMapper objectMapper;
+  private final OrderDeadlineProperties properties;
+  private final OrderDeadlineTracker tracker;
+
+  /** Identifies messages published by this instance, which already applied them locally */
+  private final String instanceId = UUID.randomUUID().toString();
+
+  public OrderDeadlineSync(
+      StringRedisTemplate redisTemplate,
+      @Qualifier("appRedisMessageListenerContainer") RedisMessageListenerContainer listenerContainer,
+      ObjectMapper objectMapper,
+      OrderDeadlineProperties properties,
+      OrderDeadlineTracker tracker) {
+    this.redisTemplate = redisTemplate;
+    this.listenerContainer = listenerContainer;
+    this.objectMapper = objectMapper;
+    this.properties = properties;
+    this.tracker = tracker;
+  }
+
+  @PostConstruct
+  void subscribe() {
+    if (properties.isEnabled()) {
+      listenerContainer.addMessageListener(this, new ChannelTopic(properties.getSyncChannel()));
+    }
+  }
+
+  /** Publish status changes once their transaction has committed */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onStatusChanged(OrderStatusChangedEvent event) {
+    if (!properties.isEnabled() || event.changes().isEmpty()) {
+      return;
+    }
+    try {
+      redisTemplate.convertAndSend(
+          properties.getSyncChannel(),
+          objectMapper.writeValueAsString(new SyncMessage(instanceId, event.changes())));
+    } catch (IOException | RuntimeException e) {
+      log.warn(
+          "Failed to publish {} order deadline changes, other instances catch up on resync: {}",
+          event.changes().size(),
+          e.getMessage());
+    }
+  }
+
+  /** Apply status changes published by other instances */
+  @Override
+  public void onMessage(Message message, byte[] pattern) {
+    try {
+      SyncMessage sync = objectMapper.readValue(message.getBody(), SyncMessage.class);
+      if (!instanceId.equals(sync.origin())) {
+        tracker.apply(sync.changes());
+      }
+    } catch (IOException | RuntimeException e) {
+      log.warn("Ignoring malformed order deadline message: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * Status changes published by one instance
+   *
+   * @param origin publishing instance
+   * @param changes committed status changes
+   */
+  record SyncMessage(String origin, List<StatusChange> changes) {}
+}
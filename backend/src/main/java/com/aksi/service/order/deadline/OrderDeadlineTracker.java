@@ -0,0 +1,258 @@
+package com.aksi.service.order.deadline;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.aksi.api.order.dto.OrderStatus;
+import com.aksi.config.OrderDeadlineProperties;
+import com.aksi.repository.OrderRepository;
+import com.aksi.repository.OrderStatusSnapshot;
+import com.aksi.service.order.deadline.OrderDeadlineEvent.Type;
+import com.aksi.service.order.event.OrderStatusChangedEvent;
+import com.aksi.service.order.event.OrderStatusChangedEvent.StatusChange;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory due-soon / overdue tracking for active orders.
+ *
+ * <p>Active orders (ACCEPTED, IN_PROGRESS) are loaded once on startup and kept current from
+ * {@link OrderStatusChangedEvent}s. Deadlines sit in a {@link HierarchicalTimingWheel}, so each
+ * tick only touches timers that actually expire instead of re-querying the expected completion
+ * date range. Every instance keeps its own state (serving due/overdue lists and gauges); only the
+ * holder of the {@link OrderDeadlineLease} publishes {@link OrderDeadlineEvent}s. Transitions made
+ * by other instances arrive through {@link OrderDeadlineSync}; a periodic full reload is only a
+ * safety net for missed messages.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderDeadlineTracker {
+
+  static final Set<String> TRACKED_STATUSES =
+      Set.of(OrderStatus.ACCEPTED.getValue(), OrderStatus.IN_PROGRESS.getValue());
+
+  private final OrderRepository orderRepository;
+  private final OrderDeadlineLease lease;
+  private final OrderDeadlineProperties properties;
+  private final ApplicationEventPublisher eventPublisher;
+  private final MeterRegistry meterRegistry;
+
+  private final Map<UUID, TrackedOrder> tracked = new ConcurrentHashMap<>();
+  private final Set<UUID> dueSoon = ConcurrentHashMap.newKeySet();
+  private final Set<UUID> overdue = ConcurrentHashMap.newKeySet();
+  private final Object lock = new Object();
+
+  private HierarchicalTimingWheel<DeadlineKey> wheel;
+  private volatile boolean ready;
+
+  @PostConstruct
+  void registerGauges() {
+    Gauge.builder("orders.deadline.tracked", tracked, Map::size)
+        .description("Active orders with a tracked completion deadline")
+        .register(meterRegistry);
+    Gauge.builder("orders.deadline.due_soon", dueSoon, Set::size)
+        .description("Active orders due within the due-soon window")
+        .register(meterRegistry);
+    Gauge.builder("orders.deadline.overdue", overdue, Set::size)
+        .description("Active orders past their expected completion date")
+        .register(meterRegistry);
+  }
+
+  /** Load active orders once the application is ready */
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    if (properties.isEnabled()) {
+      reload();
+    }
+  }
+
+  /** Periodic full reload, a safety net for changes missed from other instances */
+  @Scheduled(
+      fixedDelayString = "${app.order-deadlines.resync-interval:PT15M}",
+      initialDelayString = "${app.order-deadlines.resync-interval:PT15M}")
+  public void resync() {
+    if (properties.isEnabled()) {
+      reload();
+    }
+  }
+
+  /** Advance the wheel and fire expired deadlines */
+  @Scheduled(fixedDelayString = "${app.order-deadlines.tick:PT1S}")
+  public void tick() {
+    if (!ready) {
+      return;
+    }
+    boolean leader = lease.refresh();
+    List<TrackedDeadline> fired = new ArrayList<>();
+    synchronized (lock) {
+      wheel.advanceTo(
+          System.currentTimeMillis(),
+          key -> {
+            TrackedOrder order = tracked.get(key.orderId());
+            if (order != null) {
+              markFired(key);
+              fired.add(new TrackedDeadline(key.type(), order));
+            }
+          });
+    }
+    if (leader) {
+      fired.forEach(
+          deadline ->
+              eventPublisher.publishEvent(
+                  new OrderDeadlineEvent(
+                      deadline.type(),
+                      deadline.order().orderId(),
+                      deadline.order().orderNumber(),
+                      deadline.order().expectedCompletionDate())));
+    }
+    if (!fired.isEmpty()) {
+      log.debug("Fired {} order deadlines (publishing: {})", fired.size(), leader);
+    }
+  }
+
+  /** Keep tracking current after committed status changes and order creation */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onStatusChanged(OrderStatusChangedEvent event) {
+    apply(event.changes());
+  }
+
+  /**
+   * Apply committed status changes, made by this or another instance
+   *
+   * @param changes status changes
+   */
+  public void apply(List<StatusChange> changes) {
+    if (!ready) {
+      return;
+    }
+    long now = System.currentTimeMillis();
+    synchronized (lock) {
+      for (StatusChange change : changes) {
+        if (change.toStatus() != null
+            && TRACKED_STATUSES.contains(change.toStatus().getValue())
+            && change.expectedCompletionDate() != null) {
+          track(
+              new TrackedOrder(
+                  change.orderId(), change.orderNumber(), change.expectedCompletionDate()),
+              now);
+        } else {
+          untrack(change.orderId());
+        }
+      }
+    }
+  }
+
+  /** Whether tracked state is loaded and may replace database range queries */
+  public boolean isReady() {
+    return ready;
+  }
+
+  /** IDs of active orders past their expected completion date */
+  public List<UUID> getOverdueOrderIds() {
+    return List.copyOf(overdue);
+  }
+
+  /**
+   * IDs of active orders expected to complete on or before the given date
+   *
+   * @param date upper bound (inclusive)
+   * @return order IDs
+   */
+  public List<UUID> getOrderIdsDueBy(Instant date) {
+    return tracked.values().stream()
+        .filter(order -> !order.expectedCompletionDate().isAfter(date))
+        .map(TrackedOrder::orderId)
+        .toList();
+  }
+
+  private void reload() {
+    long started = System.currentTimeMillis();
+    List<OrderStatusSnapshot> snapshots;
+    try {
+      snapshots = orderRepository.findDeadlineSnapshots(TRACKED_STATUSES);
+    } catch (RuntimeException e) {
+      log.error("Failed to load order deadlines", e);
+      return;
+    }
+
+    long now = System.currentTimeMillis();
+    synchronized (lock) {
+      wheel = new HierarchicalTimingWheel<>(properties.getTick().toMillis(), now);
+      tracked.clear();
+      dueSoon.clear();
+      overdue.clear();
+      snapshots.forEach(
+          snapshot ->
+              track(
+                  new TrackedOrder(
+                      snapshot.getId(),
+                      snapshot.getOrderNumber(),
+                      snapshot.getExpectedCompletionDate()),
+                  now));
+      ready = true;
+    }
+    log.info(
+        "Loaded {} order deadlines ({} due soon, {} overdue) in {} ms",
+        tracked.size(),
+        dueSoon.size(),
+        overdue.size(),
+        System.currentTimeMillis() - started);
+  }
+
+  /** Schedule deadlines of an order; deadlines already passed only update state, nothing fires */
+  private void track(TrackedOrder order, long now) {
+    untrack(order.orderId());
+    tracked.put(order.orderId(), order);
+
+    long overdueAt = order.expectedCompletionDate().toEpochMilli();
+    long dueSoonAt = overdueAt - properties.getDueSoonWindow().toMillis();
+    if (!wheel.schedule(new DeadlineKey(order.orderId(), Type.OVERDUE), overdueAt)) {
+      overdue.add(order.orderId());
+      return;
+    }
+    if (!wheel.schedule(new DeadlineKey(order.orderId(), Type.DUE_SOON), dueSoonAt)) {
+      dueSoon.add(order.orderId());
+    }
+  }
+
+  private void untrack(UUID orderId) {
+    if (tracked.remove(orderId) != null) {
+      wheel.cancel(new DeadlineKey(orderId, Type.DUE_SOON));
+      wheel.cancel(new DeadlineKey(orderId, Type.OVERDUE));
+    }
+    dueSoon.remove(orderId);
+    overdue.remove(orderId);
+  }
+
+  private void markFired(DeadlineKey key) {
+    if (key.type() == Type.OVERDUE) {
+      dueSoon.remove(key.orderId());
+      overdue.add(key.orderId());
+    } else {
+      dueSoon.add(key.orderId());
+    }
+  }
+
+  private record DeadlineKey(UUID orderId, Type type) {}
+
+  private record TrackedOrder(UUID orderId, String orderNumber, Instant expectedCompletionDate) {}
+
+  private record TrackedDeadline(Type type, TrackedOrder order) {}
+}
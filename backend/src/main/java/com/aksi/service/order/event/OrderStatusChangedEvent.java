@@ -0,0 +1,40 @@
+package com.aksi.service.order.event;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import com.aksi.api.order.dto.OrderStatus;
+
+/**
+ * Application event published after order status transitions. A single event carries all changes
+ * made in one operation, so bulk transitions notify listeners once instead of once per order.
+ *
+ * @param changes status changes applied in one transaction
+ */
+public record OrderStatusChangedEvent(List<StatusChange> changes) {
+
+  /**
+   * Create event for a single order transition
+   *
+   * @param change status change
+   * @return event with one change
+   */
+  public static OrderStatusChangedEvent of(StatusChange change) {
+    return new OrderStatusChangedEvent(List.of(change));
+  }
+
+  /**
+   * Status change of one order.
+   *
+   * @param fromStatus previous status, null for newly created orders
+   * @param expectedCompletionDate promised completion date, used by deadline tracking
+   */
+  public record StatusChange(
+      UUID orderId,
+      String orderNumber,
+      OrderStatus fromStatus,
+      OrderStatus toStatus,
+      Instant expectedCompletionDate,
+      Instant changedAt) {}
+}
@@ -0,0 +1,12 @@
+package com.aksi.service.order.event;
+
+import java.util.UUID;
+
+/**
+ * Application event published after order content changes that are not status transitions
+ * (payments, item characteristics, signature). Listeners use it to drop derived data such as
+ * rendered receipts.
+ *
+ * @param orderId changed order
+ */
+public record OrderUpdatedEvent(UUID orderId) {}
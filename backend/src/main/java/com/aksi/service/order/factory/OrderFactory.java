@@ -6,7 +6,6 @@ import java.util.Objects;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
-import com.aksi.api.file.dto.FileUploadResponse;
 import com.aksi.api.order.dto.AddPaymentRequest;
 import com.aksi.api.order.dto.CreateOrderRequest;
 import com.aksi.api.order.dto.OrderStatus;
@@ -20,6 +19,7 @@ import com.aksi.domain.order.ItemPhotoEntity;
 import com.aksi.domain.order.OrderEntity;
 import com.aksi.domain.order.OrderItemEntity;
 import com.aksi.domain.order.OrderPaymentEntity;
+import com.aksi.domain.storage.StoredFileEntity;
 import com.aksi.domain.user.UserEntity;
 import com.aksi.mapper.OrderMapper;
 import com.aksi.service.order.OrderNumberGenerator;
@@ -69,6 +69,8 @@ public class OrderFactory {
     // Apply request fields and pricing via mapper
     orderMapper.applyCreateRequest(request, order);
     orderMapper.applyPricingSnapshot(pricing, order);
+    order.setPaidAmount(0);
+    order.setBalanceDue(order.getTotalAmount());
 
     // Convert cart items to order items
     for (CartItem cartItem : cart.getItems()) {
@@ -132,7 +134,8 @@ public class OrderFactory {
    *
    * @param orderItem target order item
    * @param file uploaded file
-   * @param uploadResponse file upload result
+   * @param storedFile stored content of the upload
+   * @param fileUrl public URL of the stored content
    * @param photoType type of photo
    * @param description photo description
    * @param uploadedBy user uploading the photo
@@ -141,21 +144,23 @@ public class OrderFactory {
   public ItemPhotoEntity createPhoto(
       OrderItemEntity orderItem,
       MultipartFile file,
-      FileUploadResponse uploadResponse,
+      StoredFileEntity storedFile,
+      String fileUrl,
       PhotoType photoType,
       String description,
       UserEntity uploadedBy) {
 
     var photo = new ItemPhotoEntity();
     photo.setOrderItemEntity(orderItem);
-    photo.setUrl(uploadResponse.getFileUrl());
+    photo.setUrl(fileUrl);
+    photo.setContentHash(storedFile.getContentHash());
     photo.setType(photoType != null ? photoType : PhotoType.GENERAL);
     photo.setDescription(Objects.requireNonNullElse(description, DEFAULT_PHOTO_DESCRIPTION));
     photo.setUploadedBy(uploadedBy);
     photo.setUploadedAt(Instant.now());
     photo.setOriginalFilename(file.getOriginalFilename());
     photo.setContentType(file.getContentType());
-    photo.setFileSize(file.getSize());
+    photo.setFileSize(storedFile.getSizeBytes());
 
     return photo;
   }
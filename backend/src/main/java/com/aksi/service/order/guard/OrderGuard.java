@@ -1,5 +1,8 @@
 package com.aksi.service.order.guard;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.stereotype.Service;
@@ -13,6 +16,7 @@ import com.aksi.exception.NotFoundException;
 import com.aksi.repository.BranchRepository;
 import com.aksi.repository.CartRepository;
 import com.aksi.repository.OrderRepository;
+import com.aksi.service.order.OrderNumberGenerator;
 
 import lombok.RequiredArgsConstructor;
 
@@ -24,6 +28,9 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class OrderGuard {
 
+  /** Tolerance between order number generation and the persisted created_at */
+  private static final Duration ORDER_NUMBER_TOLERANCE = Duration.ofHours(1);
+
   private final OrderRepository orderRepository;
   private final CartRepository cartRepository;
   private final BranchRepository branchRepository;
@@ -108,8 +115,37 @@ public class OrderGuard {
    * @throws NotFoundException if order not found
    */
   public OrderEntity ensureExistsByNumber(String orderNumber) {
-    return orderRepository
-        .findByOrderNumber(orderNumber)
+    return findByNumber(orderNumber)
         .orElseThrow(() -> new NotFoundException("Order not found: " + orderNumber));
   }
+
+  /**
+   * Find live order by order number. The generation time embedded in the number bounds created_at,
+   * so usually only the matching monthly partition is scanned. When that misses (orders created
+   * with an explicit number or timestamp), the exact created_at is taken from the order number
+   * registry; numbers the registry does not know are looked up across all partitions.
+   *
+   * @param orderNumber order number
+   * @return order entity if present in the live tables
+   */
+  public Optional<OrderEntity> findByNumber(String orderNumber) {
+    return OrderNumberGenerator.extractTimestamp(orderNumber)
+        .flatMap(
+            generatedAt ->
+                orderRepository.findByOrderNumberAndCreatedAtBetween(
+                    orderNumber,
+                    generatedAt.minus(ORDER_NUMBER_TOLERANCE),
+                    generatedAt.plus(ORDER_NUMBER_TOLERANCE)))
+        .or(() -> findByRegisteredNumber(orderNumber));
+  }
+
+  private Optional<OrderEntity> findByRegisteredNumber(String orderNumber) {
+    Optional<Instant> createdAt = orderRepository.findRegisteredCreatedAt(orderNumber);
+    if (createdAt.isEmpty()) {
+      return orderRepository.findByOrderNumber(orderNumber);
+    }
+    // Exact partition key: an archived order misses here instead of scanning every partition
+    return orderRepository.findByOrderNumberAndCreatedAtBetween(
+        orderNumber, createdAt.get(), createdAt.get());
+  }
 }
@@ -9,8 +9,6 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
 
 import com.aksi.api.pricing.dto.UrgencyType;
-import com.aksi.domain.order.OrderEntity;
-import com.aksi.domain.order.OrderPaymentEntity;
 
 /** Utility service for order query operations Centralizes common query logic and transformations */
 @Component
@@ -90,24 +88,4 @@ public class OrderQueryUtils {
       case NORMAL -> Instant.now().plus(defaultHours, ChronoUnit.HOURS);
     };
   }
-
-  /**
-   * Calculate total paid amount for order
-   *
-   * @param order order entity
-   * @return total paid amount
-   */
-  public Integer calculatePaidAmount(OrderEntity order) {
-    return order.getPayments().stream().mapToInt(OrderPaymentEntity::getAmount).sum();
-  }
-
-  /**
-   * Calculate balance due for order
-   *
-   * @param order order entity
-   * @return balance due amount
-   */
-  public Integer calculateBalanceDue(OrderEntity order) {
-    return order.getTotalAmount() - calculatePaidAmount(order);
-  }
 }
@@ -87,15 +87,25 @@ public class OrderValidator {
    * @throws BadRequestException if transition is not allowed
    */
   public void validateStatusTransition(OrderStatus fromStatus, OrderStatus toStatus) {
-    boolean allowed =
-        ALLOWED_TRANSITIONS
-            .getOrDefault(fromStatus, EnumSet.noneOf(OrderStatus.class))
-            .contains(toStatus);
     require(
-        allowed, String.format("Invalid status transition from %s to %s", fromStatus, toStatus));
+        isStatusTransitionAllowed(fromStatus, toStatus),
+        String.format("Invalid status transition from %s to %s", fromStatus, toStatus));
     log.debug("Status transition from {} to {} is valid", fromStatus, toStatus);
   }
 
+  /**
+   * Check whether status transition is allowed (non-throwing variant for batch operations)
+   *
+   * @param fromStatus current status
+   * @param toStatus target status
+   * @return true if transition is allowed
+   */
+  public boolean isStatusTransitionAllowed(OrderStatus fromStatus, OrderStatus toStatus) {
+    return ALLOWED_TRANSITIONS
+        .getOrDefault(fromStatus, EnumSet.noneOf(OrderStatus.class))
+        .contains(toStatus);
+  }
+
   /**
    * Validate payment amount against remaining balance
    *
@@ -126,7 +136,7 @@ public class OrderValidator {
     require(
         SIGNATURE_ALLOWED_STATUSES.contains(status),
         "Cannot add signature to order in status: " + status);
-    require(order.getCustomerSignature() == null, "Order already has customer signature");
+    require(order.getSignedAt() == null, "Order already has customer signature");
   }
 
   /**
@@ -8,6 +8,7 @@ import com.aksi.api.pricing.dto.PriceModifier;
 import com.aksi.domain.pricing.DiscountEntity;
 import com.aksi.domain.pricing.PriceModifierEntity;
 import com.aksi.mapper.PricingMapper;
+import com.aksi.service.pricing.calculation.ModifierFormulaEvaluator;
 import com.aksi.service.pricing.factory.PricingFactory;
 import com.aksi.service.pricing.guard.PricingGuard;
 import com.aksi.service.pricing.validator.PricingValidator;
@@ -33,6 +34,7 @@ public class PricingCommandService {
   private final PricingValidator validator;
   private final PricingGuard guard;
   private final PricingFactory factory;
+  private final ModifierFormulaEvaluator formulaEvaluator;
 
   // ===== PRICE MODIFIER MANAGEMENT =====
 
@@ -80,6 +82,7 @@ public class PricingCommandService {
 
     // Step 4: Persist changes using factory
     PriceModifierEntity saved = factory.savePriceModifierEntity(existing);
+    formulaEvaluator.evict(saved.getId());
 
     // Step 5: Return updated DTO
     PriceModifier result = pricingMapper.toPriceModifier(saved);
@@ -103,6 +106,7 @@ public class PricingCommandService {
 
     // Step 3: Perform deletion using factory
     factory.deletePriceModifier(existing);
+    formulaEvaluator.evict(existing.getId());
 
     // Step 4: Log successful completion
     log.info("Successfully deleted price modifier: {} (ID: {})", code, existing.getId());
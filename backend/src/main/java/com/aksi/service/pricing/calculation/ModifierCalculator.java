@@ -29,6 +29,7 @@ public class ModifierCalculator {
   private final PriceCalculationService priceCalculationService;
   private final PricingGuard guard;
   private final PricingFactory factory;
+  private final ModifierFormulaEvaluator formulaEvaluator;
 
   /** Apply all item-specific modifiers. Steps 3-5 of OrderWizard pricing logic. */
   public ModifierCalculationResult calculate(PriceCalculationItem item, int baseAmount) {
@@ -48,9 +49,14 @@ public class ModifierCalculator {
     // Pass 1: handle FORMULA (base override) if present
     for (PriceModifierEntity modifier : modifiers) {
       if (modifier.getType() == PricingModifierType.FORMULA) {
-        // Interpret value as absolute per-unit price override (in kopiykas)
-        int overridePerUnit = modifier.getValue() != null ? modifier.getValue() : 0;
-        int overrideAmount = overridePerUnit * item.getQuantity();
+        // JEXL formula yields the new line amount; otherwise value is a per-unit price override
+        int overrideAmount;
+        if (modifier.getJexlFormula() != null && !modifier.getJexlFormula().isBlank()) {
+          overrideAmount = formulaEvaluator.evaluate(modifier, item, baseAmount);
+        } else {
+          int overridePerUnit = modifier.getValue() != null ? modifier.getValue() : 0;
+          overrideAmount = overridePerUnit * item.getQuantity();
+        }
         int delta = overrideAmount - baseAmount; // adjust to reach new base
 
         AppliedModifier applied = factory.createAppliedModifier(modifier, delta);
@@ -59,8 +65,8 @@ public class ModifierCalculator {
         effectiveBaseAmount = baseAmount + delta;
 
         log.debug(
-            "Applied base override (FORMULA): perUnit={}, qty={}, delta={}, effectiveBaseAmount={}",
-            overridePerUnit,
+            "Applied base override (FORMULA): amount={}, qty={}, delta={}, effectiveBaseAmount={}",
+            overrideAmount,
             item.getQuantity(),
             delta,
             effectiveBaseAmount);
@@ -0,0 +1,267 @@
+package com.aksi.service.pricing.calculation;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.jexl3.JexlBuilder;
+import org.apache.commons.jexl3.JexlContext;
+import org.apache.commons.jexl3.JexlEngine;
+import org.apache.commons.jexl3.JexlException;
+import org.apache.commons.jexl3.JexlFeatures;
+import org.apache.commons.jexl3.JexlScript;
+import org.apache.commons.jexl3.introspection.JexlPermissions;
+import org.springframework.stereotype.Component;
+
+import com.aksi.api.pricing.dto.PriceCalculationItem;
+import com.aksi.api.pricing.dto.PricingItemCharacteristics;
+import com.aksi.domain.pricing.PriceModifierEntity;
+import com.aksi.exception.BadRequestException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Evaluates the JEXL formulas of FORMULA price modifiers.
+ *
+ * <p>A formula is a single sandboxed expression over the item inputs {@code baseAmount}, {@code
+ * basePrice}, {@code quantity}, {@code color}, {@code material}, {@code filler}, {@code
+ * fillerCondition} and {@code wearLevel}, returning the new line amount in kopiykas, e.g. {@code
+ * wearLevel >= 50 ? baseAmount * 130 / 100 : baseAmount}. Loops, lambdas, local variables,
+ * assignments, method calls and object creation are rejected when the formula is compiled, so
+ * evaluation is straight-line and its cost is bounded by {@link #MAX_FORMULA_LENGTH}; the engine
+ * stack limit bounds nesting on top of that.
+ *
+ * <p>Each modifier's formula is compiled once into a {@link JexlScript} and cached under the
+ * modifier ID together with its entity version, so a modifier saved with a new formula is
+ * recompiled on first use even before {@link #evict(UUID)} runs. Inputs are passed through a
+ * read-only context reused per thread instead of a map built for every evaluation.
+ */
+@Component
+@Slf4j
+public class ModifierFormulaEvaluator {
+
+  /** Longest formula accepted, in characters */
+  public static final int MAX_FORMULA_LENGTH = 1000;
+
+  /** Engine stack frames a formula may use */
+  static final int MAX_STACK_DEPTH = 64;
+
+  private static final JexlFeatures FEATURES =
+      new JexlFeatures()
+          .loops(false)
+          .lambda(false)
+          .thinArrow(false)
+          .fatArrow(false)
+          .localVar(false)
+          .sideEffect(false)
+          .sideEffectGlobal(false)
+          .newInstance(false)
+          .methodCall(false)
+          .structuredLiteral(false)
+          .annotation(false)
+          .pragma(false)
+          .register(false);
+
+  private static final ThreadLocal<FormulaContext> CONTEXT =
+      ThreadLocal.withInitial(FormulaContext::new);
+
+  private final JexlEngine engine =
+      new JexlBuilder()
+          .features(FEATURES)
+          .permissions(JexlPermissions.RESTRICTED)
+          .strict(true)
+          .safe(false)
+          .silent(false)
+          .antish(false)
+          .stackOverflow(MAX_STACK_DEPTH)
+          .cache(0)
+          .create();
+
+  private final Map<UUID, CompiledFormula> scripts = new ConcurrentHashMap<>();
+
+  /**
+   * Compile a formula without caching it, to validate it before it is saved
+   *
+   * @param formula formula text
+   * @throws BadRequestException if the formula is too long, malformed, uses a forbidden construct
+   *     or refers to an unknown variable
+   */
+  public void validate(String formula) {
+    compile(formula);
+  }
+
+  /**
+   * Evaluate a modifier's formula for an item
+   *
+   * @param modifier FORMULA modifier with a formula
+   * @param item item being priced
+   * @param baseAmount line amount before modifiers, in kopiykas
+   * @return new line amount in kopiykas
+   * @throws BadRequestException if the formula fails or does not produce a number in range
+   */
+  public int evaluate(PriceModifierEntity modifier, PriceCalculationItem item, int baseAmount) {
+    JexlScript script = scriptFor(modifier);
+    FormulaContext context = CONTEXT.get();
+    context.fill(item, baseAmount);
+    try {
+      return toAmount(script.execute(context));
+    } catch (JexlException | ArithmeticException | NumberFormatException e) {
+      throw new BadRequestException(
+          "Formula of price modifier " + modifier.getCode() + " failed: " + e.getMessage());
+    } finally {
+      context.clear();
+    }
+  }
+
+  /** Drop the compiled formula of a modifier that was updated or deleted */
+  public void evict(UUID modifierId) {
+    if (modifierId != null && scripts.remove(modifierId) != null) {
+      log.debug("Evicted compiled formula of price modifier {}", modifierId);
+    }
+  }
+
+  private JexlScript scriptFor(PriceModifierEntity modifier) {
+    String formula = modifier.getJexlFormula();
+    CompiledFormula cached = modifier.getId() != null ? scripts.get(modifier.getId()) : null;
+    if (cached != null
+        && Objects.equals(cached.version(), modifier.getVersion())
+        && cached.source().equals(formula)) {
+      return cached.script();
+    }
+    JexlScript script;
+    try {
+      script = compile(formula);
+    } catch (BadRequestException e) {
+      throw new BadRequestException(
+          "Formula of price modifier " + modifier.getCode() + " is invalid: " + e.getMessage());
+    }
+    if (modifier.getId() != null) {
+      scripts.put(modifier.getId(), new CompiledFormula(modifier.getVersion(), formula, script));
+      log.debug(
+          "Compiled formula of price modifier {} (version {})",
+          modifier.getCode(),
+          modifier.getVersion());
+    }
+    return script;
+  }
+
+  private JexlScript compile(String formula) {
+    if (formula == null || formula.isBlank()) {
+      throw new BadRequestException("Formula is required");
+    }
+    if (formula.length() > MAX_FORMULA_LENGTH) {
+      throw new BadRequestException("Formula is longer than " + MAX_FORMULA_LENGTH + " characters");
+    }
+    JexlScript script;
+    try {
+      script = engine.createScript(formula);
+    } catch (JexlException e) {
+      throw new BadRequestException("Invalid formula: " + e.getMessage());
+    }
+    for (List<String> variable : script.getVariables()) {
+      if (!FormulaContext.NAMES.contains(variable.get(0))) {
+        throw new BadRequestException(
+            "Unknown formula variable '"
+                + variable.get(0)
+                + "', expected one of "
+                + FormulaContext.NAMES);
+      }
+    }
+    return script;
+  }
+
+  private static int toAmount(Object result) {
+    BigDecimal amount =
+        switch (result) {
+          case Integer value -> BigDecimal.valueOf(value);
+          case Long value -> BigDecimal.valueOf(value);
+          case BigDecimal value -> value;
+          case Number value -> new BigDecimal(value.toString());
+          case null, default ->
+              throw new ArithmeticException("Formula must return a number, got " + result);
+        };
+    return amount.setScale(0, RoundingMode.HALF_UP).intValueExact();
+  }
+
+  private record CompiledFormula(Long version, String source, JexlScript script) {}
+
+  /** Read-only item inputs, refilled for every evaluation */
+  private static final class FormulaContext implements JexlContext {
+
+    static final Set<String> NAMES =
+        Set.of(
+            "baseAmount",
+            "basePrice",
+            "quantity",
+            "color",
+            "material",
+            "filler",
+            "fillerCondition",
+            "wearLevel");
+
+    private int baseAmount;
+    private int basePrice;
+    private int quantity;
+    private String color;
+    private String material;
+    private String filler;
+    private String fillerCondition;
+    private int wearLevel;
+
+    void fill(PriceCalculationItem item, int baseAmount) {
+      this.baseAmount = baseAmount;
+      this.quantity = item.getQuantity() != null ? item.getQuantity() : 0;
+      this.basePrice = quantity > 0 ? baseAmount / quantity : baseAmount;
+      PricingItemCharacteristics characteristics = item.getCharacteristics();
+      if (characteristics != null) {
+        color = characteristics.getColor();
+        material = characteristics.getMaterial();
+        filler = characteristics.getFiller();
+        fillerCondition =
+            characteristics.getFillerCondition() != null
+                ? characteristics.getFillerCondition().getValue()
+                : null;
+        wearLevel =
+            characteristics.getWearLevel() != null ? characteristics.getWearLevel().getValue() : 0;
+      }
+    }
+
+    void clear() {
+      color = null;
+      material = null;
+      filler = null;
+      fillerCondition = null;
+      wearLevel = 0;
+    }
+
+    @Override
+    public Object get(String name) {
+      return switch (name) {
+        case "baseAmount" -> baseAmount;
+        case "basePrice" -> basePrice;
+        case "quantity" -> quantity;
+        case "color" -> color;
+        case "material" -> material;
+        case "filler" -> filler;
+        case "fillerCondition" -> fillerCondition;
+        case "wearLevel" -> wearLevel;
+        default -> null;
+      };
+    }
+
+    @Override
+    public boolean has(String name) {
+      return NAMES.contains(name);
+    }
+
+    @Override
+    public void set(String name, Object value) {
+      throw new UnsupportedOperationException("Formula inputs are read-only");
+    }
+  }
+}
@@ -11,6 +11,7 @@ import com.aksi.api.pricing.dto.PriceCalculationRequest;
 import com.aksi.api.pricing.dto.PriceModifier;
 import com.aksi.api.pricing.dto.PricingModifierType;
 import com.aksi.exception.BadRequestException;
+import com.aksi.service.pricing.calculation.ModifierFormulaEvaluator;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -24,6 +25,8 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class PricingValidator {
 
+  private final ModifierFormulaEvaluator formulaEvaluator;
+
   /** Validate price calculation request completeness and correctness. */
   public void validatePriceCalculationRequest(PriceCalculationRequest request) {
     if (request == null) {
@@ -193,6 +196,7 @@ public class PricingValidator {
     }
 
     validateModifierValue(dto.getValue(), dto.getType());
+    validateJexlFormula(dto.getJexlFormula(), dto.getType());
   }
 
   /** Validate PriceModifier for update. */
@@ -276,6 +280,20 @@ public class PricingValidator {
     }
   }
 
+  /** Validate that a JEXL formula belongs to a FORMULA modifier and compiles in the sandbox. */
+  private void validateJexlFormula(String jexlFormula, PricingModifierType type) {
+    if (jexlFormula == null || jexlFormula.isBlank()) {
+      return;
+    }
+
+    if (type != PricingModifierType.FORMULA) {
+      throw new BadRequestException(
+          "JEXL formula is only supported for FORMULA modifiers: " + type);
+    }
+
+    formulaEvaluator.validate(jexlFormula);
+  }
+
   /** Get expected discount percentage for predefined discount types. */
   private int getExpectedDiscountPercentage(DiscountType discountType) {
     return switch (discountType) {
@@ -1,5 +1,6 @@
 package com.aksi.service.receipt;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.List;
 import java.util.Locale;
@@ -7,11 +8,14 @@ import java.util.Locale;
 import org.springframework.stereotype.Component;
 
 import com.aksi.api.receipt.dto.ReceiptOrderData;
+import com.aksi.api.receipt.dto.ReceiptOutputFormat;
 import com.aksi.api.receipt.dto.ReceiptTemplate;
 import com.aksi.domain.order.OrderEntity;
 import com.aksi.service.receipt.converter.ReceiptDataConverter;
 import com.aksi.service.receipt.pdf.ReceiptPdfGenerator;
 import com.aksi.service.receipt.pdf.ReceiptTemplateRegistry;
+import com.aksi.service.receipt.template.ReceiptLayout;
+import com.aksi.service.receipt.thermal.ThermalReceiptGenerator;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,24 +26,72 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class ReceiptFacade {
 
+  /** Template used for order receipts */
+  public static final String DEFAULT_TEMPLATE_ID = "default";
+
   private final ReceiptDataConverter dataConverter;
   private final ReceiptPdfGenerator pdfGenerator;
+  private final ThermalReceiptGenerator thermalGenerator;
   private final ReceiptTemplateRegistry templateRegistry;
 
   /** Generate receipt for an order entity */
   public byte[] generateReceipt(OrderEntity order, String locale) throws IOException {
     ReceiptOrderData orderData = dataConverter.convert(order);
-    return generateReceipt(orderData, "default", locale);
+    return generateReceipt(orderData, DEFAULT_TEMPLATE_ID, locale);
   }
 
   /** Generate receipt preview from data */
   public byte[] generateReceipt(ReceiptOrderData orderData, String templateId, String locale)
       throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    prepareReceipt(orderData, templateId, locale).writeTo(out);
+    return out.toByteArray();
+  }
+
+  /**
+   * Convert an order to receipt data. Must run while the order is attached; the result can be
+   * rendered after the transaction has ended.
+   */
+  public ReceiptOrderData toReceiptData(OrderEntity order) {
+    return dataConverter.convert(order);
+  }
+
+  /**
+   * Validate receipt data up front and return a writer that renders it later, e.g. straight into
+   * the response stream
+   */
+  public ReceiptWriter prepareReceipt(
+      ReceiptOrderData orderData, String templateId, String locale) {
     validateOrderData(orderData);
     validateTemplate(templateId);
 
-    Locale localeObj = parseLocale(locale);
-    return pdfGenerator.generatePdf(orderData, localeObj);
+    ReceiptLayout layout =
+        templateRegistry.getLayout(
+            templateId != null ? templateId : DEFAULT_TEMPLATE_ID, parseLocale(locale));
+    return switch (layout.format()) {
+      case PDF -> out -> pdfGenerator.writePdf(orderData, layout, out);
+      case ESC_POS, TEXT -> out -> thermalGenerator.write(orderData, layout, out);
+    };
+  }
+
+  /** Template id and revision, for keys of cached receipts that must change with the template */
+  public String getTemplateRevisionKey(String templateId) {
+    return templateRegistry.getRevisionKey(templateId != null ? templateId : DEFAULT_TEMPLATE_ID);
+  }
+
+  /** Output format of a template (unknown templates fall back to the default PDF template) */
+  public ReceiptOutputFormat getOutputFormat(String templateId) {
+    return templateRegistry.getOutputFormat(
+        templateId != null ? templateId : DEFAULT_TEMPLATE_ID);
+  }
+
+  /** File extension for receipts in the given format */
+  public static String fileExtension(ReceiptOutputFormat format) {
+    return switch (format) {
+      case PDF -> ".pdf";
+      case ESC_POS -> ".bin";
+      case TEXT -> ".txt";
+    };
   }
 
   /** Get all available templates */
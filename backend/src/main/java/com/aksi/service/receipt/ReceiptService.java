@@ -7,6 +7,7 @@ import org.springframework.core.io.Resource;
 
 import com.aksi.api.receipt.dto.EmailReceiptRequest;
 import com.aksi.api.receipt.dto.EmailReceiptResponse;
+import com.aksi.api.receipt.dto.ReceiptOutputFormat;
 import com.aksi.api.receipt.dto.ReceiptPreviewRequest;
 import com.aksi.api.receipt.dto.ReceiptTemplate;
 
@@ -21,6 +22,16 @@ public interface ReceiptService {
    */
   Resource generateOrderReceipt(UUID orderId, String locale);
 
+  /**
+   * Generate receipt for order with a specific template
+   *
+   * @param orderId Order ID
+   * @param locale Locale for receipt generation
+   * @param templateId Template ID; its output format decides PDF, ESC/POS or plain text
+   * @return receipt as Resource
+   */
+  Resource generateOrderReceipt(UUID orderId, String locale, String templateId);
+
   /**
    * Generate PDF receipt preview
    *
@@ -44,4 +55,12 @@ public interface ReceiptService {
    * @return List of templates
    */
   List<ReceiptTemplate> getAvailableTemplates();
+
+  /**
+   * Output format of a template
+   *
+   * @param templateId Template ID, default template when null or unknown
+   * @return output format
+   */
+  ReceiptOutputFormat getOutputFormat(String templateId);
 }
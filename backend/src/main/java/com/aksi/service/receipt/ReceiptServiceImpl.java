@@ -12,11 +12,14 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.aksi.api.receipt.dto.EmailReceiptRequest;
 import com.aksi.api.receipt.dto.EmailReceiptResponse;
+import com.aksi.api.receipt.dto.ReceiptOutputFormat;
 import com.aksi.api.receipt.dto.ReceiptPreviewRequest;
 import com.aksi.api.receipt.dto.ReceiptTemplate;
 import com.aksi.domain.order.OrderEntity;
 import com.aksi.exception.NotFoundException;
 import com.aksi.repository.OrderRepository;
+import com.aksi.service.receipt.cache.ReceiptPdfCache;
+import com.aksi.service.receipt.cache.ReceiptVersion;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -29,20 +32,73 @@ public class ReceiptServiceImpl implements ReceiptService {
 
   private final OrderRepository orderRepository;
   private final ReceiptFacade receiptFacade;
+  private final ReceiptPdfCache receiptPdfCache;
 
   @Override
   @Transactional(readOnly = true)
   public Resource generateOrderReceipt(UUID orderId, String locale) {
-    log.debug("Generating receipt for order ID: {} with locale: {}", orderId, locale);
+    return generateOrderReceipt(orderId, locale, ReceiptFacade.DEFAULT_TEMPLATE_ID);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Resource generateOrderReceipt(UUID orderId, String locale, String templateId) {
+    log.debug(
+        "Generating receipt for order ID: {} with locale: {}, template: {}",
+        orderId,
+        locale,
+        templateId);
+    ReceiptOutputFormat format = receiptFacade.getOutputFormat(templateId);
+    String filename = "receipt-" + orderId + ReceiptFacade.fileExtension(format);
+
+    // Thermal output is a few kilobytes rendered in microseconds: not worth caching
+    if (format != ReceiptOutputFormat.PDF) {
+      OrderEntity order =
+          orderRepository
+              .findById(orderId)
+              .orElseThrow(() -> new NotFoundException("Order not found: " + orderId));
+      try {
+        byte[] data =
+            receiptFacade.generateReceipt(receiptFacade.toReceiptData(order), templateId, locale);
+        return buildResource(data, filename);
+      } catch (IOException e) {
+        throw new RuntimeException("Failed to generate receipt", e);
+      }
+    }
+
+    // Step 1: Serve a cached receipt of the current order, customer and branch versions without
+    // loading the aggregate
+    String templateKey = receiptFacade.getTemplateRevisionKey(templateId);
+    if (receiptPdfCache.isEnabled()) {
+      ReceiptVersion version =
+          orderRepository
+              .findReceiptVersionsById(orderId)
+              .map(
+                  versions ->
+                      new ReceiptVersion(
+                          versions.getOrderVersion(),
+                          versions.getCustomerVersion(),
+                          versions.getBranchVersion()))
+              .orElseThrow(() -> new NotFoundException("Order not found: " + orderId));
+      var cached = receiptPdfCache.get(orderId, version, locale, templateKey);
+      if (cached.isPresent()) {
+        return cached.get();
+      }
+    }
 
+    // Step 2: Snapshot receipt data while the order is attached
     OrderEntity order =
         orderRepository
             .findById(orderId)
             .orElseThrow(() -> new NotFoundException("Order not found: " + orderId));
+    ReceiptWriter writer =
+        receiptFacade.prepareReceipt(receiptFacade.toReceiptData(order), templateId, locale);
 
+    // Step 3: Render into the cache, or stream straight into the response when it is unavailable
     try {
-      byte[] pdfData = receiptFacade.generateReceipt(order, locale);
-      return buildPdfResource(pdfData, String.format("receipt-%s.pdf", orderId));
+      return receiptPdfCache
+          .put(orderId, versionOf(order), locale, templateKey, writer)
+          .orElseGet(() -> new StreamingReceiptResource(writer, filename));
     } catch (IOException e) {
       throw new RuntimeException("Failed to generate receipt", e);
     }
@@ -53,12 +109,14 @@ public class ReceiptServiceImpl implements ReceiptService {
     String templateId = request.getTemplateId() != null ? request.getTemplateId() : "default";
     String locale = request.getLocale() != null ? request.getLocale() : "uk";
 
-    try {
-      byte[] pdfData = receiptFacade.generateReceipt(request.getOrderData(), templateId, locale);
-      return buildPdfResource(pdfData, "receipt-preview.pdf");
-    } catch (IOException e) {
-      throw new RuntimeException("Failed to generate receipt preview", e);
-    }
+    ReceiptWriter writer = receiptFacade.prepareReceipt(request.getOrderData(), templateId, locale);
+    String extension = ReceiptFacade.fileExtension(receiptFacade.getOutputFormat(templateId));
+    return new StreamingReceiptResource(writer, "receipt-preview" + extension);
+  }
+
+  @Override
+  public ReceiptOutputFormat getOutputFormat(String templateId) {
+    return receiptFacade.getOutputFormat(templateId);
   }
 
   @Override
@@ -77,8 +135,19 @@ public class ReceiptServiceImpl implements ReceiptService {
     return receiptFacade.getTemplates();
   }
 
-  private Resource buildPdfResource(byte[] pdfData, String filename) {
-    return new ByteArrayResource(pdfData) {
+  private static ReceiptVersion versionOf(OrderEntity order) {
+    return new ReceiptVersion(
+        versionOf(order.getVersion()),
+        versionOf(order.getCustomerEntity().getVersion()),
+        versionOf(order.getBranchEntity().getVersion()));
+  }
+
+  private static long versionOf(Long version) {
+    return version != null ? version : 0L;
+  }
+
+  private Resource buildResource(byte[] data, String filename) {
+    return new ByteArrayResource(data) {
       @Override
       public String getFilename() {
         return filename;
@@ -0,0 +1,12 @@
+package com.aksi.service.receipt;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/** Validated, ready-to-render receipt that writes its PDF into a stream */
+@FunctionalInterface
+public interface ReceiptWriter {
+
+  /** Render the receipt into the stream; the stream is not closed */
+  void writeTo(OutputStream out) throws IOException;
+}
@@ -0,0 +1,58 @@
+package com.aksi.service.receipt;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.springframework.core.io.AbstractResource;
+
+/**
+ * Receipt rendered on demand while the response is written. The web layer streams it straight to
+ * the servlet output stream (see {@code WebMvcConfig}); {@link #getInputStream()} is only a
+ * buffering fallback for callers that need the bytes.
+ */
+public class StreamingReceiptResource extends AbstractResource {
+
+  private final ReceiptWriter writer;
+  private final String filename;
+
+  public StreamingReceiptResource(ReceiptWriter writer, String filename) {
+    this.writer = writer;
+    this.filename = filename;
+  }
+
+  /** Render the receipt into the stream */
+  public void writeTo(OutputStream out) throws IOException {
+    writer.writeTo(out);
+  }
+
+  @Override
+  public InputStream getInputStream() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    writer.writeTo(out);
+    return new ByteArrayInputStream(out.toByteArray());
+  }
+
+  /** Unknown until rendered; the response is sent chunked */
+  @Override
+  public long contentLength() {
+    return -1;
+  }
+
+  @Override
+  public boolean exists() {
+    return true;
+  }
+
+  @Override
+  public String getFilename() {
+    return filename;
+  }
+
+  @Override
+  public String getDescription() {
+    return "Streaming receipt [" + filename + "]";
+  }
+}
@@ -0,0 +1,69 @@
+package com.aksi.service.receipt.batch;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.aksi.api.receipt.dto.ReceiptBatchState;
+import com.aksi.api.receipt.dto.ReceiptBatchStatus;
+
+import lombok.Getter;
+
+/**
+ * State of one batch on the instance running it, mirrored to the {@link ReceiptBatchStore};
+ * progress counters are updated by the render threads
+ */
+@Getter
+class ReceiptBatchJob {
+
+  private final UUID id;
+  private final List<UUID> orderIds;
+  private final String locale;
+  private final Path directory;
+  private final Instant createdAt = Instant.now();
+  private final AtomicInteger rendered = new AtomicInteger();
+  private final AtomicInteger failed = new AtomicInteger();
+
+  private volatile ReceiptBatchState state = ReceiptBatchState.PENDING;
+  private volatile Instant completedAt;
+  private volatile Path pdf;
+  private volatile String message;
+
+  ReceiptBatchJob(UUID id, List<UUID> orderIds, String locale, Path directory) {
+    this.id = id;
+    this.orderIds = List.copyOf(orderIds);
+    this.locale = locale;
+    this.directory = directory;
+  }
+
+  void start() {
+    state = ReceiptBatchState.RUNNING;
+  }
+
+  void complete(Path mergedPdf) {
+    pdf = mergedPdf;
+    completedAt = Instant.now();
+    state = ReceiptBatchState.COMPLETED;
+  }
+
+  void fail(String reason) {
+    message = reason;
+    completedAt = Instant.now();
+    state = ReceiptBatchState.FAILED;
+  }
+
+  ReceiptBatchStatus toStatus() {
+    ReceiptBatchStatus status = new ReceiptBatchStatus();
+    status.setBatchId(id);
+    status.setState(state);
+    status.setTotalOrders(orderIds.size());
+    status.setRenderedOrders(rendered.get());
+    status.setFailedOrders(failed.get());
+    status.setCreatedAt(createdAt);
+    status.setCompletedAt(completedAt);
+    status.setMessage(message);
+    return status;
+  }
+}
@@ -0,0 +1,53 @@
+package com.aksi.service.receipt.batch;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.aksi.api.receipt.dto.ReceiptOrderData;
+import com.aksi.domain.order.OrderEntity;
+import com.aksi.repository.OrderRepository;
+import com.aksi.service.receipt.ReceiptFacade;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Loads receipt data for a chunk of orders with a fixed number of set-based queries (orders with
+ * parties, items, item modifiers, payments) instead of walking lazy associations per order.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReceiptBatchLoader {
+
+  private final OrderRepository orderRepository;
+  private final ReceiptFacade receiptFacade;
+
+  /**
+   * Snapshot receipt data of the given orders
+   *
+   * @return receipt data by order ID; missing orders are absent
+   */
+  @Transactional(readOnly = true)
+  public Map<UUID, ReceiptOrderData> load(Collection<UUID> orderIds) {
+    List<OrderEntity> orders = orderRepository.findWithPartiesByIdIn(orderIds);
+    if (orders.isEmpty()) {
+      return Map.of();
+    }
+
+    // Initialize collections of the managed orders in place
+    orderRepository.fetchItemsByIdIn(orderIds);
+    orderRepository.fetchItemModifiersByOrderIdIn(orderIds);
+    orderRepository.fetchPaymentsByIdIn(orderIds);
+
+    Map<UUID, ReceiptOrderData> data = new HashMap<>(orders.size() * 2);
+    for (OrderEntity order : orders) {
+      data.put(order.getId(), receiptFacade.toReceiptData(order));
+    }
+    return data;
+  }
+}
@@ -0,0 +1,33 @@
+package com.aksi.service.receipt.batch;
+
+import java.util.UUID;
+
+import org.springframework.core.io.Resource;
+
+import com.aksi.api.receipt.dto.ReceiptBatchRequest;
+import com.aksi.api.receipt.dto.ReceiptBatchStatus;
+
+/** Batch receipt printing: many orders rendered in the background into one merged PDF */
+public interface ReceiptBatchService {
+
+  /**
+   * Resolve the orders of a batch and start rendering them in the background
+   *
+   * @param request explicit order list or branch with creation time range
+   * @return initial batch status
+   */
+  ReceiptBatchStatus startBatch(ReceiptBatchRequest request);
+
+  /** Current state and progress of a batch */
+  ReceiptBatchStatus getStatus(UUID batchId);
+
+  /** Merged PDF of a completed batch */
+  Resource getBatchPdf(UUID batchId);
+
+  /**
+   * Forget batches finished longer than the retention period ago and delete their files
+   *
+   * @return number of purged batches
+   */
+  int purgeExpired();
+}
@@ -0,0 +1,328 @@
+package com.aksi.service.receipt.batch;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.multipdf.PDFMergerUtility;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.aksi.api.receipt.dto.ReceiptBatchRequest;
+import com.aksi.api.receipt.dto.ReceiptBatchState;
+import com.aksi.api.receipt.dto.ReceiptBatchStatus;
+import com.aksi.api.receipt.dto.ReceiptOrderData;
+import com.aksi.config.ReceiptConfiguration;
+import com.aksi.exception.BadRequestException;
+import com.aksi.exception.ConflictException;
+import com.aksi.exception.NotFoundException;
+import com.aksi.repository.OrderRepository;
+import com.aksi.service.receipt.ReceiptFacade;
+import com.aksi.service.receipt.ReceiptWriter;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Implementation of ReceiptBatchService. Orders are loaded chunk by chunk on the job thread while
+ * earlier chunks render on the receipt render executor (one thread per core, sharing the parsed
+ * fonts). Every receipt is rendered into its own part file; the parts are then merged in order
+ * into one PDF with a mixed memory/temp-file stream cache, so memory stays bounded for large
+ * batches. Batch state and progress are written to the {@link ReceiptBatchStore}, so any instance
+ * answers status requests; the merged PDF is served from the batch directory, which has to be
+ * shared between instances. A batch whose instance stops reporting progress is reported failed.
+ */
+@Service
+@Slf4j
+public class ReceiptBatchServiceImpl implements ReceiptBatchService {
+
+  private static final long MERGE_MEMORY_BYTES = 16L * 1024 * 1024;
+  private static final String MERGED_FILE = "receipts.pdf";
+
+  private final OrderRepository orderRepository;
+  private final ReceiptBatchLoader batchLoader;
+  private final ReceiptFacade receiptFacade;
+  private final ReceiptBatchStore batchStore;
+  private final ReceiptConfiguration.BatchConfig config;
+  private final Executor taskExecutor;
+  private final Executor renderExecutor;
+
+  public ReceiptBatchServiceImpl(
+      OrderRepository orderRepository,
+      ReceiptBatchLoader batchLoader,
+      ReceiptFacade receiptFacade,
+      ReceiptBatchStore batchStore,
+      ReceiptConfiguration receiptConfiguration,
+      @Qualifier("taskExecutor") Executor taskExecutor,
+      @Qualifier("receiptRenderExecutor") Executor renderExecutor) {
+    this.orderRepository = orderRepository;
+    this.batchLoader = batchLoader;
+    this.receiptFacade = receiptFacade;
+    this.batchStore = batchStore;
+    this.config = receiptConfiguration.getBatch();
+    this.taskExecutor = taskExecutor;
+    this.renderExecutor = renderExecutor;
+  }
+
+  @Override
+  public ReceiptBatchStatus startBatch(ReceiptBatchRequest request) {
+    // Step 1: Resolve orders
+    List<UUID> orderIds = resolveOrderIds(request);
+    if (orderIds.isEmpty()) {
+      throw new BadRequestException("No orders match the batch request");
+    }
+
+    // Step 2: Register and start the job
+    UUID batchId = UUID.randomUUID();
+    String locale = request.getLocale() != null ? request.getLocale() : "uk";
+    Path directory = Path.of(config.getDirectory()).toAbsolutePath().resolve(batchId.toString());
+    ReceiptBatchJob job = new ReceiptBatchJob(batchId, orderIds, locale, directory);
+    batchStore.save(job);
+    taskExecutor.execute(() -> run(job));
+
+    log.info("Started receipt batch {} for {} orders", batchId, orderIds.size());
+    return job.toStatus();
+  }
+
+  @Override
+  public ReceiptBatchStatus getStatus(UUID batchId) {
+    return findBatch(batchId).toStatus(Instant.now(), config.getStaleAfter());
+  }
+
+  @Override
+  public Resource getBatchPdf(UUID batchId) {
+    ReceiptBatchStatus status = getStatus(batchId);
+    if (status.getState() != ReceiptBatchState.COMPLETED) {
+      throw new ConflictException("Receipt batch is not completed: " + status.getState());
+    }
+    Path pdf = Path.of(findBatch(batchId).pdf());
+    if (!Files.isReadable(pdf)) {
+      throw new NotFoundException("Receipt batch output is no longer available: " + batchId);
+    }
+    return new FileSystemResource(pdf);
+  }
+
+  @Override
+  public int purgeExpired() {
+    // Stored state expires after the retention period; directories of batches no longer known to
+    // the store are removed once they are older than that
+    Instant cutoff = Instant.now().minus(config.getRetention());
+    return purgeOrphanedDirectories(cutoff);
+  }
+
+  private List<UUID> resolveOrderIds(ReceiptBatchRequest request) {
+    int maxOrders = config.getMaxOrders();
+
+    if (request.getOrderIds() != null && !request.getOrderIds().isEmpty()) {
+      List<UUID> orderIds = List.copyOf(new LinkedHashSet<>(request.getOrderIds()));
+      if (orderIds.size() > maxOrders) {
+        throw new BadRequestException("Batch is limited to " + maxOrders + " orders");
+      }
+      return orderIds;
+    }
+
+    if (request.getBranchId() == null
+        || request.getCreatedFrom() == null
+        || request.getCreatedTo() == null) {
+      throw new BadRequestException(
+          "Either orderIds or branchId with createdFrom and createdTo is required");
+    }
+    if (!request.getCreatedFrom().isBefore(request.getCreatedTo())) {
+      throw new BadRequestException("createdFrom must be before createdTo");
+    }
+
+    List<UUID> orderIds =
+        orderRepository.findIdsByBranchAndCreatedAtRange(
+            request.getBranchId(),
+            request.getCreatedFrom(),
+            request.getCreatedTo(),
+            PageRequest.of(0, maxOrders + 1));
+    if (orderIds.size() > maxOrders) {
+      throw new BadRequestException(
+          "More than " + maxOrders + " orders in the time range, narrow it down");
+    }
+    return orderIds;
+  }
+
+  private void run(ReceiptBatchJob job) {
+    job.start();
+    batchStore.save(job);
+    List<UUID> orderIds = job.getOrderIds();
+    List<CompletableFuture<Path>> parts = new ArrayList<>(orderIds.size());
+    try {
+      Files.createDirectories(job.getDirectory());
+
+      // Step 1: Load chunk by chunk; rendering of loaded chunks overlaps with loading the next
+      for (int from = 0; from < orderIds.size(); from += config.getChunkSize()) {
+        int to = Math.min(from + config.getChunkSize(), orderIds.size());
+        List<UUID> chunk = orderIds.subList(from, to);
+        Map<UUID, ReceiptOrderData> data = batchLoader.load(chunk);
+        for (int i = 0; i < chunk.size(); i++) {
+          ReceiptOrderData orderData = data.get(chunk.get(i));
+          if (orderData == null) {
+            job.getFailed().incrementAndGet();
+            recordProgress(job, false);
+            continue;
+          }
+          int index = from + i;
+          parts.add(
+              CompletableFuture.supplyAsync(
+                  () -> renderPart(job, index, orderData), renderExecutor));
+        }
+      }
+
+      // Step 2: Merge rendered parts in order
+      List<Path> rendered = new ArrayList<>(parts.size());
+      for (CompletableFuture<Path> part : parts) {
+        Path path = part.join();
+        if (path != null) {
+          rendered.add(path);
+        }
+      }
+      if (rendered.isEmpty()) {
+        job.fail("No receipts could be rendered");
+        batchStore.save(job);
+        deleteDirectory(job.getDirectory());
+        return;
+      }
+      batchStore.save(job); // heartbeat before a potentially long merge
+      Path merged = job.getDirectory().resolve(MERGED_FILE);
+      merge(rendered, merged);
+      for (Path path : rendered) {
+        Files.deleteIfExists(path);
+      }
+
+      job.complete(merged);
+      batchStore.save(job);
+      log.info(
+          "Completed receipt batch {}: {} rendered, {} failed",
+          job.getId(),
+          job.getRendered().get(),
+          job.getFailed().get());
+    } catch (Exception e) {
+      log.error("Receipt batch {} failed", job.getId(), e);
+      job.fail("Batch rendering failed: " + e.getMessage());
+      saveQuietly(job);
+      // Let submitted renders finish before removing their files
+      CompletableFuture.allOf(parts.toArray(CompletableFuture[]::new)).join();
+      deleteDirectory(job.getDirectory());
+    }
+  }
+
+  private Path renderPart(ReceiptBatchJob job, int index, ReceiptOrderData orderData) {
+    Path part = job.getDirectory().resolve(String.format("part-%05d.pdf", index));
+    try {
+      ReceiptWriter writer =
+          receiptFacade.prepareReceipt(
+              orderData, ReceiptFacade.DEFAULT_TEMPLATE_ID, job.getLocale());
+      try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(part))) {
+        writer.writeTo(out);
+      }
+      job.getRendered().incrementAndGet();
+      recordProgress(job, true);
+      return part;
+    } catch (IOException | RuntimeException e) {
+      log.warn(
+          "Failed to render receipt {} in batch {}: {}",
+          orderData.getOrderNumber(),
+          job.getId(),
+          e.getMessage());
+      job.getFailed().incrementAndGet();
+      recordProgress(job, false);
+      return null;
+    }
+  }
+
+  private void merge(List<Path> parts, Path target) throws IOException {
+    PDFMergerUtility merger = new PDFMergerUtility();
+    for (Path part : parts) {
+      merger.addSource(part.toFile());
+    }
+    try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(target))) {
+      merger.setDestinationStream(out);
+      merger.mergeDocuments(MemoryUsageSetting.setupMixed(MERGE_MEMORY_BYTES).streamCache);
+    }
+  }
+
+  /** Directories left by batches of a previous run */
+  private int purgeOrphanedDirectories(Instant cutoff) {
+    Path base = Path.of(config.getDirectory()).toAbsolutePath();
+    if (!Files.isDirectory(base)) {
+      return 0;
+    }
+    int purged = 0;
+    try (Stream<Path> directories = Files.list(base)) {
+      for (Path directory : directories.toList()) {
+        if (isKnownBatch(directory)
+            || Files.getLastModifiedTime(directory).toInstant().isAfter(cutoff)) {
+          continue;
+        }
+        deleteDirectory(directory);
+        purged++;
+      }
+    } catch (IOException e) {
+      log.warn("Failed to list receipt batch directory {}: {}", base, e.getMessage());
+    }
+    return purged;
+  }
+
+  private boolean isKnownBatch(Path directory) {
+    try {
+      return batchStore.find(UUID.fromString(directory.getFileName().toString())).isPresent();
+    } catch (IllegalArgumentException e) {
+      return true; // not ours, leave it alone
+    }
+  }
+
+  private StoredReceiptBatch findBatch(UUID batchId) {
+    return batchStore
+        .find(batchId)
+        .orElseThrow(() -> new NotFoundException("Receipt batch not found: " + batchId));
+  }
+
+  /** Progress doubles as heartbeat; a lost update is corrected by the next full save */
+  private void recordProgress(ReceiptBatchJob job, boolean rendered) {
+    try {
+      batchStore.recordProgress(job.getId(), rendered);
+    } catch (RuntimeException e) {
+      log.debug("Failed to record progress of receipt batch {}: {}", job.getId(), e.getMessage());
+    }
+  }
+
+  /** Record a failure; the batch is reported failed after the stale period if this fails too */
+  private void saveQuietly(ReceiptBatchJob job) {
+    try {
+      batchStore.save(job);
+    } catch (RuntimeException e) {
+      log.warn("Failed to store state of receipt batch {}: {}", job.getId(), e.getMessage());
+    }
+  }
+
+  private void deleteDirectory(Path directory) {
+    if (!Files.exists(directory)) {
+      return;
+    }
+    try (Stream<Path> paths = Files.walk(directory)) {
+      for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+        Files.deleteIfExists(path);
+      }
+    } catch (IOException e) {
+      log.warn("Failed to delete receipt batch directory {}: {}", directory, e.getMessage());
+    }
+  }
+}
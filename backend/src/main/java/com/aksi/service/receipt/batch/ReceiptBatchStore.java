@@ -0,0 +1,20 @@
+package com.aksi.service.receipt.batch;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Shared state of receipt batches, so that status and download requests can be served by any
+ * instance and survive a restart of the instance that ran the batch
+ */
+interface ReceiptBatchStore {
+
+  /** Store a full snapshot of the job and refresh its heartbeat */
+  void save(ReceiptBatchJob job);
+
+  /** Count one rendered or failed receipt and refresh the heartbeat */
+  void recordProgress(UUID batchId, boolean rendered);
+
+  /** Stored state of a batch, empty if unknown or expired */
+  Optional<StoredReceiptBatch> find(UUID batchId);
+}
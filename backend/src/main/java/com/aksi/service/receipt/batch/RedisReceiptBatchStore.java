@@ -0,0 +1,106 @@
+package com.aksi.service.receipt.batch;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import com.aksi.api.receipt.dto.ReceiptBatchState;
+import com.aksi.config.ReceiptConfiguration;
+
+/**
+ * Receipt batch state in one Redis hash per batch. Keys expire after the retention period counted
+ * from the last write, so finished batches disappear together with their files.
+ */
+@Component
+public class RedisReceiptBatchStore implements ReceiptBatchStore {
+
+  static final String KEY_PREFIX = "aksi:receipt-batch:";
+
+  private static final String STATE = "state";
+  private static final String TOTAL = "total";
+  private static final String RENDERED = "rendered";
+  private static final String FAILED = "failed";
+  private static final String CREATED_AT = "createdAt";
+  private static final String COMPLETED_AT = "completedAt";
+  private static final String MESSAGE = "message";
+  private static final String PDF = "pdf";
+  private static final String HEARTBEAT_AT = "heartbeatAt";
+
+  private final StringRedisTemplate redisTemplate;
+  private final Duration retention;
+
+  public RedisReceiptBatchStore(
+      StringRedisTemplate redisTemplate, ReceiptConfiguration receiptConfiguration) {
+    this.redisTemplate = redisTemplate;
+    this.retention = receiptConfiguration.getBatch().getRetention();
+  }
+
+  @Override
+  public void save(ReceiptBatchJob job) {
+    Map<String, String> fields = new HashMap<>();
+    fields.put(STATE, job.getState().name());
+    fields.put(TOTAL, String.valueOf(job.getOrderIds().size()));
+    fields.put(RENDERED, String.valueOf(job.getRendered().get()));
+    fields.put(FAILED, String.valueOf(job.getFailed().get()));
+    fields.put(CREATED_AT, job.getCreatedAt().toString());
+    fields.put(HEARTBEAT_AT, Instant.now().toString());
+    if (job.getCompletedAt() != null) {
+      fields.put(COMPLETED_AT, job.getCompletedAt().toString());
+    }
+    if (job.getMessage() != null) {
+      fields.put(MESSAGE, job.getMessage());
+    }
+    if (job.getPdf() != null) {
+      fields.put(PDF, job.getPdf().toString());
+    }
+    String key = key(job.getId());
+    hash().putAll(key, fields);
+    redisTemplate.expire(key, retention);
+  }
+
+  @Override
+  public void recordProgress(UUID batchId, boolean rendered) {
+    String key = key(batchId);
+    hash().increment(key, rendered ? RENDERED : FAILED, 1);
+    hash().put(key, HEARTBEAT_AT, Instant.now().toString());
+  }
+
+  @Override
+  public Optional<StoredReceiptBatch> find(UUID batchId) {
+    Map<String, String> fields = hash().entries(key(batchId));
+    if (fields.isEmpty() || !fields.containsKey(STATE)) {
+      return Optional.empty();
+    }
+    return Optional.of(
+        new StoredReceiptBatch(
+            batchId,
+            ReceiptBatchState.valueOf(fields.get(STATE)),
+            Integer.parseInt(fields.getOrDefault(TOTAL, "0")),
+            Integer.parseInt(fields.getOrDefault(RENDERED, "0")),
+            Integer.parseInt(fields.getOrDefault(FAILED, "0")),
+            instant(fields.get(CREATED_AT)),
+            instant(fields.get(COMPLETED_AT)),
+            fields.get(MESSAGE),
+            fields.get(PDF),
+            instant(fields.get(HEARTBEAT_AT))));
+  }
+
+  private HashOperations<String, String, String> hash() {
+    return redisTemplate.opsForHash();
+  }
+
+  private static String key(UUID batchId) {
+    return KEY_PREFIX + batchId;
+  }
+
+  private static Instant instant(String value) {
+    return value != null ? Instant.parse(value) : null;
+  }
+}
@@ -0,0 +1,50 @@
+package com.aksi.service.receipt.batch;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import com.aksi.api.receipt.dto.ReceiptBatchState;
+import com.aksi.api.receipt.dto.ReceiptBatchStatus;
+
+/**
+ * Batch state as persisted in the {@link ReceiptBatchStore}
+ *
+ * @param pdf absolute path of the merged PDF once completed
+ * @param heartbeatAt last time the running instance reported progress
+ */
+record StoredReceiptBatch(
+    UUID id,
+    ReceiptBatchState state,
+    int totalOrders,
+    int renderedOrders,
+    int failedOrders,
+    Instant createdAt,
+    Instant completedAt,
+    String message,
+    String pdf,
+    Instant heartbeatAt) {
+
+  /** Unfinished batch whose instance stopped reporting progress (crashed or restarted) */
+  boolean isAbandoned(Instant now, Duration staleAfter) {
+    return completedAt == null && heartbeatAt.plus(staleAfter).isBefore(now);
+  }
+
+  ReceiptBatchStatus toStatus(Instant now, Duration staleAfter) {
+    ReceiptBatchStatus status = new ReceiptBatchStatus();
+    status.setBatchId(id);
+    status.setTotalOrders(totalOrders);
+    status.setRenderedOrders(renderedOrders);
+    status.setFailedOrders(failedOrders);
+    status.setCreatedAt(createdAt);
+    if (isAbandoned(now, staleAfter)) {
+      status.setState(ReceiptBatchState.FAILED);
+      status.setMessage("Batch was interrupted, please start it again");
+    } else {
+      status.setState(state);
+      status.setCompletedAt(completedAt);
+      status.setMessage(message);
+    }
+    return status;
+  }
+}
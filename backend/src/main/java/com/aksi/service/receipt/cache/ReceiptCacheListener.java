@@ -0,0 +1,70 @@
+package com.aksi.service.receipt.cache;
+
+import java.io.IOException;
+import java.util.UUID;
+
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.aksi.config.ReceiptConfiguration;
+import com.aksi.service.order.event.OrderStatusChangedEvent;
+import com.aksi.service.order.event.OrderStatusChangedEvent.StatusChange;
+import com.aksi.service.order.event.OrderUpdatedEvent;
+import com.aksi.service.receipt.ReceiptService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the receipt cache in step with order changes: drops receipts of changed orders and
+ * pre-renders receipts of new orders on the background executor once their transaction commits.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReceiptCacheListener {
+
+  private final ReceiptPdfCache receiptPdfCache;
+  private final ReceiptService receiptService;
+  private final ReceiptConfiguration receiptConfiguration;
+
+  @Async("taskExecutor")
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onStatusChanged(OrderStatusChangedEvent event) {
+    if (!receiptPdfCache.isEnabled()) {
+      return;
+    }
+    for (StatusChange change : event.changes()) {
+      if (change.fromStatus() == null) {
+        prerender(change.orderId());
+      } else {
+        receiptPdfCache.evictOrder(change.orderId());
+      }
+    }
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onOrderUpdated(OrderUpdatedEvent event) {
+    receiptPdfCache.evictOrder(event.orderId());
+  }
+
+  private void prerender(UUID orderId) {
+    ReceiptConfiguration.CacheConfig config = receiptConfiguration.getCache();
+    if (!config.isPrerender()) {
+      return;
+    }
+    for (String locale : config.getPrerenderLocales()) {
+      try {
+        Resource receipt = receiptService.generateOrderReceipt(orderId, locale);
+        if (receipt.isOpen()) {
+          receipt.getInputStream().close(); // only the cache file was wanted
+        }
+      } catch (IOException | RuntimeException e) {
+        log.warn("Failed to pre-render receipt for order {}: {}", orderId, e.getMessage());
+      }
+    }
+  }
+}
@@ -0,0 +1,413 @@
+package com.aksi.service.receipt.cache;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import com.aksi.config.ReceiptConfiguration;
+import com.aksi.service.receipt.ReceiptWriter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Disk-backed cache of rendered order receipts with an optional in-memory front.
+ *
+ * <p>Entries are addressed by the SHA-256 of (order id, {@link ReceiptVersion}, locale, template
+ * id) and stored as {@code <directory>/<orderId>/<hash>.pdf}. Any change to the order or to the
+ * customer or branch it prints bumps a version, so a stale receipt can never be served; superseded
+ * versions are dropped when a newer one is stored or when the order is evicted explicitly. Both
+ * tiers are LRU under a byte budget. Receipts are rendered into a temporary file and moved into
+ * place, so readers never see partial PDFs. Cache files are opened while the index is locked, so a
+ * receipt handed out stays readable even if its file is evicted before the response is written.
+ */
+@Slf4j
+@Component
+public class ReceiptPdfCache {
+
+  private static final String PDF_SUFFIX = ".pdf";
+  private static final String TMP_SUFFIX = ".tmp";
+
+  private final ReceiptConfiguration.CacheConfig config;
+  private final Path directory;
+
+  /** Disk index in access order (eldest first); guarded by {@code this} */
+  private final LinkedHashMap<String, DiskEntry> diskIndex = new LinkedHashMap<>(256, 0.75f, true);
+
+  /** Cache keys per order, used for version supersession and eviction; guarded by {@code this} */
+  private final Map<UUID, List<String>> keysByOrder = new HashMap<>();
+
+  /** In-memory front in access order; guarded by {@code this} */
+  private final LinkedHashMap<String, byte[]> memory = new LinkedHashMap<>(64, 0.75f, true);
+
+  private long diskBytes;
+  private long memoryBytes;
+
+  private final Counter hits;
+  private final Counter memoryHits;
+  private final Counter misses;
+  private final Counter evictions;
+
+  public ReceiptPdfCache(ReceiptConfiguration receiptConfiguration, MeterRegistry meterRegistry) {
+    this.config = receiptConfiguration.getCache();
+    this.directory = Path.of(config.getDirectory()).toAbsolutePath().normalize();
+    this.hits = meterRegistry.counter("receipt.cache.requests", "result", "hit");
+    this.memoryHits = meterRegistry.counter("receipt.cache.requests", "result", "memory_hit");
+    this.misses = meterRegistry.counter("receipt.cache.requests", "result", "miss");
+    this.evictions = meterRegistry.counter("receipt.cache.evictions");
+    Gauge.builder("receipt.cache.bytes", this, ReceiptPdfCache::getDiskBytes)
+        .tag("tier", "disk")
+        .register(meterRegistry);
+    Gauge.builder("receipt.cache.bytes", this, ReceiptPdfCache::getMemoryBytes)
+        .tag("tier", "memory")
+        .register(meterRegistry);
+  }
+
+  /** Rebuild the disk index from files left by a previous run */
+  @PostConstruct
+  public void loadIndex() {
+    if (!config.isEnabled()) {
+      log.info("Receipt cache disabled");
+      return;
+    }
+    try {
+      Files.createDirectories(directory);
+      List<IndexedFile> files = new ArrayList<>();
+      try (Stream<Path> paths = Files.walk(directory, 2)) {
+        paths.filter(Files::isRegularFile).forEach(path -> indexFile(path, files));
+      }
+      // Oldest files first, so the restored LRU order matches last use as closely as possible
+      files.sort(Comparator.comparingLong(IndexedFile::lastModified));
+      synchronized (this) {
+        files.forEach(file -> addToIndex(file.key(), file.entry()));
+        trimDisk();
+      }
+      log.info("Receipt cache loaded: {} files, {} bytes", files.size(), getDiskBytes());
+    } catch (IOException e) {
+      log.warn("Failed to load receipt cache index from {}: {}", directory, e.getMessage());
+    }
+  }
+
+  public boolean isEnabled() {
+    return config.isEnabled();
+  }
+
+  /**
+   * Cached receipt for an exact receipt version. Small receipts are served from memory; others are
+   * streamed from their cache file without copying them into the heap. The returned resource holds
+   * the file open and must be read or closed by the caller.
+   *
+   * @return receipt resource, empty on miss
+   */
+  public Optional<Resource> get(
+      UUID orderId, ReceiptVersion version, String locale, String templateId) {
+    if (!config.isEnabled()) {
+      return Optional.empty();
+    }
+    String key = key(orderId, version, locale, templateId);
+
+    DiskEntry entry;
+    InputStream in;
+    synchronized (this) {
+      byte[] cached = memory.get(key);
+      if (cached != null) {
+        diskIndex.get(key); // keep disk LRU order in step with the memory tier
+        memoryHits.increment();
+        return Optional.of(new ByteArrayResource(cached));
+      }
+      entry = diskIndex.get(key);
+      if (entry == null) {
+        misses.increment();
+        return Optional.empty();
+      }
+      try {
+        // Opened under the lock: eviction may delete the file, but not an open stream's content
+        in = Files.newInputStream(entry.path());
+      } catch (IOException e) {
+        // File removed behind our back: forget it and render again
+        removeKey(key);
+        misses.increment();
+        return Optional.empty();
+      }
+    }
+
+    hits.increment();
+    if (entry.size() > config.getMemoryMaxBytes()) {
+      return Optional.of(new CachedReceiptResource(in, entry));
+    }
+    try (in) {
+      byte[] pdf = in.readAllBytes();
+      synchronized (this) {
+        if (diskIndex.containsKey(key)) {
+          putInMemory(key, pdf);
+        }
+      }
+      return Optional.of(new ByteArrayResource(pdf));
+    } catch (IOException e) {
+      log.debug("Receipt cache file unreadable {}: {}", entry.path(), e.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Render a receipt straight into the cache, replacing receipts of older versions of the same
+   * order. Rendering errors propagate; storage problems leave the cache untouched.
+   *
+   * @return cached receipt, open like those of {@link #get}; empty if the cache is disabled or the
+   *     file could not be stored
+   */
+  public Optional<Resource> put(
+      UUID orderId, ReceiptVersion version, String locale, String templateId, ReceiptWriter writer)
+      throws IOException {
+    if (!config.isEnabled()) {
+      return Optional.empty();
+    }
+    String key = key(orderId, version, locale, templateId);
+    Path target = directory.resolve(orderId.toString()).resolve(key + PDF_SUFFIX);
+
+    Path tmp;
+    try {
+      Files.createDirectories(target.getParent());
+      tmp = Files.createTempFile(target.getParent(), key, TMP_SUFFIX);
+    } catch (IOException e) {
+      log.warn("Failed to store receipt for order {} in cache: {}", orderId, e.getMessage());
+      return Optional.empty();
+    }
+
+    long size;
+    try {
+      try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tmp))) {
+        writer.writeTo(out);
+      }
+      size = Files.size(tmp);
+      if (size > config.getMaxBytes()) {
+        log.warn("Receipt for order {} exceeds cache budget ({} bytes)", orderId, size);
+        return Optional.of(new ByteArrayResource(Files.readAllBytes(tmp)));
+      }
+      moveAtomically(tmp, target);
+    } finally {
+      Files.deleteIfExists(tmp);
+    }
+
+    synchronized (this) {
+      List<String> superseded = new ArrayList<>();
+      for (String existing : keysByOrder.getOrDefault(orderId, List.of())) {
+        DiskEntry existingEntry = diskIndex.get(existing);
+        if (!existing.equals(key)
+            && existingEntry != null
+            && existingEntry.version().isSupersededBy(version)) {
+          superseded.add(existing);
+        }
+      }
+      superseded.forEach(this::removeKey);
+
+      DiskEntry entry = new DiskEntry(orderId, version, target, size);
+      addToIndex(key, entry);
+      try {
+        // Open before trimming, so the receipt survives even its own eviction
+        Resource resource = new CachedReceiptResource(Files.newInputStream(target), entry);
+        trimDisk();
+        return Optional.of(resource);
+      } catch (IOException e) {
+        log.warn("Failed to open cached receipt for order {}: {}", orderId, e.getMessage());
+        removeKey(key);
+        return Optional.empty();
+      }
+    }
+  }
+
+  /** Drop all cached receipts of an order */
+  public void evictOrder(UUID orderId) {
+    if (!config.isEnabled()) {
+      return;
+    }
+    synchronized (this) {
+      List<String> keys = keysByOrder.get(orderId);
+      if (keys != null) {
+        List.copyOf(keys).forEach(this::removeKey);
+      }
+    }
+  }
+
+  public synchronized long getDiskBytes() {
+    return diskBytes;
+  }
+
+  public synchronized long getMemoryBytes() {
+    return memoryBytes;
+  }
+
+  private void indexFile(Path path, List<IndexedFile> files) {
+    String fileName = path.getFileName().toString();
+    try {
+      if (fileName.endsWith(TMP_SUFFIX)) {
+        Files.deleteIfExists(path); // interrupted write
+        return;
+      }
+      if (!fileName.endsWith(PDF_SUFFIX)) {
+        return;
+      }
+      UUID orderId = UUID.fromString(path.getParent().getFileName().toString());
+      BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+      String key = fileName.substring(0, fileName.length() - PDF_SUFFIX.length());
+      // The version is not recoverable from the hash; restored entries are only reachable by key
+      // and are superseded or evicted like any other entry
+      files.add(
+          new IndexedFile(
+              key,
+              new DiskEntry(orderId, ReceiptVersion.UNKNOWN, path, attributes.size()),
+              attributes.lastModifiedTime().toMillis()));
+    } catch (IllegalArgumentException | IOException e) {
+      log.debug("Skipping unexpected file in receipt cache {}: {}", path, e.getMessage());
+    }
+  }
+
+  private void addToIndex(String key, DiskEntry entry) {
+    DiskEntry previous = diskIndex.put(key, entry);
+    if (previous != null) {
+      diskBytes -= previous.size();
+    } else {
+      keysByOrder.computeIfAbsent(entry.orderId(), id -> new ArrayList<>(2)).add(key);
+    }
+    diskBytes += entry.size();
+  }
+
+  private void putInMemory(String key, byte[] pdf) {
+    long budget = config.getMemoryMaxBytes();
+    if (pdf.length > budget) {
+      return;
+    }
+    byte[] previous = memory.put(key, pdf);
+    memoryBytes += pdf.length - (previous != null ? previous.length : 0);
+
+    Iterator<Map.Entry<String, byte[]>> iterator = memory.entrySet().iterator();
+    while (memoryBytes > budget && iterator.hasNext()) {
+      memoryBytes -= iterator.next().getValue().length;
+      iterator.remove();
+    }
+  }
+
+  private void trimDisk() {
+    Iterator<Map.Entry<String, DiskEntry>> iterator = diskIndex.entrySet().iterator();
+    while (diskBytes > config.getMaxBytes() && iterator.hasNext()) {
+      Map.Entry<String, DiskEntry> eldest = iterator.next();
+      iterator.remove();
+      forget(eldest.getKey(), eldest.getValue());
+    }
+  }
+
+  private void removeKey(String key) {
+    DiskEntry entry = diskIndex.remove(key);
+    if (entry != null) {
+      forget(key, entry);
+    }
+  }
+
+  /** Account for an entry already removed from the disk index and delete its file */
+  private void forget(String key, DiskEntry entry) {
+    diskBytes -= entry.size();
+    byte[] cached = memory.remove(key);
+    if (cached != null) {
+      memoryBytes -= cached.length;
+    }
+    List<String> keys = keysByOrder.get(entry.orderId());
+    if (keys != null) {
+      keys.remove(key);
+      if (keys.isEmpty()) {
+        keysByOrder.remove(entry.orderId());
+      }
+    }
+    evictions.increment();
+    try {
+      Files.deleteIfExists(entry.path());
+    } catch (IOException e) {
+      log.debug("Failed to delete cached receipt {}: {}", entry.path(), e.getMessage());
+    }
+  }
+
+  private static void moveAtomically(Path source, Path target) throws IOException {
+    try {
+      Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  static String key(UUID orderId, ReceiptVersion version, String locale, String templateId) {
+    String raw =
+        orderId
+            + "|"
+            + version.order()
+            + "|"
+            + version.customer()
+            + "|"
+            + version.branch()
+            + "|"
+            + (locale != null ? locale.toLowerCase(Locale.ROOT) : "")
+            + "|"
+            + templateId;
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(raw.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+
+  /** Receipt streamed from a cache file opened while the index was locked */
+  private static final class CachedReceiptResource extends InputStreamResource {
+
+    private final long size;
+    private final String filename;
+
+    CachedReceiptResource(InputStream in, DiskEntry entry) {
+      super(in, "Cached receipt [" + entry.path() + "]");
+      this.size = entry.size();
+      this.filename = entry.path().getFileName().toString();
+    }
+
+    /** Known from the index, so the response keeps its Content-Length */
+    @Override
+    public long contentLength() {
+      return size;
+    }
+
+    @Override
+    public String getFilename() {
+      return filename;
+    }
+  }
+
+  private record DiskEntry(UUID orderId, ReceiptVersion version, Path path, long size) {}
+
+  private record IndexedFile(String key, DiskEntry entry, long lastModified) {}
+}
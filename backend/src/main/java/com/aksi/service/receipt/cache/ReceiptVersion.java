@@ -0,0 +1,22 @@
+package com.aksi.service.receipt.cache;
+
+/**
+ * Versions of everything a cached receipt is rendered from: the order aggregate and the customer
+ * and branch it prints. A change to any of them must produce a new cache key.
+ */
+public record ReceiptVersion(long order, long customer, long branch) {
+
+  /** Version of receipts restored from disk, whose versions are not recoverable from the key */
+  static final ReceiptVersion UNKNOWN = new ReceiptVersion(-1, -1, -1);
+
+  /**
+   * Whether a receipt of this version is outdated by one of {@code newer}: the versions differ and
+   * none of them went backwards
+   */
+  boolean isSupersededBy(ReceiptVersion newer) {
+    return !equals(newer)
+        && order <= newer.order
+        && customer <= newer.customer
+        && branch <= newer.branch;
+  }
+}
@@ -2,33 +2,32 @@ package com.aksi.service.receipt.pdf;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.OutputStream;
 
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDPageContentStream;
 import org.apache.pdfbox.pdmodel.common.PDRectangle;
 import org.apache.pdfbox.pdmodel.font.PDFont;
-import org.apache.pdfbox.pdmodel.font.PDType0Font;
-import org.apache.pdfbox.pdmodel.font.PDType1Font;
-import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
-import org.springframework.core.io.ClassPathResource;
-
-import com.aksi.config.ReceiptConfiguration;
 
 import lombok.extern.slf4j.Slf4j;
 
-/** PDFBox implementation of PdfDocumentBuilder */
+/**
+ * PDFBox implementation of PdfDocumentBuilder. Pages are added on demand; finished page content
+ * streams are kept in a mixed memory/temp-file cache, so large receipts render in bounded memory.
+ */
 @Slf4j
 public class PdfBoxDocumentBuilder implements PdfDocumentBuilder {
 
   private static final float DEFAULT_LINE_HEIGHT = 15;
   private static final float DEFAULT_MARGIN = 20;
+  private static final long STREAM_CACHE_MEMORY_BYTES = 4L * 1024 * 1024;
 
   private final PDDocument document;
-  private final PDPage page;
-  private final PDPageContentStream contentStream;
-  private final ReceiptConfiguration config;
+  private PDPage page;
+  private PDPageContentStream contentStream;
+  private final ReceiptFontCache fontCache;
   private PDFont currentFont;
   private PDFont regularFont;
   private PDFont boldFont;
@@ -36,61 +35,20 @@ public class PdfBoxDocumentBuilder implements PdfDocumentBuilder {
   private boolean inTextBlock;
   private boolean closed;
 
-  public PdfBoxDocumentBuilder(ReceiptConfiguration config) throws IOException {
-    this.config = config;
-    this.document = new PDDocument();
-    this.page = new PDPage(PDRectangle.A4);
-    this.document.addPage(page);
-    this.contentStream = new PDPageContentStream(document, page);
-    this.currentY = page.getMediaBox().getHeight() - DEFAULT_MARGIN;
+  public PdfBoxDocumentBuilder(ReceiptFontCache fontCache) throws IOException {
+    this.fontCache = fontCache;
+    this.document =
+        new PDDocument(MemoryUsageSetting.setupMixed(STREAM_CACHE_MEMORY_BYTES).streamCache);
+    addPage();
 
     initializeFonts();
   }
 
-  private void initializeFonts() {
-    try {
-      // Load regular font
-      String regularFontPath = config.getFont().getDirectory() + config.getFont().getRegular();
-      ClassPathResource regularResource = new ClassPathResource(regularFontPath);
-      if (regularResource.exists()) {
-        try (InputStream fontStream = regularResource.getInputStream()) {
-          this.regularFont = PDType0Font.load(document, fontStream);
-          log.debug("Successfully loaded regular font: {}", regularFontPath);
-        }
-      } else {
-        log.warn("Regular font not found at: {}", regularFontPath);
-      }
-
-      // Load bold font
-      String boldFontPath = config.getFont().getDirectory() + config.getFont().getBold();
-      ClassPathResource boldResource = new ClassPathResource(boldFontPath);
-      if (boldResource.exists()) {
-        try (InputStream fontStream = boldResource.getInputStream()) {
-          this.boldFont = PDType0Font.load(document, fontStream);
-          log.debug("Successfully loaded bold font: {}", boldFontPath);
-        }
-      } else {
-        // Fallback to regular font if bold not found
-        this.boldFont = this.regularFont;
-        log.warn("Bold font not found at {}, using regular font", boldFontPath);
-      }
-    } catch (Exception e) {
-      log.error("Could not load custom fonts, using defaults", e);
-      this.regularFont = null;
-      this.boldFont = null;
-    }
-
-    // Fallback to standard fonts if custom fonts not loaded
-    if (this.regularFont == null) {
-      log.warn("Using fallback fonts - Ukrainian text may not display correctly");
-      this.regularFont = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
-      this.boldFont = new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD);
-    }
-
+  private void initializeFonts() throws IOException {
+    // Fonts are parsed once by the shared cache; each document only embeds the used subset
+    this.regularFont = fontCache.regular(document);
+    this.boldFont = fontCache.bold(document);
     this.currentFont = this.regularFont;
-    log.info(
-        "Font initialization complete. Regular font type: {}",
-        this.regularFont.getClass().getSimpleName());
   }
 
   @Override
@@ -248,8 +206,35 @@ public class PdfBoxDocumentBuilder implements PdfDocumentBuilder {
     return page.getMediaBox().getHeight();
   }
 
+  @Override
+  public float getBottomY() {
+    return DEFAULT_MARGIN;
+  }
+
+  @Override
+  public float newPage() {
+    try {
+      if (inTextBlock) {
+        contentStream.endText();
+        inTextBlock = false;
+      }
+      contentStream.close();
+      addPage();
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to start new page", e);
+    }
+    return currentY;
+  }
+
   @Override
   public byte[] build() throws IOException {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    writeTo(baos);
+    return baos.toByteArray();
+  }
+
+  @Override
+  public void writeTo(OutputStream out) throws IOException {
     if (closed) {
       throw new IllegalStateException("Document builder is already closed");
     }
@@ -261,15 +246,21 @@ public class PdfBoxDocumentBuilder implements PdfDocumentBuilder {
       }
       contentStream.close();
 
-      ByteArrayOutputStream baos = new ByteArrayOutputStream();
-      document.save(baos);
-      return baos.toByteArray();
+      log.debug("Writing receipt PDF with {} page(s)", document.getNumberOfPages());
+      document.save(out);
     } finally {
       document.close();
       closed = true;
     }
   }
 
+  private void addPage() throws IOException {
+    page = new PDPage(PDRectangle.A4);
+    document.addPage(page);
+    contentStream = new PDPageContentStream(document, page);
+    currentY = page.getMediaBox().getHeight() - DEFAULT_MARGIN;
+  }
+
   @Override
   public void close() throws IOException {
     if (closed) {
@@ -1,8 +1,12 @@
 package com.aksi.service.receipt.pdf;
 
 import java.io.IOException;
+import java.io.OutputStream;
 
-/** Interface for building PDF documents Provides abstraction from specific PDF library */
+/**
+ * Interface for building receipt documents. Provides abstraction from the output: PDFBox for A4
+ * PDF, ESC/POS or plain text for thermal printers
+ */
 public interface PdfDocumentBuilder extends AutoCloseable {
 
   @Override
@@ -50,6 +54,28 @@ public interface PdfDocumentBuilder extends AutoCloseable {
   /** Get page height */
   float getPageHeight();
 
+  /** Lowest Y position content may use on a page */
+  float getBottomY();
+
+  /**
+   * Start a new page
+   *
+   * @return Y position of the first line on the new page
+   */
+  float newPage();
+
+  /**
+   * Make sure a block of the given height fits below {@code y}, breaking the page if it does not
+   *
+   * @return {@code y} if the block fits, otherwise the first line of a new page
+   */
+  default float ensureSpace(float y, float height) {
+    return y - height < getBottomY() ? newPage() : y;
+  }
+
   /** Build final PDF document */
   byte[] build() throws IOException;
+
+  /** Write final PDF document to the stream without buffering it in memory */
+  void writeTo(OutputStream out) throws IOException;
 }
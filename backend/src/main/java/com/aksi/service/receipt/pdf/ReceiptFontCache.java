@@ -0,0 +1,193 @@
+package com.aksi.service.receipt.pdf;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.apache.fontbox.ttf.CmapLookup;
+import org.apache.fontbox.ttf.TTFParser;
+import org.apache.fontbox.ttf.TrueTypeFont;
+import org.apache.pdfbox.io.RandomAccessReadBuffer;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType0Font;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import com.aksi.config.ReceiptConfiguration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Shared, parsed receipt fonts.
+ *
+ * <p>TrueType files are read and parsed once at startup; every document only wraps the shared
+ * {@link TrueTypeFont} in its own {@link PDType0Font}, which embeds just the used glyph subset on
+ * save. FontBox synchronizes its lazy table and glyph reads, and the warm-up forces the tables used
+ * for text layout, so the shared programs are safe for concurrent rendering.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReceiptFontCache {
+
+  private static final String WARM_UP_TEXT = "Квитанція № AKSI-0123456789 ЄІЇҐ єіїґ 1 234,56 грн";
+
+  /** Typical item text for average glyph width; the fallback font only covers Latin */
+  private static final String WIDTH_SAMPLE = "Пальто вовняне, куртка зимова (чистка) 12 шт";
+
+  private static final String FALLBACK_WIDTH_SAMPLE = "Wool coat, winter jacket (cleaning) 12 pcs";
+
+  private final ReceiptConfiguration config;
+  private final MeterRegistry meterRegistry;
+
+  private TrueTypeFont regularFont;
+  private TrueTypeFont boldFont;
+
+  /** Parse configured fonts once */
+  @PostConstruct
+  public void loadFonts() {
+    String directory = config.getFont().getDirectory();
+    regularFont = parse(directory + config.getFont().getRegular(), "regular");
+    boldFont = parse(directory + config.getFont().getBold(), "bold");
+    if (regularFont == null) {
+      log.warn("Using fallback fonts - Ukrainian text may not display correctly");
+    } else if (boldFont == null) {
+      log.warn("Bold font not available, using regular font");
+    }
+  }
+
+  /** Render a small document at boot so the first receipt does not pay for lazy font parsing */
+  @EventListener(ApplicationReadyEvent.class)
+  public void warmUp() {
+    Timer.Sample sample = Timer.start(meterRegistry);
+    try (PDDocument document = new PDDocument()) {
+      PDPage page = new PDPage(PDRectangle.A6);
+      document.addPage(page);
+      try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+        content.beginText();
+        content.newLineAtOffset(10, 200);
+        content.setFont(regular(document), 10);
+        content.showText(WARM_UP_TEXT);
+        content.newLineAtOffset(0, -15);
+        content.setFont(bold(document), 10);
+        content.showText(WARM_UP_TEXT);
+        content.endText();
+      }
+      document.save(OutputStream.nullOutputStream());
+      long nanos = sample.stop(meterRegistry.timer("receipt.font.warmup"));
+      log.info("Receipt fonts warmed up in {} ms", nanos / 1_000_000);
+    } catch (IOException | IllegalArgumentException e) {
+      log.warn("Receipt font warm-up failed: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * Regular font for a document
+   *
+   * @param document target document (the font is embedded as a subset into it)
+   * @return document-bound font
+   */
+  public PDFont regular(PDDocument document) throws IOException {
+    if (regularFont == null) {
+      return new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+    }
+    return PDType0Font.load(document, regularFont, true);
+  }
+
+  /**
+   * Bold font for a document, regular font if bold is unavailable
+   *
+   * @param document target document (the font is embedded as a subset into it)
+   * @return document-bound font
+   */
+  public PDFont bold(PDDocument document) throws IOException {
+    if (regularFont == null) {
+      return new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD);
+    }
+    return PDType0Font.load(document, boldFont != null ? boldFont : regularFont, true);
+  }
+
+  /**
+   * Average advance width of receipt text in the regular font, used to precompute wrapping limits
+   * without measuring every string
+   *
+   * @param fontSize font size in points
+   * @return average character width in points
+   */
+  public float averageCharWidth(int fontSize) {
+    try {
+      if (regularFont == null) {
+        PDFont fallback = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+        float width = fallback.getStringWidth(FALLBACK_WIDTH_SAMPLE) / 1000f;
+        return width / FALLBACK_WIDTH_SAMPLE.length() * fontSize;
+      }
+      CmapLookup cmap = regularFont.getUnicodeCmapLookup();
+      long units = 0;
+      int count = 0;
+      for (int codePoint : WIDTH_SAMPLE.codePoints().toArray()) {
+        units += regularFont.getAdvanceWidth(cmap.getGlyphId(codePoint));
+        count++;
+      }
+      return (float) units / count / regularFont.getUnitsPerEm() * fontSize;
+    } catch (IOException e) {
+      log.warn("Could not measure receipt font: {}", e.getMessage());
+      return fontSize * 0.55f;
+    }
+  }
+
+  @PreDestroy
+  public void close() {
+    closeQuietly(regularFont);
+    closeQuietly(boldFont);
+  }
+
+  private TrueTypeFont parse(String path, String name) {
+    ClassPathResource resource = new ClassPathResource(path);
+    if (!resource.exists()) {
+      log.warn("Font not found at: {}", path);
+      return null;
+    }
+
+    Timer.Sample sample = Timer.start(meterRegistry);
+    try (InputStream in = resource.getInputStream()) {
+      TrueTypeFont font = new TTFParser().parse(new RandomAccessReadBuffer(in.readAllBytes()));
+      // Force tables used for text layout and subsetting while still single-threaded
+      font.getUnicodeCmapLookup();
+      font.getHorizontalMetrics();
+      font.getGlyph();
+      font.getNaming();
+      font.getOS2Windows();
+      font.getPostScript();
+      long nanos = sample.stop(meterRegistry.timer("receipt.font.load", "font", name));
+      log.info("Loaded {} receipt font {} in {} ms", name, path, nanos / 1_000_000);
+      return font;
+    } catch (IOException e) {
+      log.error("Could not load font {}", path, e);
+      return null;
+    }
+  }
+
+  private void closeQuietly(TrueTypeFont font) {
+    if (font == null) {
+      return;
+    }
+    try {
+      font.close();
+    } catch (IOException e) {
+      log.debug("Failed to close font: {}", e.getMessage());
+    }
+  }
+}
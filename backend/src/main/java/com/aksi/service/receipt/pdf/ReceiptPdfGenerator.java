@@ -1,19 +1,20 @@
 package com.aksi.service.receipt.pdf;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
-import java.util.Locale;
 
 import org.springframework.stereotype.Component;
 
 import com.aksi.api.receipt.dto.ReceiptOrderData;
-import com.aksi.config.ReceiptConfiguration;
 import com.aksi.service.receipt.pdf.sections.CustomerSection;
 import com.aksi.service.receipt.pdf.sections.FooterSection;
 import com.aksi.service.receipt.pdf.sections.HeaderSection;
 import com.aksi.service.receipt.pdf.sections.ItemsTableSection;
 import com.aksi.service.receipt.pdf.sections.ReceiptSection;
 import com.aksi.service.receipt.pdf.sections.SummarySection;
+import com.aksi.service.receipt.template.ReceiptLayout;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -24,15 +25,26 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class ReceiptPdfGenerator {
 
-  private final ReceiptConfiguration config;
+  private final ReceiptFontCache fontCache;
   private final HeaderSection headerSection;
   private final CustomerSection customerSection;
   private final ItemsTableSection itemsTableSection;
   private final SummarySection summarySection;
   private final FooterSection footerSection;
 
-  /** Generate PDF receipt from order data with locale */
-  public byte[] generatePdf(ReceiptOrderData orderData, Locale locale) throws IOException {
+  /** Generate PDF receipt from order data with a compiled template layout */
+  public byte[] generatePdf(ReceiptOrderData orderData, ReceiptLayout layout) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    writePdf(orderData, layout, out);
+    return out.toByteArray();
+  }
+
+  /**
+   * Render PDF receipt straight into the stream (e.g. the servlet response), paginating long item
+   * tables
+   */
+  public void writePdf(ReceiptOrderData orderData, ReceiptLayout layout, OutputStream out)
+      throws IOException {
     if (orderData == null) {
       throw new IllegalArgumentException("Order data cannot be null");
     }
@@ -47,10 +59,10 @@ public class ReceiptPdfGenerator {
           List.of(headerSection, customerSection, itemsTableSection, summarySection, footerSection);
 
       for (ReceiptSection section : sections) {
-        y = section.draw(builder, orderData, y, locale);
+        y = section.draw(builder, orderData, y, layout);
       }
 
-      return builder.build();
+      builder.writeTo(out);
     } catch (Exception e) {
       log.error("Failed to generate PDF for order: {}", orderData.getOrderNumber(), e);
       throw new IOException("PDF generation failed", e);
@@ -59,6 +71,6 @@ public class ReceiptPdfGenerator {
 
   /** Create PDF document builder Protected for testing purposes */
   protected PdfDocumentBuilder createPdfBuilder() throws IOException {
-    return new PdfBoxDocumentBuilder(config);
+    return new PdfBoxDocumentBuilder(fontCache);
   }
 }
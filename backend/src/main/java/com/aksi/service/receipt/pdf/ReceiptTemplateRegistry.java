@@ -1,63 +1,264 @@
 package com.aksi.service.receipt.pdf;
 
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
 import org.springframework.stereotype.Component;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
 
+import com.aksi.api.receipt.dto.ReceiptOutputFormat;
 import com.aksi.api.receipt.dto.ReceiptTemplate;
+import com.aksi.config.ReceiptConfiguration;
+import com.aksi.service.receipt.template.ReceiptLayout;
+import com.aksi.service.receipt.template.ReceiptLayoutCompiler;
+import com.aksi.service.receipt.template.ReceiptTemplateDefinition;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 
 import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
 
-/** Registry for receipt templates Manages available templates and their configurations */
+/**
+ * Registry for receipt templates.
+ *
+ * <p>Templates are declarative YAML/JSON files read from {@code receipt.templates.location}. Each
+ * is compiled lazily into one immutable {@link ReceiptLayout} per (template, locale) and the plans
+ * are cached, so rendering a receipt does no message lookups or column setup. {@link #reload()}
+ * swaps in changed files atomically; a file that fails to parse or validate keeps the previous
+ * templates in place.
+ */
+@Slf4j
 @Component
 public class ReceiptTemplateRegistry {
 
-  private final Map<String, ReceiptTemplate> templates = new HashMap<>();
+  public static final String THERMAL_TEMPLATE_ID = "thermal-80mm";
+  public static final String THERMAL_TEXT_TEMPLATE_ID = "thermal-80mm-text";
+
+  private static final String DEFAULT_TEMPLATE_ID = "default";
+  private static final int REVISION_LENGTH = 12;
+
+  private final ReceiptConfiguration.TemplatesConfig config;
+  private final ReceiptLayoutCompiler compiler;
+  private final ObjectMapper objectMapper;
+  private final ObjectReader definitionReader;
+  private final ResourcePatternResolver resourceResolver =
+      new PathMatchingResourcePatternResolver();
+
+  /** Loaded templates by id; replaced as a whole on reload */
+  private volatile Map<String, LoadedTemplate> templates = Map.of();
+
+  /** Compiled plans; keys carry the revision, so plans of replaced files are never served */
+  private final Map<LayoutKey, ReceiptLayout> layouts = new ConcurrentHashMap<>();
+
+  public ReceiptTemplateRegistry(
+      ReceiptConfiguration receiptConfiguration,
+      ReceiptLayoutCompiler compiler,
+      ObjectMapper objectMapper) {
+    this.config = receiptConfiguration.getTemplates();
+    this.compiler = compiler;
+    this.objectMapper = objectMapper;
+    this.definitionReader =
+        objectMapper
+            .readerFor(ReceiptTemplateDefinition.class)
+            .with(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+  }
 
   @PostConstruct
   public void init() {
-    registerDefaultTemplate();
-    // Additional templates can be registered here
+    try {
+      templates = load();
+      log.info("Loaded receipt templates {} from {}", templates.keySet(), config.getLocation());
+    } catch (IOException | IllegalArgumentException e) {
+      throw new IllegalStateException(
+          "Failed to load receipt templates from " + config.getLocation(), e);
+    }
+  }
+
+  /**
+   * Re-read the template location and swap in the new templates when any file changed
+   *
+   * @return true if templates were replaced
+   */
+  public synchronized boolean reload() {
+    Map<String, LoadedTemplate> loaded;
+    try {
+      loaded = load();
+    } catch (IOException | IllegalArgumentException e) {
+      log.error("Receipt templates not reloaded, keeping previous ones: {}", e.getMessage());
+      return false;
+    }
+    if (revisions(loaded).equals(revisions(templates))) {
+      return false;
+    }
+    templates = loaded;
+    layouts.clear();
+    log.info("Reloaded receipt templates {}", revisions(loaded));
+    return true;
   }
 
   /** Get all available templates */
   public List<ReceiptTemplate> getAllTemplates() {
-    return new ArrayList<>(templates.values());
+    return templates.values().stream().map(LoadedTemplate::metadata).toList();
   }
 
   /** Get template by ID */
   public Optional<ReceiptTemplate> getTemplate(String templateId) {
-    return Optional.ofNullable(templates.get(templateId));
+    return Optional.ofNullable(templates.get(templateId)).map(LoadedTemplate::metadata);
   }
 
   /** Get default template */
   public ReceiptTemplate getDefaultTemplate() {
-    return templates.values().stream()
-        .filter(ReceiptTemplate::getIsDefault)
+    return resolve(templates, DEFAULT_TEMPLATE_ID).metadata();
+  }
+
+  /** Output format of a template, PDF when unknown or not set */
+  public ReceiptOutputFormat getOutputFormat(String templateId) {
+    return getTemplate(templateId)
+        .map(ReceiptTemplate::getFormat)
+        .orElse(ReceiptOutputFormat.PDF);
+  }
+
+  /**
+   * Compiled layout of a template for a locale. Unknown templates fall back to the default one;
+   * locales the template does not declare fall back to its first locale.
+   */
+  public ReceiptLayout getLayout(String templateId, Locale locale) {
+    LoadedTemplate template = resolve(templates, templateId);
+    List<String> supported = template.definition().getLocales();
+    String language =
+        locale != null && supported.contains(locale.getLanguage())
+            ? locale.getLanguage()
+            : supported.getFirst();
+
+    LayoutKey key = new LayoutKey(template.metadata().getId(), template.revision(), language);
+    return layouts.computeIfAbsent(
+        key,
+        k ->
+            compiler.compile(
+                template.definition(), template.revision(), Locale.forLanguageTag(k.language())));
+  }
+
+  /**
+   * Key identifying rendered output of a template: changes whenever the template file changes, so
+   * caches of rendered receipts can include it
+   */
+  public String getRevisionKey(String templateId) {
+    LoadedTemplate template = resolve(templates, templateId);
+    return template.metadata().getId() + "@" + template.revision();
+  }
+
+  private static LoadedTemplate resolve(Map<String, LoadedTemplate> current, String templateId) {
+    LoadedTemplate template = templateId != null ? current.get(templateId) : null;
+    if (template != null) {
+      return template;
+    }
+    return current.values().stream()
+        .filter(loaded -> loaded.definition().isDefaultTemplate())
         .findFirst()
-        .orElse(templates.get("default"));
+        .orElseGet(() -> current.get(DEFAULT_TEMPLATE_ID));
   }
 
-  /** Register new template */
-  public void registerTemplate(ReceiptTemplate template) {
-    if (template == null || template.getId() == null) {
-      throw new IllegalArgumentException("Template and template ID cannot be null");
+  private Map<String, LoadedTemplate> load() throws IOException {
+    Resource[] resources = resourceResolver.getResources(config.getLocation() + "*");
+    Arrays.sort(
+        resources,
+        Comparator.comparing(Resource::getFilename, Comparator.nullsLast(String::compareTo)));
+
+    Map<String, LoadedTemplate> loaded = new LinkedHashMap<>();
+    for (Resource resource : resources) {
+      String filename = resource.getFilename();
+      if (filename == null || !isTemplateFile(filename)) {
+        continue;
+      }
+      byte[] content;
+      try (InputStream in = resource.getInputStream()) {
+        content = in.readAllBytes();
+      }
+      ReceiptTemplateDefinition definition = parse(content, filename);
+      compiler.validate(definition, filename);
+      LoadedTemplate template =
+          new LoadedTemplate(definition, toMetadata(definition), revision(content));
+      if (loaded.putIfAbsent(definition.getId(), template) != null) {
+        throw new IllegalArgumentException(
+            "Duplicate receipt template id " + definition.getId() + " in " + filename);
+      }
     }
-    templates.put(template.getId(), template);
+
+    if (resolve(loaded, DEFAULT_TEMPLATE_ID) == null) {
+      throw new IllegalArgumentException("No default receipt template found");
+    }
+    return Collections.unmodifiableMap(loaded);
   }
 
-  private void registerDefaultTemplate() {
-    ReceiptTemplate defaultTemplate = new ReceiptTemplate();
-    defaultTemplate.setId("default");
-    defaultTemplate.setName("Стандартний шаблон");
-    defaultTemplate.setDescription("Базовий шаблон квитанції");
-    defaultTemplate.setIsDefault(true);
-    defaultTemplate.setSupportedLocales(List.of("uk", "en"));
+  private ReceiptTemplateDefinition parse(byte[] content, String filename) throws IOException {
+    try {
+      if (filename.endsWith(".json")) {
+        return definitionReader.readValue(content);
+      }
+      Object tree =
+          new Yaml(new SafeConstructor(new LoaderOptions()))
+              .load(new String(content, StandardCharsets.UTF_8));
+      JsonNode node = objectMapper.valueToTree(tree);
+      return definitionReader.readValue(node);
+    } catch (IOException | RuntimeException e) {
+      throw new IllegalArgumentException(
+          "Invalid receipt template " + filename + ": " + e.getMessage(), e);
+    }
+  }
 
-    registerTemplate(defaultTemplate);
+  private static boolean isTemplateFile(String filename) {
+    return filename.endsWith(".yml") || filename.endsWith(".yaml") || filename.endsWith(".json");
   }
+
+  private static ReceiptTemplate toMetadata(ReceiptTemplateDefinition definition) {
+    ReceiptTemplate template = new ReceiptTemplate();
+    template.setId(definition.getId());
+    template.setName(Objects.requireNonNullElse(definition.getName(), definition.getId()));
+    template.setDescription(Objects.requireNonNullElse(definition.getDescription(), ""));
+    template.setIsDefault(definition.isDefaultTemplate());
+    template.setSupportedLocales(List.copyOf(definition.getLocales()));
+    template.setFormat(definition.getFormat());
+    return template;
+  }
+
+  private static String revision(byte[] content) {
+    try {
+      byte[] hash = MessageDigest.getInstance("SHA-256").digest(content);
+      return HexFormat.of().formatHex(hash).substring(0, REVISION_LENGTH);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+
+  private static Map<String, String> revisions(Map<String, LoadedTemplate> templates) {
+    return templates.entrySet().stream()
+        .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().revision()));
+  }
+
+  private record LoadedTemplate(
+      ReceiptTemplateDefinition definition, ReceiptTemplate metadata, String revision) {}
+
+  private record LayoutKey(String templateId, String revision, String language) {}
 }
@@ -15,7 +15,25 @@ public class TableDrawer {
 
   /** Draw table header */
   public float drawHeader() {
-    float y = startY;
+    return drawHeaderAt(startY);
+  }
+
+  /**
+   * Make room for a row block of the given height. When it does not fit on the current page, a new
+   * page is started and the header is repeated on it.
+   *
+   * @return Y position for the row
+   */
+  public float ensureRowSpace(float height) {
+    float y = builder.getCurrentY();
+    if (y - height >= builder.getBottomY()) {
+      return y;
+    }
+    return drawHeaderAt(builder.newPage());
+  }
+
+  private float drawHeaderAt(float y) {
+    builder.setCurrentY(y);
 
     // Draw column headers
     for (TableColumn column : columns) {
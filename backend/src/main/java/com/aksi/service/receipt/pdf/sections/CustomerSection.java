@@ -1,13 +1,12 @@
 package com.aksi.service.receipt.pdf.sections;
 
-import java.util.Locale;
-
 import org.springframework.stereotype.Component;
 
 import com.aksi.api.receipt.dto.ReceiptOrderData;
 import com.aksi.service.receipt.ReceiptFormatter;
 import com.aksi.service.receipt.pdf.PdfConstants;
 import com.aksi.service.receipt.pdf.PdfDocumentBuilder;
+import com.aksi.service.receipt.template.ReceiptLayout;
 
 import lombok.RequiredArgsConstructor;
 
@@ -17,16 +16,15 @@ import lombok.RequiredArgsConstructor;
 public class CustomerSection implements ReceiptSection {
 
   private final ReceiptFormatter formatter;
-  private final ReceiptMessages messages;
 
   @Override
   public float draw(
-      PdfDocumentBuilder builder, ReceiptOrderData orderData, float startY, Locale locale) {
-    float y = startY;
+      PdfDocumentBuilder builder, ReceiptOrderData orderData, float startY, ReceiptLayout layout) {
+    float y = builder.ensureSpace(startY, PdfConstants.LINE_HEIGHT * 3);
 
     // Customer name
     String customerText =
-        formatter.formatLabelValue(messages.getCustomerLabel(locale), orderData.getCustomerName());
+        formatter.formatLabelValue(layout.labels().customer(), orderData.getCustomerName());
     if (!customerText.isEmpty()) {
       builder.drawTextAt(customerText, PdfConstants.MARGIN_LEFT, y);
       y = builder.nextLine().getCurrentY();
@@ -35,7 +33,7 @@ public class CustomerSection implements ReceiptSection {
     // Customer phone
     if (orderData.getCustomerPhone() != null) {
       String phoneText =
-          formatter.formatLabelValue(messages.getPhoneLabel(locale), orderData.getCustomerPhone());
+          formatter.formatLabelValue(layout.labels().phone(), orderData.getCustomerPhone());
       builder.drawTextAt(phoneText, PdfConstants.MARGIN_LEFT, y);
       builder.nextLine().getCurrentY();
     }
@@ -1,13 +1,12 @@
 package com.aksi.service.receipt.pdf.sections;
 
-import java.util.Locale;
-
 import org.springframework.stereotype.Component;
 
 import com.aksi.api.receipt.dto.ReceiptOrderData;
 import com.aksi.service.receipt.ReceiptFormatter;
 import com.aksi.service.receipt.pdf.PdfConstants;
 import com.aksi.service.receipt.pdf.PdfDocumentBuilder;
+import com.aksi.service.receipt.template.ReceiptLayout;
 
 import lombok.RequiredArgsConstructor;
 
@@ -17,18 +16,18 @@ import lombok.RequiredArgsConstructor;
 public class FooterSection implements ReceiptSection {
 
   private final ReceiptFormatter formatter;
-  private final ReceiptMessages messages;
 
   @Override
   public float draw(
-      PdfDocumentBuilder builder, ReceiptOrderData orderData, float startY, Locale locale) {
+      PdfDocumentBuilder builder, ReceiptOrderData orderData, float startY, ReceiptLayout layout) {
+    builder.ensureSpace(builder.getCurrentY(), PdfConstants.LINE_HEIGHT * 4);
     float y = builder.nextLine().getCurrentY();
 
     // Completion date
     if (orderData.getCompletionDate() != null) {
       String completionText =
           formatter.formatLabelValue(
-              messages.getCompletionDateLabel(locale),
+              layout.labels().completionDate(),
               formatter.formatDate(orderData.getCompletionDate()));
       builder.drawTextAt(completionText, PdfConstants.MARGIN_LEFT, y);
       y = builder.nextLine().getCurrentY();
@@ -37,10 +36,10 @@ public class FooterSection implements ReceiptSection {
     // Notes
     String notes = orderData.getNotes();
     if (notes != null && !notes.isEmpty()) {
-      String notesText = formatter.formatLabelValue(messages.getNotesLabel(locale), notes);
+      String notesText = formatter.formatLabelValue(layout.labels().notes(), notes);
       builder
           .beginText()
-          .setFont("regular", PdfConstants.FONT_SIZE_SMALL)
+          .setFont("regular", layout.fonts().small())
           .setPosition(PdfConstants.MARGIN_LEFT, y)
           .drawText(notesText)
           .endText();
@@ -48,7 +47,7 @@ public class FooterSection implements ReceiptSection {
     }
 
     // Thank you message
-    builder.drawTextAt(messages.getThankYouMessage(locale), PdfConstants.MARGIN_LEFT, y);
+    builder.drawTextAt(layout.labels().thankYou(), PdfConstants.MARGIN_LEFT, y);
     y = builder.nextLine().getCurrentY();
 
     return y;
@@ -1,13 +1,12 @@
 package com.aksi.service.receipt.pdf.sections;
 
-import java.util.Locale;
-
 import org.springframework.stereotype.Component;
 
 import com.aksi.api.receipt.dto.ReceiptOrderData;
 import com.aksi.service.receipt.ReceiptFormatter;
 import com.aksi.service.receipt.pdf.PdfConstants;
 import com.aksi.service.receipt.pdf.PdfDocumentBuilder;
+import com.aksi.service.receipt.template.ReceiptLayout;
 
 import lombok.RequiredArgsConstructor;
 
@@ -17,18 +16,17 @@ import lombok.RequiredArgsConstructor;
 public class HeaderSection implements ReceiptSection {
 
   private final ReceiptFormatter formatter;
-  private final ReceiptMessages messages;
 
   @Override
   public float draw(
-      PdfDocumentBuilder builder, ReceiptOrderData orderData, float startY, Locale locale) {
+      PdfDocumentBuilder builder, ReceiptOrderData orderData, float startY, ReceiptLayout layout) {
     float y = startY;
 
     // Company name
     String branchName = formatter.safeString(orderData.getBranchName(), "AKSI");
     builder
         .beginText()
-        .setBoldFont(PdfConstants.FONT_SIZE_TITLE)
+        .setBoldFont(layout.fonts().title())
         .setPosition(PdfConstants.MARGIN_LEFT, y)
         .drawText(branchName)
         .endText();
@@ -53,15 +51,15 @@ public class HeaderSection implements ReceiptSection {
     // Receipt title
     builder
         .beginText()
-        .setBoldFont(PdfConstants.FONT_SIZE_SUBTITLE)
+        .setBoldFont(layout.fonts().subtitle())
         .setPosition(PdfConstants.MARGIN_LEFT, y)
-        .drawText(messages.getReceiptTitle(locale) + orderData.getOrderNumber())
+        .drawText(layout.labels().receiptTitle() + orderData.getOrderNumber())
         .endText();
     y = builder.nextLine().getCurrentY();
 
     // Date
     String dateText =
-        messages.getFromDate(locale) + formatter.formatDateTime(orderData.getCreatedAt());
+        layout.labels().fromDate() + formatter.formatDateTime(orderData.getCreatedAt());
     builder.drawTextAt(dateText, PdfConstants.MARGIN_LEFT, y);
     y = builder.nextLine(PdfConstants.LINE_HEIGHT_LARGE * 2).getCurrentY();
 
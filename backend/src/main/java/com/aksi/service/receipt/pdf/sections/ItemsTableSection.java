@@ -1,8 +1,7 @@
 package com.aksi.service.receipt.pdf.sections;
 
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Locale;
 
 import org.springframework.stereotype.Component;
 
@@ -12,6 +11,8 @@ import com.aksi.service.receipt.ReceiptFormatter;
 import com.aksi.service.receipt.pdf.PdfConstants;
 import com.aksi.service.receipt.pdf.PdfDocumentBuilder;
 import com.aksi.service.receipt.pdf.TableDrawer;
+import com.aksi.service.receipt.template.ReceiptItemField;
+import com.aksi.service.receipt.template.ReceiptLayout;
 
 import lombok.RequiredArgsConstructor;
 
@@ -21,38 +22,18 @@ import lombok.RequiredArgsConstructor;
 public class ItemsTableSection implements ReceiptSection {
 
   private final ReceiptFormatter formatter;
-  private final ReceiptMessages messages;
 
   @Override
   public float draw(
-      PdfDocumentBuilder builder, ReceiptOrderData orderData, float startY, Locale locale) {
+      PdfDocumentBuilder builder, ReceiptOrderData orderData, float startY, ReceiptLayout layout) {
     builder.setCurrentY(startY);
 
-    // Create table columns
-    List<TableDrawer.TableColumn> columns =
-        Arrays.asList(
-            TableDrawer.TableColumn.builder()
-                .header(messages.getItemNameHeader(locale))
-                .x(PdfConstants.COL_NAME)
-                .build(),
-            TableDrawer.TableColumn.builder()
-                .header(messages.getQuantityHeader(locale))
-                .x(PdfConstants.COL_QUANTITY)
-                .build(),
-            TableDrawer.TableColumn.builder()
-                .header(messages.getPriceHeader(locale))
-                .x(PdfConstants.COL_PRICE)
-                .build(),
-            TableDrawer.TableColumn.builder()
-                .header(messages.getTotalHeader(locale))
-                .x(PdfConstants.COL_TOTAL)
-                .build());
-
+    // Columns and headers come precompiled with the template layout
     TableDrawer tableDrawer =
         TableDrawer.builder()
             .builder(builder)
             .startY(startY)
-            .columns(columns)
+            .columns(layout.tableColumns())
             .pageWidth(builder.getPageWidth())
             .build();
 
@@ -60,37 +41,84 @@ public class ItemsTableSection implements ReceiptSection {
     float y = tableDrawer.drawHeader();
     builder.setCurrentY(y);
 
-    // Draw items
+    // Draw items, breaking pages between items and repeating the header
     for (ReceiptItem item : orderData.getItems()) {
-      y = drawItem(builder, tableDrawer, item);
+      List<List<String>> rows = rows(item, layout);
+      tableDrawer.ensureRowSpace(itemHeight(item, rows.size()));
+      y = drawItem(builder, tableDrawer, item, rows, layout);
       builder.setCurrentY(y);
     }
 
     // Draw footer line
+    tableDrawer.ensureRowSpace(PdfConstants.LINE_HEIGHT);
     y = tableDrawer.drawFooterLine();
 
     return y;
   }
 
-  private float drawItem(PdfDocumentBuilder builder, TableDrawer tableDrawer, ReceiptItem item) {
-    // Draw main item row
-    List<String> values =
-        Arrays.asList(
-            item.getName(),
-            String.valueOf(item.getQuantity()),
-            formatter.formatMoney(item.getUnitPrice()),
-            formatter.formatMoney(item.getTotalPrice()));
+  /**
+   * Cell values of an item, one list per printed line: wrapping columns continue on further lines
+   * with the other cells left empty
+   */
+  private List<List<String>> rows(ReceiptItem item, ReceiptLayout layout) {
+    List<ReceiptLayout.ItemColumn> columns = layout.itemColumns();
+    List<List<String>> cells = new ArrayList<>(columns.size());
+    int lineCount = 1;
+    for (ReceiptLayout.ItemColumn column : columns) {
+      List<String> lines = column.wrap(value(item, column.field()));
+      cells.add(lines);
+      lineCount = Math.max(lineCount, lines.size());
+    }
 
-    float y = tableDrawer.drawRow(values, PdfConstants.FONT_SIZE_SMALL);
-    builder.setCurrentY(y);
+    List<List<String>> rows = new ArrayList<>(lineCount);
+    for (int line = 0; line < lineCount; line++) {
+      List<String> row = new ArrayList<>(columns.size());
+      for (List<String> lines : cells) {
+        row.add(line < lines.size() ? lines.get(line) : null);
+      }
+      rows.add(row);
+    }
+    return rows;
+  }
+
+  private String value(ReceiptItem item, ReceiptItemField field) {
+    return switch (field) {
+      case NAME -> item.getName();
+      case QUANTITY -> String.valueOf(item.getQuantity());
+      case UNIT_PRICE -> formatter.formatMoney(item.getUnitPrice());
+      case TOTAL_PRICE -> formatter.formatMoney(item.getTotalPrice());
+    };
+  }
+
+  /** Height of an item row including wrapped lines and modifiers, kept together on one page */
+  private float itemHeight(ReceiptItem item, int lineCount) {
+    float height = PdfConstants.LINE_HEIGHT * lineCount;
+    if (item.getModifiers() != null && !item.getModifiers().isEmpty()) {
+      height += PdfConstants.LINE_HEIGHT_SMALL;
+    }
+    return height;
+  }
+
+  private float drawItem(
+      PdfDocumentBuilder builder,
+      TableDrawer tableDrawer,
+      ReceiptItem item,
+      List<List<String>> rows,
+      ReceiptLayout layout) {
+    // Draw main item row and continuation lines of wrapped cells
+    float y = builder.getCurrentY();
+    for (List<String> row : rows) {
+      y = tableDrawer.drawRow(row, layout.fonts().small());
+      builder.setCurrentY(y);
+    }
 
     // Draw modifiers if any
     if (item.getModifiers() != null && !item.getModifiers().isEmpty()) {
       String modifiersText = "(" + String.join(", ", item.getModifiers()) + ")";
       builder
           .beginText()
-          .setFont("regular", PdfConstants.FONT_SIZE_TINY)
-          .setPosition(PdfConstants.COL_NAME + 10, y)
+          .setFont("regular", layout.fonts().tiny())
+          .setPosition(layout.itemColumns().getFirst().x() + 10, y)
           .drawText(modifiersText)
           .endText();
       y = builder.nextLine(PdfConstants.LINE_HEIGHT_SMALL).getCurrentY();
@@ -86,8 +86,8 @@ public class ReceiptMessages {
     return getMessage("receipt.footer.thankYou", locale);
   }
 
-  // Utility method
-  private String getMessage(String code, Locale locale) {
+  /** Message by code, used for labels referenced from receipt templates */
+  public String getMessage(String code, Locale locale) {
     return messageSource.getMessage(code, null, getDefaultMessage(code), locale);
   }
 
@@ -1,9 +1,8 @@
 package com.aksi.service.receipt.pdf.sections;
 
-import java.util.Locale;
-
 import com.aksi.api.receipt.dto.ReceiptOrderData;
 import com.aksi.service.receipt.pdf.PdfDocumentBuilder;
+import com.aksi.service.receipt.template.ReceiptLayout;
 
 /**
  * Base interface for receipt sections Each section is responsible for drawing its part of the
@@ -17,8 +16,9 @@ public interface ReceiptSection {
    * @param builder PDF document builder
    * @param orderData Order data to display
    * @param startY Starting Y position
-   * @param locale Locale for messages
+   * @param layout Compiled template layout with localized labels
    * @return New Y position after drawing
    */
-  float draw(PdfDocumentBuilder builder, ReceiptOrderData orderData, float startY, Locale locale);
+  float draw(
+      PdfDocumentBuilder builder, ReceiptOrderData orderData, float startY, ReceiptLayout layout);
 }
@@ -1,13 +1,12 @@
 package com.aksi.service.receipt.pdf.sections;
 
-import java.util.Locale;
-
 import org.springframework.stereotype.Component;
 
 import com.aksi.api.receipt.dto.ReceiptOrderData;
 import com.aksi.service.receipt.ReceiptFormatter;
 import com.aksi.service.receipt.pdf.PdfConstants;
 import com.aksi.service.receipt.pdf.PdfDocumentBuilder;
+import com.aksi.service.receipt.template.ReceiptLayout;
 
 import lombok.RequiredArgsConstructor;
 
@@ -16,22 +15,26 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class SummarySection implements ReceiptSection {
 
+  private static final float SUMMARY_MAX_HEIGHT =
+      PdfConstants.LINE_HEIGHT * 5 + PdfConstants.LINE_HEIGHT_SMALL;
+
   private final ReceiptFormatter formatter;
-  private final ReceiptMessages messages;
 
   @Override
   public float draw(
-      PdfDocumentBuilder builder, ReceiptOrderData orderData, float startY, Locale locale) {
-    float y = startY;
+      PdfDocumentBuilder builder, ReceiptOrderData orderData, float startY, ReceiptLayout layout) {
+    // Keep the totals block together
+    float y = builder.ensureSpace(startY, SUMMARY_MAX_HEIGHT);
 
     // Subtotal
     if (orderData.getSubtotal() != null) {
       y =
           drawSummaryLine(
               builder,
-              messages.getSubtotalLabel(locale),
+              layout,
+              layout.labels().subtotal(),
               formatter.formatMoney(orderData.getSubtotal()),
-              PdfConstants.FONT_SIZE_NORMAL,
+              layout.fonts().normal(),
               false,
               y);
     }
@@ -42,9 +45,10 @@ public class SummarySection implements ReceiptSection {
       y =
           drawSummaryLine(
               builder,
-              messages.getDiscountLabel(locale),
+              layout,
+              layout.labels().discount(),
               formatter.formatMoneyWithSign(discount, true),
-              PdfConstants.FONT_SIZE_NORMAL,
+              layout.fonts().normal(),
               false,
               y);
     }
@@ -52,9 +56,10 @@ public class SummarySection implements ReceiptSection {
     // Total
     drawSummaryLine(
         builder,
-        messages.getTotalLabel(locale),
+        layout,
+        layout.labels().total(),
         formatter.formatMoney(orderData.getTotalAmount()),
-        PdfConstants.FONT_SIZE_NORMAL + 2,
+        layout.fonts().normal() + 2,
         true,
         y);
     y = builder.nextLine(PdfConstants.LINE_HEIGHT_SMALL).getCurrentY();
@@ -65,9 +70,10 @@ public class SummarySection implements ReceiptSection {
       y =
           drawSummaryLine(
               builder,
-              messages.getPrepaidLabel(locale),
+              layout,
+              layout.labels().prepaid(),
               formatter.formatMoney(prepaidAmount),
-              PdfConstants.FONT_SIZE_NORMAL,
+              layout.fonts().normal(),
               false,
               y);
     }
@@ -78,9 +84,10 @@ public class SummarySection implements ReceiptSection {
       y =
           drawSummaryLine(
               builder,
-              messages.getDueLabel(locale),
+              layout,
+              layout.labels().due(),
               formatter.formatMoney(dueAmount),
-              PdfConstants.FONT_SIZE_NORMAL,
+              layout.fonts().normal(),
               true,
               y);
     }
@@ -89,12 +96,18 @@ public class SummarySection implements ReceiptSection {
   }
 
   private float drawSummaryLine(
-      PdfDocumentBuilder builder, String label, String value, int fontSize, boolean bold, float y) {
+      PdfDocumentBuilder builder,
+      ReceiptLayout layout,
+      String label,
+      String value,
+      int fontSize,
+      boolean bold,
+      float y) {
     // Draw label
     builder
         .beginText()
         .setFont("regular", fontSize)
-        .setPosition(PdfConstants.SUMMARY_LABEL_X, y)
+        .setPosition(layout.summaryLabelX(), y)
         .drawText(label)
         .endText();
 
@@ -105,7 +118,7 @@ public class SummarySection implements ReceiptSection {
     } else {
       builder.setFont("regular", fontSize);
     }
-    builder.setPosition(PdfConstants.SUMMARY_VALUE_X, y).drawText(value).endText();
+    builder.setPosition(layout.summaryValueX(), y).drawText(value).endText();
 
     return builder.nextLine().getCurrentY();
   }
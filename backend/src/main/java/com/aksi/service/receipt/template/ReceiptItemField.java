@@ -0,0 +1,9 @@
+package com.aksi.service.receipt.template;
+
+/** Order item value shown in a column of the items table */
+public enum ReceiptItemField {
+  NAME,
+  QUANTITY,
+  UNIT_PRICE,
+  TOTAL_PRICE
+}
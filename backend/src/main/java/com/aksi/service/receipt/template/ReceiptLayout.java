@@ -0,0 +1,89 @@
+package com.aksi.service.receipt.template;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import com.aksi.api.receipt.dto.ReceiptOutputFormat;
+import com.aksi.service.receipt.pdf.TableDrawer;
+
+/**
+ * Immutable layout plan of a template for one locale: resolved labels, font sizes and column
+ * geometry with precomputed wrapping limits. Compiled once and shared by all receipts, so
+ * rendering only fills in order data.
+ *
+ * @param templateId template the plan was compiled from
+ * @param revision content hash of the template file, changes on every edit
+ * @param format output format of the template
+ * @param locale locale the labels are resolved for
+ * @param labels localized section labels
+ * @param fonts font sizes by role
+ * @param itemColumns items table columns in drawing order
+ * @param tableColumns the same columns as table headers, ready for {@link TableDrawer}
+ * @param summaryLabelX X position of summary labels
+ * @param summaryValueX X position of summary values
+ */
+public record ReceiptLayout(
+    String templateId,
+    String revision,
+    ReceiptOutputFormat format,
+    Locale locale,
+    Labels labels,
+    Fonts fonts,
+    List<ItemColumn> itemColumns,
+    List<TableDrawer.TableColumn> tableColumns,
+    float summaryLabelX,
+    float summaryValueX) {
+
+  /** Localized labels used by the receipt sections */
+  public record Labels(
+      String receiptTitle,
+      String fromDate,
+      String customer,
+      String phone,
+      String subtotal,
+      String discount,
+      String total,
+      String prepaid,
+      String due,
+      String completionDate,
+      String notes,
+      String thankYou) {}
+
+  /** Font sizes by role */
+  public record Fonts(int title, int subtitle, int normal, int small, int tiny) {}
+
+  /**
+   * Items table column
+   *
+   * @param field item value shown in the column
+   * @param x left edge of the column
+   * @param wrapChars characters per line before wrapping, 0 when the column does not wrap
+   */
+  public record ItemColumn(ReceiptItemField field, float x, int wrapChars) {
+
+    /** Split a value into lines of at most {@code wrapChars}, breaking at spaces where possible */
+    public List<String> wrap(String value) {
+      if (wrapChars <= 0 || value == null || value.length() <= wrapChars) {
+        return List.of(value != null ? value : "");
+      }
+      List<String> lines = new ArrayList<>(2);
+      int start = 0;
+      while (value.length() - start > wrapChars) {
+        int end = value.lastIndexOf(' ', start + wrapChars);
+        if (end <= start) {
+          end = start + wrapChars; // single long word: hard break
+        }
+        lines.add(value.substring(start, end).strip());
+        start = end;
+        while (start < value.length() && value.charAt(start) == ' ') {
+          start++;
+        }
+      }
+      if (start < value.length()) {
+        lines.add(value.substring(start));
+      }
+      return lines;
+    }
+  }
+}
@@ -0,0 +1,143 @@
+package com.aksi.service.receipt.template;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.stereotype.Component;
+
+import com.aksi.service.receipt.pdf.ReceiptFontCache;
+import com.aksi.service.receipt.pdf.TableDrawer;
+import com.aksi.service.receipt.pdf.sections.ReceiptMessages;
+
+import lombok.RequiredArgsConstructor;
+
+/** Compiles template definitions into immutable per-locale {@link ReceiptLayout} plans */
+@Component
+@RequiredArgsConstructor
+public class ReceiptLayoutCompiler {
+
+  /** Space kept free between the text of a wrapping column and the next column */
+  private static final float COLUMN_PADDING = 5f;
+
+  private final ReceiptMessages messages;
+  private final ReceiptFontCache fontCache;
+
+  /**
+   * Check a parsed definition, so that a broken file is rejected when it is loaded rather than when
+   * a receipt is rendered
+   *
+   * @throws IllegalArgumentException describing the first problem found
+   */
+  public void validate(ReceiptTemplateDefinition definition, String source) {
+    if (definition.getId() == null || definition.getId().isBlank()) {
+      throw new IllegalArgumentException("Template " + source + " has no id");
+    }
+    if (definition.getFormat() == null) {
+      throw new IllegalArgumentException("Template " + source + " has no format");
+    }
+    if (definition.getLocales() == null || definition.getLocales().isEmpty()) {
+      throw new IllegalArgumentException("Template " + source + " declares no locales");
+    }
+    List<ReceiptTemplateDefinition.Column> columns = definition.getItems().getColumns();
+    if (columns == null || columns.isEmpty()) {
+      throw new IllegalArgumentException("Template " + source + " has no item columns");
+    }
+    Set<ReceiptItemField> fields = new HashSet<>();
+    for (ReceiptTemplateDefinition.Column column : columns) {
+      if (column.getField() == null || !fields.add(column.getField())) {
+        throw new IllegalArgumentException(
+            "Template " + source + " has a column without field or a duplicate field");
+      }
+      if (column.isWrap() && column.getWidth() <= COLUMN_PADDING) {
+        throw new IllegalArgumentException(
+            "Template " + source + " wraps column " + column.getField() + " without a width");
+      }
+    }
+  }
+
+  /**
+   * Compile a definition for one locale
+   *
+   * @param definition validated definition
+   * @param revision content hash of the template source
+   * @param locale locale to resolve labels for
+   * @return immutable layout plan
+   */
+  public ReceiptLayout compile(
+      ReceiptTemplateDefinition definition, String revision, Locale locale) {
+    Map<String, String> overrides =
+        definition.getLabels() != null
+            ? definition.getLabels().getOrDefault(locale.getLanguage(), Map.of())
+            : Map.of();
+
+    ReceiptLayout.Labels labels =
+        new ReceiptLayout.Labels(
+            label(overrides, "receipt.title", messages.getReceiptTitle(locale)),
+            label(overrides, "receipt.from", messages.getFromDate(locale)),
+            label(overrides, "receipt.customer.label", messages.getCustomerLabel(locale)),
+            label(overrides, "receipt.customer.phone", messages.getPhoneLabel(locale)),
+            label(overrides, "receipt.summary.subtotal", messages.getSubtotalLabel(locale)),
+            label(overrides, "receipt.summary.discount", messages.getDiscountLabel(locale)),
+            label(overrides, "receipt.summary.total", messages.getTotalLabel(locale)),
+            label(overrides, "receipt.summary.prepaid", messages.getPrepaidLabel(locale)),
+            label(overrides, "receipt.summary.due", messages.getDueLabel(locale)),
+            label(
+                overrides,
+                "receipt.footer.completionDate",
+                messages.getCompletionDateLabel(locale)),
+            label(overrides, "receipt.footer.notes", messages.getNotesLabel(locale)),
+            label(overrides, "receipt.footer.thankYou", messages.getThankYouMessage(locale)));
+
+    ReceiptTemplateDefinition.Fonts fontSizes = definition.getFonts();
+    ReceiptLayout.Fonts fonts =
+        new ReceiptLayout.Fonts(
+            fontSizes.getTitle(),
+            fontSizes.getSubtitle(),
+            fontSizes.getNormal(),
+            fontSizes.getSmall(),
+            fontSizes.getTiny());
+
+    // Item rows are drawn in the small font, so that is the one wrapping limits are measured in
+    float charWidth = fontCache.averageCharWidth(fonts.small());
+
+    List<ReceiptLayout.ItemColumn> itemColumns = new ArrayList<>();
+    List<TableDrawer.TableColumn> tableColumns = new ArrayList<>();
+    for (ReceiptTemplateDefinition.Column column : definition.getItems().getColumns()) {
+      int wrapChars = 0;
+      if (column.isWrap()) {
+        wrapChars = Math.max(1, (int) ((column.getWidth() - COLUMN_PADDING) / charWidth));
+      }
+      itemColumns.add(new ReceiptLayout.ItemColumn(column.getField(), column.getX(), wrapChars));
+      String header =
+          column.getLabel() != null
+              ? label(overrides, column.getLabel(), messages.getMessage(column.getLabel(), locale))
+              : "";
+      tableColumns.add(
+          TableDrawer.TableColumn.builder()
+              .header(header)
+              .x(column.getX())
+              .width(column.getWidth())
+              .build());
+    }
+
+    return new ReceiptLayout(
+        definition.getId(),
+        revision,
+        definition.getFormat(),
+        locale,
+        labels,
+        fonts,
+        List.copyOf(itemColumns),
+        List.copyOf(tableColumns),
+        definition.getSummary().getLabelX(),
+        definition.getSummary().getValueX());
+  }
+
+  private static String label(Map<String, String> overrides, String code, String message) {
+    return overrides.getOrDefault(code, message);
+  }
+}
@@ -0,0 +1,63 @@
+package com.aksi.service.receipt.template;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.aksi.api.receipt.dto.ReceiptOutputFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.Data;
+
+/**
+ * Declarative receipt template as read from a YAML/JSON file. Mutable binding model only; {@link
+ * ReceiptLayoutCompiler} turns it into an immutable {@link ReceiptLayout} per locale.
+ */
+@Data
+public class ReceiptTemplateDefinition {
+
+  private String id;
+  private String name;
+  private String description;
+
+  @JsonProperty("default")
+  private boolean defaultTemplate;
+
+  private ReceiptOutputFormat format = ReceiptOutputFormat.PDF;
+  private List<String> locales = List.of("uk", "en");
+  private Fonts fonts = new Fonts();
+  private Items items = new Items();
+  private Summary summary = new Summary();
+
+  /** Label overrides: locale -> message code -> text */
+  private Map<String, Map<String, String>> labels = Map.of();
+
+  @Data
+  public static class Fonts {
+    private int title = 16;
+    private int subtitle = 14;
+    private int normal = 10;
+    private int small = 9;
+    private int tiny = 8;
+  }
+
+  @Data
+  public static class Items {
+    private List<Column> columns = new ArrayList<>();
+  }
+
+  @Data
+  public static class Column {
+    private ReceiptItemField field;
+    private String label; // message code of the header
+    private float x;
+    private float width;
+    private boolean wrap; // wrap long values onto continuation lines instead of overflowing
+  }
+
+  @Data
+  public static class Summary {
+    private float labelX = 350;
+    private float valueX = 460;
+  }
+}
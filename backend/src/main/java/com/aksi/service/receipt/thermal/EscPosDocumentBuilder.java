@@ -0,0 +1,319 @@
+package com.aksi.service.receipt.thermal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.aksi.api.receipt.dto.ReceiptOutputFormat;
+import com.aksi.config.ReceiptConfiguration;
+import com.aksi.service.receipt.pdf.PdfConstants;
+import com.aksi.service.receipt.pdf.PdfDocumentBuilder;
+
+/**
+ * Receipt builder for 80 mm thermal printers. Sections lay out text in the same A4 point
+ * coordinates as for PDF; text runs are collected per baseline and mapped to character columns of
+ * the paper width. Output is either an ESC/POS byte stream in the configured code page or the same
+ * layout as plain UTF-8 text. The paper is continuous, so pages never break.
+ */
+public class EscPosDocumentBuilder implements PdfDocumentBuilder {
+
+  private static final float PAGE_WIDTH = 595f; // A4, the coordinate space sections draw in
+  private static final float PAGE_HEIGHT = 842f;
+  private static final float CONTENT_WIDTH =
+      PAGE_WIDTH - PdfConstants.MARGIN_LEFT - PdfConstants.MARGIN_RIGHT;
+
+  /** Vertical gaps above this many default lines become blank lines (at most two) */
+  private static final int MAX_BLANK_LINES = 2;
+
+  /** First run of an overflowing line is shortened down to this length at most */
+  private static final int MIN_TRUNCATED_LENGTH = 6;
+
+  private static final byte ESC = 0x1B;
+  private static final byte GS = 0x1D;
+  private static final byte LF = 0x0A;
+
+  private final ReceiptOutputFormat format;
+  private final ReceiptConfiguration.ThermalConfig config;
+  private final Charset charset;
+
+  /** Lines by baseline, top of the receipt first */
+  private final TreeMap<Float, Line> lines = new TreeMap<>(Comparator.reverseOrder());
+
+  private float currentY = PAGE_HEIGHT - PdfConstants.MARGIN_TOP;
+  private float textX;
+  private float textY = currentY;
+  private boolean bold;
+  private int fontSize = PdfConstants.FONT_SIZE_NORMAL;
+  private boolean closed;
+
+  public EscPosDocumentBuilder(
+      ReceiptOutputFormat format, ReceiptConfiguration.ThermalConfig config) {
+    this.format = format;
+    this.config = config;
+    this.charset =
+        format == ReceiptOutputFormat.TEXT
+            ? StandardCharsets.UTF_8
+            : Charset.forName(config.getCharset());
+  }
+
+  @Override
+  public PdfDocumentBuilder beginText() {
+    return this;
+  }
+
+  @Override
+  public PdfDocumentBuilder endText() {
+    return this;
+  }
+
+  @Override
+  public PdfDocumentBuilder setFont(String fontName, int size) {
+    bold = false;
+    fontSize = size;
+    return this;
+  }
+
+  @Override
+  public PdfDocumentBuilder setBoldFont(int size) {
+    bold = true;
+    fontSize = size;
+    return this;
+  }
+
+  @Override
+  public PdfDocumentBuilder setPosition(float x, float y) {
+    textX = x;
+    textY = y;
+    currentY = y;
+    return this;
+  }
+
+  @Override
+  public PdfDocumentBuilder drawText(String text) {
+    addRun(textX, textY, text, bold, fontSize >= PdfConstants.FONT_SIZE_SUBTITLE);
+    return this;
+  }
+
+  @Override
+  public PdfDocumentBuilder drawTextAt(String text, float x, float y) {
+    addRun(x, y, text, false, false);
+    currentY = y;
+    return this;
+  }
+
+  @Override
+  public PdfDocumentBuilder drawLine(float x1, float y1, float x2, float y2) {
+    lines.computeIfAbsent(y1, key -> new Line()).rule = true;
+    return this;
+  }
+
+  @Override
+  public PdfDocumentBuilder nextLine() {
+    return nextLine(PdfConstants.LINE_HEIGHT);
+  }
+
+  @Override
+  public PdfDocumentBuilder nextLine(float spacing) {
+    currentY -= spacing;
+    return this;
+  }
+
+  @Override
+  public float getCurrentY() {
+    return currentY;
+  }
+
+  @Override
+  public PdfDocumentBuilder setCurrentY(float y) {
+    currentY = y;
+    return this;
+  }
+
+  @Override
+  public float getPageWidth() {
+    return PAGE_WIDTH;
+  }
+
+  @Override
+  public float getPageHeight() {
+    return PAGE_HEIGHT;
+  }
+
+  @Override
+  public float getBottomY() {
+    return -Float.MAX_VALUE;
+  }
+
+  @Override
+  public float newPage() {
+    return currentY;
+  }
+
+  @Override
+  public byte[] build() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(2048);
+    writeTo(out);
+    return out.toByteArray();
+  }
+
+  @Override
+  public void writeTo(OutputStream out) throws IOException {
+    if (closed) {
+      throw new IllegalStateException("Document builder is already closed");
+    }
+    boolean escPos = format == ReceiptOutputFormat.ESC_POS;
+
+    if (escPos) {
+      out.write(new byte[] {ESC, '@', ESC, 't', (byte) config.getCodePage()});
+    }
+
+    Float previousY = null;
+    for (Map.Entry<Float, Line> entry : lines.entrySet()) {
+      if (previousY != null) {
+        for (int i = blankLinesBetween(previousY, entry.getKey()); i > 0; i--) {
+          out.write(LF);
+        }
+      }
+      writeLine(entry.getValue(), escPos, out);
+      previousY = entry.getKey();
+    }
+
+    if (escPos) {
+      out.write(new byte[] {ESC, 'd', (byte) config.getFeedLines()});
+      if (config.isCut()) {
+        out.write(new byte[] {GS, 'V', 66, 0}); // feed to cutter and partial cut
+      }
+    }
+    out.flush();
+    closed = true;
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+  }
+
+  private void addRun(float x, float y, String text, boolean bold, boolean large) {
+    if (text == null || text.isEmpty()) {
+      return;
+    }
+    Line line = lines.computeIfAbsent(y, key -> new Line());
+    line.runs.add(new Run(x, text, bold));
+    line.large |= large;
+  }
+
+  private void writeLine(Line line, boolean escPos, OutputStream out) throws IOException {
+    // Double width halves the characters per line; plain text keeps the full width
+    boolean large = escPos && line.large;
+    int width = large ? config.getColumns() / 2 : config.getColumns();
+
+    if (!line.runs.isEmpty()) {
+      List<Segment> segments = layout(line.runs, width);
+      if (large) {
+        out.write(new byte[] {GS, '!', 0x11});
+      }
+      for (Segment segment : segments) {
+        if (escPos && segment.bold()) {
+          out.write(new byte[] {ESC, 'E', 1});
+          out.write(segment.text().getBytes(charset));
+          out.write(new byte[] {ESC, 'E', 0});
+        } else {
+          out.write(segment.text().getBytes(charset));
+        }
+      }
+      if (large) {
+        out.write(new byte[] {GS, '!', 0});
+      }
+      out.write(LF);
+    }
+    if (line.rule) {
+      out.write("-".repeat(config.getColumns()).getBytes(charset));
+      out.write(LF);
+    }
+  }
+
+  /**
+   * Place runs at their columns. When the line overflows, runs are pulled left from the line end
+   * (keeping one space between them) and the first run is shortened to make room.
+   */
+  private List<Segment> layout(List<Run> runs, int width) {
+    runs.sort(Comparator.comparingDouble(Run::x));
+    int count = runs.size();
+    String[] texts = new String[count];
+    for (int i = 0; i < count; i++) {
+      texts[i] = runs.get(i).text();
+    }
+    int[] natural = naturalStarts(runs, texts, width);
+    if (count < 2 || natural[count - 1] + texts[count - 1].length() <= width) {
+      return compose(runs, texts, natural);
+    }
+
+    int[] starts = natural.clone();
+    int limit = width;
+    for (int i = count - 1; i > 0; i--) {
+      starts[i] = Math.min(starts[i], limit - texts[i].length());
+      limit = starts[i] - 1;
+    }
+    int firstLength = limit - starts[0];
+    if (firstLength < MIN_TRUNCATED_LENGTH) {
+      // Cannot fit: keep natural positions and let the printer wrap
+      return compose(runs, texts, natural);
+    }
+    if (firstLength < texts[0].length()) {
+      texts[0] = texts[0].substring(0, firstLength - 1) + "…";
+    }
+    return compose(runs, texts, starts);
+  }
+
+  private static int[] naturalStarts(List<Run> runs, String[] texts, int width) {
+    int[] starts = new int[texts.length];
+    int end = 0;
+    for (int i = 0; i < texts.length; i++) {
+      int column = column(runs.get(i).x(), width);
+      starts[i] = i == 0 ? column : Math.max(column, end + 1);
+      end = starts[i] + texts[i].length();
+    }
+    return starts;
+  }
+
+  private static List<Segment> compose(List<Run> runs, String[] texts, int[] starts) {
+    List<Segment> segments = new ArrayList<>(texts.length * 2);
+    int length = 0;
+    for (int i = 0; i < texts.length; i++) {
+      if (starts[i] > length) {
+        segments.add(new Segment(" ".repeat(starts[i] - length), false));
+        length = starts[i];
+      }
+      segments.add(new Segment(texts[i], runs.get(i).bold()));
+      length += texts[i].length();
+    }
+    return segments;
+  }
+
+  private static int column(float x, int width) {
+    int column = Math.round((x - PdfConstants.MARGIN_LEFT) / CONTENT_WIDTH * width);
+    return Math.clamp(column, 0, width - 1);
+  }
+
+  private static int blankLinesBetween(float previousY, float y) {
+    int lineSteps = Math.round((previousY - y) / PdfConstants.LINE_HEIGHT);
+    return Math.clamp(lineSteps - 1, 0, MAX_BLANK_LINES);
+  }
+
+  private static final class Line {
+    private final List<Run> runs = new ArrayList<>(4);
+    private boolean large;
+    private boolean rule;
+  }
+
+  private record Run(float x, String text, boolean bold) {}
+
+  private record Segment(String text, boolean bold) {}
+}
@@ -0,0 +1,59 @@
+package com.aksi.service.receipt.thermal;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.aksi.api.receipt.dto.ReceiptOrderData;
+import com.aksi.config.ReceiptConfiguration;
+import com.aksi.service.receipt.pdf.PdfConstants;
+import com.aksi.service.receipt.pdf.sections.CustomerSection;
+import com.aksi.service.receipt.pdf.sections.FooterSection;
+import com.aksi.service.receipt.pdf.sections.HeaderSection;
+import com.aksi.service.receipt.pdf.sections.ItemsTableSection;
+import com.aksi.service.receipt.pdf.sections.ReceiptSection;
+import com.aksi.service.receipt.pdf.sections.SummarySection;
+import com.aksi.service.receipt.template.ReceiptLayout;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/** Thermal printer receipt generator: the PDF receipt sections rendered as ESC/POS or plain text */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ThermalReceiptGenerator {
+
+  private final ReceiptConfiguration receiptConfiguration;
+  private final HeaderSection headerSection;
+  private final CustomerSection customerSection;
+  private final ItemsTableSection itemsTableSection;
+  private final SummarySection summarySection;
+  private final FooterSection footerSection;
+
+  /** Render receipt into the stream in the thermal format of the template layout */
+  public void write(ReceiptOrderData orderData, ReceiptLayout layout, OutputStream out)
+      throws IOException {
+    if (orderData == null) {
+      throw new IllegalArgumentException("Order data cannot be null");
+    }
+
+    log.debug(
+        "Generating {} receipt for order: {}", layout.format(), orderData.getOrderNumber());
+
+    try (EscPosDocumentBuilder builder =
+        new EscPosDocumentBuilder(layout.format(), receiptConfiguration.getThermal())) {
+      float y = builder.getPageHeight() - PdfConstants.MARGIN_TOP;
+
+      List<ReceiptSection> sections =
+          List.of(headerSection, customerSection, itemsTableSection, summarySection, footerSection);
+      for (ReceiptSection section : sections) {
+        y = section.draw(builder, orderData, y, layout);
+      }
+
+      builder.writeTo(out);
+    }
+  }
+}
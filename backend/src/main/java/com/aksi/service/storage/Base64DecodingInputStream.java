@@ -0,0 +1,170 @@
+package com.aksi.service.storage;
+
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.aksi.exception.BadRequestException;
+
+/**
+ * Decodes base64 text while it is read, so neither the text nor the decoded bytes are held in
+ * memory as a whole. An optional {@code data:<type>;base64,} prefix is skipped and its content type
+ * kept; line breaks and other whitespace are ignored; any other character outside the base64
+ * alphabet fails the read with {@link BadRequestException}.
+ */
+final class Base64DecodingInputStream extends FilterInputStream {
+
+  private static final int BUFFER_SIZE = 16 * 1024;
+  private static final int MAX_PREFIX_LENGTH = 256;
+  private static final String DATA_URL_SCHEME = "data:";
+  private static final String BASE64_MARKER = ";base64";
+
+  private final String declaredContentType;
+
+  private Base64DecodingInputStream(InputStream decoded, String declaredContentType) {
+    super(decoded);
+    this.declaredContentType = declaredContentType;
+  }
+
+  /** Decode base64 text arriving as ASCII bytes, e.g. a request body */
+  static Base64DecodingInputStream decode(InputStream encoded) {
+    BufferedInputStream in = new BufferedInputStream(encoded, BUFFER_SIZE);
+    String contentType;
+    try {
+      contentType = readDataUrlPrefix(in);
+    } catch (IOException ex) {
+      throw new BadRequestException("Could not read base64 data", ex);
+    }
+    return new Base64DecodingInputStream(
+        Base64.getDecoder().wrap(new WhitespaceSkippingInputStream(in)), contentType);
+  }
+
+  /** Decode base64 text already in memory without copying it */
+  static Base64DecodingInputStream decode(CharSequence encoded) {
+    return decode(new AsciiInputStream(encoded));
+  }
+
+  /** Content type named by a data URL prefix, or null if the text had none */
+  String declaredContentType() {
+    return declaredContentType;
+  }
+
+  // The decoder reports malformed input as IOException. A failing source does too, but then the
+  // client is gone and the status of the response no longer matters.
+
+  @Override
+  public int read() {
+    try {
+      return super.read();
+    } catch (IOException ex) {
+      throw new BadRequestException("Invalid base64 data provided", ex);
+    }
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) {
+    try {
+      return super.read(b, off, len);
+    } catch (IOException ex) {
+      throw new BadRequestException("Invalid base64 data provided", ex);
+    }
+  }
+
+  /** Consume a {@code data:<type>;base64,} prefix if there is one, returning its type */
+  private static String readDataUrlPrefix(BufferedInputStream in) throws IOException {
+    in.mark(MAX_PREFIX_LENGTH);
+    byte[] scheme = in.readNBytes(DATA_URL_SCHEME.length());
+    if (!DATA_URL_SCHEME.equals(new String(scheme, StandardCharsets.US_ASCII))) {
+      in.reset();
+      return null;
+    }
+    StringBuilder header = new StringBuilder();
+    int next;
+    while ((next = in.read()) != ',') {
+      if (next == -1 || header.length() >= MAX_PREFIX_LENGTH - DATA_URL_SCHEME.length()) {
+        throw new BadRequestException("Invalid data URL prefix");
+      }
+      header.append((char) next);
+    }
+    if (!header.toString().endsWith(BASE64_MARKER)) {
+      throw new BadRequestException("Data URL is not base64 encoded");
+    }
+    int parameters = header.indexOf(";");
+    return parameters > 0 ? header.substring(0, parameters) : null;
+  }
+
+  /** Drops whitespace, so that wrapped base64 is accepted by the strict decoder */
+  private static final class WhitespaceSkippingInputStream extends FilterInputStream {
+
+    WhitespaceSkippingInputStream(InputStream in) {
+      super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+      int next;
+      do {
+        next = in.read();
+      } while (next != -1 && isWhitespace(next));
+      return next;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      while (true) {
+        int read = in.read(b, off, len);
+        if (read <= 0) {
+          return read;
+        }
+        int kept = off;
+        for (int i = off; i < off + read; i++) {
+          if (!isWhitespace(b[i])) {
+            b[kept++] = b[i];
+          }
+        }
+        if (kept > off) {
+          return kept - off;
+        }
+      }
+    }
+
+    private static boolean isWhitespace(int value) {
+      return value == ' ' || value == '\n' || value == '\r' || value == '\t';
+    }
+  }
+
+  /** Reads the characters of a string as bytes; anything outside ASCII becomes an invalid byte */
+  private static final class AsciiInputStream extends InputStream {
+
+    private final CharSequence text;
+    private int position;
+
+    AsciiInputStream(CharSequence text) {
+      this.text = text;
+    }
+
+    @Override
+    public int read() {
+      return position < text.length() ? toByte(text.charAt(position++)) : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      if (position >= text.length()) {
+        return len == 0 ? 0 : -1;
+      }
+      int count = Math.min(len, text.length() - position);
+      for (int i = 0; i < count; i++) {
+        b[off + i] = (byte) toByte(text.charAt(position++));
+      }
+      return count;
+    }
+
+    private static int toByte(char c) {
+      return c < 0x80 ? c : '?';
+    }
+  }
+}
@@ -0,0 +1,121 @@
+package com.aksi.service.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Base64;
+
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+
+/**
+ * Stored file as base64 text, encoded chunk by chunk while it is read from its storage backend.
+ * Memory use per response is two small buffers regardless of the file size, and the encoded
+ * length is known upfront, so the response is not chunked.
+ */
+public class Base64FileResource extends AbstractResource {
+
+  /** Raw bytes per chunk; a multiple of 3, so chunks encode without padding in between */
+  private static final int CHUNK_SIZE = 48 * 1024;
+
+  private final Resource source;
+  private final long size;
+  private final String filename;
+
+  public Base64FileResource(Resource source, long size, String filename) {
+    this.source = source;
+    this.size = size;
+    this.filename = filename;
+  }
+
+  @Override
+  public InputStream getInputStream() throws IOException {
+    return new EncodingInputStream(source.getInputStream(), size);
+  }
+
+  @Override
+  public long contentLength() {
+    return encodedLength(size);
+  }
+
+  @Override
+  public boolean exists() {
+    return true;
+  }
+
+  @Override
+  public String getFilename() {
+    return filename + ".b64";
+  }
+
+  @Override
+  public String getDescription() {
+    return "Base64 encoded " + source.getDescription();
+  }
+
+  /** Length of the padded base64 encoding of the given number of bytes */
+  static long encodedLength(long size) {
+    return 4 * ((size + 2) / 3);
+  }
+
+  /** Encodes the first {@code size} bytes of the source, failing if the file got shorter */
+  private static final class EncodingInputStream extends InputStream {
+
+    private static final Base64.Encoder ENCODER = Base64.getEncoder();
+
+    private final InputStream source;
+    private final byte[] raw = new byte[CHUNK_SIZE];
+    private final byte[] encoded = new byte[(int) encodedLength(CHUNK_SIZE)];
+    private long remaining;
+    private int position;
+    private int limit;
+
+    EncodingInputStream(InputStream source, long size) {
+      this.source = source;
+      this.remaining = size;
+    }
+
+    @Override
+    public int read() throws IOException {
+      if (position == limit && !fill()) {
+        return -1;
+      }
+      return encoded[position++];
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      if (len == 0) {
+        return 0;
+      }
+      if (position == limit && !fill()) {
+        return -1;
+      }
+      int count = Math.min(len, limit - position);
+      System.arraycopy(encoded, position, b, off, count);
+      position += count;
+      return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+      source.close();
+    }
+
+    private boolean fill() throws IOException {
+      if (remaining == 0) {
+        return false;
+      }
+      int wanted = (int) Math.min(raw.length, remaining);
+      int read = source.readNBytes(raw, 0, wanted);
+      if (read < wanted) {
+        // Content-Length was announced from the size; a shorter body must fail, not truncate
+        throw new IOException("File changed while it was being encoded");
+      }
+      remaining -= read;
+      limit = ENCODER.encode(read == raw.length ? raw : Arrays.copyOf(raw, read), encoded);
+      position = 0;
+      return true;
+    }
+  }
+}
@@ -0,0 +1,222 @@
+package com.aksi.service.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+
+import com.aksi.exception.BadRequestException;
+import com.aksi.service.storage.backend.StorageBackend;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Low-level file operations of content-addressed storage. Uploads are streamed into a local temp
+ * file while their SHA-256 is computed, then handed to the {@link StorageBackend}, which makes them
+ * visible atomically, so a file is either complete under its final name or absent. Content files
+ * live under {@code cas/ab/cd/<sha256>}; the first two byte pairs of the hash spread them over 65536
+ * directories.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ContentAddressedFileStore {
+
+  static final String CONTENT_DIR = "cas";
+  static final String TEMP_DIR = ".tmp";
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final HexFormat HEX = HexFormat.of();
+  private static final Pattern CONTENT_HASH = Pattern.compile("[0-9a-f]{64}");
+
+  private final FilePathResolver pathResolver;
+  private final StorageBackend backend;
+
+  /** Content fully written to a temp file, not yet visible under any storage path */
+  public record StagedFile(Path tempFile, String contentHash, long size) {}
+
+  /**
+   * Stream content into a temp file, hashing it on the way
+   *
+   * @param in content, read to the end but not closed
+   * @param maxBytes upper bound of the content size; larger content is rejected without being
+   *     written in full
+   * @return staged file, to be passed to {@link #moveInto} or {@link #discard}
+   * @throws BadRequestException if the content is empty, too large or cannot be written
+   */
+  public StagedFile stage(InputStream in, long maxBytes) {
+    Path tempFile = null;
+    try {
+      tempFile = Files.createTempFile(pathResolver.resolveStagingDirectory(), "up-", "");
+      MessageDigest digest = sha256();
+      long size = 0;
+      byte[] buffer = new byte[BUFFER_SIZE];
+      try (OutputStream out = Files.newOutputStream(tempFile)) {
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+          size += read;
+          if (size > maxBytes) {
+            throw new BadRequestException(
+                String.format("File exceeds maximum allowed size (%d bytes)", maxBytes));
+          }
+          digest.update(buffer, 0, read);
+          out.write(buffer, 0, read);
+        }
+      }
+      if (size == 0) {
+        throw new BadRequestException("File is required and cannot be empty");
+      }
+      return new StagedFile(tempFile, HEX.formatHex(digest.digest()), size);
+    } catch (IOException ex) {
+      deleteQuietly(tempFile);
+      throw new BadRequestException("Could not store file. Please try again!", ex);
+    } catch (RuntimeException ex) {
+      deleteQuietly(tempFile);
+      throw ex;
+    }
+  }
+
+  /**
+   * Move a staged file to its storage path
+   *
+   * @param staged staged content
+   * @param relativePath target path relative to the storage root
+   * @param replace overwrite an existing file; otherwise an existing file is kept and the staged
+   *     copy discarded, which is only correct when the path is derived from the content hash
+   */
+  public void moveInto(StagedFile staged, String relativePath, boolean replace) {
+    String key = pathResolver.resolveKey(relativePath);
+    try {
+      if (!replace && backend.exists(key)) {
+        discard(staged);
+        return;
+      }
+      backend.put(key, staged.tempFile(), contentType(key));
+    } catch (IOException ex) {
+      discard(staged);
+      log.error("Error moving staged file into {}", relativePath, ex);
+      throw new BadRequestException("Could not store file. Please try again!", ex);
+    }
+  }
+
+  /** Delete a staged file that was not moved into place; safe to call more than once */
+  public void discard(StagedFile staged) {
+    deleteQuietly(staged.tempFile());
+  }
+
+  /**
+   * Re-read a stored file and compare its hash
+   *
+   * @return false if the file is missing, unreadable or its content changed
+   */
+  public boolean verify(String relativePath, String expectedHash) {
+    MessageDigest digest = sha256();
+    byte[] buffer = new byte[BUFFER_SIZE];
+    try (InputStream in = backend.open(pathResolver.resolveKey(relativePath))) {
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        digest.update(buffer, 0, read);
+      }
+    } catch (NoSuchFileException ex) {
+      return false;
+    } catch (IOException ex) {
+      log.warn("Could not read stored file {} for verification", relativePath, ex);
+      return false;
+    }
+    return HEX.formatHex(digest.digest()).equals(expectedHash);
+  }
+
+  /** Check whether a file exists at a storage path */
+  public boolean exists(String relativePath) {
+    try {
+      return backend.exists(pathResolver.resolveKey(relativePath));
+    } catch (IOException ex) {
+      log.warn("Could not check stored file {}", relativePath, ex);
+      return false;
+    }
+  }
+
+  /** Delete a stored file, returns false if it did not exist */
+  public boolean delete(String relativePath) throws IOException {
+    return backend.delete(pathResolver.resolveKey(relativePath));
+  }
+
+  /**
+   * Remove temp files left behind by uploads interrupted by a crash
+   *
+   * @param maxAge temp files older than this are no longer written to
+   * @return number of files removed
+   */
+  public int purgeStaleTempFiles(Duration maxAge) throws IOException {
+    Path tempDir = pathResolver.resolveStagingDirectory();
+    Instant cutoff = Instant.now().minus(maxAge);
+    int removed = 0;
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(tempDir)) {
+      for (Path file : files) {
+        if (Files.getLastModifiedTime(file).toInstant().isBefore(cutoff)
+            && Files.deleteIfExists(file)) {
+          removed++;
+        }
+      }
+    }
+    return removed;
+  }
+
+  /** Storage path of content with the given SHA-256 hex digest */
+  public static String contentPath(String contentHash) {
+    return CONTENT_DIR
+        + "/"
+        + contentHash.substring(0, 2)
+        + "/"
+        + contentHash.substring(2, 4)
+        + "/"
+        + contentHash;
+  }
+
+  /**
+   * Whether a storage path names original content, as opposed to a derivative stored next to it or
+   * any other file
+   */
+  public static boolean isContentPath(String path) {
+    String name = path.substring(path.lastIndexOf('/') + 1);
+    return CONTENT_HASH.matcher(name).matches() && path.equals(contentPath(name));
+  }
+
+  /** Content type recorded with the object; content files have no extension and are binary */
+  private static String contentType(String key) {
+    return MediaTypeFactory.getMediaType(key).orElse(MediaType.APPLICATION_OCTET_STREAM).toString();
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException("SHA-256 is not available", ex);
+    }
+  }
+
+  private static void deleteQuietly(Path file) {
+    if (file == null) {
+      return;
+    }
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException ex) {
+      log.warn("Could not delete temp file {}", file, ex);
+    }
+  }
+}
@@ -1,16 +1,19 @@
 package com.aksi.service.storage;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.attribute.BasicFileAttributes;
 import java.time.Instant;
 import java.util.Base64;
+import java.util.Optional;
 
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
+import com.aksi.service.storage.backend.StorageBackend;
+import com.aksi.service.storage.backend.StoredObject;
+
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -24,6 +27,7 @@ import lombok.extern.slf4j.Slf4j;
 public class FileMetadataService {
 
   private final FilePathResolver pathResolver;
+  private final StorageBackend backend;
 
   /** Get current user ID from security context */
   public String getCurrentUserId() {
@@ -38,32 +42,6 @@ public class FileMetadataService {
     return "system";
   }
 
-  /** Calculate file size from base64 data */
-  public long calculateBase64FileSize(String base64Data) {
-    if (base64Data == null || base64Data.isEmpty()) {
-      return 0L;
-    }
-
-    try {
-      // Remove data URL prefix if present
-      String cleanBase64 = base64Data.contains(",") ? base64Data.split(",")[1] : base64Data;
-
-      // Base64 encoding increases size by ~33%
-      // Formula: originalSize = (base64Length * 3) / 4
-      int padding = 0;
-      if (cleanBase64.endsWith("==")) {
-        padding = 2;
-      } else if (cleanBase64.endsWith("=")) {
-        padding = 1;
-      }
-
-      return (cleanBase64.length() * 3L) / 4L - padding;
-    } catch (Exception e) {
-      log.warn("Could not calculate base64 file size", e);
-      return 0L;
-    }
-  }
-
   /** Detect content type from base64 data URL */
   public String detectContentTypeFromBase64(String base64Data) {
     if (base64Data == null || base64Data.isEmpty()) {
@@ -77,9 +55,11 @@ public class FileMetadataService {
       }
 
       // Try to detect from first bytes
-      String cleanBase64 = base64Data.contains(",") ? base64Data.split(",")[1] : base64Data;
+      // Only the first characters are decoded; the data may be several megabytes
+      int start = base64Data.indexOf(',') + 1;
       byte[] bytes =
-          Base64.getDecoder().decode(cleanBase64.substring(0, Math.min(cleanBase64.length(), 100)));
+          Base64.getDecoder()
+              .decode(base64Data.substring(start, Math.min(base64Data.length(), start + 100)));
 
       return detectContentTypeFromBytes(bytes);
     } catch (Exception e) {
@@ -88,34 +68,37 @@ public class FileMetadataService {
     }
   }
 
+  /** Check if file exists */
+  public boolean exists(String filePath) {
+    try {
+      return backend.exists(pathResolver.resolveKey(filePath));
+    } catch (Exception e) {
+      log.debug("Error checking file existence: {}", filePath, e);
+      return false;
+    }
+  }
+
   /** Get file size in bytes */
   public long getFileSize(String filePath) {
     try {
-      Path path = pathResolver.resolveFilePath(filePath);
-      return Files.size(path);
+      return stat(filePath).map(StoredObject::size).orElse(0L);
     } catch (IOException e) {
       log.error("Could not get file size for: {}", filePath, e);
       return 0L;
     }
   }
 
-  /** Get content type from file */
+  /** Get content type from file name */
   public String getContentType(String filePath) {
-    try {
-      Path path = pathResolver.resolveFilePath(filePath);
-      String contentType = Files.probeContentType(path);
-      return contentType != null ? contentType : "application/octet-stream";
-    } catch (IOException e) {
-      log.error("Could not get content type for: {}", filePath, e);
-      return "application/octet-stream";
-    }
+    return MediaTypeFactory.getMediaType(filePath)
+        .map(MediaType::toString)
+        .orElse("application/octet-stream");
   }
 
   /** Check if file is readable */
   public boolean isFileReadable(String filePath) {
     try {
-      Path path = pathResolver.resolveFilePath(filePath);
-      return Files.isReadable(path);
+      return stat(filePath).isPresent();
     } catch (Exception e) {
       log.error("Could not check if file is readable: {}", filePath, e);
       return false;
@@ -125,15 +108,17 @@ public class FileMetadataService {
   /** Get last modified time */
   public Instant getLastModifiedTime(String filePath) {
     try {
-      Path path = pathResolver.resolveFilePath(filePath);
-      BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
-      return attrs.lastModifiedTime().toInstant();
+      return stat(filePath).map(StoredObject::lastModified).orElseGet(Instant::now);
     } catch (IOException e) {
       log.error("Could not get last modified time for: {}", filePath, e);
       return Instant.now();
     }
   }
 
+  private Optional<StoredObject> stat(String filePath) throws IOException {
+    return backend.stat(pathResolver.resolveKey(filePath));
+  }
+
   /** Detect content type from byte array */
   private String detectContentTypeFromBytes(byte[] bytes) {
     if (bytes.length < 4) {
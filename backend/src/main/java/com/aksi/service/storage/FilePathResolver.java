@@ -2,24 +2,29 @@ package com.aksi.service.storage;
 
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.aksi.api.file.dto.ImageSize;
 import com.aksi.exception.BadRequestException;
 
 import lombok.extern.slf4j.Slf4j;
 
 /**
- * Service for resolving and managing file paths Handles path operations, directory creation, and
- * path security
+ * Service for resolving and managing file paths Handles storage key validation, the local staging
+ * directory and file URLs
  */
 @Service
 @Slf4j
 public class FilePathResolver {
 
+  /** Kept apart from the staging directory, whose files are purged after a few hours */
+  static final String UPLOAD_SESSION_DIR = ".uploads";
+
   private final Path fileStorageLocation;
   private final String baseUrl;
   private final String apiPath;
@@ -35,39 +40,54 @@ public class FilePathResolver {
     initializeStorageDirectory();
   }
 
-  /** Resolve target directory path and create if needed */
-  public Path resolveAndCreateDirectory(String directory) {
+  /**
+   * Validate a storage key: relative, normalized and not escaping the storage root
+   *
+   * @param filePath path relative to the storage root, as used in file URLs
+   * @return normalized key to pass to the {@link com.aksi.service.storage.backend.StorageBackend}
+   */
+  public String resolveKey(String filePath) {
+    Path normalized;
     try {
-      Path targetDirectory = fileStorageLocation.resolve(directory).normalize();
-
-      // Security check - ensure directory is within storage location
-      if (!targetDirectory.startsWith(fileStorageLocation)) {
-        throw new BadRequestException("Invalid directory path: " + directory);
-      }
-
-      Files.createDirectories(targetDirectory);
-      return targetDirectory;
-    } catch (IOException ex) {
-      throw new BadRequestException("Could not create directory: " + directory, ex);
+      normalized = Paths.get(filePath).normalize();
+    } catch (InvalidPathException ex) {
+      throw new BadRequestException("Invalid file path: " + filePath);
     }
-  }
-
-  /** Resolve file path with security validation */
-  public Path resolveFilePath(String filePath) {
-    Path resolvedPath = fileStorageLocation.resolve(filePath).normalize();
 
-    // Security check - ensure file is within storage location
-    if (!resolvedPath.startsWith(fileStorageLocation)) {
+    // Security check - ensure key stays within storage location
+    if (normalized.isAbsolute()
+        || normalized.startsWith("..")
+        || normalized.toString().isEmpty()
+        || !fileStorageLocation.resolve(normalized).normalize().startsWith(fileStorageLocation)) {
       throw new BadRequestException("Invalid file path: " + filePath);
     }
 
-    return resolvedPath;
+    return normalized.toString().replace('\\', '/');
+  }
+
+  /**
+   * Local directory for uploads being written, created if needed. It stays on local disk whatever
+   * the storage backend, so content can be hashed and size-checked before it is stored.
+   */
+  public Path resolveStagingDirectory() {
+    Path stagingDirectory = fileStorageLocation.resolve(ContentAddressedFileStore.TEMP_DIR);
+    try {
+      Files.createDirectories(stagingDirectory);
+      return stagingDirectory;
+    } catch (IOException ex) {
+      throw new BadRequestException("Could not create directory: " + stagingDirectory, ex);
+    }
   }
 
-  /** Build target file location within directory */
-  public Path buildTargetLocation(String directory, String filename) {
-    Path targetDirectory = resolveAndCreateDirectory(directory);
-    return targetDirectory.resolve(filename);
+  /** Local directory holding the partial files of resumable uploads, created if needed */
+  public Path resolveUploadSessionDirectory() {
+    Path sessionDirectory = fileStorageLocation.resolve(UPLOAD_SESSION_DIR);
+    try {
+      Files.createDirectories(sessionDirectory);
+      return sessionDirectory;
+    } catch (IOException ex) {
+      throw new BadRequestException("Could not create directory: " + sessionDirectory, ex);
+    }
   }
 
   /** Build relative file path for storage */
@@ -80,6 +100,11 @@ public class FilePathResolver {
     return baseUrl + apiPath + "/" + filePath;
   }
 
+  /** Generate URL of a downscaled copy of an image */
+  public String generateFileUrl(String filePath, ImageSize size) {
+    return generateFileUrl(filePath) + "?size=" + size.getValue();
+  }
+
   /**
    * Try to extract relative storage path from a public URL
    *
@@ -95,17 +120,6 @@ public class FilePathResolver {
     return idx >= 0 ? url.substring(idx + marker.length()) : null;
   }
 
-  /** Check if file exists at given path */
-  public boolean fileExistsAtPath(String filePath) {
-    try {
-      Path file = resolveFilePath(filePath);
-      return Files.exists(file);
-    } catch (Exception ex) {
-      log.debug("Error checking file existence: {}", filePath, ex);
-      return false;
-    }
-  }
-
   /** Initialize storage directory on startup */
   private void initializeStorageDirectory() {
     try {
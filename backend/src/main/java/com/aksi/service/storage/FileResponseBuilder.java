@@ -50,17 +50,48 @@ public class FileResponseBuilder {
         .filePath(filePath)
         .fileUrl(pathResolver.generateFileUrl(filePath))
         .originalFilename(request.getFilename())
-        .fileSize(metadataService.calculateBase64FileSize(request.getBase64Data()))
+        .fileSize(metadataService.getFileSize(filePath))
         .contentType(metadataService.detectContentTypeFromBase64(request.getBase64Data()))
         .uploadedAt(Instant.now())
         .uploadedBy(metadataService.getCurrentUserId());
   }
 
+  /** Build FileUploadResponse from a base64 stream, described by the stored file */
+  public FileUploadResponse buildBase64StreamUploadResponse(String filename, String filePath) {
+    log.debug("Building base64 stream upload response for file: {}", filePath);
+
+    return new FileUploadResponse()
+        .success(true)
+        .filePath(filePath)
+        .fileUrl(pathResolver.generateFileUrl(filePath))
+        .originalFilename(filename)
+        .fileSize(metadataService.getFileSize(filePath))
+        .contentType(metadataService.getContentType(filePath))
+        .uploadedAt(Instant.now())
+        .uploadedBy(metadataService.getCurrentUserId());
+  }
+
+  /** Build FileUploadResponse from a completed resumable upload */
+  public FileUploadResponse buildChunkedUploadResponse(
+      String originalFilename, long fileSize, String filePath) {
+    log.debug("Building chunked upload response for file: {}", filePath);
+
+    return new FileUploadResponse()
+        .success(true)
+        .filePath(filePath)
+        .fileUrl(pathResolver.generateFileUrl(filePath))
+        .originalFilename(originalFilename)
+        .fileSize(fileSize)
+        .contentType(metadataService.getContentType(filePath))
+        .uploadedAt(Instant.now())
+        .uploadedBy(metadataService.getCurrentUserId());
+  }
+
   /** Build FileInfo DTO from file path */
   public FileInfo buildFileInfo(String filePath) {
     log.debug("Building file info for: {}", filePath);
 
-    boolean exists = pathResolver.fileExistsAtPath(filePath);
+    boolean exists = metadataService.exists(filePath);
 
     FileInfo fileInfo =
         new FileInfo()
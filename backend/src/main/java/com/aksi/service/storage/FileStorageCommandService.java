@@ -1,17 +1,15 @@
 package com.aksi.service.storage;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
-import java.util.Base64;
-import java.util.UUID;
+import java.io.InputStream;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.aksi.exception.BadRequestException;
+import com.aksi.service.storage.ContentAddressedFileStore.StagedFile;
+import com.aksi.service.storage.backend.StorageBackend;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -28,14 +26,46 @@ public class FileStorageCommandService {
 
   private final FilePathResolver pathResolver;
   private final FileValidationService validationService;
+  private final ContentAddressedFileStore fileStore;
+  private final StorageBackend backend;
 
-  /** Store multipart file with generated filename */
+  /**
+   * Store multipart file named after its SHA-256, so that re-uploading identical content into the
+   * same directory reuses the stored file instead of writing a copy
+   */
   public String storeFile(MultipartFile file, String directory) {
-    String filename = UUID.randomUUID().toString();
-    return storeFile(file, directory, filename);
+    log.debug("Storing content-named file in directory: {}", directory);
+
+    validationService.validateMultipartFile(file);
+    validationService.validateDirectoryPath(directory);
+
+    return storeStagedFile(stage(file), file.getOriginalFilename(), directory);
   }
 
-  /** Store multipart file with specified filename */
+  /**
+   * Store content already written to a staged file, e.g. assembled from the chunks of a resumable
+   * upload, named after its SHA-256 like a multipart upload. The staged file is consumed.
+   */
+  public String storeStagedFile(StagedFile staged, String originalFilename, String directory) {
+    try {
+      validationService.validateDirectoryPath(directory);
+      String fileExtension =
+          validationService.extractFileExtension(validationService.cleanFileName(originalFilename));
+      String finalFileName =
+          validationService.buildFinalFileName(staged.contentHash(), fileExtension);
+      validationService.validateFileName(finalFileName);
+
+      String relativePath = pathResolver.buildRelativePath(directory, finalFileName);
+      fileStore.moveInto(staged, relativePath, false);
+
+      log.info("Successfully stored file: {} (size: {} bytes)", relativePath, staged.size());
+      return relativePath;
+    } finally {
+      fileStore.discard(staged);
+    }
+  }
+
+  /** Store multipart file with specified filename, replacing an existing file atomically */
   public String storeFile(MultipartFile file, String directory, String filename) {
     log.debug("Storing file: {} in directory: {}", filename, directory);
 
@@ -52,58 +82,50 @@ public class FileStorageCommandService {
     // Validate final filename
     validationService.validateFileName(finalFileName);
 
+    StagedFile staged = stage(file);
     try {
-      // Build target location
-      Path targetLocation = pathResolver.buildTargetLocation(directory, finalFileName);
-
-      // Store file
-      Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
-
-      // Build relative path
       String relativePath = pathResolver.buildRelativePath(directory, finalFileName);
+      fileStore.moveInto(staged, relativePath, true);
 
-      log.info("Successfully stored file: {} (size: {} bytes)", relativePath, file.getSize());
+      log.info("Successfully stored file: {} (size: {} bytes)", relativePath, staged.size());
       return relativePath;
-
-    } catch (IOException ex) {
-      log.error("Error storing file: {} in directory: {}", finalFileName, directory, ex);
-      throw new BadRequestException(
-          "Could not store file " + finalFileName + ". Please try again!", ex);
+    } finally {
+      fileStore.discard(staged);
     }
   }
 
-  /** Store base64 encoded data as file */
+  /** Store base64 encoded data as file, decoding it without a copy of the decoded bytes */
   public String storeBase64File(String base64Data, String directory, String filename) {
     log.debug("Storing base64 data as file: {} in directory: {}", filename, directory);
 
-    // Validate inputs
     validationService.validateBase64Data(base64Data);
-    validationService.validateDirectoryPath(directory);
-    validationService.validateFileName(filename);
+    return storeBase64(Base64DecodingInputStream.decode(base64Data), directory, filename);
+  }
 
-    try {
-      // Clean and decode base64 data
-      String cleanBase64 = validationService.cleanBase64Data(base64Data);
-      byte[] decodedBytes = Base64.getDecoder().decode(cleanBase64);
+  /**
+   * Store base64 text read from a stream, e.g. a request body, decoding it on the way. Content
+   * beyond the maximum file size is rejected as soon as it is read.
+   */
+  public String storeBase64Stream(InputStream base64Data, String directory, String filename) {
+    log.debug("Storing streamed base64 data as file: {} in directory: {}", filename, directory);
 
-      // Build target location
-      Path targetLocation = pathResolver.buildTargetLocation(directory, filename);
+    return storeBase64(Base64DecodingInputStream.decode(base64Data), directory, filename);
+  }
 
-      // Write decoded bytes to file
-      Files.write(targetLocation, decodedBytes);
+  private String storeBase64(
+      Base64DecodingInputStream decoded, String directory, String filename) {
+    validationService.validateDirectoryPath(directory);
+    validationService.validateFileName(filename);
 
-      // Build relative path
+    StagedFile staged = fileStore.stage(decoded, FileValidationService.MAX_FILE_SIZE);
+    try {
       String relativePath = pathResolver.buildRelativePath(directory, filename);
+      fileStore.moveInto(staged, relativePath, true);
 
-      log.info("Successfully stored base64 file: {} ({} bytes)", relativePath, decodedBytes.length);
+      log.info("Successfully stored base64 file: {} ({} bytes)", relativePath, staged.size());
       return relativePath;
-
-    } catch (IllegalArgumentException ex) {
-      log.error("Invalid base64 data for file: {}", filename, ex);
-      throw new BadRequestException("Invalid base64 data provided", ex);
-    } catch (IOException ex) {
-      log.error("Error storing base64 file: {} in directory: {}", filename, directory, ex);
-      throw new BadRequestException("Could not store base64 data as file", ex);
+    } finally {
+      fileStore.discard(staged);
     }
   }
 
@@ -112,11 +134,13 @@ public class FileStorageCommandService {
     log.debug("Deleting file: {}", filePath);
 
     validationService.validateDirectoryPath(filePath);
+    if (filePath.startsWith(ContentAddressedFileStore.CONTENT_DIR + "/")) {
+      // Shared content is deleted by the scrubber once its last reference is released
+      throw new BadRequestException("Reference-counted file cannot be deleted directly: " + filePath);
+    }
 
     try {
-      Path fileToDelete = pathResolver.resolveFilePath(filePath);
-
-      boolean wasDeleted = Files.deleteIfExists(fileToDelete);
+      boolean wasDeleted = backend.delete(pathResolver.resolveKey(filePath));
 
       if (wasDeleted) {
         log.info("Successfully deleted file: {}", filePath);
@@ -129,4 +153,14 @@ public class FileStorageCommandService {
       throw new BadRequestException("Could not delete file: " + filePath, ex);
     }
   }
+
+  /** Stream upload into a size-bounded temp file; the declared size is not trusted */
+  private StagedFile stage(MultipartFile file) {
+    try (InputStream in = file.getInputStream()) {
+      return fileStore.stage(in, FileValidationService.MAX_FILE_SIZE);
+    } catch (IOException ex) {
+      log.error("Error reading uploaded file: {}", file.getOriginalFilename(), ex);
+      throw new BadRequestException("Could not store file. Please try again!", ex);
+    }
+  }
 }
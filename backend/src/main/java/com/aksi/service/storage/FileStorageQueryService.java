@@ -1,17 +1,26 @@
 package com.aksi.service.storage;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.util.Base64;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Optional;
 
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.aksi.domain.storage.StoredFileEntity;
 import com.aksi.exception.BadRequestException;
 import com.aksi.exception.NotFoundException;
+import com.aksi.repository.StoredFileRepository;
+import com.aksi.service.storage.backend.StorageBackend;
+import com.aksi.service.storage.backend.StoredObject;
+import com.aksi.service.storage.backend.StoredObjectResource;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -28,68 +37,116 @@ public class FileStorageQueryService {
 
   private final FilePathResolver pathResolver;
   private final FileValidationService validationService;
-
-  /** Check if file does not exist at given path */
-  private boolean fileNotExists(String filePath) {
-    log.debug("Checking file existence: {}", filePath);
-
-    validationService.validateDirectoryPath(filePath);
-    return !pathResolver.fileExistsAtPath(filePath);
-  }
-
-  /** Read file content as base64 encoded string */
+  private final StoredFileRepository storedFileRepository;
+  private final StorageBackend backend;
+
+  /**
+   * Read file content as base64 encoded string. The text is encoded from the file chunk by chunk
+   * into a single buffer; files larger than the upload limit are refused, they can only be
+   * streamed.
+   */
   public String readFileAsBase64(String filePath) {
     log.debug("Reading file as base64: {}", filePath);
 
-    validationService.validateDirectoryPath(filePath);
+    Base64FileResource encoded = openAsBase64(filePath);
+    long maxLength = Base64FileResource.encodedLength(FileValidationService.MAX_FILE_SIZE);
+    if (encoded.contentLength() > maxLength) {
+      throw new BadRequestException("File is too large to be returned as base64: " + filePath);
+    }
 
-    try {
-      Path file = pathResolver.resolveFilePath(filePath);
+    try (InputStream in = encoded.getInputStream()) {
+      byte[] text = new byte[(int) encoded.contentLength()];
+      int read = in.readNBytes(text, 0, text.length);
 
-      if (!Files.exists(file)) {
-        throw new BadRequestException("File not found: " + filePath);
-      }
+      log.debug("Successfully read file as base64: {} ({} characters)", filePath, read);
+      return new String(text, 0, read, StandardCharsets.US_ASCII);
 
-      if (!Files.isReadable(file)) {
-        throw new BadRequestException("File is not readable: " + filePath);
-      }
+    } catch (IOException ex) {
+      log.error("Error reading file as base64: {}", filePath, ex);
+      throw new BadRequestException("Could not read file as base64: " + filePath, ex);
+    }
+  }
 
-      byte[] fileContent = Files.readAllBytes(file);
-      String base64Content = Base64.getEncoder().encodeToString(fileContent);
+  /** Open file content as base64 text that is encoded while it is read */
+  public Base64FileResource openAsBase64(String filePath) {
+    log.debug("Opening file as base64 stream: {}", filePath);
 
-      log.debug("Successfully read file as base64: {} ({} bytes)", filePath, fileContent.length);
-      return base64Content;
+    validationService.validateDirectoryPath(filePath);
+    String key = pathResolver.resolveKey(filePath);
 
+    try {
+      StoredObject object =
+          backend.stat(key).orElseThrow(() -> new NotFoundException("File not found: " + filePath));
+      return new Base64FileResource(resourceOf(key, object), object.size(), fileName(key));
     } catch (IOException ex) {
-      log.error("Error reading file as base64: {}", filePath, ex);
+      log.error("Error opening file as base64: {}", filePath, ex);
       throw new BadRequestException("Could not read file as base64: " + filePath, ex);
     }
   }
 
-  /** Serve file as Resource for HTTP response with proper validation */
-  public Resource serveFile(String filePath) {
+  /**
+   * Resolve a file for an HTTP response. Original content-addressed files get their SHA-256 as
+   * entity tag and are marked immutable; derivatives and other files are tagged by modification
+   * time and size. Files on local disk are served as {@link FileSystemResource}, so they can be
+   * sent with sendfile; other backends are streamed.
+   */
+  public ServedFile serveFile(String filePath) {
     log.debug("Serving file resource: {}", filePath);
 
     validationService.validateDirectoryPath(filePath);
-
-    if (fileNotExists(filePath)) {
-      throw new NotFoundException("File not found: " + filePath);
-    }
+    String key = pathResolver.resolveKey(filePath);
 
     try {
-      Path file = pathResolver.resolveFilePath(filePath);
-      Resource resource = new UrlResource(file.toUri());
-
-      if (!resource.isReadable()) {
-        throw new NotFoundException("File is not readable: " + filePath);
-      }
+      StoredObject object =
+          backend.stat(key).orElseThrow(() -> new NotFoundException("File not found: " + filePath));
+      Instant lastModified = object.lastModified();
+      String fileName = fileName(key);
+
+      // Derivatives next to the content are regenerated after a repair, so they are revalidated
+      boolean original = ContentAddressedFileStore.isContentPath(key);
+      String etag =
+          original
+              ? "\"sha256-" + fileName + "\""
+              : "\""
+                  + Long.toHexString(lastModified.toEpochMilli())
+                  + "-"
+                  + Long.toHexString(object.size())
+                  + "\"";
+
+      MediaType contentType =
+          (original
+                  ? storedFileRepository
+                      .findByContentHash(fileName)
+                      .map(StoredFileEntity::getContentType)
+                      .flatMap(FileStorageQueryService::parseMediaType)
+                  : MediaTypeFactory.getMediaType(fileName))
+              .orElse(MediaType.APPLICATION_OCTET_STREAM);
 
       log.debug("Successfully prepared file resource: {}", filePath);
-      return resource;
+      return new ServedFile(resourceOf(key, object), contentType, lastModified, etag, original);
 
     } catch (IOException ex) {
       log.error("Error serving file: {}", filePath, ex);
       throw new NotFoundException("File not found: " + filePath);
     }
   }
+
+  private Resource resourceOf(String key, StoredObject object) {
+    return backend
+        .localPath(key)
+        .<Resource>map(FileSystemResource::new)
+        .orElseGet(() -> new StoredObjectResource(backend, key, object));
+  }
+
+  private static String fileName(String key) {
+    return key.substring(key.lastIndexOf('/') + 1);
+  }
+
+  private static Optional<MediaType> parseMediaType(String contentType) {
+    try {
+      return Optional.of(MediaType.parseMediaType(contentType));
+    } catch (InvalidMediaTypeException ex) {
+      return Optional.empty();
+    }
+  }
 }
@@ -1,5 +1,7 @@
 package com.aksi.service.storage;
 
+import java.io.InputStream;
+
 import org.springframework.core.io.Resource;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -7,6 +9,7 @@ import com.aksi.api.file.dto.Base64FileResponse;
 import com.aksi.api.file.dto.Base64FileUploadRequest;
 import com.aksi.api.file.dto.FileInfo;
 import com.aksi.api.file.dto.FileUploadResponse;
+import com.aksi.api.file.dto.ImageSize;
 
 /**
  * Service interface for file storage operations Uses OpenAPI-generated DTOs following API-first
@@ -41,6 +44,16 @@ public interface FileStorageService {
    */
   FileUploadResponse storeBase64File(Base64FileUploadRequest request);
 
+  /**
+   * Store base64 text read from a stream, decoding it without holding the content in memory
+   *
+   * @param base64Data Base64 text, optionally with data URL prefix; read to the end, not closed
+   * @param directory The directory to store the file in
+   * @param filename The filename to use
+   * @return FileUploadResponse with storage details
+   */
+  FileUploadResponse storeBase64Stream(InputStream base64Data, String directory, String filename);
+
   /**
    * Get detailed file information using API DTO pattern
    *
@@ -50,12 +63,14 @@ public interface FileStorageService {
   FileInfo getFileInfo(String filePath);
 
   /**
-   * Serve a file as Resource for HTTP response with proper headers
+   * Resolve a file for HTTP response, with entity tag and caching policy. With a size, images are
+   * replaced by a downscaled copy; other files are served as they are.
    *
    * @param filePath The file path to serve
-   * @return Resource for HTTP response
+   * @param size The requested image size, or null for the file itself
+   * @return File with response metadata
    */
-  Resource serveFile(String filePath);
+  ServedFile serveFile(String filePath, ImageSize size);
 
   /**
    * Delete a file
@@ -71,4 +86,12 @@ public interface FileStorageService {
    * @return Base64FileResponse with file content and metadata
    */
   Base64FileResponse getFileAsBase64(String filePath);
+
+  /**
+   * Get file content as base64 text that is encoded while the response is written
+   *
+   * @param filePath The file path to read
+   * @return Resource with the encoded content and its length
+   */
+  Resource getFileAsBase64Stream(String filePath);
 }
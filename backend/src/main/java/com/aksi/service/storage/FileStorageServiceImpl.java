@@ -1,5 +1,7 @@
 package com.aksi.service.storage;
 
+import java.io.InputStream;
+
 import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -9,6 +11,7 @@ import com.aksi.api.file.dto.Base64FileResponse;
 import com.aksi.api.file.dto.Base64FileUploadRequest;
 import com.aksi.api.file.dto.FileInfo;
 import com.aksi.api.file.dto.FileUploadResponse;
+import com.aksi.api.file.dto.ImageSize;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,6 +29,8 @@ public class FileStorageServiceImpl implements FileStorageService {
   private final FileStorageQueryService queryService;
   private final FileStorageCommandService commandService;
   private final FileResponseBuilder responseBuilder;
+  private final FileValidationService validationService;
+  private final ImageDerivativeService derivativeService;
 
   // Command operations
 
@@ -56,6 +61,15 @@ public class FileStorageServiceImpl implements FileStorageService {
     return responseBuilder.buildBase64UploadResponse(request, filePath);
   }
 
+  @Override
+  @Transactional
+  public FileUploadResponse storeBase64Stream(
+      InputStream base64Data, String directory, String filename) {
+    log.debug("Storing streamed base64 file {} in directory: {}", filename, directory);
+    String filePath = commandService.storeBase64Stream(base64Data, directory, filename);
+    return responseBuilder.buildBase64StreamUploadResponse(filename, filePath);
+  }
+
   @Override
   @Transactional
   public void deleteFile(String filePath) {
@@ -72,9 +86,18 @@ public class FileStorageServiceImpl implements FileStorageService {
   }
 
   @Override
-  public Resource serveFile(String filePath) {
-    log.debug("Serving file: {}", filePath);
-    return queryService.serveFile(filePath);
+  public ServedFile serveFile(String filePath, ImageSize size) {
+    if (size == null) {
+      log.debug("Serving file: {}", filePath);
+      return queryService.serveFile(filePath);
+    }
+    log.debug("Serving {} copy of file: {}", size, filePath);
+    validationService.validateDirectoryPath(filePath);
+    String servedPath = derivativeService.resolve(filePath, size);
+    ServedFile file = queryService.serveFile(servedPath);
+    // Served the original in place of a derivative that could not be generated: the same URL
+    // answers with the derivative once it exists, so the response must not be cached as immutable
+    return servedPath.equals(filePath) ? file.revalidated() : file;
   }
 
   @Override
@@ -83,4 +106,10 @@ public class FileStorageServiceImpl implements FileStorageService {
     String base64Data = queryService.readFileAsBase64(filePath);
     return responseBuilder.buildBase64Response(filePath, base64Data);
   }
+
+  @Override
+  public Resource getFileAsBase64Stream(String filePath) {
+    log.debug("Streaming file as base64: {}", filePath);
+    return queryService.openAsBase64(filePath);
+  }
 }
@@ -13,7 +13,7 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class FileValidationService {
 
-  private static final long MAX_FILE_SIZE = 10 * 1024 * 1024; // 10MB
+  static final long MAX_FILE_SIZE = 10 * 1024 * 1024; // 10MB
 
   /** Validate multipart file */
   public void validateMultipartFile(MultipartFile file) {
@@ -21,12 +21,7 @@ public class FileValidationService {
       throw new BadRequestException("File is required and cannot be empty");
     }
 
-    if (file.getSize() > MAX_FILE_SIZE) {
-      throw new BadRequestException(
-          String.format(
-              "File size (%d bytes) exceeds maximum allowed size (%d bytes)",
-              file.getSize(), MAX_FILE_SIZE));
-    }
+    validateFileSize(file.getSize());
 
     String contentType = file.getContentType();
     if (contentType == null) {
@@ -34,6 +29,16 @@ public class FileValidationService {
     }
   }
 
+  /** Validate declared file size against the upload limit */
+  public void validateFileSize(long size) {
+    if (size > MAX_FILE_SIZE) {
+      throw new BadRequestException(
+          String.format(
+              "File size (%d bytes) exceeds maximum allowed size (%d bytes)",
+              size, MAX_FILE_SIZE));
+    }
+  }
+
   /** Validate file name for security */
   public void validateFileName(String fileName) {
     if (fileName == null || fileName.trim().isEmpty()) {
@@ -66,14 +71,10 @@ public class FileValidationService {
       throw new BadRequestException("Base64 data cannot be empty");
     }
 
-    // Basic base64 validation
-    try {
-      String cleanBase64 = cleanBase64Data(base64Data);
-      if (cleanBase64.length() % 4 != 0) {
-        throw new BadRequestException("Invalid base64 data format");
-      }
-    } catch (Exception e) {
-      throw new BadRequestException("Invalid base64 data: " + e.getMessage());
+    // Basic base64 validation, on the characters after a data URL prefix without copying them
+    int start = base64Data.indexOf(',') + 1;
+    if ((base64Data.length() - start) % 4 != 0) {
+      throw new BadRequestException("Invalid base64 data format");
     }
   }
 
@@ -94,19 +95,6 @@ public class FileValidationService {
     return (dotIndex == -1) ? "" : fileName.substring(dotIndex + 1);
   }
 
-  /** Clean base64 data by removing data URL prefix */
-  public String cleanBase64Data(String base64Data) {
-    if (base64Data == null) {
-      return "";
-    }
-
-    if (base64Data.contains(",")) {
-      return base64Data.split(",")[1];
-    }
-
-    return base64Data;
-  }
-
   /** Build final filename with extension */
   public String buildFinalFileName(String filename, String extension) {
     if (extension == null || extension.isEmpty()) {
@@ -0,0 +1,213 @@
+package com.aksi.service.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+import org.springframework.stereotype.Service;
+
+import com.aksi.api.file.dto.ImageSize;
+import com.aksi.config.ImageDerivativeProperties;
+import com.aksi.service.storage.backend.StorageBackend;
+import com.aksi.service.storage.image.ImageDerivativeGenerator;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Thumbnails and previews of stored images. A derivative is stored next to its original as {@code
+ * <original>.<size>.jpg}, generated in the background after upload and again on first request if
+ * it is missing. Files that cannot be decoded as images are served as they are.
+ */
+@Service
+@Slf4j
+public class ImageDerivativeService {
+
+  private static final String DERIVATIVE_EXTENSION = ".jpg";
+
+  private final FilePathResolver pathResolver;
+  private final StorageBackend backend;
+  private final ImageDerivativeGenerator generator;
+  private final ImageDerivativeProperties properties;
+  private final MeterRegistry meterRegistry;
+
+  /** Bounds decoded bitmaps in memory across background and on-request generation */
+  private final Semaphore decodePermits;
+
+  /** Generations in progress, so that concurrent requests for one derivative share the work */
+  private final ConcurrentHashMap<String, CompletableFuture<Boolean>> inFlight =
+      new ConcurrentHashMap<>();
+
+  public ImageDerivativeService(
+      FilePathResolver pathResolver,
+      StorageBackend backend,
+      ImageDerivativeGenerator generator,
+      ImageDerivativeProperties properties,
+      MeterRegistry meterRegistry) {
+    this.pathResolver = pathResolver;
+    this.backend = backend;
+    this.generator = generator;
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+    this.decodePermits = new Semaphore(Math.max(1, properties.getMaxConcurrent()));
+  }
+
+  /** Storage path of a derivative of the given original */
+  public static String derivativePath(String originalPath, ImageSize size) {
+    return originalPath + "." + size.getValue().toLowerCase(Locale.ROOT) + DERIVATIVE_EXTENSION;
+  }
+
+  /** Storage path of the original a derivative was made from, or the path itself otherwise */
+  public static String originalPath(String path) {
+    for (ImageSize size : ImageSize.values()) {
+      String suffix = "." + size.getValue().toLowerCase(Locale.ROOT) + DERIVATIVE_EXTENSION;
+      if (path.endsWith(suffix)) {
+        return path.substring(0, path.length() - suffix.length());
+      }
+    }
+    return path;
+  }
+
+  /**
+   * Path to serve for a sized request: the derivative, generated now if missing, or the original
+   * when it does not exist or is not an image
+   */
+  public String resolve(String originalPath, ImageSize size) {
+    if (isDerivative(originalPath)) {
+      return originalPath;
+    }
+    String derivativePath = derivativePath(originalPath, size);
+    if (exists(derivativePath)) {
+      return derivativePath;
+    }
+    if (!exists(originalPath)) {
+      return originalPath;
+    }
+    return generate(originalPath, size) ? derivativePath : originalPath;
+  }
+
+  /** Generate every missing derivative of an image */
+  public void generateAll(String originalPath) {
+    for (ImageSize size : ImageSize.values()) {
+      if (exists(derivativePath(originalPath, size))) {
+        continue;
+      }
+      if (!generate(originalPath, size)) {
+        return;
+      }
+    }
+  }
+
+  /** Delete all derivatives of an original */
+  public void deleteDerivatives(String originalPath) {
+    for (ImageSize size : ImageSize.values()) {
+      String derivativePath = derivativePath(originalPath, size);
+      try {
+        backend.delete(pathResolver.resolveKey(derivativePath));
+      } catch (IOException e) {
+        log.warn("Could not delete image derivative {}", derivativePath, e);
+      }
+    }
+  }
+
+  private boolean generate(String originalPath, ImageSize size) {
+    String derivativePath = derivativePath(originalPath, size);
+    CompletableFuture<Boolean> generation = new CompletableFuture<>();
+    CompletableFuture<Boolean> running = inFlight.putIfAbsent(derivativePath, generation);
+    if (running != null) {
+      return running.join();
+    }
+    boolean generated = false;
+    try {
+      generated = write(originalPath, derivativePath, maxDimension(size));
+      return generated;
+    } finally {
+      generation.complete(generated);
+      inFlight.remove(derivativePath, generation);
+    }
+  }
+
+  /** Write through a temp file, so a half-written derivative is never served */
+  private boolean write(String originalPath, String derivativePath, int maxDimension) {
+    Timer.Sample sample = Timer.start(meterRegistry);
+    Path tempFile = null;
+    Path sourceCopy = null;
+    boolean generated = false;
+    try {
+      String originalKey = pathResolver.resolveKey(originalPath);
+      Path source = backend.localPath(originalKey).orElse(null);
+      if (source == null) {
+        // Decoding seeks within the file, so remote content is fetched once into staging
+        sourceCopy = Files.createTempFile(pathResolver.resolveStagingDirectory(), "src-", "");
+        try (InputStream in = backend.open(originalKey)) {
+          Files.copy(in, sourceCopy, StandardCopyOption.REPLACE_EXISTING);
+        }
+        source = sourceCopy;
+      }
+      decodePermits.acquire();
+      try {
+        tempFile =
+            Files.createTempFile(
+                pathResolver.resolveStagingDirectory(), "img-", DERIVATIVE_EXTENSION);
+        try (OutputStream out = Files.newOutputStream(tempFile)) {
+          generated = generator.generate(source, out, maxDimension, properties.getQuality());
+        }
+      } finally {
+        decodePermits.release();
+      }
+      if (generated) {
+        backend.put(pathResolver.resolveKey(derivativePath), tempFile, "image/jpeg");
+        log.debug("Generated image derivative {}", derivativePath);
+      }
+      return generated;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    } catch (IOException | RuntimeException e) {
+      log.warn("Could not generate image derivative {}", derivativePath, e);
+      return false;
+    } finally {
+      deleteQuietly(tempFile);
+      deleteQuietly(sourceCopy);
+      sample.stop(
+          meterRegistry.timer(
+              "storage.image.derivatives", "result", generated ? "generated" : "skipped"));
+    }
+  }
+
+  private boolean exists(String path) {
+    try {
+      return backend.exists(pathResolver.resolveKey(path));
+    } catch (IOException | RuntimeException e) {
+      log.debug("Could not check image file {}", path, e);
+      return false;
+    }
+  }
+
+  private int maxDimension(ImageSize size) {
+    return size == ImageSize.THUMBNAIL ? properties.getThumbnailSize() : properties.getPreviewSize();
+  }
+
+  private static boolean isDerivative(String path) {
+    return !originalPath(path).equals(path);
+  }
+
+  private static void deleteQuietly(Path file) {
+    if (file == null) {
+      return;
+    }
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      log.warn("Could not delete temp file {}", file, e);
+    }
+  }
+}
@@ -0,0 +1,501 @@
+package com.aksi.service.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.aksi.api.order.dto.ItemPhotoInfo;
+import com.aksi.api.order.dto.OrderItemInfo;
+import com.aksi.config.FileGcProperties;
+import com.aksi.config.FileGcProperties.Action;
+import com.aksi.exception.ConflictException;
+import com.aksi.repository.ItemPhotoRepository;
+import com.aksi.repository.OrderArchiveEntryRepository;
+import com.aksi.repository.StoredFileRepository;
+import com.aksi.service.order.archive.OrderArchiveReader;
+import com.aksi.service.storage.backend.StorageBackend;
+import com.aksi.service.storage.backend.StoredObject;
+import com.aksi.util.RedisLease;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Finds stored files nothing references any more and quarantines or deletes them.
+ *
+ * <p>The storage partitions (shard directories on local disk, top-level prefixes in a bucket) are
+ * walked in parallel. Files in the configured directories that are older than the grace period
+ * are collected into batches and checked against the database with one {@code IN} query per
+ * batch: content-addressed files against stored file records, files stored by path against the
+ * photos of the order items named in their path and against photos of archived orders. Image
+ * derivatives live and die with their original. Files whose path matches neither scheme are left
+ * alone.
+ *
+ * <p>Each orphan is checked once more right before it is moved or deleted: content-addressed
+ * files under the row lock an upload of the same content takes, so content registered since the
+ * batch query is kept, and every file for a modification time past the grace period, so a file an
+ * upload has just replaced is kept.
+ *
+ * <p>Quarantined files are moved to {@code <quarantine>/<date>/<original path>}, from where they
+ * can be moved back by hand, and are deleted once the retention period has passed. Moves and
+ * deletes are throttled so that a large backlog does not starve file serving of disk I/O. A Redis
+ * lease lets only one instance collect at a time.
+ */
+@Service
+@Slf4j
+public class OrphanFileCollector {
+
+  private static final String CONTENT_ADDRESSED_PREFIX = "cas/";
+  private static final Pattern LEGACY_PHOTO_PATH =
+      Pattern.compile("orders/[0-9a-fA-F-]{36}/items/([0-9a-fA-F-]{36})/photos/[^/]+");
+  private static final int SAMPLE_SIZE = 100;
+
+  private final StorageBackend backend;
+  private final FilePathResolver pathResolver;
+  private final StoredFileRepository storedFileRepository;
+  private final ItemPhotoRepository itemPhotoRepository;
+  private final OrderArchiveEntryRepository archiveEntryRepository;
+  private final OrderArchiveReader archiveReader;
+  private final FileGcProperties properties;
+  private final MeterRegistry meterRegistry;
+  private final TransactionTemplate transactionTemplate;
+  private final RedisLease lease;
+
+  /** Photo paths referenced by each archive file; archives are never rewritten */
+  private final Map<String, Set<String>> archivedPhotoPaths = new ConcurrentHashMap<>();
+
+  public OrphanFileCollector(
+      StorageBackend backend,
+      FilePathResolver pathResolver,
+      StoredFileRepository storedFileRepository,
+      ItemPhotoRepository itemPhotoRepository,
+      OrderArchiveEntryRepository archiveEntryRepository,
+      OrderArchiveReader archiveReader,
+      FileGcProperties properties,
+      MeterRegistry meterRegistry,
+      TransactionTemplate transactionTemplate,
+      StringRedisTemplate redisTemplate) {
+    this.backend = backend;
+    this.pathResolver = pathResolver;
+    this.storedFileRepository = storedFileRepository;
+    this.itemPhotoRepository = itemPhotoRepository;
+    this.archiveEntryRepository = archiveEntryRepository;
+    this.archiveReader = archiveReader;
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+    this.transactionTemplate = transactionTemplate;
+    this.lease = new RedisLease(redisTemplate, properties.getLeaseKey(), properties.getLeaseTtl());
+  }
+
+  /**
+   * Result of one run
+   *
+   * @param action what was done with orphans
+   * @param scanned files listed in the configured directories
+   * @param orphans files found unreferenced
+   * @param orphanBytes total size of the orphans
+   * @param reclaimedBytes bytes freed by moving or deleting orphans
+   * @param quarantinePurged quarantined files deleted after their retention period
+   * @param failedPartitions partitions whose walk stopped on an error
+   * @param durationMs run time
+   * @param sample paths of the first orphans found
+   */
+  public record GcReport(
+      Action action,
+      long scanned,
+      long orphans,
+      long orphanBytes,
+      long reclaimedBytes,
+      int quarantinePurged,
+      int failedPartitions,
+      long durationMs,
+      List<String> sample) {}
+
+  /**
+   * Collect orphaned files
+   *
+   * @param action what to do with orphans; {@link Action#REPORT} is a dry run
+   * @return what was found and done
+   * @throws ConflictException if a collection is running on any instance
+   */
+  public GcReport collect(Action action) {
+    if (!lease.tryAcquire()) {
+      throw new ConflictException("File garbage collection is already running");
+    }
+    try {
+      return run(action);
+    } finally {
+      lease.release();
+    }
+  }
+
+  private GcReport run(Action action) {
+    long started = System.currentTimeMillis();
+    Instant now = Instant.now();
+
+    // Step 1: Photo paths of archived orders, read before anything can be deleted
+    Set<String> archived = archivedPhotoPaths();
+
+    // Step 2: Walk the partitions in parallel
+    List<String> partitions;
+    try {
+      partitions = backend.partitions();
+    } catch (IOException ex) {
+      throw new IllegalStateException("Could not list storage partitions", ex);
+    }
+    Run run = new Run(action, now, archived);
+    int failed = 0;
+    ExecutorService walkers =
+        Executors.newFixedThreadPool(
+            Math.max(1, properties.getParallelism()),
+            Thread.ofPlatform().name("file-gc-", 0).factory());
+    try {
+      Map<String, Future<?>> walks = new HashMap<>();
+      for (String partition : partitions) {
+        walks.put(partition, walkers.submit(() -> run.walk(partition)));
+      }
+      for (Map.Entry<String, Future<?>> walk : walks.entrySet()) {
+        try {
+          walk.getValue().get();
+        } catch (ExecutionException ex) {
+          failed++;
+          log.error("File garbage collection of partition {} failed", walk.getKey(), ex.getCause());
+        }
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("File garbage collection was interrupted", ex);
+    } finally {
+      walkers.shutdownNow();
+    }
+
+    meterRegistry
+        .counter("storage.gc.orphans", "action", action.name())
+        .increment(run.orphans.get());
+    meterRegistry.counter("storage.gc.reclaimed.bytes").increment(run.reclaimedBytes.get());
+    meterRegistry.counter("storage.gc.quarantine.purged").increment(run.quarantinePurged.get());
+
+    var report =
+        new GcReport(
+            action,
+            run.scanned.get(),
+            run.orphans.get(),
+            run.orphanBytes.get(),
+            run.reclaimedBytes.get(),
+            run.quarantinePurged.get(),
+            failed,
+            System.currentTimeMillis() - started,
+            List.copyOf(run.sample));
+    log.info(
+        "Collected orphaned files in {} ms ({}): {} scanned, {} orphans of {} bytes, {} bytes"
+            + " reclaimed, {} quarantined files purged, {} partitions failed",
+        report.durationMs(),
+        action,
+        report.scanned(),
+        report.orphans(),
+        report.orphanBytes(),
+        report.reclaimedBytes(),
+        report.quarantinePurged(),
+        failed);
+    return report;
+  }
+
+  /** Relative paths of legacy photos of every archived order, cached per archive file */
+  private Set<String> archivedPhotoPaths() {
+    List<String> archiveFiles = archiveEntryRepository.findDistinctArchiveFiles();
+    archivedPhotoPaths.keySet().retainAll(archiveFiles);
+    Set<String> paths = new HashSet<>();
+    for (String archiveFile : archiveFiles) {
+      paths.addAll(archivedPhotoPaths.computeIfAbsent(archiveFile, this::readPhotoPaths));
+    }
+    return paths;
+  }
+
+  private Set<String> readPhotoPaths(String archiveFile) {
+    Set<String> paths = new HashSet<>();
+    archiveReader.forEachOrder(
+        archiveFile,
+        order -> {
+          for (OrderItemInfo item :
+              Objects.requireNonNullElse(order.getItems(), List.<OrderItemInfo>of())) {
+            for (ItemPhotoInfo photo :
+                Objects.requireNonNullElse(item.getPhotos(), List.<ItemPhotoInfo>of())) {
+              String path = pathResolver.extractRelativePathFromUrl(photo.getUrl());
+              if (path != null) {
+                paths.add(path);
+              }
+            }
+          }
+        });
+    log.debug("Read {} photo paths from archive {}", paths.size(), archiveFile);
+    return Set.copyOf(paths);
+  }
+
+  /** State of one run, shared by its walkers */
+  private final class Run {
+
+    private final Action action;
+    private final Instant cutoff;
+    private final LocalDate quarantineDate;
+    private final LocalDate quarantineExpiry;
+    private final Set<String> archived;
+    private final Throttle throttle;
+
+    private final AtomicLong scanned = new AtomicLong();
+    private final AtomicLong orphans = new AtomicLong();
+    private final AtomicLong orphanBytes = new AtomicLong();
+    private final AtomicLong reclaimedBytes = new AtomicLong();
+    private final AtomicInteger quarantinePurged = new AtomicInteger();
+    private final List<String> sample = Collections.synchronizedList(new ArrayList<>());
+
+    Run(Action action, Instant now, Set<String> archived) {
+      this.action = action;
+      this.cutoff = now.minus(properties.getGracePeriod());
+      this.quarantineDate = LocalDate.ofInstant(now, ZoneOffset.UTC);
+      this.quarantineExpiry =
+          LocalDate.ofInstant(now.minus(properties.getQuarantineRetention()), ZoneOffset.UTC);
+      this.archived = archived;
+      this.throttle = new Throttle(properties.getMaxOperationsPerSecond());
+    }
+
+    void walk(String partition) {
+      List<Candidate> batch = new ArrayList<>();
+      try {
+        backend.list(
+            partition,
+            (key, object) -> {
+              if (isQuarantined(key)) {
+                purgeIfExpired(key);
+              } else if (isCollected(key)) {
+                scanned.incrementAndGet();
+                if (object.lastModified().isBefore(cutoff)) {
+                  batch.add(new Candidate(key, object));
+                  if (batch.size() >= properties.getBatchSize()) {
+                    process(batch);
+                    batch.clear();
+                  }
+                }
+              }
+            });
+      } catch (IOException ex) {
+        throw new IllegalStateException("Could not list storage partition " + partition, ex);
+      }
+      process(batch);
+    }
+
+    private void process(List<Candidate> batch) {
+      if (batch.isEmpty()) {
+        return;
+      }
+      Set<String> referenced = referencedPaths(batch);
+      for (Candidate candidate : batch) {
+        String original = ImageDerivativeService.originalPath(candidate.key());
+        if (referenced.contains(original)
+            || archived.contains(original)
+            || !isKnownScheme(original)) {
+          continue;
+        }
+        orphans.incrementAndGet();
+        orphanBytes.addAndGet(candidate.object().size());
+        if (sample.size() < SAMPLE_SIZE) {
+          sample.add(candidate.key());
+        }
+        if (action != Action.REPORT && dispose(candidate, original)) {
+          reclaimedBytes.addAndGet(candidate.object().size());
+        }
+      }
+    }
+
+    /** Paths among the originals of a batch that the database refers to */
+    private Set<String> referencedPaths(List<Candidate> batch) {
+      Set<String> contentPaths = new HashSet<>();
+      Set<UUID> orderItemIds = new HashSet<>();
+      for (Candidate candidate : batch) {
+        String original = ImageDerivativeService.originalPath(candidate.key());
+        if (original.startsWith(CONTENT_ADDRESSED_PREFIX)) {
+          contentPaths.add(original);
+        } else {
+          Matcher matcher = LEGACY_PHOTO_PATH.matcher(original);
+          if (matcher.matches()) {
+            orderItemIds.add(UUID.fromString(matcher.group(1)));
+          }
+        }
+      }
+
+      Set<String> referenced = new HashSet<>();
+      if (!contentPaths.isEmpty()) {
+        referenced.addAll(storedFileRepository.findExistingStoragePaths(contentPaths));
+      }
+      if (!orderItemIds.isEmpty()) {
+        for (String url : itemPhotoRepository.findUrlsByOrderItemIds(orderItemIds)) {
+          String path = pathResolver.extractRelativePathFromUrl(url);
+          if (path != null) {
+            referenced.add(path);
+          }
+        }
+      }
+      return referenced;
+    }
+
+    private boolean dispose(Candidate candidate, String original) {
+      throttle.acquire();
+      return Boolean.TRUE.equals(
+          transactionTemplate.execute(status -> disposeIfUnchanged(candidate.key(), original)));
+    }
+
+    /**
+     * Move or delete an orphan unless its content was registered again or the file was replaced
+     * since the batch query. The row lock is held until the file is gone.
+     */
+    private boolean disposeIfUnchanged(String key, String original) {
+      if (original.startsWith(CONTENT_ADDRESSED_PREFIX)) {
+        String contentHash = original.substring(original.lastIndexOf('/') + 1);
+        if (storedFileRepository.findByContentHashForUpdate(contentHash).isPresent()) {
+          log.debug("Kept {}, its content was stored again", key);
+          return false;
+        }
+      }
+      try {
+        Optional<StoredObject> current = backend.stat(key);
+        if (current.isEmpty() || !current.get().lastModified().isBefore(cutoff)) {
+          log.debug("Kept {}, it was replaced or removed meanwhile", key);
+          return false;
+        }
+        if (action == Action.DELETE) {
+          return backend.delete(key);
+        }
+        quarantine(key);
+        return true;
+      } catch (IOException ex) {
+        log.warn("Could not dispose of orphaned file {}", key, ex);
+        return false;
+      }
+    }
+
+    private void quarantine(String key) throws IOException {
+      String target = properties.getQuarantineDirectory() + "/" + quarantineDate + "/" + key;
+      String contentType = MediaTypeFactory.getMediaType(key).map(Object::toString).orElse(null);
+      Path local = backend.localPath(key).orElse(null);
+      if (local != null) {
+        // Renamed within the same disk
+        backend.put(target, local, contentType);
+        return;
+      }
+      Path staging = Files.createDirectories(pathResolver.resolveStagingDirectory());
+      Path copy = Files.createTempFile(staging, "gc-", ".tmp");
+      try {
+        try (InputStream in = backend.open(key)) {
+          Files.copy(in, copy, StandardCopyOption.REPLACE_EXISTING);
+        }
+        backend.put(target, copy, contentType);
+        backend.delete(key);
+      } finally {
+        Files.deleteIfExists(copy);
+      }
+    }
+
+    private void purgeIfExpired(String key) {
+      if (action == Action.REPORT) {
+        return;
+      }
+      String rest = key.substring(properties.getQuarantineDirectory().length() + 1);
+      int slash = rest.indexOf('/');
+      LocalDate quarantinedOn;
+      try {
+        quarantinedOn = LocalDate.parse(slash < 0 ? rest : rest.substring(0, slash));
+      } catch (DateTimeParseException ex) {
+        return;
+      }
+      if (!quarantinedOn.isBefore(quarantineExpiry)) {
+        return;
+      }
+      throttle.acquire();
+      try {
+        if (backend.delete(key)) {
+          quarantinePurged.incrementAndGet();
+        }
+      } catch (IOException ex) {
+        log.warn("Could not delete quarantined file {}", key, ex);
+      }
+    }
+
+    private boolean isQuarantined(String key) {
+      return key.startsWith(properties.getQuarantineDirectory() + "/");
+    }
+
+    private boolean isCollected(String key) {
+      for (String directory : properties.getDirectories()) {
+        if (key.startsWith(directory + "/")) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  /** Content-addressed and order photo paths are the only ones the database can vouch for */
+  private static boolean isKnownScheme(String path) {
+    return path.startsWith(CONTENT_ADDRESSED_PREFIX) || LEGACY_PHOTO_PATH.matcher(path).matches();
+  }
+
+  private record Candidate(String key, StoredObject object) {}
+
+  /** Spaces operations evenly, shared by all walkers of a run */
+  private static final class Throttle {
+
+    private final long intervalNanos;
+    private final AtomicLong nextSlot = new AtomicLong(System.nanoTime());
+
+    Throttle(int operationsPerSecond) {
+      this.intervalNanos =
+          operationsPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / operationsPerSecond : 0;
+    }
+
+    void acquire() {
+      if (intervalNanos == 0) {
+        return;
+      }
+      long slot = nextSlot.getAndUpdate(next -> Math.max(next, System.nanoTime()) + intervalNanos);
+      long wait = slot - System.nanoTime();
+      if (wait > 0) {
+        try {
+          TimeUnit.NANOSECONDS.sleep(wait);
+        } catch (InterruptedException ex) {
+          Thread.currentThread().interrupt();
+          throw new IllegalStateException("File garbage collection was interrupted", ex);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,30 @@
+package com.aksi.service.storage;
+
+import java.time.Instant;
+
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+
+/**
+ * File resolved for an HTTP response, with its validators and caching policy
+ *
+ * @param resource content; a {@link FileSystemResource} for files on local disk, so they can be
+ *     sent with sendfile, otherwise a stream from the storage backend
+ * @param contentType media type of the content
+ * @param lastModified modification time of the file
+ * @param etag strong entity tag, quoted
+ * @param immutable content at this path never changes (content-addressed storage)
+ */
+public record ServedFile(
+    Resource resource,
+    MediaType contentType,
+    Instant lastModified,
+    String etag,
+    boolean immutable) {
+
+  /** The same file served in place of another path, whose content may still change */
+  public ServedFile revalidated() {
+    return immutable ? new ServedFile(resource, contentType, lastModified, etag, false) : this;
+  }
+}
@@ -0,0 +1,87 @@
+package com.aksi.service.storage;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.aksi.config.FileScrubProperties;
+import com.aksi.domain.storage.StoredFileEntity;
+import com.aksi.repository.StoredFileRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Background integrity check of content-addressed storage. Each run re-hashes the files verified
+ * longest ago, flags those that are missing or changed, deletes content unreferenced for longer
+ * than the grace period and removes temp files of interrupted uploads. Files are hashed outside of
+ * any transaction; every outcome is written in its own short one.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StoredFileScrubber {
+
+  private final StoredFileRepository storedFileRepository;
+  private final StoredFileService storedFileService;
+  private final ContentAddressedFileStore fileStore;
+  private final FileScrubProperties properties;
+  private final MeterRegistry meterRegistry;
+
+  /** Result of one scrub run */
+  public record ScrubResult(int verified, int corrupted, int purged, int tempFilesRemoved) {}
+
+  public ScrubResult scrub() {
+    long started = System.currentTimeMillis();
+
+    // Step 1: Re-hash the least recently verified files
+    List<StoredFileEntity> batch =
+        storedFileRepository.findLeastRecentlyVerified(
+            PageRequest.of(0, properties.getVerifyBatchSize()));
+    int corrupted = 0;
+    for (StoredFileEntity storedFile : batch) {
+      boolean intact = fileStore.verify(storedFile.getStoragePath(), storedFile.getContentHash());
+      if (!intact) {
+        corrupted++;
+        log.error(
+            "Stored file {} is missing or does not match its hash {}",
+            storedFile.getStoragePath(),
+            storedFile.getContentHash());
+      }
+      storedFileService.markVerified(storedFile, intact);
+    }
+    meterRegistry.counter("storage.scrub.corrupted").increment(corrupted);
+
+    // Step 2: Delete content nothing references any more
+    Instant cutoff = Instant.now().minus(properties.getUnreferencedGracePeriod());
+    int purged = 0;
+    for (String contentHash :
+        storedFileRepository.findUnreferencedHashes(
+            cutoff, PageRequest.of(0, properties.getPurgeBatchSize()))) {
+      if (storedFileService.purgeIfUnreferenced(contentHash, cutoff)) {
+        purged++;
+      }
+    }
+
+    // Step 3: Remove temp files of uploads interrupted by a crash
+    int tempFilesRemoved = 0;
+    try {
+      tempFilesRemoved = fileStore.purgeStaleTempFiles(properties.getTempFileMaxAge());
+    } catch (IOException ex) {
+      log.warn("Could not clean up upload temp files", ex);
+    }
+
+    log.info(
+        "Scrubbed stored files in {} ms: {} verified, {} corrupted, {} purged, {} temp files removed",
+        System.currentTimeMillis() - started,
+        batch.size(),
+        corrupted,
+        purged,
+        tempFilesRemoved);
+    return new ScrubResult(batch.size(), corrupted, purged, tempFilesRemoved);
+  }
+}
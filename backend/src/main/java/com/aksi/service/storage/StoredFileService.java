@@ -0,0 +1,153 @@
+package com.aksi.service.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.aksi.domain.storage.StoredFileEntity;
+import com.aksi.exception.BadRequestException;
+import com.aksi.repository.StoredFileRepository;
+import com.aksi.service.storage.ContentAddressedFileStore.StagedFile;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reference-counted, deduplicated file storage. Identical content is stored once under its SHA-256;
+ * every record pointing at it holds one reference. Releasing the last reference does not delete
+ * the file: {@link StoredFileScrubber} does that after a grace period, under the same row lock an
+ * upload of the same content takes, so a concurrent re-upload never loses its file.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+@Slf4j
+public class StoredFileService {
+
+  private final ContentAddressedFileStore fileStore;
+  private final FileValidationService validationService;
+  private final StoredFileRepository storedFileRepository;
+  private final ImageDerivativeService derivativeService;
+
+  /**
+   * Store an uploaded file, or take another reference to identical content stored before
+   *
+   * @return stored file holding the new reference
+   */
+  public StoredFileEntity store(MultipartFile file) {
+    validationService.validateMultipartFile(file);
+
+    // Hash while streaming, outside of any row lock; the declared size is not trusted
+    StagedFile staged;
+    try (InputStream in = file.getInputStream()) {
+      staged = fileStore.stage(in, FileValidationService.MAX_FILE_SIZE);
+    } catch (IOException ex) {
+      throw new BadRequestException("Could not read uploaded file", ex);
+    }
+
+    try {
+      return addReference(staged, file.getContentType());
+    } finally {
+      fileStore.discard(staged);
+    }
+  }
+
+  /**
+   * Drop one reference to stored content. Files of legacy records without a content hash are not
+   * reference counted and must be deleted by path.
+   */
+  public void release(String contentHash) {
+    Optional<StoredFileEntity> found = storedFileRepository.findByContentHashForUpdate(contentHash);
+    if (found.isEmpty()) {
+      log.warn("Released unknown stored file {}", contentHash);
+      return;
+    }
+    StoredFileEntity storedFile = found.get();
+    storedFile.setReferenceCount(Math.max(0, storedFile.getReferenceCount() - 1));
+    log.debug(
+        "Released stored file {}, {} references left",
+        contentHash,
+        storedFile.getReferenceCount());
+  }
+
+  /**
+   * Delete content that is still unreferenced and was last touched before the cutoff
+   *
+   * @return true if the file and its record were deleted
+   */
+  public boolean purgeIfUnreferenced(String contentHash, Instant cutoff) {
+    Optional<StoredFileEntity> found = storedFileRepository.findByContentHashForUpdate(contentHash);
+    if (found.isEmpty()
+        || found.get().getReferenceCount() > 0
+        || !found.get().getUpdatedAt().isBefore(cutoff)) {
+      return false;
+    }
+    StoredFileEntity storedFile = found.get();
+    derivativeService.deleteDerivatives(storedFile.getStoragePath());
+    try {
+      fileStore.delete(storedFile.getStoragePath());
+    } catch (IOException ex) {
+      log.warn("Could not delete unreferenced file {}", storedFile.getStoragePath(), ex);
+      return false;
+    }
+    storedFileRepository.delete(storedFile);
+    log.info("Deleted unreferenced stored file {}", storedFile.getStoragePath());
+    return true;
+  }
+
+  /** Record the outcome of an integrity check */
+  public void markVerified(StoredFileEntity storedFile, boolean intact) {
+    storedFileRepository.markVerified(storedFile.getId(), Instant.now(), !intact);
+  }
+
+  /**
+   * Take a reference under the row lock. The row is registered first (without references) if the
+   * content is new, so concurrent first uploads of the same content queue on the lock instead of
+   * racing on the unique content hash.
+   */
+  private StoredFileEntity addReference(StagedFile staged, String contentType) {
+    String contentHash = staged.contentHash();
+    String storagePath = ContentAddressedFileStore.contentPath(contentHash);
+    // A row deleted by the scrubber between the insert and the lock is registered again
+    boolean registered = false;
+    Optional<StoredFileEntity> locked = Optional.empty();
+    while (locked.isEmpty()) {
+      registered =
+          storedFileRepository.insertIfAbsent(
+                  UUID.randomUUID(),
+                  contentHash,
+                  storagePath,
+                  staged.size(),
+                  contentType,
+                  Instant.now())
+              > 0;
+      locked = storedFileRepository.findByContentHashForUpdate(contentHash);
+    }
+    StoredFileEntity storedFile = locked.get();
+
+    if (registered) {
+      // The file is in place before the row commits; if the transaction rolls back it stays on
+      // disk without a record until the next upload of the same content. That upload replaces it
+      // rather than reusing it, so the fresh modification time keeps the orphan collector away.
+      fileStore.moveInto(staged, storedFile.getStoragePath(), true);
+      log.info("Stored new file {} ({} bytes)", storedFile.getStoragePath(), staged.size());
+    } else if (storedFile.isCorrupted() || !fileStore.exists(storedFile.getStoragePath())) {
+      // The upload carries content matching the hash, so it repairs the stored copy
+      fileStore.moveInto(staged, storedFile.getStoragePath(), true);
+      storedFile.setCorrupted(false);
+      storedFile.setLastVerifiedAt(Instant.now());
+      log.warn("Restored stored file {} from a re-upload", storedFile.getStoragePath());
+    }
+
+    storedFile.setReferenceCount(storedFile.getReferenceCount() + 1);
+    log.debug(
+        "Referenced stored file {} ({} references)", contentHash, storedFile.getReferenceCount());
+    return storedFile;
+  }
+}
@@ -0,0 +1,284 @@
+package com.aksi.service.storage.backend;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Stores content in a directory on local disk.
+ *
+ * <p>With the {@link Layout#SHARDED} layout a key is stored under {@code shards/ab/cd/<key>},
+ * where {@code abcd} starts the SHA-256 of the key, so that no directory collects thousands of
+ * entries however keys are named. Content-addressed keys ({@code cas/...}) are already spread by
+ * their hash and keep their path. Files written under the flat layout are still found and served
+ * from where they are.
+ *
+ * <p>Directories known to exist are remembered, so a write does not pay for {@code mkdir} calls,
+ * and each write is made durable according to the {@link FsyncPolicy} before it is renamed into
+ * place.
+ */
+@Slf4j
+public class LocalStorageBackend implements StorageBackend {
+
+  /** How keys map to paths below the root */
+  public enum Layout {
+    /** Key is the path */
+    FLAT,
+    /** Key below two levels of directories named after its hash */
+    SHARDED
+  }
+
+  /** What is flushed to disk before a write is acknowledged */
+  public enum FsyncPolicy {
+    /** Leave flushing to the operating system; a crash may lose recent uploads */
+    NONE,
+    /** Flush file content before renaming it into place */
+    FILE,
+    /** Also flush the directory, so that the rename itself survives a crash */
+    FILE_AND_DIRECTORY
+  }
+
+  static final String SHARD_DIR = "shards";
+  private static final String CONTENT_ADDRESSED_DIR = "cas";
+  private static final String CONTENT_ADDRESSED_PREFIX = CONTENT_ADDRESSED_DIR + "/";
+  private static final HexFormat HEX = HexFormat.of();
+
+  private final Path root;
+  private final Layout layout;
+  private final FsyncPolicy fsyncPolicy;
+
+  /** Directories created or seen by this instance, so writes skip {@code createDirectories} */
+  private final Set<Path> knownDirectories = ConcurrentHashMap.newKeySet();
+
+  public LocalStorageBackend(Path root, Layout layout, FsyncPolicy fsyncPolicy) {
+    this.root = root.toAbsolutePath().normalize();
+    this.layout = layout;
+    this.fsyncPolicy = fsyncPolicy;
+  }
+
+  @Override
+  public void put(String key, Path source, String contentType) throws IOException {
+    Path target = pathFor(key);
+    if (fsyncPolicy != FsyncPolicy.NONE) {
+      try (FileChannel channel = FileChannel.open(source, StandardOpenOption.WRITE)) {
+        channel.force(true);
+      }
+    }
+    ensureDirectory(target.getParent());
+    try {
+      move(source, target);
+    } catch (NoSuchFileException ex) {
+      // Directory removed behind our back since it was cached
+      knownDirectories.remove(target.getParent());
+      ensureDirectory(target.getParent());
+      move(source, target);
+    }
+    if (fsyncPolicy == FsyncPolicy.FILE_AND_DIRECTORY) {
+      forceDirectory(target.getParent());
+    }
+  }
+
+  @Override
+  public InputStream open(String key) throws IOException {
+    return Files.newInputStream(existing(key).orElseThrow(() -> new NoSuchFileException(key)));
+  }
+
+  @Override
+  public Optional<StoredObject> stat(String key) throws IOException {
+    Optional<Path> file = existing(key);
+    if (file.isEmpty()) {
+      return Optional.empty();
+    }
+    try {
+      BasicFileAttributes attributes = Files.readAttributes(file.get(), BasicFileAttributes.class);
+      return Optional.of(
+          new StoredObject(attributes.size(), attributes.lastModifiedTime().toInstant()));
+    } catch (NoSuchFileException ex) {
+      return Optional.empty();
+    }
+  }
+
+  @Override
+  public boolean delete(String key) throws IOException {
+    boolean deleted = Files.deleteIfExists(pathFor(key));
+    if (layout == Layout.SHARDED && !isContentAddressed(key)) {
+      deleted |= Files.deleteIfExists(flatPath(key));
+    }
+    return deleted;
+  }
+
+  @Override
+  public Optional<Path> localPath(String key) {
+    return existing(key);
+  }
+
+  /**
+   * Every shard directory of the sharded and content-addressed trees is its own partition; other
+   * top-level directories, written under the flat layout, are one partition each. Hidden
+   * directories hold staging files rather than stored content and are left out.
+   */
+  @Override
+  public List<String> partitions() throws IOException {
+    List<String> partitions = new ArrayList<>();
+    for (Path directory : subdirectories(root)) {
+      String name = directory.getFileName().toString();
+      if (name.startsWith(".")) {
+        continue;
+      }
+      if (name.equals(SHARD_DIR) || name.equals(CONTENT_ADDRESSED_DIR)) {
+        for (Path shard : subdirectories(directory)) {
+          partitions.add(name + "/" + shard.getFileName());
+        }
+      } else {
+        partitions.add(name);
+      }
+    }
+    return partitions;
+  }
+
+  @Override
+  public void list(String partition, BiConsumer<String, StoredObject> visitor) throws IOException {
+    Path start = flatPath(partition);
+    if (!Files.isDirectory(start)) {
+      return;
+    }
+    Files.walkFileTree(
+        start,
+        new SimpleFileVisitor<>() {
+          @Override
+          public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+            if (attributes.isRegularFile()) {
+              visitor.accept(
+                  keyOf(file),
+                  new StoredObject(attributes.size(), attributes.lastModifiedTime().toInstant()));
+            }
+            return FileVisitResult.CONTINUE;
+          }
+
+          @Override
+          public FileVisitResult visitFileFailed(Path file, IOException ex) {
+            // Deleted while walking, or unreadable; neither stops the listing of the rest
+            log.debug("Skipped {} while listing {}", file, partition, ex);
+            return FileVisitResult.CONTINUE;
+          }
+        });
+  }
+
+  /** Path new content for a key is written to */
+  Path pathFor(String key) {
+    Path flat = flatPath(key);
+    if (layout == Layout.FLAT || isContentAddressed(key)) {
+      return flat;
+    }
+    String hash = HEX.formatHex(sha256().digest(key.getBytes(StandardCharsets.UTF_8)));
+    return root.resolve(SHARD_DIR)
+        .resolve(hash.substring(0, 2))
+        .resolve(hash.substring(2, 4))
+        .resolve(root.relativize(flat));
+  }
+
+  /** Path holding the content of a key, preferring the current layout over the flat one */
+  private Optional<Path> existing(String key) {
+    Path path = pathFor(key);
+    if (Files.isRegularFile(path)) {
+      return Optional.of(path);
+    }
+    if (layout == Layout.SHARDED && !isContentAddressed(key)) {
+      Path legacy = flatPath(key);
+      if (Files.isRegularFile(legacy)) {
+        return Optional.of(legacy);
+      }
+    }
+    return Optional.empty();
+  }
+
+  /** Key stored in a file, dropping the shard directories of the sharded layout */
+  private String keyOf(Path file) {
+    Path relative = root.relativize(file);
+    if (relative.getNameCount() > 3 && relative.getName(0).toString().equals(SHARD_DIR)) {
+      relative = relative.subpath(3, relative.getNameCount());
+    }
+    return relative.toString().replace('\\', '/');
+  }
+
+  private Path flatPath(String key) {
+    return checked(key, root.resolve(key).normalize());
+  }
+
+  private Path checked(String key, Path path) {
+    if (!path.startsWith(root)) {
+      throw new IllegalArgumentException("Storage key escapes the storage root: " + key);
+    }
+    return path;
+  }
+
+  private void ensureDirectory(Path directory) throws IOException {
+    if (knownDirectories.contains(directory)) {
+      return;
+    }
+    Files.createDirectories(directory);
+    knownDirectories.add(directory);
+  }
+
+  private static List<Path> subdirectories(Path directory) throws IOException {
+    if (!Files.isDirectory(directory)) {
+      return List.of();
+    }
+    try (Stream<Path> children = Files.list(directory)) {
+      return children.filter(Files::isDirectory).sorted().toList();
+    }
+  }
+
+  private static void move(Path source, Path target) throws IOException {
+    try {
+      Files.move(
+          source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } catch (AtomicMoveNotSupportedException ex) {
+      // Staging lives on the same file system, so this only happens on exotic mounts
+      Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  private static void forceDirectory(Path directory) {
+    try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+      channel.force(true);
+    } catch (IOException ex) {
+      // Not every platform can open a directory for syncing; the file itself is already durable
+      log.debug("Could not sync directory {}", directory, ex);
+    }
+  }
+
+  private static boolean isContentAddressed(String key) {
+    return key.startsWith(CONTENT_ADDRESSED_PREFIX);
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException("SHA-256 is not available", ex);
+    }
+  }
+}
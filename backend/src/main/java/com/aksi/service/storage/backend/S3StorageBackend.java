@@ -0,0 +1,267 @@
+package com.aksi.service.storage.backend;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CommonPrefix;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+/**
+ * Stores content as objects in an S3-compatible bucket, so that several application nodes share
+ * stored files without a network file system. Files up to the part size are sent with a single
+ * PUT; larger files are streamed from disk as a multipart upload, one part at a time, and the
+ * upload is aborted if any part fails so that no incomplete object becomes visible.
+ */
+@Slf4j
+public class S3StorageBackend implements StorageBackend {
+
+  /** Smallest part S3 accepts, except for the last one */
+  static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+
+  private final S3Client client;
+  private final String bucket;
+  private final String keyPrefix;
+  private final long partSize;
+
+  public S3StorageBackend(S3Client client, String bucket, String keyPrefix, long partSize) {
+    this.client = client;
+    this.bucket = bucket;
+    this.keyPrefix =
+        keyPrefix == null || keyPrefix.isEmpty() ? "" : keyPrefix.replaceAll("/*$", "/");
+    this.partSize = Math.max(MIN_PART_SIZE, partSize);
+  }
+
+  @Override
+  public void put(String key, Path source, String contentType) throws IOException {
+    long size = Files.size(source);
+    try {
+      if (size <= partSize) {
+        client.putObject(
+            request -> request.bucket(bucket).key(objectKey(key)).contentType(contentType),
+            RequestBody.fromFile(source));
+      } else {
+        putMultipart(key, source, size, contentType);
+      }
+    } catch (SdkException ex) {
+      throw new IOException("Could not upload " + key + " to bucket " + bucket, ex);
+    }
+  }
+
+  @Override
+  public InputStream open(String key) throws IOException {
+    try {
+      return client.getObject(request -> request.bucket(bucket).key(objectKey(key)));
+    } catch (NoSuchKeyException ex) {
+      throw new NoSuchFileException(key);
+    } catch (SdkException ex) {
+      throw new IOException("Could not read " + key + " from bucket " + bucket, ex);
+    }
+  }
+
+  @Override
+  public Optional<StoredObject> stat(String key) throws IOException {
+    try {
+      HeadObjectResponse head =
+          client.headObject(request -> request.bucket(bucket).key(objectKey(key)));
+      return Optional.of(new StoredObject(head.contentLength(), head.lastModified()));
+    } catch (NoSuchKeyException ex) {
+      return Optional.empty();
+    } catch (S3Exception ex) {
+      // HEAD responses have no body, so some services report a missing key as a bare 404
+      if (ex.statusCode() == 404) {
+        return Optional.empty();
+      }
+      throw new IOException("Could not stat " + key + " in bucket " + bucket, ex);
+    } catch (SdkException ex) {
+      throw new IOException("Could not stat " + key + " in bucket " + bucket, ex);
+    }
+  }
+
+  @Override
+  public boolean delete(String key) throws IOException {
+    // DELETE succeeds for missing keys as well, so existence is checked first
+    if (stat(key).isEmpty()) {
+      return false;
+    }
+    try {
+      client.deleteObject(request -> request.bucket(bucket).key(objectKey(key)));
+      return true;
+    } catch (SdkException ex) {
+      throw new IOException("Could not delete " + key + " from bucket " + bucket, ex);
+    }
+  }
+
+  @Override
+  public Optional<Path> localPath(String key) {
+    return Optional.empty();
+  }
+
+  /** Top-level prefixes of the bucket, each listed page by page on its own */
+  @Override
+  public List<String> partitions() throws IOException {
+    try {
+      List<String> partitions = new ArrayList<>();
+      for (CommonPrefix prefix :
+          client
+              .listObjectsV2Paginator(
+                  request -> request.bucket(bucket).prefix(keyPrefix).delimiter("/"))
+              .commonPrefixes()) {
+        partitions.add(prefix.prefix().substring(keyPrefix.length()));
+      }
+      return partitions;
+    } catch (SdkException ex) {
+      throw new IOException("Could not list bucket " + bucket, ex);
+    }
+  }
+
+  @Override
+  public void list(String partition, BiConsumer<String, StoredObject> visitor) throws IOException {
+    try {
+      for (S3Object object :
+          client
+              .listObjectsV2Paginator(
+                  request -> request.bucket(bucket).prefix(objectKey(partition)))
+              .contents()) {
+        visitor.accept(
+            object.key().substring(keyPrefix.length()),
+            new StoredObject(object.size(), object.lastModified()));
+      }
+    } catch (SdkException ex) {
+      throw new IOException("Could not list " + partition + " in bucket " + bucket, ex);
+    }
+  }
+
+  private void putMultipart(String key, Path source, long size, String contentType) {
+    String objectKey = objectKey(key);
+    String uploadId =
+        client
+            .createMultipartUpload(
+                request -> request.bucket(bucket).key(objectKey).contentType(contentType))
+            .uploadId();
+    try {
+      List<CompletedPart> parts = new ArrayList<>();
+      int partNumber = 1;
+      for (long offset = 0; offset < size; offset += partSize, partNumber++) {
+        long length = Math.min(partSize, size - offset);
+        long partOffset = offset;
+        int number = partNumber;
+        // The provider is asked for a fresh stream on every retry, so nothing is buffered
+        String etag =
+            client
+                .uploadPart(
+                    request ->
+                        request
+                            .bucket(bucket)
+                            .key(objectKey)
+                            .uploadId(uploadId)
+                            .partNumber(number)
+                            .contentLength(length),
+                    RequestBody.fromContentProvider(
+                        () -> openRange(source, partOffset, length), length, contentType))
+                .eTag();
+        parts.add(CompletedPart.builder().partNumber(number).eTag(etag).build());
+      }
+      client.completeMultipartUpload(
+          request ->
+              request
+                  .bucket(bucket)
+                  .key(objectKey)
+                  .uploadId(uploadId)
+                  .multipartUpload(upload -> upload.parts(parts)));
+      log.debug("Uploaded {} in {} parts", objectKey, parts.size());
+    } catch (RuntimeException ex) {
+      abort(objectKey, uploadId);
+      throw ex;
+    }
+  }
+
+  private void abort(String objectKey, String uploadId) {
+    try {
+      client.abortMultipartUpload(
+          request -> request.bucket(bucket).key(objectKey).uploadId(uploadId));
+    } catch (SdkException ex) {
+      // The bucket's lifecycle rule for incomplete uploads removes what is left
+      log.warn("Could not abort multipart upload of {}", objectKey, ex);
+    }
+  }
+
+  private String objectKey(String key) {
+    return keyPrefix + key;
+  }
+
+  /** Stream over one byte range of a file, read through its channel */
+  private static InputStream openRange(Path file, long offset, long length) {
+    try {
+      FileChannel channel = FileChannel.open(file, StandardOpenOption.READ).position(offset);
+      return new RangeInputStream(Channels.newInputStream(channel), length);
+    } catch (IOException ex) {
+      throw new IllegalStateException("Could not read upload part of " + file, ex);
+    }
+  }
+
+  /** Ends after a fixed number of bytes */
+  private static final class RangeInputStream extends FilterInputStream {
+
+    private long remaining;
+
+    RangeInputStream(InputStream in, long length) {
+      super(in);
+      this.remaining = length;
+    }
+
+    @Override
+    public int read() throws IOException {
+      if (remaining <= 0) {
+        return -1;
+      }
+      int next = in.read();
+      if (next >= 0) {
+        remaining--;
+      }
+      return next;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      if (remaining <= 0) {
+        return -1;
+      }
+      int read = in.read(b, off, (int) Math.min(len, remaining));
+      if (read > 0) {
+        remaining -= read;
+      }
+      return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      long skipped = in.skip(Math.min(n, remaining));
+      remaining -= skipped;
+      return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+      return (int) Math.min(in.available(), remaining);
+    }
+  }
+}
@@ -0,0 +1,66 @@
+package com.aksi.service.storage.backend;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+
+/**
+ * Where stored file content lives. Content is addressed by relative keys such as {@code
+ * cas/ab/cd/<sha256>} or {@code orders/photos/x.jpg}, validated by the caller. It is always written
+ * from a complete local file, so a key is either absent or holds complete content; readers never
+ * observe a partial write.
+ */
+public interface StorageBackend {
+
+  /**
+   * Store a local file under a key, replacing existing content
+   *
+   * @param key storage key
+   * @param source complete file on local disk; it may be moved away, callers delete it afterwards
+   *     if it still exists
+   * @param contentType media type to record where the backend keeps one, may be null
+   */
+  void put(String key, Path source, String contentType) throws IOException;
+
+  /**
+   * Open stored content for reading
+   *
+   * @throws java.nio.file.NoSuchFileException if nothing is stored under the key
+   */
+  InputStream open(String key) throws IOException;
+
+  /** Size and modification time of stored content, empty if nothing is stored under the key */
+  Optional<StoredObject> stat(String key) throws IOException;
+
+  /** Delete stored content, returns false if nothing was stored under the key */
+  boolean delete(String key) throws IOException;
+
+  /**
+   * File on local disk holding the content, for zero-copy serving and in-place reads. Empty when
+   * the backend is remote or nothing is stored under the key.
+   */
+  Optional<Path> localPath(String key);
+
+  /**
+   * Independent parts of the key space, such as shard directories, that can be listed in parallel
+   * and together cover every stored key
+   */
+  List<String> partitions() throws IOException;
+
+  /**
+   * Visit every key of a partition with its metadata. Content written or deleted while the listing
+   * runs may or may not be visited; the visitor may delete the key it is given.
+   *
+   * @param partition one of {@link #partitions()}
+   * @param visitor receives each key and its metadata
+   */
+  void list(String partition, BiConsumer<String, StoredObject> visitor) throws IOException;
+
+  /** Check whether content is stored under a key */
+  default boolean exists(String key) throws IOException {
+    return stat(key).isPresent();
+  }
+}
@@ -0,0 +1,6 @@
+package com.aksi.service.storage.backend;
+
+import java.time.Instant;
+
+/** Metadata of content stored under a key */
+public record StoredObject(long size, Instant lastModified) {}
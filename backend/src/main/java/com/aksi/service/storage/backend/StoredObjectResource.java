@@ -0,0 +1,54 @@
+package com.aksi.service.storage.backend;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.core.io.AbstractResource;
+
+/**
+ * Stored content that has no local file, read from its backend each time a stream is requested.
+ * Length and modification time come from the metadata read when the resource was created, so
+ * serving it does not cost another round trip to the backend.
+ */
+public class StoredObjectResource extends AbstractResource {
+
+  private final StorageBackend backend;
+  private final String key;
+  private final StoredObject metadata;
+
+  public StoredObjectResource(StorageBackend backend, String key, StoredObject metadata) {
+    this.backend = backend;
+    this.key = key;
+    this.metadata = metadata;
+  }
+
+  @Override
+  public InputStream getInputStream() throws IOException {
+    return backend.open(key);
+  }
+
+  @Override
+  public boolean exists() {
+    return true;
+  }
+
+  @Override
+  public long contentLength() {
+    return metadata.size();
+  }
+
+  @Override
+  public long lastModified() {
+    return metadata.lastModified().toEpochMilli();
+  }
+
+  @Override
+  public String getFilename() {
+    return key.substring(key.lastIndexOf('/') + 1);
+  }
+
+  @Override
+  public String getDescription() {
+    return "Stored object [" + key + "]";
+  }
+}
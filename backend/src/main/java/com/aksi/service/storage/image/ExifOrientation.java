@@ -0,0 +1,158 @@
+package com.aksi.service.storage.image;
+
+import java.awt.image.BufferedImage;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads the EXIF orientation tag of JPEG files and applies it to decoded pixels. Cameras and phones
+ * store pictures as captured and only record how they should be turned; {@code ImageIO} ignores
+ * that tag, so without this a portrait phone photo becomes a sideways thumbnail.
+ */
+final class ExifOrientation {
+
+  static final int NORMAL = 1;
+
+  private static final int MARKER_SOI = 0xFFD8;
+  private static final int MARKER_APP1 = 0xFFE1;
+  private static final int MARKER_SOS = 0xFFDA;
+  private static final int TAG_ORIENTATION = 0x0112;
+  private static final int EXIF_HEADER_LENGTH = 6;
+
+  private ExifOrientation() {}
+
+  /**
+   * Read the orientation of a JPEG stream, consuming only its header segments
+   *
+   * @return orientation 1 to 8, {@link #NORMAL} if the stream is not a JPEG or has no EXIF tag
+   */
+  static int read(InputStream in) throws IOException {
+    DataInputStream data = new DataInputStream(in);
+    try {
+      if (data.readUnsignedShort() != MARKER_SOI) {
+        return NORMAL;
+      }
+      while (true) {
+        int marker = data.readUnsignedShort();
+        if ((marker & 0xFF00) != 0xFF00 || marker == MARKER_SOS) {
+          return NORMAL;
+        }
+        int length = data.readUnsignedShort() - 2;
+        if (length < 0) {
+          return NORMAL;
+        }
+        if (marker != MARKER_APP1) {
+          data.skipNBytes(length);
+          continue;
+        }
+        byte[] segment = data.readNBytes(length);
+        int orientation = parseExif(segment);
+        if (orientation != 0) {
+          return orientation;
+        }
+      }
+    } catch (EOFException e) {
+      return NORMAL;
+    }
+  }
+
+  /**
+   * Turn decoded pixels upright
+   *
+   * @param image pixels as stored in the file
+   * @param orientation EXIF orientation 1 to 8
+   * @return upright image, {@code image} itself for orientation 1
+   */
+  static BufferedImage apply(BufferedImage image, int orientation) {
+    if (orientation <= NORMAL || orientation > 8) {
+      return image;
+    }
+    int width = image.getWidth();
+    int height = image.getHeight();
+    boolean transposed = orientation >= 5;
+    BufferedImage upright =
+        new BufferedImage(
+            transposed ? height : width, transposed ? width : height, BufferedImage.TYPE_INT_RGB);
+    for (int y = 0; y < height; y++) {
+      for (int x = 0; x < width; x++) {
+        int targetX;
+        int targetY;
+        switch (orientation) {
+          case 2 -> { // mirrored horizontally
+            targetX = width - 1 - x;
+            targetY = y;
+          }
+          case 3 -> { // rotated 180
+            targetX = width - 1 - x;
+            targetY = height - 1 - y;
+          }
+          case 4 -> { // mirrored vertically
+            targetX = x;
+            targetY = height - 1 - y;
+          }
+          case 5 -> { // transposed
+            targetX = y;
+            targetY = x;
+          }
+          case 6 -> { // needs 90 clockwise
+            targetX = height - 1 - y;
+            targetY = x;
+          }
+          case 7 -> { // transversed
+            targetX = height - 1 - y;
+            targetY = width - 1 - x;
+          }
+          default -> { // 8, needs 90 counter-clockwise
+            targetX = y;
+            targetY = width - 1 - x;
+          }
+        }
+        upright.setRGB(targetX, targetY, image.getRGB(x, y));
+      }
+    }
+    return upright;
+  }
+
+  /** Orientation from an APP1 segment, 0 if it is not EXIF or has no orientation tag */
+  private static int parseExif(byte[] segment) {
+    if (segment.length < EXIF_HEADER_LENGTH + 8
+        || segment[0] != 'E'
+        || segment[1] != 'x'
+        || segment[2] != 'i'
+        || segment[3] != 'f') {
+      return 0;
+    }
+    int tiff = EXIF_HEADER_LENGTH;
+    boolean littleEndian = segment[tiff] == 'I' && segment[tiff + 1] == 'I';
+    int ifd = tiff + readInt(segment, tiff + 4, littleEndian);
+    if (ifd < tiff || ifd + 2 > segment.length) {
+      return 0;
+    }
+    int entries = readShort(segment, ifd, littleEndian);
+    for (int i = 0; i < entries; i++) {
+      int entry = ifd + 2 + i * 12;
+      if (entry + 12 > segment.length) {
+        return 0;
+      }
+      if (readShort(segment, entry, littleEndian) == TAG_ORIENTATION) {
+        int value = readShort(segment, entry + 8, littleEndian);
+        return value >= 1 && value <= 8 ? value : 0;
+      }
+    }
+    return 0;
+  }
+
+  private static int readShort(byte[] bytes, int offset, boolean littleEndian) {
+    int first = bytes[offset] & 0xFF;
+    int second = bytes[offset + 1] & 0xFF;
+    return littleEndian ? (second << 8) | first : (first << 8) | second;
+  }
+
+  private static int readInt(byte[] bytes, int offset, boolean littleEndian) {
+    int high = readShort(bytes, offset + (littleEndian ? 2 : 0), littleEndian);
+    int low = readShort(bytes, offset + (littleEndian ? 0 : 2), littleEndian);
+    return (high << 16) | low;
+  }
+}
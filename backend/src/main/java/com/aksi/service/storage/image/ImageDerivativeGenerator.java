@@ -0,0 +1,137 @@
+package com.aksi.service.storage.image;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+import javax.imageio.IIOException;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Produces downscaled JPEG copies of photos. Large originals are decoded with source subsampling,
+ * so a 12-megapixel photo never needs a full-resolution bitmap, and the remaining reduction is done
+ * in halving steps for smooth results. Transparency is flattened onto white.
+ */
+@Component
+@Slf4j
+public class ImageDerivativeGenerator {
+
+  /** Decode at no less than this multiple of the target size to keep detail for smooth scaling */
+  private static final int DECODE_HEADROOM = 2;
+
+  /**
+   * Write a downscaled, upright JPEG of an image
+   *
+   * @param source original image file
+   * @param out receives the JPEG
+   * @param maxDimension longest side of the result; smaller images are not enlarged
+   * @param quality JPEG quality between 0 and 1
+   * @return false if the source is not an image format that can be decoded, nothing is written
+   */
+  public boolean generate(Path source, OutputStream out, int maxDimension, float quality)
+      throws IOException {
+    int orientation;
+    try (InputStream in = Files.newInputStream(source)) {
+      orientation = ExifOrientation.read(in);
+    }
+
+    BufferedImage decoded = decode(source, maxDimension);
+    if (decoded == null) {
+      return false;
+    }
+    BufferedImage scaled = scale(decoded, maxDimension);
+    writeJpeg(ExifOrientation.apply(scaled, orientation), out, quality);
+    return true;
+  }
+
+  private static BufferedImage decode(Path source, int maxDimension) throws IOException {
+    try (ImageInputStream in = ImageIO.createImageInputStream(source.toFile())) {
+      Iterator<ImageReader> readers = in != null ? ImageIO.getImageReaders(in) : null;
+      if (readers == null || !readers.hasNext()) {
+        return null;
+      }
+      ImageReader reader = readers.next();
+      try {
+        reader.setInput(in, true, true);
+        int longestSide = Math.max(reader.getWidth(0), reader.getHeight(0));
+        int subsampling = Math.max(1, longestSide / (maxDimension * DECODE_HEADROOM));
+        ImageReadParam param = reader.getDefaultReadParam();
+        param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+        return reader.read(0, param);
+      } catch (IIOException e) {
+        // CMYK JPEGs and other variants the JDK decoders do not support
+        log.debug("Cannot decode image {}: {}", source, e.getMessage());
+        return null;
+      } finally {
+        reader.dispose();
+      }
+    }
+  }
+
+  /** Fit into a square of {@code maxDimension}, halving while more than twice too large */
+  private static BufferedImage scale(BufferedImage image, int maxDimension) {
+    int width = image.getWidth();
+    int height = image.getHeight();
+    double ratio = Math.min(1.0, (double) maxDimension / Math.max(width, height));
+    int targetWidth = Math.max(1, (int) Math.round(width * ratio));
+    int targetHeight = Math.max(1, (int) Math.round(height * ratio));
+
+    BufferedImage current = image;
+    do {
+      width = Math.max(targetWidth, width / 2);
+      height = Math.max(targetHeight, height / 2);
+      current = draw(current, width, height);
+    } while (width != targetWidth || height != targetHeight);
+    return current;
+  }
+
+  /** Redraw into an opaque RGB image of the given size */
+  private static BufferedImage draw(BufferedImage image, int width, int height) {
+    BufferedImage result = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    Graphics2D graphics = result.createGraphics();
+    try {
+      graphics.setRenderingHint(
+          RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+      graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+      graphics.setColor(Color.WHITE);
+      graphics.fillRect(0, 0, width, height);
+      graphics.drawImage(image, 0, 0, width, height, null);
+    } finally {
+      graphics.dispose();
+    }
+    return result;
+  }
+
+  private static void writeJpeg(BufferedImage image, OutputStream out, float quality)
+      throws IOException {
+    ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+    try (ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+      writer.setOutput(output);
+      ImageWriteParam param = writer.getDefaultWriteParam();
+      param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+      param.setCompressionQuality(quality);
+      param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+      writer.write(null, new IIOImage(image, null, null), param);
+    } finally {
+      writer.dispose();
+    }
+  }
+}
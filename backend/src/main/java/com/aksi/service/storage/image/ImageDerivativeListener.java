@@ -0,0 +1,39 @@
+package com.aksi.service.storage.image;
+
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.aksi.config.ImageDerivativeProperties;
+import com.aksi.service.storage.ImageDerivativeService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Generates thumbnails and previews of uploaded images on the bounded derivative executor once the
+ * upload commits. Tasks the executor cannot queue are dropped; the derivatives are then generated
+ * on first request instead.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ImageDerivativeListener {
+
+  private final ImageDerivativeService derivativeService;
+  private final ImageDerivativeProperties properties;
+
+  @Async("imageDerivativeExecutor")
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onImageStored(ImageStoredEvent event) {
+    if (!properties.isEager()) {
+      return;
+    }
+    try {
+      derivativeService.generateAll(event.storagePath());
+    } catch (RuntimeException e) {
+      log.warn("Failed to generate derivatives of {}", event.storagePath(), e);
+    }
+  }
+}
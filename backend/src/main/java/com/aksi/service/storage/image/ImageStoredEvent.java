@@ -0,0 +1,9 @@
+package com.aksi.service.storage.image;
+
+/**
+ * Application event published when an image is stored, so that its derivatives are generated in
+ * the background once the transaction commits
+ *
+ * @param storagePath path of the original relative to the storage root
+ */
+public record ImageStoredEvent(String storagePath) {}
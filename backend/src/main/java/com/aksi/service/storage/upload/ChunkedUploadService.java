@@ -0,0 +1,55 @@
+package com.aksi.service.storage.upload;
+
+import java.io.InputStream;
+import java.util.UUID;
+
+import com.aksi.api.file.dto.CreateUploadSessionRequest;
+import com.aksi.api.file.dto.FileUploadResponse;
+import com.aksi.api.file.dto.UploadSessionStatus;
+
+/**
+ * Resumable uploads: a file is sent in fixed-size chunks that can arrive in any order and be
+ * retried individually, so a dropped connection only costs the chunk in flight
+ */
+public interface ChunkedUploadService {
+
+  /**
+   * Start an upload and reserve a partial file of the full size
+   *
+   * @param request target directory, original filename and size of the file
+   * @return session with chunk size and chunk count
+   */
+  UploadSessionStatus createSession(CreateUploadSessionRequest request);
+
+  /** Chunks received and still missing, to resume an interrupted upload */
+  UploadSessionStatus getStatus(UUID uploadId);
+
+  /**
+   * Write one chunk at its offset
+   *
+   * @param uploadId upload session ID
+   * @param offset byte offset, a multiple of the chunk size
+   * @param sha256 SHA-256 of the chunk as hex, in either case
+   * @param data chunk content, read to the end but not closed
+   * @return updated session state
+   */
+  UploadSessionStatus writeChunk(UUID uploadId, long offset, String sha256, InputStream data);
+
+  /**
+   * Store the assembled file once every chunk is received
+   *
+   * @param uploadId upload session ID
+   * @return stored file, named after its content hash like a multipart upload
+   */
+  FileUploadResponse complete(UUID uploadId);
+
+  /** Discard an upload and its partial file */
+  void cancel(UUID uploadId);
+
+  /**
+   * Discard sessions idle past their expiry and partial files left by a previous run
+   *
+   * @return number of discarded uploads
+   */
+  int purgeExpired();
+}
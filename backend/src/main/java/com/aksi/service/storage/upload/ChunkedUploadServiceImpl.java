@@ -0,0 +1,295 @@
+package com.aksi.service.storage.upload;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.BitSet;
+import java.util.HexFormat;
+import java.util.UUID;
+
+import org.springframework.stereotype.Service;
+
+import com.aksi.api.file.dto.CreateUploadSessionRequest;
+import com.aksi.api.file.dto.FileUploadResponse;
+import com.aksi.api.file.dto.UploadSessionStatus;
+import com.aksi.config.ChunkedUploadProperties;
+import com.aksi.exception.BadRequestException;
+import com.aksi.exception.ConflictException;
+import com.aksi.exception.NotFoundException;
+import com.aksi.service.storage.ContentAddressedFileStore.StagedFile;
+import com.aksi.service.storage.FilePathResolver;
+import com.aksi.service.storage.FileResponseBuilder;
+import com.aksi.service.storage.FileStorageCommandService;
+import com.aksi.service.storage.FileValidationService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Implementation of ChunkedUploadService. Every session owns a partial file of the full size in
+ * the local upload session directory; chunks are streamed into their region through a {@link
+ * FileChannel} while their SHA-256 is computed, and only verified chunks count as received. On
+ * completion the file is hashed once more and handed to the regular content-addressed storage.
+ * Session state is kept in the {@link UploadSessionStore}, so the chunks of one upload may reach
+ * any instance that shares the upload directory.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChunkedUploadServiceImpl implements ChunkedUploadService {
+
+  private static final String PART_SUFFIX = ".part";
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final HexFormat HEX = HexFormat.of();
+
+  private final FilePathResolver pathResolver;
+  private final FileValidationService validationService;
+  private final FileStorageCommandService commandService;
+  private final FileResponseBuilder responseBuilder;
+  private final ChunkedUploadProperties properties;
+  private final UploadSessionStore sessionStore;
+
+  @Override
+  public UploadSessionStatus createSession(CreateUploadSessionRequest request) {
+    // Step 1: Validate like a single-request upload, before anything is written
+    validationService.validateDirectoryPath(request.getDirectory());
+    String originalFilename = validationService.cleanFileName(request.getOriginalFilename());
+    validationService.validateFileName(originalFilename);
+    if (request.getTotalSize() < 1) {
+      throw new BadRequestException("File is required and cannot be empty");
+    }
+    validationService.validateFileSize(request.getTotalSize());
+    if (sessionStore.countActive() >= properties.getMaxSessions()) {
+      throw new ConflictException("Too many uploads in progress, try again later");
+    }
+
+    // Step 2: Reserve the partial file, chunks are written at their offsets in any order
+    UUID uploadId = UUID.randomUUID();
+    Path file = partFile(uploadId);
+    try (FileChannel channel =
+        FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+      channel.write(ByteBuffer.allocate(1), request.getTotalSize() - 1);
+    } catch (IOException ex) {
+      deleteQuietly(file);
+      throw new BadRequestException("Could not start upload. Please try again!", ex);
+    }
+
+    UploadSession session =
+        new UploadSession(
+            uploadId,
+            request.getDirectory(),
+            originalFilename,
+            request.getTotalSize(),
+            (int) properties.getChunkSize().toBytes(),
+            request.getSha256(),
+            new BitSet(),
+            Instant.now().plus(properties.getSessionTtl()));
+    sessionStore.create(session);
+
+    log.info(
+        "Started upload {} of {} ({} bytes in {} chunks)",
+        uploadId,
+        originalFilename,
+        session.totalSize(),
+        session.chunkCount());
+    return session.toStatus();
+  }
+
+  @Override
+  public UploadSessionStatus getStatus(UUID uploadId) {
+    return findSession(uploadId).toStatus();
+  }
+
+  @Override
+  public UploadSessionStatus writeChunk(
+      UUID uploadId, long offset, String sha256, InputStream data) {
+    UploadSession session = findSession(uploadId);
+    int index = session.chunkIndex(offset);
+    long length = session.chunkLength(index);
+
+    // The chunk counts as missing until it is written and verified again
+    if (!sessionStore.beginWrite(uploadId, index)) {
+      throw new NotFoundException("Upload session not found: " + uploadId);
+    }
+    String actual;
+    try {
+      actual = writeAt(partFile(uploadId), offset, length, data);
+    } catch (IOException ex) {
+      log.warn("Could not write chunk {} of upload {}", index, uploadId, ex);
+      throw new BadRequestException("Could not store chunk. Please try again!", ex);
+    }
+    if (!actual.equalsIgnoreCase(sha256)) {
+      throw new BadRequestException("Chunk checksum mismatch at offset " + offset);
+    }
+    if (!sessionStore.markReceived(uploadId, index)) {
+      throw new NotFoundException("Upload session not found: " + uploadId);
+    }
+
+    log.debug("Stored chunk {} of upload {}", index, uploadId);
+    return findSession(uploadId).toStatus();
+  }
+
+  @Override
+  public FileUploadResponse complete(UUID uploadId) {
+    UploadSession session = findSession(uploadId);
+    int missing = sessionStore.closeIfComplete(uploadId, session.chunkCount());
+    if (missing < 0) {
+      throw new NotFoundException("Upload session not found: " + uploadId);
+    }
+    if (missing > 0) {
+      throw new ConflictException("Upload is missing " + missing + " chunks");
+    }
+
+    Path file = partFile(uploadId);
+    try {
+      String contentHash = hash(file);
+      if (session.expectedSha256() != null
+          && !session.expectedSha256().equalsIgnoreCase(contentHash)) {
+        throw new BadRequestException("Uploaded file does not match its checksum");
+      }
+
+      // The staged file is moved into storage or deleted by the command service
+      String filePath =
+          commandService.storeStagedFile(
+              new StagedFile(file, contentHash, session.totalSize()),
+              session.originalFilename(),
+              session.directory());
+
+      log.info("Completed upload {} as {}", uploadId, filePath);
+      return responseBuilder.buildChunkedUploadResponse(
+          session.originalFilename(), session.totalSize(), filePath);
+    } catch (IOException ex) {
+      log.error("Could not read assembled upload {}", uploadId, ex);
+      throw new BadRequestException("Could not store file. Please try again!", ex);
+    } finally {
+      sessionStore.delete(uploadId);
+      deleteQuietly(file);
+    }
+  }
+
+  @Override
+  public void cancel(UUID uploadId) {
+    if (!sessionStore.cancel(uploadId)) {
+      throw new NotFoundException("Upload session not found: " + uploadId);
+    }
+    deleteQuietly(partFile(uploadId));
+    log.info("Cancelled upload {}", uploadId);
+  }
+
+  @Override
+  public int purgeExpired() {
+    // Expired sessions are dropped by the store; their partial files were last written over a
+    // TTL ago, so they are found like any other file without a session
+    sessionStore.removeExpired();
+    return purgeOrphanedFiles(Instant.now().minus(properties.getSessionTtl()));
+  }
+
+  /** Partial files of expired sessions and of sessions lost before they were stored */
+  private int purgeOrphanedFiles(Instant cutoff) {
+    int purged = 0;
+    try (DirectoryStream<Path> files =
+        Files.newDirectoryStream(
+            pathResolver.resolveUploadSessionDirectory(), "*" + PART_SUFFIX)) {
+      for (Path file : files) {
+        String name = file.getFileName().toString();
+        String id = name.substring(0, name.length() - PART_SUFFIX.length());
+        if (!isActive(id)
+            && Files.getLastModifiedTime(file).toInstant().isBefore(cutoff)
+            && Files.deleteIfExists(file)) {
+          purged++;
+        }
+      }
+    } catch (IOException ex) {
+      log.warn("Could not purge orphaned upload files", ex);
+    }
+    return purged;
+  }
+
+  private boolean isActive(String id) {
+    try {
+      return sessionStore.exists(UUID.fromString(id));
+    } catch (IllegalArgumentException ex) {
+      return false;
+    }
+  }
+
+  private UploadSession findSession(UUID uploadId) {
+    return sessionStore
+        .find(uploadId)
+        .orElseThrow(() -> new NotFoundException("Upload session not found: " + uploadId));
+  }
+
+  private Path partFile(UUID uploadId) {
+    return pathResolver.resolveUploadSessionDirectory().resolve(uploadId + PART_SUFFIX);
+  }
+
+  /**
+   * Stream exactly one chunk into its region of the partial file
+   *
+   * @return SHA-256 of the chunk as hex
+   */
+  private static String writeAt(Path file, long offset, long length, InputStream data)
+      throws IOException {
+    MessageDigest digest = sha256();
+    byte[] buffer = new byte[BUFFER_SIZE];
+    long written = 0;
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+      int read;
+      while ((read = data.read(buffer)) != -1) {
+        written += read;
+        if (written > length) {
+          throw new BadRequestException(
+              String.format("Chunk at offset %d is longer than %d bytes", offset, length));
+        }
+        digest.update(buffer, 0, read);
+        ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+        long position = offset + written - read;
+        while (chunk.hasRemaining()) {
+          position += channel.write(chunk, position);
+        }
+      }
+    }
+    if (written != length) {
+      throw new BadRequestException(
+          String.format(
+              "Chunk at offset %d has %d bytes, expected %d", offset, written, length));
+    }
+    return HEX.formatHex(digest.digest());
+  }
+
+  private static String hash(Path file) throws IOException {
+    MessageDigest digest = sha256();
+    byte[] buffer = new byte[BUFFER_SIZE];
+    try (InputStream in = Files.newInputStream(file)) {
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        digest.update(buffer, 0, read);
+      }
+    }
+    return HEX.formatHex(digest.digest());
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException("SHA-256 is not available", ex);
+    }
+  }
+
+  private static void deleteQuietly(Path file) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException ex) {
+      log.warn("Could not delete partial upload file {}", file, ex);
+    }
+  }
+}
@@ -0,0 +1,224 @@
+package com.aksi.service.storage.upload;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import com.aksi.config.ChunkedUploadProperties;
+
+/**
+ * Upload sessions in Redis: one hash per session and a bitmap of received chunks, both expiring
+ * after the session TTL counted from the last chunk. A sorted set of session IDs by expiry counts
+ * active sessions. State changes that depend on the current state run as scripts, so chunk
+ * writes, completion and cancellation on different instances never interleave.
+ */
+@Component
+public class RedisUploadSessionStore implements UploadSessionStore {
+
+  static final String KEY_PREFIX = "aksi:upload-session:";
+  static final String INDEX_KEY = "aksi:upload-sessions";
+
+  private static final String CHUNKS_SUFFIX = ":chunks";
+  private static final String DIRECTORY = "directory";
+  private static final String ORIGINAL_FILENAME = "originalFilename";
+  private static final String TOTAL_SIZE = "totalSize";
+  private static final String CHUNK_SIZE = "chunkSize";
+  private static final String EXPECTED_SHA256 = "expectedSha256";
+  private static final String STATE = "state";
+  private static final String EXPIRES_AT = "expiresAt";
+  private static final String OPEN = "OPEN";
+
+  /** Set or clear a chunk bit of an open session and extend its expiry */
+  private static final RedisScript<Long> TOUCH_CHUNK_SCRIPT =
+      new DefaultRedisScript<>(
+          "if redis.call('hget', KEYS[1], 'state') ~= 'OPEN' then return 0 end "
+              + "redis.call('setbit', KEYS[2], ARGV[1], ARGV[2]) "
+              + "redis.call('hset', KEYS[1], 'expiresAt', ARGV[3]) "
+              + "redis.call('pexpire', KEYS[1], ARGV[4]) "
+              + "redis.call('pexpire', KEYS[2], ARGV[4]) "
+              + "redis.call('zadd', KEYS[3], ARGV[5], ARGV[6]) "
+              + "return 1",
+          Long.class);
+
+  private static final RedisScript<Long> CLOSE_IF_COMPLETE_SCRIPT =
+      new DefaultRedisScript<>(
+          "if redis.call('hget', KEYS[1], 'state') ~= 'OPEN' then return -1 end "
+              + "local missing = tonumber(ARGV[1]) - redis.call('bitcount', KEYS[2]) "
+              + "if missing == 0 then redis.call('hset', KEYS[1], 'state', 'CLOSED') end "
+              + "return missing",
+          Long.class);
+
+  private static final RedisScript<Long> CANCEL_SCRIPT =
+      new DefaultRedisScript<>(
+          "if redis.call('hget', KEYS[1], 'state') ~= 'OPEN' then return 0 end "
+              + "redis.call('del', KEYS[1], KEYS[2]) "
+              + "redis.call('zrem', KEYS[3], ARGV[1]) "
+              + "return 1",
+          Long.class);
+
+  private final StringRedisTemplate redisTemplate;
+  private final Duration ttl;
+
+  public RedisUploadSessionStore(
+      StringRedisTemplate redisTemplate, ChunkedUploadProperties properties) {
+    this.redisTemplate = redisTemplate;
+    this.ttl = properties.getSessionTtl();
+  }
+
+  @Override
+  public long countActive() {
+    Long count =
+        redisTemplate
+            .opsForZSet()
+            .count(INDEX_KEY, System.currentTimeMillis(), Double.POSITIVE_INFINITY);
+    return count != null ? count : 0;
+  }
+
+  @Override
+  public void create(UploadSession session) {
+    Map<String, String> fields = new HashMap<>();
+    fields.put(DIRECTORY, session.directory());
+    fields.put(ORIGINAL_FILENAME, session.originalFilename());
+    fields.put(TOTAL_SIZE, String.valueOf(session.totalSize()));
+    fields.put(CHUNK_SIZE, String.valueOf(session.chunkSize()));
+    fields.put(STATE, OPEN);
+    fields.put(EXPIRES_AT, session.expiresAt().toString());
+    if (session.expectedSha256() != null) {
+      fields.put(EXPECTED_SHA256, session.expectedSha256());
+    }
+    String key = key(session.id());
+    hash().putAll(key, fields);
+    redisTemplate.expireAt(key, session.expiresAt());
+    redisTemplate
+        .opsForZSet()
+        .add(INDEX_KEY, session.id().toString(), session.expiresAt().toEpochMilli());
+  }
+
+  @Override
+  public Optional<UploadSession> find(UUID uploadId) {
+    Map<String, String> fields = hash().entries(key(uploadId));
+    if (!OPEN.equals(fields.get(STATE))) {
+      return Optional.empty();
+    }
+    byte[] bitmap =
+        redisTemplate.execute(
+            (RedisCallback<byte[]>)
+                connection ->
+                    connection
+                        .stringCommands()
+                        .get(chunksKey(uploadId).getBytes(StandardCharsets.UTF_8)));
+    return Optional.of(
+        new UploadSession(
+            uploadId,
+            fields.get(DIRECTORY),
+            fields.get(ORIGINAL_FILENAME),
+            Long.parseLong(fields.get(TOTAL_SIZE)),
+            Integer.parseInt(fields.get(CHUNK_SIZE)),
+            fields.get(EXPECTED_SHA256),
+            received(bitmap),
+            Instant.parse(fields.get(EXPIRES_AT))));
+  }
+
+  @Override
+  public boolean beginWrite(UUID uploadId, int index) {
+    return touchChunk(uploadId, index, false);
+  }
+
+  @Override
+  public boolean markReceived(UUID uploadId, int index) {
+    return touchChunk(uploadId, index, true);
+  }
+
+  @Override
+  public int closeIfComplete(UUID uploadId, int chunkCount) {
+    Long missing =
+        redisTemplate.execute(
+            CLOSE_IF_COMPLETE_SCRIPT,
+            List.of(key(uploadId), chunksKey(uploadId)),
+            String.valueOf(chunkCount));
+    return missing != null ? missing.intValue() : -1;
+  }
+
+  @Override
+  public boolean cancel(UUID uploadId) {
+    Long cancelled =
+        redisTemplate.execute(
+            CANCEL_SCRIPT,
+            List.of(key(uploadId), chunksKey(uploadId), INDEX_KEY),
+            uploadId.toString());
+    return cancelled != null && cancelled > 0;
+  }
+
+  @Override
+  public void delete(UUID uploadId) {
+    redisTemplate.delete(List.of(key(uploadId), chunksKey(uploadId)));
+    redisTemplate.opsForZSet().remove(INDEX_KEY, uploadId.toString());
+  }
+
+  @Override
+  public boolean exists(UUID uploadId) {
+    return Boolean.TRUE.equals(redisTemplate.hasKey(key(uploadId)));
+  }
+
+  @Override
+  public int removeExpired() {
+    Long removed =
+        redisTemplate
+            .opsForZSet()
+            .removeRangeByScore(INDEX_KEY, Double.NEGATIVE_INFINITY, System.currentTimeMillis());
+    return removed != null ? removed.intValue() : 0;
+  }
+
+  private boolean touchChunk(UUID uploadId, int index, boolean received) {
+    Instant expiresAt = Instant.now().plus(ttl);
+    Long touched =
+        redisTemplate.execute(
+            TOUCH_CHUNK_SCRIPT,
+            List.of(key(uploadId), chunksKey(uploadId), INDEX_KEY),
+            String.valueOf(index),
+            received ? "1" : "0",
+            expiresAt.toString(),
+            String.valueOf(ttl.toMillis()),
+            String.valueOf(expiresAt.toEpochMilli()),
+            uploadId.toString());
+    return touched != null && touched > 0;
+  }
+
+  /** Redis numbers bitmap bits from the most significant bit of the first byte */
+  private static BitSet received(byte[] bitmap) {
+    BitSet received = new BitSet();
+    if (bitmap != null) {
+      for (int i = 0; i < bitmap.length * 8; i++) {
+        if ((bitmap[i >> 3] & (0x80 >>> (i & 7))) != 0) {
+          received.set(i);
+        }
+      }
+    }
+    return received;
+  }
+
+  private HashOperations<String, String, String> hash() {
+    return redisTemplate.opsForHash();
+  }
+
+  private static String key(UUID uploadId) {
+    return KEY_PREFIX + uploadId;
+  }
+
+  private static String chunksKey(UUID uploadId) {
+    return KEY_PREFIX + uploadId + CHUNKS_SUFFIX;
+  }
+}
@@ -0,0 +1,71 @@
+package com.aksi.service.storage.upload;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.UUID;
+
+import com.aksi.api.file.dto.UploadSessionStatus;
+import com.aksi.exception.BadRequestException;
+
+/**
+ * State of one resumable upload as persisted in the {@link UploadSessionStore}. The partial file
+ * itself lives in the shared upload session directory, named after the session ID.
+ *
+ * @param expectedSha256 SHA-256 of the whole file as hex, null if the client sent none
+ * @param received indexes of chunks written and verified
+ * @param expiresAt time the session is discarded unless another chunk arrives
+ */
+record UploadSession(
+    UUID id,
+    String directory,
+    String originalFilename,
+    long totalSize,
+    int chunkSize,
+    String expectedSha256,
+    BitSet received,
+    Instant expiresAt) {
+
+  int chunkCount() {
+    return (int) ((totalSize + chunkSize - 1) / chunkSize);
+  }
+
+  /** Index of the chunk starting at an offset */
+  int chunkIndex(long offset) {
+    if (offset < 0 || offset >= totalSize || offset % chunkSize != 0) {
+      throw new BadRequestException(
+          String.format(
+              "Chunk offset %d is not a multiple of %d within %d bytes",
+              offset, chunkSize, totalSize));
+    }
+    return (int) (offset / chunkSize);
+  }
+
+  /** Exact length of a chunk; only the last one may be shorter */
+  long chunkLength(int index) {
+    return Math.min(chunkSize, totalSize - (long) index * chunkSize);
+  }
+
+  UploadSessionStatus toStatus() {
+    int chunkCount = chunkCount();
+    List<Integer> missingChunks = new ArrayList<>();
+    long receivedBytes = 0;
+    for (int i = 0; i < chunkCount; i++) {
+      if (received.get(i)) {
+        receivedBytes += chunkLength(i);
+      } else {
+        missingChunks.add(i);
+      }
+    }
+    UploadSessionStatus status = new UploadSessionStatus();
+    status.setUploadId(id);
+    status.setTotalSize(totalSize);
+    status.setChunkSize(chunkSize);
+    status.setChunkCount(chunkCount);
+    status.setReceivedBytes(receivedBytes);
+    status.setMissingChunks(missingChunks);
+    status.setExpiresAt(expiresAt);
+    return status;
+  }
+}
@@ -0,0 +1,64 @@
+package com.aksi.service.storage.upload;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Shared state of resumable uploads, so that the chunks of one upload can reach any instance and
+ * an upload survives a restart of the instance that started it. Sessions expire after the session
+ * TTL counted from the last chunk.
+ */
+interface UploadSessionStore {
+
+  /** Number of sessions that have not expired */
+  long countActive();
+
+  /** Store a new open session that expires at its expiry time */
+  void create(UploadSession session);
+
+  /** Open session, empty if unknown, expired, completing or cancelled */
+  Optional<UploadSession> find(UUID uploadId);
+
+  /**
+   * Mark a chunk missing while it is being written and extend the expiry, so that the upload
+   * cannot complete with a chunk in flight
+   *
+   * @return false if the session is no longer open
+   */
+  boolean beginWrite(UUID uploadId, int index);
+
+  /**
+   * Record a written and verified chunk and extend the expiry
+   *
+   * @return false if the session is no longer open
+   */
+  boolean markReceived(UUID uploadId, int index);
+
+  /**
+   * Close an open session for completion once every chunk is received
+   *
+   * @return number of missing chunks, the session is closed only if it is zero; -1 if the session
+   *     is not open
+   */
+  int closeIfComplete(UUID uploadId, int chunkCount);
+
+  /**
+   * Delete an open session
+   *
+   * @return false if it is unknown or already completing
+   */
+  boolean cancel(UUID uploadId);
+
+  /** Delete a session once its completion has finished, successfully or not */
+  void delete(UUID uploadId);
+
+  /** Whether a session is open or completing */
+  boolean exists(UUID uploadId);
+
+  /**
+   * Forget expired sessions in the index of active sessions
+   *
+   * @return number of sessions forgotten
+   */
+  int removeExpired();
+}
@@ -0,0 +1,115 @@
+package com.aksi.util;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Redis lease electing a single instance for cluster-wide work. Acquired with SET NX PX, extended
+ * and released with compare-and-set scripts, so a crashed holder is replaced after one TTL and an
+ * instance never extends or releases a lease another instance took over.
+ *
+ * <p>Periodic holders call {@link #refresh()} on every run; one-shot jobs bracket the run with
+ * {@link #tryAcquire()} and {@link #release()}.
+ */
+@Slf4j
+public class RedisLease {
+
+  private static final RedisScript<Long> RENEW_SCRIPT =
+      new DefaultRedisScript<>(
+          "if redis.call('get', KEYS[1]) == ARGV[1] then "
+              + "return redis.call('pexpire', KEYS[1], ARGV[2]) else return 0 end",
+          Long.class);
+
+  private static final RedisScript<Long> RELEASE_SCRIPT =
+      new DefaultRedisScript<>(
+          "if redis.call('get', KEYS[1]) == ARGV[1] then "
+              + "return redis.call('del', KEYS[1]) else return 0 end",
+          Long.class);
+
+  private final StringRedisTemplate redisTemplate;
+  private final String key;
+  private final Duration ttl;
+
+  private final String holderId = UUID.randomUUID().toString();
+  private volatile boolean held;
+  private volatile long nextRenewalAt;
+
+  public RedisLease(StringRedisTemplate redisTemplate, String key, Duration ttl) {
+    this.redisTemplate = redisTemplate;
+    this.key = key;
+    this.ttl = ttl;
+  }
+
+  /**
+   * Acquire or renew the lease when due (every third of the TTL)
+   *
+   * @return true if this instance holds the lease
+   */
+  public boolean refresh() {
+    long now = System.currentTimeMillis();
+    if (now < nextRenewalAt) {
+      return held;
+    }
+    boolean wasHeld = held;
+    try {
+      if (wasHeld) {
+        Long renewed =
+            redisTemplate.execute(
+                RENEW_SCRIPT, List.of(key), holderId, String.valueOf(ttl.toMillis()));
+        held = renewed != null && renewed > 0;
+      }
+      if (!held) {
+        held = Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(key, holderId, ttl));
+      }
+    } catch (RuntimeException e) {
+      log.warn("Lease {} refresh failed: {}", key, e.getMessage());
+      held = false;
+    }
+    nextRenewalAt = now + ttl.toMillis() / 3;
+    if (held != wasHeld) {
+      log.info("Lease {} {} by {}", key, held ? "acquired" : "lost", holderId);
+    }
+    return held;
+  }
+
+  /**
+   * Acquire the lease for one run. Fails if another instance holds it or Redis is unreachable.
+   *
+   * @return true if this instance now holds the lease
+   */
+  public boolean tryAcquire() {
+    try {
+      held = Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(key, holderId, ttl));
+    } catch (RuntimeException e) {
+      log.warn("Lease {} acquisition failed: {}", key, e.getMessage());
+      held = false;
+    }
+    return held;
+  }
+
+  /** Release the lease if this instance still holds it */
+  public void release() {
+    if (!held) {
+      return;
+    }
+    held = false;
+    nextRenewalAt = 0;
+    try {
+      redisTemplate.execute(RELEASE_SCRIPT, List.of(key), holderId);
+    } catch (RuntimeException e) {
+      log.warn("Lease {} release failed, it expires after its TTL: {}", key, e.getMessage());
+    }
+  }
+
+  /** Whether this instance held the lease at the last refresh or acquisition */
+  public boolean isHeld() {
+    return held;
+  }
+}
@@ -0,0 +1,118 @@
+package com.aksi.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.aksi.service.order.OrderPaymentReconciliationService;
+
+@ExtendWith(MockitoExtension.class)
+class OrderPaymentReconciliationSchedulerTest {
+
+    private static final String LEASE_KEY = "aksi:order-reconciliation:lease";
+
+    @Mock private OrderPaymentReconciliationService reconciliationService;
+    @Mock private StringRedisTemplate redisTemplate;
+    @Mock private ValueOperations<String, String> valueOperations;
+
+    private OrderReconciliationProperties properties;
+    private OrderPaymentReconciliationScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        properties = new OrderReconciliationProperties();
+        scheduler = new OrderPaymentReconciliationScheduler(
+            reconciliationService, properties, redisTemplate);
+    }
+
+    @Test
+    @DisplayName("Should reconcile and release the lease on the instance that acquires it")
+    void shouldReconcileWhenLeaseAcquired() {
+        // Given
+        givenLeaseAvailable(true);
+
+        // When
+        scheduler.reconcilePaymentTotals();
+
+        // Then
+        verify(reconciliationService).reconcile();
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of(LEASE_KEY)), anyString());
+    }
+
+    @Test
+    @DisplayName("Should release the lease even when the reconciliation fails")
+    void shouldReleaseLeaseOnFailure() {
+        // Given
+        givenLeaseAvailable(true);
+        when(reconciliationService.reconcile()).thenThrow(new IllegalStateException("boom"));
+
+        // When
+        scheduler.reconcilePaymentTotals();
+
+        // Then
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of(LEASE_KEY)), anyString());
+    }
+
+    @Test
+    @DisplayName("Should skip the run while another instance holds the lease")
+    void shouldSkipWhenLeaseHeldElsewhere() {
+        // Given
+        givenLeaseAvailable(false);
+
+        // When
+        scheduler.reconcilePaymentTotals();
+
+        // Then
+        verify(reconciliationService, never()).reconcile();
+        verify(redisTemplate, never()).execute(any(RedisScript.class), any(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should skip the run when Redis is unreachable")
+    void shouldSkipWhenRedisUnavailable() {
+        // Given
+        when(redisTemplate.opsForValue()).thenThrow(new IllegalStateException("connection refused"));
+
+        // When
+        scheduler.reconcilePaymentTotals();
+
+        // Then
+        verify(reconciliationService, never()).reconcile();
+    }
+
+    @Test
+    @DisplayName("Should not touch Redis when reconciliation is disabled")
+    void shouldDoNothingWhenDisabled() {
+        // Given
+        properties.setEnabled(false);
+
+        // When
+        scheduler.reconcilePaymentTotals();
+
+        // Then
+        verifyNoInteractions(redisTemplate, reconciliationService);
+    }
+
+    private void givenLeaseAvailable(boolean available) {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(eq(LEASE_KEY), anyString(), eq(Duration.ofHours(1))))
+            .thenReturn(available);
+    }
+}
@@ -0,0 +1,162 @@
+package com.aksi.controller;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.aksi.service.storage.FileStorageService;
+import com.aksi.service.storage.ServedFile;
+import com.aksi.service.storage.upload.ChunkedUploadService;
+
+/** Conditional and partial requests for served files, answered by Spring from the validators */
+@ExtendWith(MockitoExtension.class)
+class FileControllerTest {
+
+    private static final String URL = "/api/files/photo.jpg";
+    private static final String CONTENT = "0123456789";
+    private static final String ETAG =
+        "\"sha256-84d89877f0d4041efb6bf91a16f0248f2fd573e6af05c19f96bedb9f882f7882\"";
+    private static final Instant LAST_MODIFIED = Instant.parse("2026-10-01T08:00:00Z");
+
+    @TempDir Path directory;
+
+    @Mock private FileStorageService fileStorageService;
+    @Mock private ChunkedUploadService chunkedUploadService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+            .standaloneSetup(new FileController(fileStorageService, chunkedUploadService))
+            .build();
+    }
+
+    @Test
+    @DisplayName("Should send content with entity tag, modification time and immutable caching")
+    void shouldServeImmutableFile() throws Exception {
+        // Given
+        givenFile(true);
+
+        // When / Then
+        mockMvc.perform(get(URL))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+            .andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED, LAST_MODIFIED.toEpochMilli()))
+            .andExpect(header().string(
+                HttpHeaders.CACHE_CONTROL, "max-age=31536000, private, immutable"))
+            .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+            .andExpect(content().contentType(MediaType.IMAGE_JPEG))
+            .andExpect(content().string(CONTENT));
+    }
+
+    @Test
+    @DisplayName("Should make clients revalidate files that are not content-addressed")
+    void shouldRevalidateMutableFile() throws Exception {
+        // Given
+        givenFile(false);
+
+        // When / Then
+        mockMvc.perform(get(URL))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"));
+    }
+
+    @Test
+    @DisplayName("Should answer a matching If-None-Match with 304 and no body")
+    void shouldAnswerNotModifiedForMatchingEtag() throws Exception {
+        // Given
+        givenFile(true);
+
+        // When / Then
+        mockMvc.perform(get(URL).header(HttpHeaders.IF_NONE_MATCH, ETAG))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+            .andExpect(content().bytes(new byte[0]));
+        mockMvc.perform(get(URL).header(HttpHeaders.IF_NONE_MATCH, "\"sha256-other\""))
+            .andExpect(status().isOk())
+            .andExpect(content().string(CONTENT));
+    }
+
+    @Test
+    @DisplayName("Should answer If-Modified-Since with 304 unless the file changed since")
+    void shouldAnswerNotModifiedSinceLastModified() throws Exception {
+        // Given
+        givenFile(false);
+
+        // When / Then
+        mockMvc.perform(get(URL).header(
+                HttpHeaders.IF_MODIFIED_SINCE, httpDate(LAST_MODIFIED)))
+            .andExpect(status().isNotModified());
+        mockMvc.perform(get(URL).header(
+                HttpHeaders.IF_MODIFIED_SINCE, httpDate(LAST_MODIFIED.minus(1, ChronoUnit.DAYS))))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should send the requested byte range with 206")
+    void shouldServeByteRange() throws Exception {
+        // Given
+        givenFile(true);
+
+        // When / Then
+        mockMvc.perform(get(URL).header(HttpHeaders.RANGE, "bytes=2-5"))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/10"))
+            .andExpect(content().string("2345"));
+        mockMvc.perform(get(URL).header(HttpHeaders.RANGE, "bytes=-3"))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 7-9/10"))
+            .andExpect(content().string("789"));
+    }
+
+    @Test
+    @DisplayName("Should reject a range past the end of the file with 416")
+    void shouldRejectUnsatisfiableRange() throws Exception {
+        // Given
+        givenFile(true);
+
+        // When / Then
+        mockMvc.perform(get(URL).header(HttpHeaders.RANGE, "bytes=20-30"))
+            .andExpect(status().isRequestedRangeNotSatisfiable())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10"));
+    }
+
+    private void givenFile(boolean immutable) throws IOException {
+        Path file = Files.writeString(
+            directory.resolve("photo.jpg"), CONTENT, StandardCharsets.US_ASCII);
+        String etag =
+            immutable ? ETAG : "\"" + Long.toHexString(LAST_MODIFIED.toEpochMilli()) + "-a\"";
+        ServedFile served = new ServedFile(
+            new FileSystemResource(file), MediaType.IMAGE_JPEG, LAST_MODIFIED, etag, immutable);
+        when(fileStorageService.serveFile("photo.jpg", null)).thenReturn(served);
+    }
+
+    private static String httpDate(Instant instant) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setDate(HttpHeaders.IF_MODIFIED_SINCE, instant.toEpochMilli());
+        return headers.getFirst(HttpHeaders.IF_MODIFIED_SINCE);
+    }
+}
@@ -0,0 +1,260 @@
+package com.aksi.integration;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.aksi.api.order.dto.OrderStatus;
+import com.aksi.api.order.dto.PaymentMethod;
+import com.aksi.api.order.dto.StainType;
+import com.aksi.api.pricelist.dto.ServiceCategoryType;
+import com.aksi.api.pricelist.dto.UnitOfMeasure;
+import com.aksi.domain.branch.BranchEntity;
+import com.aksi.domain.catalog.PriceListItemEntity;
+import com.aksi.domain.customer.CustomerEntity;
+import com.aksi.domain.order.OrderEntity;
+import com.aksi.domain.order.OrderItemEntity;
+import com.aksi.domain.order.ItemStainEntity;
+import com.aksi.domain.order.OrderPaymentEntity;
+import com.aksi.repository.BranchRepository;
+import com.aksi.repository.CustomerRepository;
+import com.aksi.repository.OrderRepository;
+import com.aksi.repository.PriceListItemRepository;
+import com.aksi.service.order.archive.OrderArchiveReader;
+import com.aksi.service.order.archive.OrderArchiveService;
+import com.aksi.service.order.guard.OrderGuard;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Monthly partitioned orders: an order created in an earlier month lands in that month's
+ * partition together with its items, payments and item children, stays reachable by number, keeps
+ * its number globally unique and is archived with one set-based delete that cascades to its
+ * children.
+ */
+@ActiveProfiles("integration-test")
+@TestPropertySource(
+    properties = {
+        "app.order-archive.min-age=300d",
+        "app.order-archive.directory=target/test-order-archive"
+    })
+class OrderPartitioningIntegrationTest extends BaseIntegrationTest {
+
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private BranchRepository branchRepository;
+
+    @Autowired
+    private PriceListItemRepository priceListItemRepository;
+
+    @Autowired
+    private OrderGuard orderGuard;
+
+    @Autowired
+    private OrderArchiveService orderArchiveService;
+
+    @Autowired
+    private OrderArchiveReader orderArchiveReader;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private CustomerEntity customer;
+    private BranchEntity branch;
+    private PriceListItemEntity priceListItem;
+    private Instant lastYear;
+
+    @BeforeEach
+    void setUp() {
+        customer = new CustomerEntity();
+        customer.setFirstName("Partition");
+        customer.setLastName("Customer");
+        customer.setPhonePrimary("+380502223344");
+        customer = customerRepository.save(customer);
+
+        branch = new BranchEntity();
+        branch.setName("Partition Branch");
+        branch.setAddress("Lviv");
+        branch.setPhone("+380322223344");
+        branch = branchRepository.save(branch);
+
+        priceListItem = new PriceListItemEntity();
+        priceListItem.setCategoryCode(ServiceCategoryType.CLOTHING);
+        priceListItem.setCatalogNumber(80_000 + (int) (System.nanoTime() % 10_000));
+        priceListItem.setName("Partition test item");
+        priceListItem.setUnitOfMeasure(UnitOfMeasure.PIECE);
+        priceListItem.setBasePrice(10_000);
+        priceListItem = priceListItemRepository.save(priceListItem);
+
+        lastYear = Instant.now().minus(400, ChronoUnit.DAYS);
+        jdbcTemplate.queryForList(
+            "SELECT create_orders_partition(?)",
+            Date.valueOf(LocalDate.ofInstant(lastYear, ZoneOffset.UTC).withDayOfMonth(1)));
+    }
+
+    @Test
+    @DisplayName("Order of an earlier month lands in its partition and is found by number")
+    void shouldStoreAndFindOrderOfEarlierMonth() {
+        // Given
+        String orderNumber = "AKSI-" + Instant.now().getEpochSecond() + "-" + System.nanoTime();
+
+        // When
+        UUID orderId = createOrder(orderNumber, lastYear);
+
+        // Then
+        String partition = jdbcTemplate.queryForObject(
+            "SELECT tableoid::regclass::text FROM orders WHERE id = ?", String.class, orderId);
+        String month = PARTITION_MONTH.format(lastYear.atZone(ZoneOffset.UTC));
+        assertThat(partition).isEqualTo("orders_p" + month);
+        assertThat(partitionOf("order_items", "order_id", orderId))
+            .isEqualTo("order_items_p" + month);
+        assertThat(partitionOf("order_payments", "order_id", orderId))
+            .isEqualTo("order_payments_p" + month);
+        UUID itemId = jdbcTemplate.queryForObject(
+            "SELECT id FROM order_items WHERE order_id = ?", UUID.class, orderId);
+        assertThat(partitionOf("item_stains", "order_item_id", itemId))
+            .isEqualTo("item_stains_p" + month);
+        Timestamp itemOrderCreatedAt = jdbcTemplate.queryForObject(
+            "SELECT order_created_at FROM order_items WHERE order_id = ?", Timestamp.class, orderId);
+        assertThat(itemOrderCreatedAt.toInstant()).isCloseTo(lastYear, within(1, ChronoUnit.MILLIS));
+
+        // The timestamp embedded in the number is a year off: the registry resolves the partition
+        OrderEntity found = transactionTemplate.execute(
+            status -> orderGuard.findByNumber(orderNumber).orElseThrow());
+        assertThat(found.getId()).isEqualTo(orderId);
+    }
+
+    @Test
+    @DisplayName("Order numbers stay unique across monthly partitions")
+    void shouldRejectDuplicateNumberInOtherPartition() {
+        // Given
+        String orderNumber = "DUP-" + System.nanoTime();
+        createOrder(orderNumber, lastYear);
+
+        // When / Then
+        assertThatThrownBy(() -> createOrder(orderNumber, Instant.now()))
+            .isInstanceOf(DataIntegrityViolationException.class);
+        Integer reserved = transactionTemplate.execute(
+            status -> orderRepository.reserveOrderNumber(orderNumber));
+        assertThat(reserved).isZero();
+    }
+
+    @Test
+    @DisplayName("Archiving deletes the order graph set-based and keeps the number reserved")
+    void shouldArchiveOrderOfEarlierMonth() {
+        // Given
+        String orderNumber = "ARCH-" + System.nanoTime();
+        UUID orderId = createOrder(orderNumber, lastYear);
+
+        // When
+        int archived = orderArchiveService.archiveEligibleOrders();
+
+        // Then
+        assertThat(archived).isPositive();
+        assertThat(orderRepository.findById(orderId)).isEmpty();
+        assertThat(countRows("order_items", orderId)).isZero();
+        assertThat(countRows("order_payments", orderId)).isZero();
+        Integer stains = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM item_stains WHERE description = ?", Integer.class, orderNumber);
+        assertThat(stains).isZero();
+        assertThat(orderArchiveReader.findByOrderNumber(orderNumber)).isPresent();
+        assertThat(transactionTemplate.execute(status -> orderGuard.findByNumber(orderNumber)))
+            .isEmpty();
+        Integer reserved = transactionTemplate.execute(
+            status -> orderRepository.reserveOrderNumber(orderNumber));
+        assertThat(reserved).isZero();
+    }
+
+    /**
+     * Create a completed, fully paid order with one stained item and one payment. Auditing always
+     * stamps the current time, so the order is moved to {@code createdAt} before its children are
+     * added.
+     */
+    private UUID createOrder(String orderNumber, Instant createdAt) {
+        UUID orderId = transactionTemplate.execute(status -> {
+            var order = new OrderEntity();
+            order.setOrderNumber(orderNumber);
+            order.setCustomerEntity(customer);
+            order.setBranchEntity(branch);
+            order.setStatus(OrderStatus.COMPLETED.getValue());
+            order.setExpectedCompletionDate(createdAt.plus(2, ChronoUnit.DAYS));
+            order.setTermsAccepted(true);
+            order.setTotalAmount(10_000);
+            order.setPaidAmount(10_000);
+            order.setBalanceDue(0);
+            orderRepository.saveAndFlush(order);
+            jdbcTemplate.update(
+                "UPDATE orders SET created_at = ? WHERE id = ?",
+                Timestamp.from(createdAt), order.getId());
+            return order.getId();
+        });
+
+        transactionTemplate.executeWithoutResult(status -> {
+            OrderEntity order = entityManager.find(OrderEntity.class, orderId);
+
+            var item = new OrderItemEntity();
+            item.setOrderEntity(order);
+            item.setPriceListItemEntity(entityManager.getReference(
+                PriceListItemEntity.class, priceListItem.getId()));
+            item.setQuantity(1);
+            order.getItems().add(item);
+
+            var stain = new ItemStainEntity();
+            stain.setOrderItemEntity(item);
+            stain.setType(StainType.GREASE);
+            stain.setDescription(orderNumber);
+            item.getStains().add(stain);
+
+            var payment = new OrderPaymentEntity();
+            payment.setOrderEntity(order);
+            payment.setAmount(10_000);
+            payment.setMethod(PaymentMethod.CASH);
+            payment.setPaidAt(createdAt);
+            order.getPayments().add(payment);
+        });
+        return orderId;
+    }
+
+    private String partitionOf(String table, String keyColumn, UUID key) {
+        return jdbcTemplate.queryForObject(
+            "SELECT tableoid::regclass::text FROM " + table + " WHERE " + keyColumn + " = ?",
+            String.class, key);
+    }
+
+    private int countRows(String table, UUID orderId) {
+        Integer count = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM " + table + " WHERE order_id = ?", Integer.class, orderId);
+        return count != null ? count : 0;
+    }
+}
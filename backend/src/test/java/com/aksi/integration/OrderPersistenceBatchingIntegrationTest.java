@@ -0,0 +1,230 @@
+package com.aksi.integration;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.aksi.api.pricelist.dto.ServiceCategoryType;
+import com.aksi.api.pricelist.dto.UnitOfMeasure;
+import com.aksi.domain.branch.BranchEntity;
+import com.aksi.domain.cart.CartEntity;
+import com.aksi.domain.cart.CartItem;
+import com.aksi.domain.cart.CartItemCharacteristicsEntity;
+import com.aksi.domain.catalog.PriceListItemEntity;
+import com.aksi.domain.customer.CustomerEntity;
+import com.aksi.domain.order.ItemCharacteristicsEntity;
+import com.aksi.domain.order.ItemModifierEntity;
+import com.aksi.domain.order.OrderEntity;
+import com.aksi.domain.order.OrderItemEntity;
+import com.aksi.repository.BranchRepository;
+import com.aksi.repository.CartRepository;
+import com.aksi.repository.CustomerRepository;
+import com.aksi.repository.OrderRepository;
+import com.aksi.repository.PriceListItemRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Query-count benchmark for order persistence. Verifies that a 50-item order graph is written with
+ * JDBC batching and that the source cart is removed with set-based statements.
+ */
+@Slf4j
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("integration-test")
+@Transactional
+class OrderPersistenceBatchingIntegrationTest extends BaseIntegrationTest {
+
+    private static final int ITEM_COUNT = 50;
+
+    /** orders + order_items + item_characteristics + item_modifiers, 2 batches of 25 per child table */
+    private static final long MAX_ORDER_INSERT_STATEMENTS = 8;
+
+    /** One bulk DELETE per cart table */
+    private static final long CART_DELETE_STATEMENTS = 4;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private BranchRepository branchRepository;
+
+    @Autowired
+    private PriceListItemRepository priceListItemRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private CustomerEntity customer;
+    private BranchEntity branch;
+    private PriceListItemEntity priceListItem;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        customer = new CustomerEntity();
+        customer.setFirstName("Batch");
+        customer.setLastName("Customer");
+        customer.setPhonePrimary("+380501112233");
+        customer = customerRepository.save(customer);
+
+        branch = new BranchEntity();
+        branch.setName("Batch Branch");
+        branch.setAddress("Kyiv");
+        branch.setPhone("+380441112233");
+        branch = branchRepository.save(branch);
+
+        priceListItem = new PriceListItemEntity();
+        priceListItem.setCategoryCode(ServiceCategoryType.CLOTHING);
+        priceListItem.setCatalogNumber(90_000 + (int) (System.nanoTime() % 10_000));
+        priceListItem.setName("Batch test item");
+        priceListItem.setUnitOfMeasure(UnitOfMeasure.PIECE);
+        priceListItem.setBasePrice(10_000);
+        priceListItem = priceListItemRepository.save(priceListItem);
+
+        entityManager.flush();
+        entityManager.clear();
+        customer = entityManager.getReference(CustomerEntity.class, customer.getId());
+        branch = entityManager.getReference(BranchEntity.class, branch.getId());
+        priceListItem = entityManager.getReference(PriceListItemEntity.class, priceListItem.getId());
+    }
+
+    @Test
+    @DisplayName("50-item order graph is written in a handful of batched statements")
+    void shouldBatchOrderGraphInserts() {
+        // Given
+        OrderEntity order = buildOrder(ITEM_COUNT);
+        statistics.clear();
+
+        // When
+        orderRepository.save(order);
+        entityManager.flush();
+
+        // Then
+        long statements = statistics.getPrepareStatementCount();
+        log.info(
+            "Persisted order with {} items: {} entity inserts in {} prepared statements",
+            ITEM_COUNT,
+            statistics.getEntityInsertCount(),
+            statements);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1 + ITEM_COUNT * 3L);
+        assertThat(statements).isLessThanOrEqualTo(MAX_ORDER_INSERT_STATEMENTS);
+    }
+
+    @Test
+    @DisplayName("Order identifiers are time-ordered version 7 UUIDs")
+    void shouldGenerateTimeOrderedIds() {
+        // Given
+        OrderEntity order = buildOrder(ITEM_COUNT);
+
+        // When
+        orderRepository.save(order);
+        entityManager.flush();
+
+        // Then
+        UUID previous = order.getId();
+        assertThat(previous.version()).isEqualTo(7);
+        for (OrderItemEntity item : order.getItems()) {
+            assertThat(item.getId().version()).isEqualTo(7);
+            assertThat(item.getId()).isGreaterThan(previous);
+            previous = item.getId();
+        }
+    }
+
+    @Test
+    @DisplayName("Cart with 50 items is removed with one statement per table")
+    void shouldDeleteCartGraphWithSetBasedStatements() {
+        // Given
+        CartEntity cart = buildCart(ITEM_COUNT);
+        cartRepository.save(cart);
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        // When
+        int deleted = cartRepository.deleteCartGraph(cart.getId());
+
+        // Then
+        assertThat(deleted).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(CART_DELETE_STATEMENTS);
+        assertThat(cartRepository.findById(cart.getId())).isEmpty();
+    }
+
+    private OrderEntity buildOrder(int itemCount) {
+        var order = new OrderEntity();
+        order.setOrderNumber("BATCH-" + System.nanoTime());
+        order.setCustomerEntity(customer);
+        order.setBranchEntity(branch);
+        order.setExpectedCompletionDate(Instant.now().plus(2, ChronoUnit.DAYS));
+        order.setTermsAccepted(true);
+
+        for (int i = 0; i < itemCount; i++) {
+            var item = new OrderItemEntity();
+            item.setOrderEntity(order);
+            item.setPriceListItemEntity(priceListItem);
+            item.setQuantity(1);
+
+            var characteristics = new ItemCharacteristicsEntity();
+            characteristics.setOrderItemEntity(item);
+            characteristics.setMaterial("Cotton");
+            characteristics.setColor("Black");
+            item.setCharacteristics(characteristics);
+
+            var modifier = new ItemModifierEntity();
+            modifier.setOrderItemEntity(item);
+            modifier.setCode("STAINS");
+            modifier.setName("Stain removal");
+            modifier.setType(ItemModifierEntity.ModifierType.PERCENTAGE);
+            modifier.setValue(20);
+            modifier.setAppliedAmount(100);
+            item.getModifiers().add(modifier);
+
+            order.getItems().add(item);
+        }
+        return order;
+    }
+
+    private CartEntity buildCart(int itemCount) {
+        var cart = new CartEntity();
+        cart.setCustomerEntity(customer);
+        cart.setExpiresAt(Instant.now().plus(1, ChronoUnit.HOURS));
+
+        for (int i = 0; i < itemCount; i++) {
+            var item = new CartItem();
+            item.setCartEntity(cart);
+            item.setPriceListItemEntity(priceListItem);
+            item.setQuantity(1);
+
+            var characteristics = new CartItemCharacteristicsEntity();
+            characteristics.setCartItem(item);
+            characteristics.setMaterial("Wool");
+            item.setCharacteristics(characteristics);
+
+            cart.getItems().add(item);
+        }
+        return cart;
+    }
+}
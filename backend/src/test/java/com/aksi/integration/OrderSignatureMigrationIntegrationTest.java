@@ -0,0 +1,217 @@
+package com.aksi.integration;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.yaml.snakeyaml.Yaml;
+
+import com.aksi.api.order.dto.OrderStatus;
+import com.aksi.domain.branch.BranchEntity;
+import com.aksi.domain.customer.CustomerEntity;
+import com.aksi.domain.order.OrderEntity;
+import com.aksi.repository.BranchRepository;
+import com.aksi.repository.CustomerRepository;
+import com.aksi.repository.OrderRepository;
+import com.aksi.service.order.OrderService;
+import com.aksi.service.order.OrderSignatureService;
+import com.aksi.service.order.SignatureImage;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Migration 103: signatures live decoded in order_signatures, orders keep only signed_at, and the
+ * signature endpoint reads both moved and newly saved signatures. The move itself is replayed
+ * against a temporarily restored customer_signature column.
+ */
+class OrderSignatureMigrationIntegrationTest extends BaseIntegrationTest {
+
+    private static final String CHANGELOG = "db/changelog/changes/103-move-order-signatures.yaml";
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 1, 2};
+    private static final byte[] JPEG = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0, 3};
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private BranchRepository branchRepository;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderSignatureService orderSignatureService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private CustomerEntity customer;
+    private BranchEntity branch;
+
+    @BeforeEach
+    void setUp() {
+        customer = new CustomerEntity();
+        customer.setFirstName("Signature");
+        customer.setLastName("Customer");
+        customer.setPhonePrimary("+380503334455");
+        customer = customerRepository.save(customer);
+
+        branch = new BranchEntity();
+        branch.setName("Signature Branch");
+        branch.setAddress("Kyiv");
+        branch.setPhone("+380443334455");
+        branch = branchRepository.save(branch);
+    }
+
+    @Test
+    @DisplayName("Should keep signatures in their own table and only signed_at on orders")
+    void shouldHaveMigratedSchema() {
+        assertThat(columnType("order_signatures", "content")).isEqualTo("bytea");
+        assertThat(columnType("order_signatures", "order_id")).isEqualTo("uuid");
+        assertThat(columnType("orders", "signed_at")).isEqualTo("timestamp with time zone");
+        assertThat(columnType("orders", "customer_signature")).isNull();
+        List<String> changeSets = jdbcTemplate.queryForList(
+            "SELECT id FROM databasechangelog WHERE id LIKE '103-%' ORDER BY id", String.class);
+        assertThat(changeSets).containsExactly("103-1", "103-2", "103-3", "103-4");
+    }
+
+    @Test
+    @DisplayName("Should move legacy signatures and serve them with the order's last update")
+    void shouldMoveLegacySignatures() {
+        jdbcTemplate.execute("ALTER TABLE orders ADD COLUMN customer_signature TEXT");
+        try {
+            // Given
+            UUID plain = createOrder(Base64.getEncoder().encodeToString(PNG));
+            String dataUrl = "data:image/jpeg;base64," + Base64.getEncoder().encodeToString(JPEG);
+            UUID wrapped = createOrder(dataUrl.substring(0, 30) + "\n" + dataUrl.substring(30));
+            UUID garbage = createOrder("signed on paper");
+            UUID unsigned = createOrder(null);
+
+            // When: a rerun after completion finds nothing left to move
+            jdbcTemplate.execute(moveSignaturesSql());
+            jdbcTemplate.execute(moveSignaturesSql());
+
+            // Then
+            assertMoved(plain, PNG, "image/png");
+            assertMoved(wrapped, JPEG, "image/jpeg");
+            assertMoved(garbage, "signed on paper".getBytes(StandardCharsets.UTF_8), "text/plain");
+            assertThat(orderRepository.findById(unsigned).orElseThrow().getSignedAt()).isNull();
+            assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM order_signatures WHERE order_id = ?",
+                Integer.class,
+                unsigned))
+                .isZero();
+            assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM orders WHERE customer_signature IS NOT NULL", Integer.class))
+                .isZero();
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE orders DROP COLUMN customer_signature");
+        }
+    }
+
+    @Test
+    @DisplayName("Should serve a signature saved after the migration with its signing time")
+    void shouldReadNewSignature() {
+        // Given
+        UUID orderId = createOrder(null);
+        Instant before = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> orderSignatureService.attachSignature(
+            entityManager.find(OrderEntity.class, orderId),
+            "data:image/png;base64," + Base64.getEncoder().encodeToString(PNG)));
+
+        // Then
+        SignatureImage signature = orderService.getCustomerSignature(orderId);
+        assertThat(signature.content()).isEqualTo(PNG);
+        assertThat(signature.contentType()).isEqualTo("image/png");
+        assertThat(signature.signedAt()).isAfterOrEqualTo(before);
+        assertThat(orderRepository.findById(orderId).orElseThrow().getSignedAt())
+            .isAfterOrEqualTo(before);
+    }
+
+    private void assertMoved(UUID orderId, byte[] content, String contentType) {
+        Timestamp updatedAt = jdbcTemplate.queryForObject(
+            "SELECT updated_at FROM orders WHERE id = ?", Timestamp.class, orderId);
+        SignatureImage signature = orderService.getCustomerSignature(orderId);
+        assertThat(signature.content()).isEqualTo(content);
+        assertThat(signature.contentType()).isEqualTo(contentType);
+        assertThat(signature.signedAt()).isEqualTo(updatedAt.toInstant());
+        assertThat(orderRepository.findById(orderId).orElseThrow().getSignedAt())
+            .isEqualTo(updatedAt.toInstant());
+    }
+
+    private UUID createOrder(String legacySignature) {
+        UUID orderId = transactionTemplate.execute(status -> {
+            var order = new OrderEntity();
+            order.setOrderNumber("SIGN-" + System.nanoTime());
+            order.setCustomerEntity(customer);
+            order.setBranchEntity(branch);
+            order.setStatus(OrderStatus.COMPLETED.getValue());
+            order.setExpectedCompletionDate(Instant.now().plus(2, ChronoUnit.DAYS));
+            order.setTermsAccepted(true);
+            order.setTotalAmount(10_000);
+            order.setPaidAmount(10_000);
+            order.setBalanceDue(0);
+            return orderRepository.saveAndFlush(order).getId();
+        });
+        if (legacySignature != null) {
+            jdbcTemplate.update(
+                "UPDATE orders SET customer_signature = ? WHERE id = ?", legacySignature, orderId);
+        }
+        return orderId;
+    }
+
+    private String columnType(String table, String column) {
+        return jdbcTemplate.query(
+            "SELECT data_type FROM information_schema.columns"
+                + " WHERE table_name = ? AND column_name = ?",
+            rs -> rs.next() ? rs.getString(1) : null,
+            table,
+            column);
+    }
+
+    /** The SQL of changeset 103-3 exactly as Liquibase runs it */
+    @SuppressWarnings("unchecked")
+    private static String moveSignaturesSql() {
+        try (InputStream in = new ClassPathResource(CHANGELOG).getInputStream()) {
+            Map<String, Object> changelog = new Yaml().load(in);
+            for (Object entry : (List<Object>) changelog.get("databaseChangeLog")) {
+                Map<String, Object> changeSet =
+                    (Map<String, Object>) ((Map<String, Object>) entry).get("changeSet");
+                if ("103-3".equals(changeSet.get("id"))) {
+                    Map<String, Object> change =
+                        ((List<Map<String, Object>>) changeSet.get("changes")).getFirst();
+                    return (String) ((Map<String, Object>) change.get("sql")).get("sql");
+                }
+            }
+        } catch (IOException ex) {
+            throw new IllegalStateException("Cannot read " + CHANGELOG, ex);
+        }
+        throw new IllegalStateException("Changeset 103-3 not found in " + CHANGELOG);
+    }
+}
@@ -0,0 +1,178 @@
+package com.aksi.service.game.calculation;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.aksi.api.game.dto.PriceMatrixResponse;
+import com.aksi.config.GamePriceTableProperties;
+import com.aksi.domain.game.DifficultyLevelEntity;
+import com.aksi.domain.game.GameEntity;
+import com.aksi.domain.game.PriceConfigurationEntity;
+import com.aksi.domain.game.ServiceTypeEntity;
+import com.aksi.exception.BadRequestException;
+import com.aksi.repository.DifficultyLevelRepository;
+import com.aksi.repository.GameRepository;
+import com.aksi.repository.PriceConfigurationRepository;
+import com.aksi.repository.ServiceTypeRepository;
+import com.aksi.service.game.GameModifierService;
+
+@ExtendWith(MockitoExtension.class)
+class GamePriceMatrixServiceTest {
+
+    @Mock private GameRepository gameRepository;
+    @Mock private ServiceTypeRepository serviceTypeRepository;
+    @Mock private DifficultyLevelRepository difficultyLevelRepository;
+    @Mock private PriceConfigurationRepository priceConfigurationRepository;
+    @Mock private GameModifierService gameModifierService;
+    @Mock private GameModifierCalculationService modifierCalculationService;
+    @Mock private LevelPriceTables levelPriceTables;
+
+    private GamePriceMatrixService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new GamePriceMatrixService(gameRepository, serviceTypeRepository, difficultyLevelRepository,
+            priceConfigurationRepository, gameModifierService, modifierCalculationService, levelPriceTables,
+            new GamePriceTableProperties(), Runnable::run);
+    }
+
+    @Test
+    @DisplayName("Should lay out prices row-major with null rows where no configuration exists")
+    void shouldBuildColumnarMatrix() {
+        // Given
+        givenCatalog();
+
+        // When
+        PriceMatrixResponse matrix = service.getPriceMatrix("WOW", List.of("1-10", "10-20"), null, null, null);
+
+        // Then
+        assertThat(matrix.getServiceTypes()).containsExactly("LEVEL_BOOST");
+        assertThat(matrix.getDifficultyLevels()).containsExactly("NORMAL", "HARD");
+        assertThat(matrix.getFromLevels()).containsExactly(1, 10);
+        assertThat(matrix.getToLevels()).containsExactly(10, 20);
+        assertThat(matrix.getCurrencies()).containsExactly("USD", null);
+        assertThat(matrix.getPrices()).containsExactly(900, 1000, null, null);
+        assertThat(matrix.getCatalogVersion()).hasSize(16);
+    }
+
+    @Test
+    @DisplayName("Should reuse the cached matrix while the catalog version is unchanged")
+    void shouldReuseMatrixOfSameCatalogVersion() {
+        // Given
+        PriceConfigurationEntity configuration = givenCatalog();
+        PriceMatrixResponse first = service.getPriceMatrix("WOW", List.of("1-10"), null, null, null);
+
+        // When
+        PriceMatrixResponse second = service.getPriceMatrix("WOW", List.of("1-10"), null, null, null);
+        configuration.setVersion(1L);
+        PriceMatrixResponse third = service.getPriceMatrix("WOW", List.of("1-10"), null, null, null);
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(third.getCatalogVersion()).isNotEqualTo(first.getCatalogVersion());
+        verify(levelPriceTables, times(2)).findPrice(any(PriceConfigurationEntity.class), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should leave cells empty only where the strategy cannot price the level jump")
+    void shouldLeaveUnpricedCellsEmpty() {
+        // Given
+        PriceConfigurationEntity configuration = givenCatalog();
+        when(levelPriceTables.findPrice(configuration, 10, 20)).thenReturn(null);
+
+        // When
+        PriceMatrixResponse matrix = service.getPriceMatrix("WOW", List.of("1-10", "10-20"), null, null, null);
+
+        // Then
+        assertThat(matrix.getPrices()).containsExactly(900, null, null, null);
+    }
+
+    @Test
+    @DisplayName("Should keep free level jumps as zero prices")
+    void shouldKeepFreeCells() {
+        // Given
+        PriceConfigurationEntity configuration = givenCatalog();
+        when(levelPriceTables.findPrice(configuration, 10, 20)).thenReturn(0);
+
+        // When
+        PriceMatrixResponse matrix = service.getPriceMatrix("WOW", List.of("1-10", "10-20"), null, null, null);
+
+        // Then
+        assertThat(matrix.getPrices()).containsExactly(900, 0, null, null);
+    }
+
+    @Test
+    @DisplayName("Should fail the matrix when a price fails for any other reason")
+    void shouldSurfacePricingFailures() {
+        // Given
+        PriceConfigurationEntity configuration = givenCatalog();
+        when(levelPriceTables.findPrice(configuration, 10, 20))
+            .thenThrow(new IllegalStateException("Formula cannot be evaluated"));
+
+        // When & Then
+        assertThatThrownBy(() -> service.getPriceMatrix("WOW", List.of("1-10", "10-20"), null, null, null))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("Formula cannot be evaluated");
+    }
+
+    @Test
+    @DisplayName("Should reject malformed level jumps")
+    void shouldRejectMalformedLevelJumps() {
+        assertThatThrownBy(() -> service.getPriceMatrix("WOW", List.of("20-10"), null, null, null))
+            .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> service.getPriceMatrix("WOW", Arrays.asList("1-10", null), null, null, null))
+            .isInstanceOf(BadRequestException.class);
+    }
+
+    private PriceConfigurationEntity givenCatalog() {
+        GameEntity game = GameEntity.builder().code("WOW").build();
+        game.setId(UUID.randomUUID());
+        game.setVersion(0L);
+
+        ServiceTypeEntity serviceType = ServiceTypeEntity.builder().code("LEVEL_BOOST").game(game).build();
+        serviceType.setId(UUID.randomUUID());
+        serviceType.setVersion(0L);
+
+        DifficultyLevelEntity normal = DifficultyLevelEntity.builder().code("NORMAL").game(game).build();
+        normal.setId(UUID.randomUUID());
+        normal.setVersion(0L);
+        DifficultyLevelEntity hard = DifficultyLevelEntity.builder().code("HARD").game(game).build();
+        hard.setId(UUID.randomUUID());
+        hard.setVersion(0L);
+
+        PriceConfigurationEntity configuration = PriceConfigurationEntity.builder()
+            .game(game)
+            .serviceType(serviceType)
+            .difficultyLevel(normal)
+            .basePrice(0)
+            .build();
+        configuration.setId(UUID.randomUUID());
+        configuration.setVersion(0L);
+
+        when(gameRepository.findByCode("WOW")).thenReturn(Optional.of(game));
+        when(serviceTypeRepository.findByGameIdAndActiveTrue(game.getId())).thenReturn(List.of(serviceType));
+        when(difficultyLevelRepository.findActiveByGameIdOrderBySortOrder(game.getId()))
+            .thenReturn(List.of(normal, hard));
+        when(priceConfigurationRepository.findActiveByGameId(game.getId())).thenReturn(List.of(configuration));
+        when(levelPriceTables.findPrice(any(PriceConfigurationEntity.class), anyInt(), anyInt()))
+            .thenAnswer(call -> 100 * (call.<Integer>getArgument(2) - call.<Integer>getArgument(1)));
+        return configuration;
+    }
+}
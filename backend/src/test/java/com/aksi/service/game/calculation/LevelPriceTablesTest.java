@@ -0,0 +1,172 @@
+package com.aksi.service.game.calculation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.aksi.config.GamePriceTableProperties;
+import com.aksi.domain.game.PriceConfigurationEntity;
+import com.aksi.domain.game.formula.CalculationFormulaEntity;
+import com.aksi.domain.game.formula.PriceRangeEntity;
+import com.aksi.domain.game.formula.RangeFormulaEntity;
+import com.aksi.service.game.calculation.strategy.CalculationStrategy;
+import com.aksi.service.game.calculation.strategy.CalculationStrategyFactory;
+
+@ExtendWith(MockitoExtension.class)
+class LevelPriceTablesTest {
+
+    @Mock private CalculationStrategy strategy;
+
+    private LevelPriceTables tables;
+    private PriceConfigurationEntity configuration;
+
+    @BeforeEach
+    void setUp() {
+        when(strategy.supports("RANGE")).thenReturn(true);
+        when(strategy.calculatePrice(any(CalculationFormulaEntity.class), anyInt(), anyInt(), anyInt()))
+            .thenAnswer(call -> call.<Integer>getArgument(1)
+                + 100 * (call.<Integer>getArgument(2) + call.<Integer>getArgument(3)));
+
+        tables = new LevelPriceTables(
+            new CalculationStrategyFactory(List.of(strategy)), new GamePriceTableProperties());
+
+        var formula = new RangeFormulaEntity();
+        formula.getRanges().add(new PriceRangeEntity(1, 10, 500));
+        configuration = PriceConfigurationEntity.builder()
+            .basePrice(1000)
+            .calculationFormula(formula)
+            .build();
+        configuration.setId(UUID.randomUUID());
+        configuration.setVersion(0L);
+    }
+
+    @Test
+    @DisplayName("Should tabulate the level space once and answer later prices from the table")
+    void shouldAnswerFromTable() {
+        // Given
+        tables.calculatePrice(configuration, 1, 1);
+        clearInvocations(strategy);
+
+        // When
+        Integer price = tables.calculatePrice(configuration, 3, 10);
+
+        // Then
+        assertThat(price).isEqualTo(1000 + 1300);
+        verify(strategy, never()).calculatePrice(any(CalculationFormulaEntity.class), anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should fall back to the strategy outside the level space of the table")
+    void shouldFallBackOutsideTable() {
+        // Given
+        tables.calculatePrice(configuration, 1, 1);
+        clearInvocations(strategy);
+
+        // When
+        Integer price = tables.calculatePrice(configuration, 5, 20);
+
+        // Then
+        assertThat(price).isEqualTo(1000 + 2500);
+        verify(strategy, times(1)).calculatePrice(any(CalculationFormulaEntity.class), anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should rebuild the table when the configuration version changes")
+    void shouldRebuildOnNewVersion() {
+        // Given
+        tables.calculatePrice(configuration, 1, 1);
+
+        // When
+        configuration.setBasePrice(2000);
+        configuration.setVersion(1L);
+        Integer price = tables.calculatePrice(configuration, 3, 10);
+
+        // Then
+        assertThat(price).isEqualTo(2000 + 1300);
+    }
+
+    @Test
+    @DisplayName("Should find no price only for level pairs the strategy failed to tabulate")
+    void shouldFindNoPriceForUnpricedPairs() {
+        // Given
+        when(strategy.calculatePrice(any(CalculationFormulaEntity.class), anyInt(), eq(4), eq(6)))
+            .thenThrow(new IllegalArgumentException("Cannot price levels 4-6"));
+
+        // When
+        Integer unpriced = tables.findPrice(configuration, 4, 6);
+        Integer priced = tables.findPrice(configuration, 3, 10);
+
+        // Then
+        assertThat(unpriced).isNull();
+        assertThat(priced).isEqualTo(1000 + 1300);
+        assertThatThrownBy(() -> tables.calculatePrice(configuration, 4, 6))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should build a table once when concurrent prices miss it together")
+    void shouldBuildOnceOnConcurrentMisses() throws Exception {
+        // Given
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Integer>> prices = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                prices.add(executor.submit(() -> {
+                    start.await();
+                    return tables.calculatePrice(configuration, 3, 10);
+                }));
+            }
+
+            // When
+            start.countDown();
+
+            // Then - One validation call and 55 cells for levels 1-10
+            for (Future<Integer> price : prices) {
+                assertThat(price.get()).isEqualTo(1000 + 1300);
+            }
+            verify(strategy, times(1 + LevelPriceTable.size(10)))
+                .calculatePrice(any(CalculationFormulaEntity.class), anyInt(), anyInt(), anyInt());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should answer the first price of a warmed configuration from its table")
+    void shouldAnswerFromWarmedTable() {
+        // Given
+        tables.warm(configuration);
+        clearInvocations(strategy);
+
+        // When
+        Integer price = tables.calculatePrice(configuration, 3, 10);
+
+        // Then
+        assertThat(price).isEqualTo(1000 + 1300);
+        verify(strategy, never()).calculatePrice(any(CalculationFormulaEntity.class), anyInt(), anyInt(), anyInt());
+    }
+}
@@ -0,0 +1,168 @@
+package com.aksi.service.game.calculation.expression;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FormulaExpressionTest {
+
+    private static final Pattern SEEDED_EXPRESSION = Pattern.compile("\"expression\":\"([^\"]*)\"");
+
+    @Test
+    @DisplayName("Should honour operator precedence, parentheses and unary minus")
+    void shouldHonourPrecedence() {
+        // Given
+        FormulaExpression expression = FormulaExpression.compile("-(2 + 3) * 4 - 10 / 3 % 2 + abs(-7)");
+
+        // When
+        long result = expression.evaluate(Map.of(), 0, 0, 1, 1);
+
+        // Then
+        assertThat(result).isEqualTo(-20 - 1 + 7);
+        assertThat(expression.isConstant()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should bind formula variables before built-in values and default the rest to zero")
+    void shouldBindVariablesToSlots() {
+        // Given
+        FormulaExpression expression =
+            FormulaExpression.compile("basePrice + levelDiff * perLevel + unknown + max(fromLevel, toLevel)");
+
+        // When
+        long result = expression.evaluate(Map.of("perLevel", 50), 1000, 4, 2, 6);
+
+        // Then
+        assertThat(result).isEqualTo(1000 + 4 * 50 + 6);
+        assertThat(expression.getVariables())
+            .containsExactly("basePrice", "levelDiff", "perLevel", "unknown", "fromLevel", "toLevel");
+        assertThat(expression.evaluate(Map.of("basePrice", 10), 1000, 0, 1, 1)).isEqualTo(10 + 1);
+    }
+
+    @Test
+    @DisplayName("Should report overflow and division by zero instead of a wrong value")
+    void shouldFailOnArithmeticErrors() {
+        // Given
+        FormulaExpression division = FormulaExpression.compile("basePrice / levelDiff");
+        FormulaExpression overflow = FormulaExpression.compile("basePrice * basePrice * basePrice");
+
+        // When & Then
+        assertThatThrownBy(() -> division.evaluate(Map.of(), 100, 0, 1, 1))
+            .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> overflow.evaluate(Map.of(), Integer.MAX_VALUE, 0, 1, 1))
+            .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> FormulaExpression.compile("basePrice / (2 - 2)"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Division by zero");
+    }
+
+    @Test
+    @DisplayName("Should reject anything outside the expression grammar")
+    void shouldRejectForeignSyntax() {
+        assertThatThrownBy(() -> FormulaExpression.compile("Runtime.getRuntime()"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Unexpected '.'");
+        assertThatThrownBy(() -> FormulaExpression.compile("exec(1)"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Unknown function 'exec'");
+        assertThatThrownBy(() -> FormulaExpression.compile("basePrice + 1.5"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Decimal numbers can only multiply or divide");
+        assertThatThrownBy(() -> FormulaExpression.compile("(basePrice + 1"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Expected ')'");
+    }
+
+    @Test
+    @DisplayName("Should scale by decimal numbers and round half away from zero")
+    void shouldScaleByDecimals() {
+        // Given
+        FormulaExpression multiply = FormulaExpression.compile("basePrice * 1.5");
+        FormulaExpression divide = FormulaExpression.compile("basePrice / 0.75 - levelDiff * -0.25");
+
+        // When & Then
+        assertThat(multiply.evaluate(Map.of(), 333, 0, 1, 1)).isEqualTo(500);
+        assertThat(multiply.evaluate(Map.of(), -333, 0, 1, 1)).isEqualTo(-500);
+        assertThat(multiply.evaluate(Map.of(), 332, 0, 1, 1)).isEqualTo(498);
+        assertThat(divide.evaluate(Map.of(), 100, 3, 1, 4)).isEqualTo(133 + 1);
+        assertThat(FormulaExpression.compile("2.5 * 0.5 * 4 + 1.0").isConstant()).isTrue();
+        assertThat(FormulaExpression.compile("2.5 * 0.5 * 4 + 1.0").evaluate(Map.of(), 0, 0, 1, 1))
+            .isEqualTo(6);
+        assertThatThrownBy(() -> FormulaExpression.compile("max(basePrice, 0.5)"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Decimal numbers can only multiply or divide");
+        assertThatThrownBy(() -> FormulaExpression.compile("0.5"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Decimal numbers can only multiply or divide");
+        assertThatThrownBy(() -> FormulaExpression.compile("1.5 / basePrice"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("only be divided by constants");
+        assertThatThrownBy(() -> FormulaExpression.compile("basePrice * 1.23456"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("at most 4 decimal places");
+    }
+
+    @Test
+    @DisplayName("Should compile every formula seeded by the changelog")
+    void shouldCompileSeededFormulas() throws IOException, URISyntaxException {
+        // Given
+        List<String> seeded = seededExpressions();
+
+        // When & Then
+        assertThat(seeded).contains(
+            "basePrice + (levelDiff * pricePerLevel)",
+            "basePrice + (levelDifference * pricePerLevel)",
+            "basePrice + (levelDifference * pricePerLevel * 1.5)");
+        for (String source : seeded) {
+            FormulaExpression expression = FormulaExpression.compile(source);
+            long result = expression.evaluate(Map.of("pricePerLevel", 333), 1000, 3, 2, 5);
+            assertThat(result).as(source).isEqualTo(source.contains("1.5") ? 1000 + 1499 : 1000 + 999);
+        }
+    }
+
+    @Test
+    @DisplayName("Should enforce the operation and nesting budget")
+    void shouldEnforceBudget() {
+        // Given
+        String tooManyOperations = "basePrice" + " + 1".repeat(FormulaExpression.MAX_OPERATIONS + 1);
+        String tooDeep =
+            "(".repeat(FormulaExpression.MAX_DEPTH + 1) + "1" + ")".repeat(FormulaExpression.MAX_DEPTH + 1);
+
+        // When & Then
+        assertThatThrownBy(() -> FormulaExpression.compile(tooManyOperations))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("operations");
+        assertThatThrownBy(() -> FormulaExpression.compile(tooDeep))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("nested deeper");
+    }
+
+    private static List<String> seededExpressions() throws IOException, URISyntaxException {
+        Path changes = Path.of(FormulaExpressionTest.class.getResource("/db/changelog/changes").toURI());
+        try (Stream<Path> files = Files.list(changes)) {
+            return files
+                .filter(file -> file.toString().endsWith(".yaml"))
+                .flatMap(file -> {
+                    try {
+                        Matcher matcher = SEEDED_EXPRESSION.matcher(Files.readString(file));
+                        return matcher.results().map(match -> match.group(1)).toList().stream();
+                    } catch (IOException e) {
+                        throw new IllegalStateException("Cannot read " + file, e);
+                    }
+                })
+                .toList();
+        }
+    }
+}
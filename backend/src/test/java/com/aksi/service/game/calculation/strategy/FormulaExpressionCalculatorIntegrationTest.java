@@ -262,9 +262,9 @@ class FormulaExpressionCalculatorIntegrationTest extends BaseIntegrationTest {
     }
 
     @Test
-    @DisplayName("Complex Expression: Should fallback for unsupported operations")
-    void shouldFallbackForComplexExpressions() {
-        // Given - Complex expression with multiplication (not fully supported)
+    @DisplayName("Complex Expression: Should evaluate multiplication, division and parentheses")
+    void shouldEvaluateComplexExpressions() {
+        // Given - Complex expression with multiplication and division
         var formula = new FormulaFormulaEntity();
         formula.setExpression("basePrice * 2 + (levelDiff / 3)");
 
@@ -275,8 +275,38 @@ class FormulaExpressionCalculatorIntegrationTest extends BaseIntegrationTest {
         // When
         Integer result = formulaCalculator.calculate(formula, basePrice, fromLevel, toLevel);
 
-        // Then - Expected: falls back to basePrice = $10.00 (1000 cents)
-        assertEquals(1000, result);
+        // Then - Expected: $10.00 * 2 + 9 / 3 = 2003 cents
+        assertEquals(2003, result);
+    }
+
+    @Test
+    @DisplayName("Percentage Formula: Should apply percentage points with integer division")
+    void shouldApplyPercentagePoints() {
+        // Given - Per-level price scaled by a multiplier in percentage points
+        var formula = new FormulaFormulaEntity();
+        formula.setExpression("basePrice + (levelDiff * pricePerLevel * multiplier) / 100");
+
+        Map<String, Integer> variables = new HashMap<>();
+        variables.put("pricePerLevel", 200);
+        variables.put("multiplier", 150);
+        formula.setVariables(variables);
+
+        // When
+        Integer result = formulaCalculator.calculate(formula, 1000, 1, 5);
+
+        // Then - Expected: 1000 + 4 * 200 * 150 / 100 = 2200 cents
+        assertEquals(2200, result);
+    }
+
+    @Test
+    @DisplayName("Validation: Should reject malformed expression")
+    void shouldRejectMalformedExpression() {
+        // Given
+        var formula = new FormulaFormulaEntity();
+        formula.setExpression("basePrice + System.exit(0)");
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> formulaCalculator.validateFormula(formula));
     }
 
     @Test
@@ -1,6 +1,11 @@
 package com.aksi.service.game.calculation.strategy;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -335,4 +340,61 @@ class RangeFormulaCalculatorIntegrationTest extends BaseIntegrationTest {
         int result3to7 = rangeCalculator.calculate(formula, basePrice, 3, 7);
         assertEquals(900, result3to7); // Both ranges overlap: $4.00 + $5.00 = $9.00
     }
+
+    @Test
+    @DisplayName("Compiled Index: Should price unsorted ranges and reuse the cached index")
+    void shouldPriceUnsortedRangesWithCachedIndex() {
+        // Given - Ranges out of order, touching at boundaries, with a single-level range
+        var formula = new RangeFormulaEntity();
+        formula.getRanges().add(new PriceRangeEntity(10, 15, 500)); // $5.00
+        formula.getRanges().add(new PriceRangeEntity(1, 5, 400));   // $4.00
+        formula.getRanges().add(new PriceRangeEntity(5, 5, 100));   // $1.00 (level 5 only)
+        formula.getRanges().add(new PriceRangeEntity(5, 10, 600));  // $6.00
+
+        // When
+        int result5to5 = rangeCalculator.calculate(formula, 0, 5, 5);
+        var index = formula.getIndex();
+        int result6to9 = rangeCalculator.calculate(formula, 0, 6, 9);
+        int result1to15 = rangeCalculator.calculate(formula, 0, 1, 15);
+
+        // Then - Level 5 touches three ranges, 6-9 only (5-10), 1-15 all of them
+        assertEquals(1100, result5to5);
+        assertEquals(600, result6to9);
+        assertEquals(1600, result1to15);
+        assertSame(index, formula.getIndex());
+    }
+
+    @Test
+    @DisplayName("Compiled Index: Should drop the cached index whenever the range list changes")
+    void shouldRebuildIndexAfterRangeEdit() {
+        // Given
+        var formula = new RangeFormulaEntity();
+        formula.getRanges().add(new PriceRangeEntity(1, 5, 400));
+        formula.getRanges().add(new PriceRangeEntity(5, 10, 600));
+        assertEquals(1000, rangeCalculator.calculate(formula, 0, 1, 10));
+        var index = formula.getIndex();
+
+        // When - Replace a range, then move one, then replace all ranges
+        formula.getRanges().set(1, new PriceRangeEntity(5, 10, 700));
+        var afterSet = formula.getIndex();
+        int repriced = rangeCalculator.calculate(formula, 0, 1, 10);
+        formula.getRanges().add(formula.getRanges().removeFirst());
+        var afterMove = formula.getIndex();
+        int reordered = rangeCalculator.calculate(formula, 0, 1, 10);
+        formula.setRanges(List.of(
+            new PriceRangeEntity(1, 5, 400), new PriceRangeEntity(6, 10, 700)));
+        int touchingAt5 = rangeCalculator.calculate(formula, 0, 5, 5);
+
+        // Then
+        assertNotNull(index);
+        assertNull(afterSet);
+        assertNull(afterMove);
+        assertEquals(1100, repriced);
+        assertEquals(1100, reordered);
+        assertEquals(400, touchingAt5);
+        formula.getRanges().add(new PriceRangeEntity(3, 4, 100));
+        assertNull(formula.getIndex());
+        assertThrows(IllegalArgumentException.class,
+            () -> rangeCalculator.calculate(formula, 0, 1, 10));
+    }
 }
@@ -0,0 +1,158 @@
+package com.aksi.service.order;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.aksi.api.order.dto.BulkOrderStatusResult;
+import com.aksi.api.order.dto.BulkOrderStatusResultCode;
+import com.aksi.api.order.dto.BulkOrderStatusUpdateItem;
+import com.aksi.api.order.dto.BulkOrderStatusUpdateRequest;
+import com.aksi.api.order.dto.BulkOrderStatusUpdateResponse;
+import com.aksi.api.order.dto.OrderStatus;
+import com.aksi.exception.BadRequestException;
+import com.aksi.repository.OrderRepository;
+import com.aksi.repository.OrderStatusSnapshot;
+import com.aksi.service.order.event.OrderStatusChangedEvent;
+import com.aksi.service.order.validator.OrderValidator;
+
+@ExtendWith(MockitoExtension.class)
+class OrderBulkStatusServiceImplTest {
+
+    @Mock private OrderRepository orderRepository;
+    @Mock private OrderValidator orderValidator;
+    @Mock private ApplicationEventPublisher eventPublisher;
+
+    private OrderBulkStatusServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new OrderBulkStatusServiceImpl(orderRepository, orderValidator, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Should update valid orders and report every invalid one individually")
+    void shouldApplyMixedBatch() {
+        // Given
+        Snapshot accepted = new Snapshot(UUID.randomUUID(), "O-1", "L-1", "ACCEPTED", 3L);
+        Snapshot completed = new Snapshot(UUID.randomUUID(), "O-3", null, "COMPLETED", 1L);
+        Snapshot stale = new Snapshot(UUID.randomUUID(), "O-4", null, "ACCEPTED", 2L);
+        when(orderRepository.findStatusSnapshotsForUpdate(anyCollection(), anyCollection()))
+            .thenReturn(List.of(accepted, completed, stale));
+        when(orderValidator.isStatusTransitionAllowed(OrderStatus.ACCEPTED, OrderStatus.IN_PROGRESS))
+            .thenReturn(true);
+        when(orderValidator.isStatusTransitionAllowed(OrderStatus.COMPLETED, OrderStatus.IN_PROGRESS))
+            .thenReturn(false);
+        when(orderRepository.transitionStatus(
+                eq(List.of(accepted.getId())), eq("ACCEPTED"), eq("IN_PROGRESS"), any(Instant.class), isNull()))
+            .thenReturn(1);
+
+        BulkOrderStatusUpdateRequest request = new BulkOrderStatusUpdateRequest();
+        request.setStatus(OrderStatus.IN_PROGRESS);
+        request.setItems(List.of(
+            byNumber("O-1", null),
+            byNumber("O-2", null),
+            byNumber("O-3", null),
+            byLabel("L-1"),
+            byNumber("O-4", 1L),
+            new BulkOrderStatusUpdateItem()));
+
+        // When
+        BulkOrderStatusUpdateResponse response = service.updateStatuses(request);
+
+        // Then
+        assertThat(response.getUpdatedCount()).isEqualTo(1);
+        assertThat(response.getFailedCount()).isEqualTo(5);
+        assertThat(response.getResults())
+            .extracting(BulkOrderStatusResult::getResult)
+            .containsExactly(
+                BulkOrderStatusResultCode.UPDATED,
+                BulkOrderStatusResultCode.NOT_FOUND,
+                BulkOrderStatusResultCode.INVALID_TRANSITION,
+                BulkOrderStatusResultCode.UNCHANGED,
+                BulkOrderStatusResultCode.VERSION_CONFLICT,
+                BulkOrderStatusResultCode.INVALID_REFERENCE);
+        assertThat(response.getResults().get(0).getVersion()).isEqualTo(4L);
+
+        ArgumentCaptor<OrderStatusChangedEvent> event = ArgumentCaptor.forClass(OrderStatusChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().changes()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should reject an empty batch without querying")
+    void shouldRejectEmptyBatch() {
+        BulkOrderStatusUpdateRequest request = new BulkOrderStatusUpdateRequest();
+        request.setStatus(OrderStatus.READY);
+        request.setItems(List.of());
+
+        assertThatThrownBy(() -> service.updateStatuses(request)).isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(orderRepository);
+    }
+
+    private static BulkOrderStatusUpdateItem byNumber(String orderNumber, Long expectedVersion) {
+        BulkOrderStatusUpdateItem item = new BulkOrderStatusUpdateItem();
+        item.setOrderNumber(orderNumber);
+        item.setExpectedVersion(expectedVersion);
+        return item;
+    }
+
+    private static BulkOrderStatusUpdateItem byLabel(String uniqueLabel) {
+        BulkOrderStatusUpdateItem item = new BulkOrderStatusUpdateItem();
+        item.setUniqueLabel(uniqueLabel);
+        return item;
+    }
+
+    private record Snapshot(UUID id, String orderNumber, String uniqueLabel, String status, Long version)
+        implements OrderStatusSnapshot {
+
+        @Override
+        public UUID getId() {
+            return id;
+        }
+
+        @Override
+        public String getOrderNumber() {
+            return orderNumber;
+        }
+
+        @Override
+        public String getUniqueLabel() {
+            return uniqueLabel;
+        }
+
+        @Override
+        public String getStatus() {
+            return status;
+        }
+
+        @Override
+        public Long getVersion() {
+            return version;
+        }
+
+        @Override
+        public Instant getExpectedCompletionDate() {
+            return null;
+        }
+    }
+}
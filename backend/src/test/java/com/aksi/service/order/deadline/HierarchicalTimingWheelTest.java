@@ -0,0 +1,66 @@
+package com.aksi.service.order.deadline;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HierarchicalTimingWheelTest {
+
+    private static final long TICK = 1_000;
+    private static final long START = 1_700_000_000_000L;
+
+    @Test
+    @DisplayName("Should fire timers at their deadline across all wheel levels")
+    void shouldFireTimersAtDeadline() {
+        // Given
+        var wheel = new HierarchicalTimingWheel<String>(TICK, START);
+        long[] delays = {5, 63, 64, 65, 4_095, 4_096, 262_145, 3 * 86_400};
+        for (long delay : delays) {
+            wheel.schedule("t" + delay, START + delay * TICK);
+        }
+        List<String> fired = new ArrayList<>();
+
+        // When / Then
+        for (long delay : delays) {
+            wheel.advanceTo(START + (delay - 1) * TICK, fired::add);
+            assertFalse(fired.contains("t" + delay), "fired early: " + delay);
+            wheel.advanceTo(START + delay * TICK, fired::add);
+            assertEquals("t" + delay, fired.getLast());
+        }
+        assertEquals(delays.length, fired.size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Should not fire cancelled or rescheduled timers")
+    void shouldHonourCancelAndReschedule() {
+        // Given
+        var wheel = new HierarchicalTimingWheel<String>(TICK, START);
+        wheel.schedule("cancelled", START + 10 * TICK);
+        wheel.schedule("moved", START + 10 * TICK);
+        List<String> fired = new ArrayList<>();
+
+        // When
+        assertTrue(wheel.cancel("cancelled"));
+        wheel.schedule("moved", START + 100 * TICK);
+        wheel.advanceTo(START + 50 * TICK, fired::add);
+
+        // Then
+        assertTrue(fired.isEmpty());
+        wheel.advanceTo(START + 100 * TICK, fired::add);
+        assertEquals(List.of("moved"), fired);
+    }
+
+    @Test
+    @DisplayName("Should reject deadlines that are already due")
+    void shouldRejectPastDeadlines() {
+        var wheel = new HierarchicalTimingWheel<String>(TICK, START);
+
+        assertFalse(wheel.schedule("past", START - TICK));
+        assertEquals(0, wheel.size());
+    }
+}
@@ -0,0 +1,151 @@
+package com.aksi.service.order.deadline;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.aksi.api.order.dto.OrderStatus;
+import com.aksi.config.OrderDeadlineProperties;
+import com.aksi.repository.OrderRepository;
+import com.aksi.repository.OrderStatusSnapshot;
+import com.aksi.service.order.event.OrderStatusChangedEvent.StatusChange;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class OrderDeadlineTrackerTest {
+
+    @Mock private OrderRepository orderRepository;
+    @Mock private OrderDeadlineLease lease;
+    @Mock private ApplicationEventPublisher eventPublisher;
+
+    private OrderDeadlineTracker tracker;
+    private Instant now;
+
+    @BeforeEach
+    void setUp() {
+        OrderDeadlineProperties properties = new OrderDeadlineProperties();
+        properties.setTick(Duration.ofMillis(10));
+        tracker = new OrderDeadlineTracker(
+            orderRepository, lease, properties, eventPublisher, new SimpleMeterRegistry());
+        tracker.registerGauges();
+        now = Instant.now();
+    }
+
+    @Test
+    @DisplayName("Should classify loaded orders as overdue, due soon or later")
+    void shouldLoadDeadlines() {
+        // Given
+        UUID overdue = UUID.randomUUID();
+        UUID dueSoon = UUID.randomUUID();
+        UUID later = UUID.randomUUID();
+        givenActiveOrders(
+            snapshot(overdue, now.minus(Duration.ofHours(2))),
+            snapshot(dueSoon, now.plus(Duration.ofHours(2))),
+            snapshot(later, now.plus(Duration.ofDays(3))));
+
+        // When
+        tracker.onApplicationReady();
+
+        // Then
+        assertThat(tracker.isReady()).isTrue();
+        assertThat(tracker.getOverdueOrderIds()).containsExactly(overdue);
+        assertThat(tracker.getOrderIdsDueBy(now.plus(Duration.ofDays(1))))
+            .containsExactlyInAnyOrder(overdue, dueSoon);
+    }
+
+    @Test
+    @DisplayName("Should untrack finished orders and reschedule moved deadlines")
+    void shouldApplyStatusChanges() {
+        // Given
+        UUID finished = UUID.randomUUID();
+        UUID moved = UUID.randomUUID();
+        givenActiveOrders(
+            snapshot(finished, now.minus(Duration.ofHours(1))),
+            snapshot(moved, now.plus(Duration.ofDays(3))));
+        tracker.onApplicationReady();
+
+        // When
+        tracker.apply(List.of(
+            change(finished, OrderStatus.READY, null),
+            change(moved, OrderStatus.IN_PROGRESS, now.minus(Duration.ofMinutes(5)))));
+
+        // Then
+        assertThat(tracker.getOverdueOrderIds()).containsExactly(moved);
+        assertThat(tracker.getOrderIdsDueBy(now.plus(Duration.ofDays(30)))).containsExactly(moved);
+    }
+
+    @Test
+    @DisplayName("Should fire expired deadlines and publish events only while holding the lease")
+    void shouldFireAndPublishAsLeaseHolder() throws InterruptedException {
+        // Given
+        UUID orderId = UUID.randomUUID();
+        givenActiveOrders(snapshot(orderId, now.plusMillis(50)));
+        tracker.onApplicationReady();
+        when(lease.refresh()).thenReturn(true);
+
+        // When
+        Thread.sleep(100);
+        tracker.tick();
+
+        // Then
+        assertThat(tracker.getOverdueOrderIds()).containsExactly(orderId);
+        ArgumentCaptor<OrderDeadlineEvent> event = ArgumentCaptor.forClass(OrderDeadlineEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().type()).isEqualTo(OrderDeadlineEvent.Type.OVERDUE);
+        assertThat(event.getValue().orderId()).isEqualTo(orderId);
+    }
+
+    @Test
+    @DisplayName("Should update state without publishing when another instance holds the lease")
+    void shouldNotPublishWithoutLease() throws InterruptedException {
+        // Given
+        UUID orderId = UUID.randomUUID();
+        givenActiveOrders(snapshot(orderId, now.plusMillis(50)));
+        tracker.onApplicationReady();
+        when(lease.refresh()).thenReturn(false);
+
+        // When
+        Thread.sleep(100);
+        tracker.tick();
+
+        // Then
+        assertThat(tracker.getOverdueOrderIds()).containsExactly(orderId);
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    private void givenActiveOrders(OrderStatusSnapshot... snapshots) {
+        when(orderRepository.findDeadlineSnapshots(anyCollection())).thenReturn(List.of(snapshots));
+    }
+
+    private static OrderStatusSnapshot snapshot(UUID orderId, Instant expectedCompletionDate) {
+        OrderStatusSnapshot snapshot = mock(OrderStatusSnapshot.class);
+        when(snapshot.getId()).thenReturn(orderId);
+        when(snapshot.getOrderNumber()).thenReturn("ORD-" + orderId);
+        when(snapshot.getExpectedCompletionDate()).thenReturn(expectedCompletionDate);
+        return snapshot;
+    }
+
+    private StatusChange change(UUID orderId, OrderStatus toStatus, Instant expectedCompletionDate) {
+        return new StatusChange(
+            orderId, "ORD-" + orderId, OrderStatus.IN_PROGRESS, toStatus, expectedCompletionDate, now);
+    }
+}
@@ -0,0 +1,89 @@
+package com.aksi.service.pricing.calculation;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.aksi.api.pricing.dto.PriceCalculationItem;
+import com.aksi.api.pricing.dto.PricingItemCharacteristics;
+import com.aksi.api.pricing.dto.PricingModifierType;
+import com.aksi.api.pricing.dto.WearLevel;
+import com.aksi.domain.pricing.PriceModifierEntity;
+import com.aksi.exception.BadRequestException;
+
+class ModifierFormulaEvaluatorTest {
+
+    private final ModifierFormulaEvaluator evaluator = new ModifierFormulaEvaluator();
+
+    @Test
+    @DisplayName("Should evaluate formula against item inputs")
+    void shouldEvaluateAgainstItemInputs() {
+        // Given
+        PriceModifierEntity modifier =
+            modifier("wearLevel >= 50 && color == 'white' ? baseAmount * 130 / 100 : basePrice * quantity");
+
+        // When
+        int worn = evaluator.evaluate(modifier, item(2, "white", 50), 10000);
+        int fresh = evaluator.evaluate(modifier, item(2, "white", 10), 10000);
+
+        // Then
+        assertThat(worn).isEqualTo(13000);
+        assertThat(fresh).isEqualTo(10000);
+    }
+
+    @Test
+    @DisplayName("Should recompile cached formula when modifier version changes")
+    void shouldRecompileOnNewVersion() {
+        // Given
+        PriceModifierEntity modifier = modifier("baseAmount + 100");
+        assertThat(evaluator.evaluate(modifier, item(1, null, 10), 1000)).isEqualTo(1100);
+
+        // When
+        modifier.setJexlFormula("baseAmount + 200");
+        modifier.setVersion(modifier.getVersion() + 1);
+
+        // Then
+        assertThat(evaluator.evaluate(modifier, item(1, null, 10), 1000)).isEqualTo(1200);
+    }
+
+    @Test
+    @DisplayName("Should reject loops, assignments, method calls and unknown variables")
+    void shouldRejectForbiddenConstructs() {
+        assertThatThrownBy(() -> evaluator.validate("for (var i : [1, 2]) { i }"))
+            .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> evaluator.validate("baseAmount = 0"))
+            .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> evaluator.validate("color.getClass()"))
+            .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> evaluator.validate("price * 2"))
+            .isInstanceOf(BadRequestException.class)
+            .hasMessageContaining("Unknown formula variable 'price'");
+        assertThatThrownBy(() -> evaluator.validate("x".repeat(ModifierFormulaEvaluator.MAX_FORMULA_LENGTH + 1)))
+            .isInstanceOf(BadRequestException.class);
+    }
+
+    private PriceModifierEntity modifier(String formula) {
+        PriceModifierEntity modifier = new PriceModifierEntity();
+        modifier.setId(UUID.randomUUID());
+        modifier.setVersion(0L);
+        modifier.setCode("TEST_FORMULA");
+        modifier.setType(PricingModifierType.FORMULA);
+        modifier.setValue(0);
+        modifier.setJexlFormula(formula);
+        return modifier;
+    }
+
+    private PriceCalculationItem item(int quantity, String color, int wearLevel) {
+        PricingItemCharacteristics characteristics = new PricingItemCharacteristics();
+        characteristics.setColor(color);
+        characteristics.setWearLevel(WearLevel.fromValue(wearLevel));
+        PriceCalculationItem item = new PriceCalculationItem();
+        item.setQuantity(quantity);
+        item.setCharacteristics(characteristics);
+        return item;
+    }
+}
@@ -0,0 +1,142 @@
+package com.aksi.service.receipt;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import com.aksi.api.order.dto.PaymentMethod;
+import com.aksi.api.pricelist.dto.ServiceCategoryType;
+import com.aksi.api.pricelist.dto.UnitOfMeasure;
+import com.aksi.config.MessageSourceConfiguration;
+import com.aksi.config.ReceiptConfiguration;
+import com.aksi.domain.branch.BranchEntity;
+import com.aksi.domain.catalog.PriceListItemEntity;
+import com.aksi.domain.customer.CustomerEntity;
+import com.aksi.domain.order.ItemModifierEntity;
+import com.aksi.domain.order.OrderEntity;
+import com.aksi.domain.order.OrderItemEntity;
+import com.aksi.domain.order.OrderPaymentEntity;
+import com.aksi.service.receipt.converter.ReceiptDataConverter;
+import com.aksi.service.receipt.converter.ReceiptDataConverterImpl;
+import com.aksi.service.receipt.pdf.ReceiptFontCache;
+import com.aksi.service.receipt.pdf.ReceiptPdfGenerator;
+import com.aksi.service.receipt.pdf.ReceiptTemplateRegistry;
+import com.aksi.service.receipt.pdf.sections.CustomerSection;
+import com.aksi.service.receipt.pdf.sections.FooterSection;
+import com.aksi.service.receipt.pdf.sections.HeaderSection;
+import com.aksi.service.receipt.pdf.sections.ItemsTableSection;
+import com.aksi.service.receipt.pdf.sections.ReceiptMessages;
+import com.aksi.service.receipt.pdf.sections.SummarySection;
+import com.aksi.service.receipt.template.ReceiptLayoutCompiler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Receipt pipeline wired by hand, without a Spring context, so benchmark forks start fast and
+ * measure only rendering. Uses the real fonts, messages and templates from the classpath.
+ */
+final class ReceiptBenchmarkFixtures implements AutoCloseable {
+
+    private static final Instant CREATED_AT = Instant.parse("2026-10-18T10:00:00Z");
+
+    private static final String[] ITEM_NAMES = {
+        "Пальто вовняне", "Куртка зимова з капюшоном", "Сорочка", "Костюм чоловічий двійка",
+        "Сукня вечірня довга з оздобленням та підкладкою", "Ковдра пухова"
+    };
+
+    final ReceiptDataConverter converter;
+    final ReceiptTemplateRegistry templateRegistry;
+    final ReceiptPdfGenerator pdfGenerator;
+
+    private final ReceiptFontCache fontCache;
+
+    ReceiptBenchmarkFixtures() {
+        ReceiptConfiguration config = new ReceiptConfiguration();
+        fontCache = new ReceiptFontCache(config, new SimpleMeterRegistry());
+        fontCache.loadFonts();
+
+        ReceiptMessages messages =
+            new ReceiptMessages(new MessageSourceConfiguration().messageSource());
+        templateRegistry =
+            new ReceiptTemplateRegistry(
+                config, new ReceiptLayoutCompiler(messages, fontCache), new ObjectMapper());
+        templateRegistry.init();
+
+        ReceiptFormatter formatter = new ReceiptFormatter();
+        pdfGenerator =
+            new ReceiptPdfGenerator(
+                fontCache,
+                new HeaderSection(formatter),
+                new CustomerSection(formatter),
+                new ItemsTableSection(formatter),
+                new SummarySection(formatter),
+                new FooterSection(formatter));
+        converter = new ReceiptDataConverterImpl(config);
+    }
+
+    /** Detached order graph with the given number of items, each with one modifier */
+    static OrderEntity order(int itemCount) {
+        var branch = new BranchEntity();
+        branch.setName("AKSI Хімчистка");
+        branch.setAddress("м. Київ, вул. Хрещатик, 1");
+        branch.setPhone("+380441112233");
+
+        var customer = new CustomerEntity();
+        customer.setFirstName("Олена");
+        customer.setLastName("Ковальчук");
+        customer.setPhonePrimary("+380501112233");
+
+        var order = new OrderEntity();
+        order.setOrderNumber("AKSI-000123");
+        order.setCreatedAt(CREATED_AT);
+        order.setExpectedCompletionDate(CREATED_AT.plus(3, ChronoUnit.DAYS));
+        order.setBranchEntity(branch);
+        order.setCustomerEntity(customer);
+        order.setNotes("Обережно з ґудзиками");
+
+        int subtotal = 0;
+        for (int i = 0; i < itemCount; i++) {
+            var priceListItem = new PriceListItemEntity();
+            priceListItem.setCategoryCode(ServiceCategoryType.CLOTHING);
+            priceListItem.setCatalogNumber(100 + i);
+            priceListItem.setName(ITEM_NAMES[i % ITEM_NAMES.length]);
+            priceListItem.setUnitOfMeasure(UnitOfMeasure.PIECE);
+            priceListItem.setBasePrice(45_000 + i * 100);
+
+            var item = new OrderItemEntity();
+            item.setOrderEntity(order);
+            item.setPriceListItemEntity(priceListItem);
+            item.setQuantity(1 + i % 3);
+            item.setBasePrice(priceListItem.getBasePrice());
+            item.setTotalAmount(priceListItem.getBasePrice() * item.getQuantity());
+
+            var modifier = new ItemModifierEntity();
+            modifier.setOrderItemEntity(item);
+            modifier.setCode("STAINS");
+            modifier.setName("Складні плями +20%");
+            modifier.setType(ItemModifierEntity.ModifierType.PERCENTAGE);
+            modifier.setValue(20);
+            item.getModifiers().add(modifier);
+
+            order.getItems().add(item);
+            subtotal += item.getTotalAmount();
+        }
+
+        var payment = new OrderPaymentEntity();
+        payment.setOrderEntity(order);
+        payment.setMethod(PaymentMethod.CASH);
+        payment.setAmount(subtotal / 2);
+        order.getPayments().add(payment);
+
+        order.setItemsSubtotal(subtotal);
+        order.setTotalAmount(subtotal);
+        order.setPaidAmount(subtotal / 2);
+        order.setBalanceDue(subtotal - subtotal / 2);
+        return order;
+    }
+
+    @Override
+    public void close() {
+        fontCache.close();
+    }
+}
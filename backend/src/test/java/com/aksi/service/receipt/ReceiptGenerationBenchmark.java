@@ -0,0 +1,76 @@
+package com.aksi.service.receipt;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.aksi.api.receipt.dto.ReceiptOrderData;
+import com.aksi.domain.order.OrderEntity;
+import com.aksi.service.receipt.template.ReceiptLayout;
+
+/**
+ * JMH benchmarks of receipt generation: entity to receipt data conversion and PDF rendering for
+ * small, typical and very large orders in both locales.
+ *
+ * <p>Run through {@link ReceiptGenerationBenchmarkTest} ({@code mvn -P benchmark test}), which adds
+ * the GC profiler for bytes allocated per receipt and a multi-threaded pass to expose contention
+ * on shared fonts and templates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms512m", "-Xmx512m"})
+public class ReceiptGenerationBenchmark {
+
+    @Param({"1", "20", "300"})
+    public int itemCount;
+
+    @Param({"uk", "en"})
+    public String locale;
+
+    private ReceiptBenchmarkFixtures fixtures;
+    private OrderEntity order;
+    private ReceiptOrderData orderData;
+    private ReceiptLayout layout;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixtures = new ReceiptBenchmarkFixtures();
+        order = ReceiptBenchmarkFixtures.order(itemCount);
+        orderData = fixtures.converter.convert(order);
+        layout =
+            fixtures.templateRegistry.getLayout(
+                ReceiptFacade.DEFAULT_TEMPLATE_ID, Locale.forLanguageTag(locale));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixtures.close();
+    }
+
+    @Benchmark
+    public ReceiptOrderData convert() {
+        return fixtures.converter.convert(order);
+    }
+
+    @Benchmark
+    public byte[] generatePdf() throws IOException {
+        return fixtures.pdfGenerator.generatePdf(orderData, layout);
+    }
+}
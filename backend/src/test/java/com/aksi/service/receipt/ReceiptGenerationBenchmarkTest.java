@@ -0,0 +1,215 @@
+package com.aksi.service.receipt;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.aksi.api.receipt.dto.ReceiptOrderData;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * CI entry point for {@link ReceiptGenerationBenchmark}. Runs only with {@code -Dbenchmark=true}
+ * (the {@code benchmark} Maven profile sets it).
+ *
+ * <p>Records throughput, bytes allocated and output size per receipt into {@code
+ * target/receipt-benchmark.properties}. When {@code -Dbenchmark.baseline} points to such a file
+ * from an earlier run, fails if any throughput dropped by more than {@code benchmark.tolerance}
+ * (default 25%). A second pass renders with all cores at once and fails when aggregate throughput
+ * scales worse than {@code benchmark.min-scaling} of linear, which points at lock contention.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ReceiptGenerationBenchmarkTest {
+
+    private static final Path REPORT = Path.of("target", "receipt-benchmark.properties");
+    private static final String ALLOC_RATE_NORM = "gc.alloc.rate.norm";
+
+    /** Order size used for the single- versus multi-threaded comparison */
+    private static final String CONCURRENT_ITEM_COUNT = "20";
+
+    private final int warmupIterations = Integer.getInteger("benchmark.warmup", 2);
+    private final int measurementIterations = Integer.getInteger("benchmark.iterations", 3);
+    private final int threads =
+        Integer.getInteger(
+            "benchmark.threads", Math.min(8, Runtime.getRuntime().availableProcessors()));
+    private final double tolerance =
+        Double.parseDouble(System.getProperty("benchmark.tolerance", "0.25"));
+    private final double minScaling =
+        Double.parseDouble(System.getProperty("benchmark.min-scaling", "0.5"));
+
+    @Test
+    @DisplayName("Receipt generation throughput stays within the baseline")
+    void shouldKeepThroughputWithinBaseline() throws RunnerException, IOException {
+        // Given
+        Properties baseline = loadBaseline();
+        Map<String, String> report = new TreeMap<>();
+        recordOutputSizes(report);
+
+        // When
+        Options options =
+            options(ReceiptGenerationBenchmark.class.getName() + "\\.")
+                .addProfiler(GCProfiler.class)
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+        for (RunResult result : results) {
+            String key = key(result);
+            report.put(key + ".ops", format(result.getPrimaryResult().getScore()));
+            Result<?> allocated = secondary(result, ALLOC_RATE_NORM);
+            if (allocated != null) {
+                report.put(key + ".allocBytes", format(allocated.getScore()));
+            }
+        }
+
+        // Then
+        writeReport(report);
+        List<String> regressions = new ArrayList<>();
+        for (String key : baseline.stringPropertyNames()) {
+            if (!key.endsWith(".ops") || !report.containsKey(key)) {
+                continue;
+            }
+            double expected = Double.parseDouble(baseline.getProperty(key));
+            double actual = Double.parseDouble(report.get(key));
+            if (actual < expected * (1 - tolerance)) {
+                regressions.add(
+                    String.format("%s: %.1f ops/s, baseline %.1f", key, actual, expected));
+            }
+        }
+        assertThat(regressions)
+            .as("Throughput regressions beyond %.0f%%", tolerance * 100)
+            .isEmpty();
+    }
+
+    @Test
+    @DisplayName("Concurrent rendering scales with threads")
+    void shouldScaleAcrossThreads() throws RunnerException {
+        // Given
+        String generatePdf = ReceiptGenerationBenchmark.class.getName() + ".generatePdf$";
+        Options single =
+            options(generatePdf)
+                .param("itemCount", CONCURRENT_ITEM_COUNT)
+                .param("locale", "uk")
+                .threads(1)
+                .build();
+        Options concurrent = new OptionsBuilder().parent(single).threads(threads).build();
+
+        // When
+        double singleScore = score(new Runner(single).run());
+        double concurrentScore = score(new Runner(concurrent).run());
+
+        // Then
+        double scaling = concurrentScore / (singleScore * threads);
+        log.info(
+            "Receipt rendering: {} ops/s on 1 thread, {} ops/s on {} threads, {}% of linear",
+            format(singleScore),
+            format(concurrentScore),
+            threads,
+            Math.round(scaling * 100));
+        if (threads > 1) {
+            assertThat(scaling)
+                .as("Scaling efficiency on %d threads", threads)
+                .isGreaterThanOrEqualTo(minScaling);
+        }
+    }
+
+    private ChainedOptionsBuilder options(String include) {
+        return new OptionsBuilder()
+            .include(include)
+            .warmupIterations(warmupIterations)
+            .measurementIterations(measurementIterations)
+            .forks(1)
+            .shouldFailOnError(true);
+    }
+
+    /** Output size does not vary between runs, so it is measured once rather than by JMH */
+    private void recordOutputSizes(Map<String, String> report) throws IOException {
+        try (ReceiptBenchmarkFixtures fixtures = new ReceiptBenchmarkFixtures()) {
+            for (String itemCount : new String[] {"1", "20", "300"}) {
+                ReceiptOrderData data =
+                    fixtures.converter.convert(
+                        ReceiptBenchmarkFixtures.order(Integer.parseInt(itemCount)));
+                for (String locale : new String[] {"uk", "en"}) {
+                    byte[] pdf =
+                        fixtures.pdfGenerator.generatePdf(
+                            data,
+                            fixtures.templateRegistry.getLayout(
+                                ReceiptFacade.DEFAULT_TEMPLATE_ID, Locale.forLanguageTag(locale)));
+                    report.put(
+                        "generatePdf.items=" + itemCount + ".locale=" + locale + ".outputBytes",
+                        String.valueOf(pdf.length));
+                }
+            }
+        }
+    }
+
+    private Properties loadBaseline() throws IOException {
+        Properties baseline = new Properties();
+        String location = System.getProperty("benchmark.baseline");
+        if (location == null || !Files.exists(Path.of(location))) {
+            log.info("No receipt benchmark baseline, recording only");
+            return baseline;
+        }
+        try (InputStream in = Files.newInputStream(Path.of(location))) {
+            baseline.load(in);
+        }
+        return baseline;
+    }
+
+    private void writeReport(Map<String, String> report) throws IOException {
+        Properties properties = new Properties();
+        properties.putAll(report);
+        Files.createDirectories(REPORT.getParent());
+        try (OutputStream out = Files.newOutputStream(REPORT)) {
+            properties.store(out, "Receipt generation benchmark, per receipt");
+        }
+        report.forEach((key, value) -> log.info("{} = {}", key, value));
+    }
+
+    private static String key(RunResult result) {
+        String benchmark = result.getParams().getBenchmark();
+        return benchmark.substring(benchmark.lastIndexOf('.') + 1)
+            + ".items="
+            + result.getParams().getParam("itemCount")
+            + ".locale="
+            + result.getParams().getParam("locale");
+    }
+
+    private static Result<?> secondary(RunResult result, String label) {
+        // Older JMH versions prefix profiler labels with a middle dot
+        return result.getSecondaryResults().entrySet().stream()
+            .filter(entry -> entry.getKey().endsWith(label))
+            .map(Map.Entry::getValue)
+            .findFirst()
+            .orElse(null);
+    }
+
+    private static double score(Collection<RunResult> results) {
+        return results.iterator().next().getPrimaryResult().getScore();
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.1f", value);
+    }
+}
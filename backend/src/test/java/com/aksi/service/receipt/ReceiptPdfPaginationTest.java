@@ -0,0 +1,93 @@
+package com.aksi.service.receipt;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.aksi.api.receipt.dto.ReceiptOrderData;
+import com.aksi.service.receipt.pdf.PdfConstants;
+import com.aksi.service.receipt.template.ReceiptLayout;
+
+/** Multi-page receipts: a 300-item order is split over pages without losing or clipping items */
+class ReceiptPdfPaginationTest {
+
+    private static final int ITEM_COUNT = 300;
+
+    /** Every fixture item prints at least one table row and one modifier line */
+    private static final float MIN_ITEM_HEIGHT =
+        PdfConstants.LINE_HEIGHT + PdfConstants.LINE_HEIGHT_SMALL;
+
+    private static ReceiptBenchmarkFixtures fixtures;
+
+    @BeforeAll
+    static void setUp() {
+        fixtures = new ReceiptBenchmarkFixtures();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        fixtures.close();
+    }
+
+    @Test
+    @DisplayName("300-item order renders to a valid multi-page PDF with all items and repeated headers")
+    void shouldPaginateLargeOrder() throws IOException {
+        // Given
+        ReceiptOrderData data =
+            fixtures.converter.convert(ReceiptBenchmarkFixtures.order(ITEM_COUNT));
+        ReceiptLayout layout = fixtures.templateRegistry.getLayout(
+            ReceiptFacade.DEFAULT_TEMPLATE_ID, Locale.forLanguageTag("uk"));
+
+        // When
+        byte[] pdf = fixtures.pdfGenerator.generatePdf(data, layout);
+
+        // Then
+        assertThat(new String(pdf, 0, 5, StandardCharsets.US_ASCII)).isEqualTo("%PDF-");
+        byte[] trailer = Arrays.copyOfRange(pdf, pdf.length - 7, pdf.length);
+        assertThat(new String(trailer, StandardCharsets.US_ASCII)).contains("%%EOF");
+
+        try (PDDocument document = Loader.loadPDF(pdf)) {
+            float usableHeight = document.getPage(0).getMediaBox().getHeight()
+                - PdfConstants.MARGIN_TOP - PdfConstants.MARGIN_BOTTOM;
+            int minPages = (int) Math.ceil(ITEM_COUNT * MIN_ITEM_HEIGHT / usableHeight);
+            int pages = document.getNumberOfPages();
+            assertThat(pages).isBetween(minPages, minPages * 2);
+
+            String tableHeader = layout.tableColumns().getFirst().header();
+            String modifierLine = "(" + data.getItems().getFirst().getModifiers().getFirst() + ")";
+            int modifierLines = 0;
+            PDFTextStripper stripper = new PDFTextStripper();
+            for (int page = 1; page <= pages; page++) {
+                stripper.setStartPage(page);
+                stripper.setEndPage(page);
+                String text = stripper.getText(document);
+                if (page < pages) {
+                    assertThat(text).as("table header on page %d", page).contains(tableHeader);
+                }
+                modifierLines += count(text, modifierLine);
+            }
+            assertThat(modifierLines).isEqualTo(ITEM_COUNT);
+        }
+    }
+
+    private static int count(String text, String fragment) {
+        int count = 0;
+        int index = text.indexOf(fragment);
+        while (index >= 0) {
+            count++;
+            index = text.indexOf(fragment, index + fragment.length());
+        }
+        return count;
+    }
+}
@@ -0,0 +1,212 @@
+package com.aksi.service.receipt.batch;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.Resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import com.aksi.api.receipt.dto.ReceiptBatchRequest;
+import com.aksi.api.receipt.dto.ReceiptBatchState;
+import com.aksi.api.receipt.dto.ReceiptBatchStatus;
+import com.aksi.api.receipt.dto.ReceiptOrderData;
+import com.aksi.config.ReceiptConfiguration;
+import com.aksi.exception.ConflictException;
+import com.aksi.exception.NotFoundException;
+import com.aksi.repository.OrderRepository;
+import com.aksi.service.receipt.ReceiptFacade;
+
+@ExtendWith(MockitoExtension.class)
+class ReceiptBatchServiceImplTest {
+
+    @Mock private OrderRepository orderRepository;
+    @Mock private ReceiptBatchLoader batchLoader;
+    @Mock private ReceiptFacade receiptFacade;
+
+    @TempDir
+    Path directory;
+
+    private InMemoryBatchStore batchStore;
+    private ReceiptConfiguration configuration;
+
+    @BeforeEach
+    void setUp() {
+        batchStore = new InMemoryBatchStore();
+        configuration = new ReceiptConfiguration();
+        configuration.getBatch().setDirectory(directory.toString());
+    }
+
+    @Test
+    @DisplayName("Should serve status and merged PDF of a batch from another instance")
+    void shouldShareBatchStateBetweenInstances() throws IOException {
+        // Given
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        givenOrders(first, second);
+        givenOnePagePerReceipt();
+
+        // When
+        ReceiptBatchStatus started = newService().startBatch(request(first, second));
+        ReceiptBatchServiceImpl otherInstance = newService();
+
+        // Then
+        ReceiptBatchStatus status = otherInstance.getStatus(started.getBatchId());
+        assertThat(status.getState()).isEqualTo(ReceiptBatchState.COMPLETED);
+        assertThat(status.getRenderedOrders()).isEqualTo(2);
+        assertThat(status.getFailedOrders()).isZero();
+        assertThat(pageCount(otherInstance.getBatchPdf(started.getBatchId()))).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should count orders without receipt data as failed")
+    void shouldCountMissingOrdersAsFailed() {
+        // Given
+        UUID present = UUID.randomUUID();
+        UUID deleted = UUID.randomUUID();
+        givenOrders(present);
+        givenOnePagePerReceipt();
+
+        // When
+        ReceiptBatchStatus started = newService().startBatch(request(present, deleted));
+
+        // Then
+        StoredReceiptBatch stored = batchStore.find(started.getBatchId()).orElseThrow();
+        assertThat(stored.state()).isEqualTo(ReceiptBatchState.COMPLETED);
+        assertThat(stored.renderedOrders()).isEqualTo(1);
+        assertThat(stored.failedOrders()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should report a batch whose instance stopped reporting progress as failed")
+    void shouldReportAbandonedBatchAsFailed() {
+        // Given
+        UUID batchId = UUID.randomUUID();
+        Instant longAgo = Instant.now().minus(Duration.ofHours(1));
+        batchStore.put(new StoredReceiptBatch(
+            batchId, ReceiptBatchState.RUNNING, 10, 3, 0, longAgo, null, null, null, longAgo));
+
+        // When
+        ReceiptBatchStatus status = newService().getStatus(batchId);
+
+        // Then
+        assertThat(status.getState()).isEqualTo(ReceiptBatchState.FAILED);
+        assertThat(status.getRenderedOrders()).isEqualTo(3);
+        assertThatThrownBy(() -> newService().getBatchPdf(batchId))
+            .isInstanceOf(ConflictException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject unknown or expired batches")
+    void shouldRejectUnknownBatch() {
+        assertThatThrownBy(() -> newService().getStatus(UUID.randomUUID()))
+            .isInstanceOf(NotFoundException.class);
+    }
+
+    private ReceiptBatchServiceImpl newService() {
+        return new ReceiptBatchServiceImpl(
+            orderRepository, batchLoader, receiptFacade, batchStore, configuration,
+            Runnable::run, Runnable::run);
+    }
+
+    private void givenOrders(UUID... orderIds) {
+        Map<UUID, ReceiptOrderData> data = new ConcurrentHashMap<>();
+        for (UUID orderId : orderIds) {
+            ReceiptOrderData orderData = new ReceiptOrderData();
+            orderData.setOrderNumber("ORD-" + orderId);
+            data.put(orderId, orderData);
+        }
+        when(batchLoader.load(anyCollection())).thenReturn(data);
+    }
+
+    private void givenOnePagePerReceipt() {
+        when(receiptFacade.prepareReceipt(any(ReceiptOrderData.class), anyString(), anyString()))
+            .thenReturn(out -> {
+                try (PDDocument document = new PDDocument()) {
+                    document.addPage(new PDPage());
+                    document.save(out);
+                }
+            });
+    }
+
+    private static ReceiptBatchRequest request(UUID... orderIds) {
+        ReceiptBatchRequest request = new ReceiptBatchRequest();
+        request.setOrderIds(List.of(orderIds));
+        return request;
+    }
+
+    private static int pageCount(Resource pdf) throws IOException {
+        try (InputStream in = pdf.getInputStream();
+             PDDocument document = Loader.loadPDF(in.readAllBytes())) {
+            return document.getNumberOfPages();
+        }
+    }
+
+    /** Store shared by the service instances of one test, standing in for Redis */
+    private static final class InMemoryBatchStore implements ReceiptBatchStore {
+
+        private final Map<UUID, StoredReceiptBatch> batches = new ConcurrentHashMap<>();
+
+        @Override
+        public void save(ReceiptBatchJob job) {
+            put(new StoredReceiptBatch(
+                job.getId(),
+                job.getState(),
+                job.getOrderIds().size(),
+                job.getRendered().get(),
+                job.getFailed().get(),
+                job.getCreatedAt(),
+                job.getCompletedAt(),
+                job.getMessage(),
+                job.getPdf() != null ? job.getPdf().toString() : null,
+                Instant.now()));
+        }
+
+        @Override
+        public void recordProgress(UUID batchId, boolean rendered) {
+            batches.computeIfPresent(batchId, (id, batch) -> new StoredReceiptBatch(
+                id,
+                batch.state(),
+                batch.totalOrders(),
+                batch.renderedOrders() + (rendered ? 1 : 0),
+                batch.failedOrders() + (rendered ? 0 : 1),
+                batch.createdAt(),
+                batch.completedAt(),
+                batch.message(),
+                batch.pdf(),
+                Instant.now()));
+        }
+
+        @Override
+        public Optional<StoredReceiptBatch> find(UUID batchId) {
+            return Optional.ofNullable(batches.get(batchId));
+        }
+
+        void put(StoredReceiptBatch batch) {
+            batches.put(batch.id(), batch);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.aksi.service.receipt.batch;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.aksi.api.receipt.dto.ReceiptBatchState;
+import com.aksi.integration.BaseIntegrationTest;
+
+/** Receipt batch state round trip through Redis, as seen by any instance */
+class RedisReceiptBatchStoreIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private RedisReceiptBatchStore batchStore;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Test
+    @DisplayName("Should store state, progress and result of a batch with an expiry")
+    void shouldRoundTripBatchState() {
+        // Given
+        UUID batchId = UUID.randomUUID();
+        Path directory = Path.of("target/test-receipt-batches").resolve(batchId.toString());
+        ReceiptBatchJob job = new ReceiptBatchJob(
+            batchId, List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID()), "uk", directory);
+        job.start();
+        batchStore.save(job);
+
+        // When
+        batchStore.recordProgress(batchId, true);
+        batchStore.recordProgress(batchId, false);
+
+        // Then
+        StoredReceiptBatch running = batchStore.find(batchId).orElseThrow();
+        assertThat(running.state()).isEqualTo(ReceiptBatchState.RUNNING);
+        assertThat(running.totalOrders()).isEqualTo(3);
+        assertThat(running.renderedOrders()).isEqualTo(1);
+        assertThat(running.failedOrders()).isEqualTo(1);
+        assertThat(running.completedAt()).isNull();
+        assertThat(running.heartbeatAt()).isNotNull();
+        assertThat(redisTemplate.getExpire(RedisReceiptBatchStore.KEY_PREFIX + batchId))
+            .isPositive();
+
+        // When
+        job.getRendered().set(2);
+        job.getFailed().set(1);
+        job.complete(directory.resolve("receipts.pdf"));
+        batchStore.save(job);
+
+        // Then
+        StoredReceiptBatch completed = batchStore.find(batchId).orElseThrow();
+        assertThat(completed.state()).isEqualTo(ReceiptBatchState.COMPLETED);
+        assertThat(completed.renderedOrders()).isEqualTo(2);
+        assertThat(completed.completedAt()).isNotNull();
+        assertThat(completed.pdf()).isEqualTo(directory.resolve("receipts.pdf").toString());
+    }
+
+    @Test
+    @DisplayName("Should not find batches it never stored")
+    void shouldNotFindUnknownBatch() {
+        assertThat(batchStore.find(UUID.randomUUID())).isEmpty();
+    }
+}
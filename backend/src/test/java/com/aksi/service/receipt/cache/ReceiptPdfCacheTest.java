@@ -0,0 +1,143 @@
+package com.aksi.service.receipt.cache;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.aksi.config.ReceiptConfiguration;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ReceiptPdfCacheTest {
+
+    private static final String LOCALE = "uk";
+    private static final String TEMPLATE = "default@1";
+
+    @TempDir
+    Path directory;
+
+    private ReceiptPdfCache cache;
+    private UUID orderId;
+
+    @BeforeEach
+    void setUp() {
+        ReceiptConfiguration configuration = new ReceiptConfiguration();
+        configuration.getCache().setDirectory(directory.toString());
+        cache = new ReceiptPdfCache(configuration, new SimpleMeterRegistry());
+        cache.loadIndex();
+        orderId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should key receipts on order, customer and branch versions")
+    void shouldKeyOnAllVersions() {
+        ReceiptVersion version = new ReceiptVersion(3, 5, 7);
+
+        assertThat(ReceiptPdfCache.key(orderId, version, LOCALE, TEMPLATE))
+            .isEqualTo(ReceiptPdfCache.key(orderId, new ReceiptVersion(3, 5, 7), "UK", TEMPLATE))
+            .isNotEqualTo(ReceiptPdfCache.key(orderId, new ReceiptVersion(4, 5, 7), LOCALE, TEMPLATE))
+            .isNotEqualTo(ReceiptPdfCache.key(orderId, new ReceiptVersion(3, 6, 7), LOCALE, TEMPLATE))
+            .isNotEqualTo(ReceiptPdfCache.key(orderId, new ReceiptVersion(3, 5, 8), LOCALE, TEMPLATE));
+    }
+
+    @Test
+    @DisplayName("Should miss after a customer change and replace the stale receipt")
+    void shouldNotServeReceiptOfOldCustomerVersion() throws IOException {
+        // Given
+        ReceiptVersion before = new ReceiptVersion(1, 1, 1);
+        cache.put(orderId, before, LOCALE, TEMPLATE, out -> out.write(pdf("old customer name")));
+
+        // When
+        ReceiptVersion renamed = new ReceiptVersion(1, 2, 1);
+        Optional<Resource> miss = cache.get(orderId, renamed, LOCALE, TEMPLATE);
+        cache.put(orderId, renamed, LOCALE, TEMPLATE, out -> out.write(pdf("new customer name")));
+
+        // Then
+        assertThat(miss).isEmpty();
+        assertThat(read(cache.get(orderId, renamed, LOCALE, TEMPLATE))).contains("new customer name");
+        assertThat(cache.get(orderId, before, LOCALE, TEMPLATE)).isEmpty();
+        assertThat(cachedFiles()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should miss after a branch change")
+    void shouldNotServeReceiptOfOldBranchVersion() throws IOException {
+        // Given
+        cache.put(
+            orderId, new ReceiptVersion(1, 1, 1), LOCALE, TEMPLATE, out -> out.write(pdf("old address")));
+
+        // When
+        Optional<Resource> cached = cache.get(orderId, new ReceiptVersion(1, 1, 2), LOCALE, TEMPLATE);
+
+        // Then
+        assertThat(cached).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should keep receipts of other locales of the same version")
+    void shouldKeepOtherLocalesOfSameVersion() throws IOException {
+        // Given
+        ReceiptVersion version = new ReceiptVersion(2, 1, 1);
+        cache.put(orderId, version, "uk", TEMPLATE, out -> out.write(pdf("uk")));
+
+        // When
+        cache.put(orderId, version, "en", TEMPLATE, out -> out.write(pdf("en")));
+
+        // Then
+        assertThat(read(cache.get(orderId, version, "uk", TEMPLATE))).contains("uk");
+        assertThat(read(cache.get(orderId, version, "en", TEMPLATE))).contains("en");
+    }
+
+    @Test
+    @DisplayName("Should keep serving a streamed receipt whose file is evicted before it is read")
+    void shouldServeReceiptEvictedWhileStreaming() throws IOException {
+        // Given
+        ReceiptConfiguration configuration = new ReceiptConfiguration();
+        configuration.getCache().setDirectory(directory.toString());
+        configuration.getCache().setMemoryMaxBytes(0);
+        ReceiptPdfCache streamingCache =
+            new ReceiptPdfCache(configuration, new SimpleMeterRegistry());
+        streamingCache.loadIndex();
+        ReceiptVersion version = new ReceiptVersion(1, 1, 1);
+        streamingCache.put(orderId, version, LOCALE, TEMPLATE, out -> out.write(pdf("streamed")))
+            .orElseThrow()
+            .getInputStream()
+            .close();
+
+        // When
+        Optional<Resource> cached = streamingCache.get(orderId, version, LOCALE, TEMPLATE);
+        streamingCache.evictOrder(orderId);
+
+        // Then
+        assertThat(cachedFiles()).isZero();
+        assertThat(cached.orElseThrow().contentLength()).isEqualTo(pdf("streamed").length);
+        assertThat(read(cached)).contains("streamed");
+    }
+
+    private long cachedFiles() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            return files.filter(path -> path.toString().endsWith(".pdf")).count();
+        }
+    }
+
+    private static byte[] pdf(String text) {
+        return ("%PDF-1.7 " + text).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String read(Optional<Resource> resource) throws IOException {
+        assertThat(resource).isPresent();
+        return resource.get().getContentAsString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,196 @@
+package com.aksi.service.receipt.pdf;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.aksi.api.receipt.dto.ReceiptOutputFormat;
+import com.aksi.config.MessageSourceConfiguration;
+import com.aksi.config.ReceiptConfiguration;
+import com.aksi.service.receipt.pdf.sections.ReceiptMessages;
+import com.aksi.service.receipt.template.ReceiptItemField;
+import com.aksi.service.receipt.template.ReceiptLayout;
+import com.aksi.service.receipt.template.ReceiptLayoutCompiler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/** Compilation, validation and reloading of declarative receipt templates from a directory */
+class ReceiptTemplateRegistryTest {
+
+    private static final String DEFAULT_TEMPLATE = """
+        id: default
+        name: Standard
+        default: true
+        format: PDF
+        locales: [uk, en]
+        items:
+          columns:
+            - field: NAME
+              label: receipt.table.item
+              x: 20
+              width: 280
+              wrap: true
+            - field: TOTAL_PRICE
+              label: receipt.table.total
+              x: 460
+              width: 115
+        summary:
+          labelX: 340
+          valueX: 470
+        labels:
+          en:
+            receipt.footer.thankYou: See you soon!
+        """;
+
+    private static final String THERMAL_TEMPLATE = """
+        {
+          "id": "thermal",
+          "format": "ESC_POS",
+          "locales": ["uk"],
+          "items": {"columns": [{"field": "NAME", "label": "receipt.table.item", "x": 20}]}
+        }
+        """;
+
+    @TempDir
+    Path directory;
+
+    private ReceiptTemplateRegistry registry;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        write("default.yml", DEFAULT_TEMPLATE);
+        write("thermal.json", THERMAL_TEMPLATE);
+        write("README.txt", "not a template");
+
+        ReceiptConfiguration config = new ReceiptConfiguration();
+        config.getTemplates().setLocation(directory.toUri().toString());
+        ReceiptMessages messages =
+            new ReceiptMessages(new MessageSourceConfiguration().messageSource());
+        ReceiptFontCache fontCache = new ReceiptFontCache(config, new SimpleMeterRegistry());
+        registry = new ReceiptTemplateRegistry(
+            config, new ReceiptLayoutCompiler(messages, fontCache), new ObjectMapper());
+        registry.init();
+    }
+
+    @Test
+    @DisplayName("Should compile YAML and JSON templates into per-locale layouts")
+    void shouldCompileTemplatesPerLocale() {
+        // When
+        ReceiptLayout uk = registry.getLayout("default", Locale.forLanguageTag("uk"));
+        ReceiptLayout en = registry.getLayout("default", Locale.ENGLISH);
+
+        // Then
+        assertThat(registry.getAllTemplates()).hasSize(2);
+        assertThat(uk.format()).isEqualTo(ReceiptOutputFormat.PDF);
+        assertThat(uk.revision()).hasSize(12);
+        assertThat(uk.labels().total()).isEqualTo("Всього:");
+        assertThat(en.labels().total()).isEqualTo("Total:");
+        assertThat(en.labels().thankYou()).isEqualTo("See you soon!");
+        assertThat(uk.labels().thankYou()).isNotEqualTo("See you soon!");
+        assertThat(uk.tableColumns()).extracting(TableDrawer.TableColumn::header)
+            .containsExactly("Найменування", "Сума");
+        assertThat(uk.summaryLabelX()).isEqualTo(340f);
+        assertThat(uk.summaryValueX()).isEqualTo(470f);
+
+        // Only the wrapping column gets a limit, measured in the small font
+        assertThat(uk.itemColumns()).extracting(ReceiptLayout.ItemColumn::field)
+            .containsExactly(ReceiptItemField.NAME, ReceiptItemField.TOTAL_PRICE);
+        assertThat(uk.itemColumns().get(0).wrapChars()).isPositive();
+        assertThat(uk.itemColumns().get(1).wrapChars()).isZero();
+
+        assertThat(registry.getOutputFormat("thermal")).isEqualTo(ReceiptOutputFormat.ESC_POS);
+    }
+
+    @Test
+    @DisplayName("Should cache layouts and fall back to the default template and first locale")
+    void shouldCacheLayoutsAndFallBack() {
+        // When
+        ReceiptLayout layout = registry.getLayout("default", Locale.forLanguageTag("uk"));
+
+        // Then
+        assertThat(registry.getLayout("default", Locale.forLanguageTag("uk"))).isSameAs(layout);
+        assertThat(registry.getLayout("missing", Locale.forLanguageTag("uk"))).isSameAs(layout);
+        assertThat(registry.getLayout("default", Locale.GERMAN)).isSameAs(layout);
+        assertThat(registry.getLayout("thermal", Locale.ENGLISH).locale().getLanguage())
+            .isEqualTo("uk");
+        assertThat(registry.getOutputFormat("missing")).isEqualTo(ReceiptOutputFormat.PDF);
+    }
+
+    @Test
+    @DisplayName("Should recompile a template after its file changed")
+    void shouldReloadChangedTemplate() throws IOException {
+        // Given
+        ReceiptLayout before = registry.getLayout("default", Locale.ENGLISH);
+        String revisionKey = registry.getRevisionKey("default");
+        assertThat(registry.reload()).isFalse();
+
+        // When
+        write("default.yml", DEFAULT_TEMPLATE.replace("See you soon!", "Thank you!"));
+        boolean reloaded = registry.reload();
+
+        // Then
+        ReceiptLayout after = registry.getLayout("default", Locale.ENGLISH);
+        assertThat(reloaded).isTrue();
+        assertThat(after.labels().thankYou()).isEqualTo("Thank you!");
+        assertThat(after.revision()).isNotEqualTo(before.revision());
+        assertThat(registry.getRevisionKey("default")).isNotEqualTo(revisionKey);
+    }
+
+    @Test
+    @DisplayName("Should keep the previous templates when a changed file is invalid")
+    void shouldKeepPreviousTemplatesOnInvalidChange() throws IOException {
+        // Given
+        ReceiptLayout before = registry.getLayout("default", Locale.ENGLISH);
+
+        // When: the same field twice, then an unknown property, then broken YAML
+        write("thermal.json", THERMAL_TEMPLATE.replace(
+            "\"columns\": [", "\"columns\": [{\"field\": \"NAME\", \"x\": 300}, "));
+        boolean duplicateField = registry.reload();
+        write("thermal.json",
+            THERMAL_TEMPLATE.replace("\"locales\"", "\"paper\": 80, \"locales\""));
+        boolean unknownProperty = registry.reload();
+        write("thermal.json", THERMAL_TEMPLATE);
+        write("default.yml", DEFAULT_TEMPLATE + "  : [unclosed");
+        boolean brokenYaml = registry.reload();
+
+        // Then
+        assertThat(duplicateField).isFalse();
+        assertThat(unknownProperty).isFalse();
+        assertThat(brokenYaml).isFalse();
+        assertThat(registry.getLayout("default", Locale.ENGLISH)).isSameAs(before);
+        assertThat(registry.getOutputFormat("thermal")).isEqualTo(ReceiptOutputFormat.ESC_POS);
+    }
+
+    @Test
+    @DisplayName("Should refuse to start with an invalid template or without a default")
+    void shouldFailInitOnInvalidTemplates() throws IOException {
+        // Given
+        write("default.yml",
+            DEFAULT_TEMPLATE.replace("wrap: true", "wrap: true\n          width: 0"));
+
+        // When / Then
+        assertThatThrownBy(() -> registry.init())
+            .isInstanceOf(IllegalStateException.class)
+            .hasCauseInstanceOf(IllegalArgumentException.class);
+
+        Files.delete(directory.resolve("default.yml"));
+        assertThatThrownBy(() -> registry.init())
+            .isInstanceOf(IllegalStateException.class)
+            .hasRootCauseMessage("No default receipt template found");
+    }
+
+    private void write(String filename, String content) throws IOException {
+        Files.writeString(directory.resolve(filename), content, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,191 @@
+package com.aksi.service.receipt.thermal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.aksi.api.receipt.dto.ReceiptOutputFormat;
+import com.aksi.config.ReceiptConfiguration;
+import com.aksi.service.receipt.pdf.PdfConstants;
+
+/**
+ * Golden byte streams of the ESC/POS builder. Expected bytes are spelled out in hex, so a change
+ * of charset, command or layout shows up as a diff here rather than on paper.
+ */
+class EscPosDocumentBuilderTest {
+
+    /** ESC @ (initialize), ESC t 46 (WPC1251) */
+    private static final String INIT = "1b40" + "1b742e";
+
+    /** ESC d 4 (feed four lines), GS V 66 0 (feed to cutter, partial cut) */
+    private static final String FEED_AND_CUT = "1b6404" + "1d564200";
+
+    private static final float LEFT = PdfConstants.MARGIN_LEFT;
+    private static final float TOP = 800;
+
+    private ReceiptConfiguration.ThermalConfig config;
+
+    @BeforeEach
+    void setUp() {
+        config = new ReceiptConfiguration.ThermalConfig();
+    }
+
+    @Test
+    @DisplayName("Should encode Ukrainian letters in windows-1251 after selecting code page 46")
+    void shouldEncodeUkrainianLettersInWindows1251() throws IOException {
+        // Given
+        EscPosDocumentBuilder builder = escPos();
+        builder.setFont("regular", PdfConstants.FONT_SIZE_NORMAL);
+        builder.setPosition(LEFT, TOP).drawText("ҐЄІЇ ґєії Квитанція");
+
+        // When
+        byte[] bytes = builder.build();
+
+        // Then
+        assertThat(hex(bytes)).isEqualTo(
+            INIT
+                + "a5aab2af20b4bab3bf20" // ҐЄІЇ ґєії
+                + "cae2e8f2e0edf6b3ff" // Квитанція
+                + "0a"
+                + FEED_AND_CUT);
+    }
+
+    @Test
+    @DisplayName("Should print large headings in double size and bold runs emphasized")
+    void shouldWrapHeadingInSizeAndEmphasisCommands() throws IOException {
+        // Given
+        EscPosDocumentBuilder builder = escPos();
+        builder.setBoldFont(PdfConstants.FONT_SIZE_TITLE);
+        builder.setPosition(LEFT, TOP).drawText("ЧЕК");
+
+        // When
+        byte[] bytes = builder.build();
+
+        // Then
+        assertThat(hex(bytes)).isEqualTo(
+            INIT
+                + "1d2111" // GS ! 0x11: double width and height
+                + "1b4501" + "d7c5ca" + "1b4500" // ESC E 1, ЧЕК, ESC E 0
+                + "1d2100"
+                + "0a"
+                + FEED_AND_CUT);
+    }
+
+    @Test
+    @DisplayName("Should place runs at their columns, keep blank lines and draw rules full width")
+    void shouldLayOutColumnsBlankLinesAndRules() throws IOException {
+        // Given
+        EscPosDocumentBuilder builder = escPos();
+        builder.drawTextAt("Qty", PdfConstants.COL_QUANTITY, TOP);
+        builder.drawTextAt("Item", PdfConstants.COL_NAME, TOP);
+        builder.drawTextAt("Sum", PdfConstants.COL_TOTAL, TOP);
+        builder.drawTextAt("Next", LEFT, TOP - 3 * PdfConstants.LINE_HEIGHT);
+        builder.drawLine(LEFT, 700, 575, 700);
+
+        // When
+        byte[] bytes = builder.build();
+
+        // Then: columns 0, 24 and 38 of 48; a gap of three line heights leaves two blank lines
+        assertThat(hex(bytes)).isEqualTo(
+            INIT
+                + ascii("Item" + " ".repeat(20) + "Qty" + " ".repeat(11) + "Sum") + "0a"
+                + "0a0a"
+                + ascii("Next") + "0a"
+                + "0a0a"
+                + ascii("-".repeat(48)) + "0a"
+                + FEED_AND_CUT);
+    }
+
+    @Test
+    @DisplayName("Should shorten the first run with an ellipsis when a line overflows")
+    void shouldTruncateOverflowingLine() throws IOException {
+        // Given
+        EscPosDocumentBuilder builder = escPos();
+        builder.drawTextAt("Dry cleaning of a long winter coat with a hood", LEFT, TOP);
+        builder.drawTextAt("1 250,00", PdfConstants.COL_TOTAL, TOP);
+
+        // When
+        byte[] bytes = builder.build();
+
+        // Then: the amount is pulled left to end at column 48, the name cut to 38 + "…" (0x85)
+        assertThat(hex(bytes)).isEqualTo(
+            INIT
+                + ascii("Dry cleaning of a long winter coat wit") + "85"
+                + ascii(" 1 250,00") + "0a"
+                + FEED_AND_CUT);
+    }
+
+    @Test
+    @DisplayName("Should leave lines that cannot be shortened to the printer's wrapping")
+    void shouldKeepNaturalPositionsWhenLineCannotFit() throws IOException {
+        // Given
+        String description = "x".repeat(40);
+        EscPosDocumentBuilder builder = escPos();
+        builder.drawTextAt("Total", LEFT, TOP);
+        builder.drawTextAt(description, PdfConstants.COL_QUANTITY, TOP);
+        builder.drawTextAt("9,99", PdfConstants.COL_TOTAL, TOP);
+
+        // When
+        byte[] bytes = builder.build();
+
+        // Then: 69 characters in one line feed, the printer wraps after column 48
+        assertThat(hex(bytes)).isEqualTo(
+            INIT
+                + ascii("Total" + " ".repeat(19) + description + " " + "9,99") + "0a"
+                + FEED_AND_CUT);
+    }
+
+    @Test
+    @DisplayName("Should follow the configured code page, feed and cut settings")
+    void shouldApplyPrinterConfiguration() throws IOException {
+        // Given
+        config.setCodePage(17);
+        config.setFeedLines(2);
+        config.setCut(false);
+        EscPosDocumentBuilder builder = escPos();
+        builder.drawTextAt("OK", LEFT, TOP);
+
+        // When
+        byte[] bytes = builder.build();
+
+        // Then: ESC t 17, no GS V
+        assertThat(hex(bytes)).isEqualTo("1b40" + "1b7411" + ascii("OK") + "0a" + "1b6402");
+    }
+
+    @Test
+    @DisplayName("Should write the same layout as UTF-8 text without printer commands")
+    void shouldWritePlainText() throws IOException {
+        // Given
+        EscPosDocumentBuilder builder = new EscPosDocumentBuilder(ReceiptOutputFormat.TEXT, config);
+        builder.setBoldFont(PdfConstants.FONT_SIZE_TITLE);
+        builder.setPosition(LEFT, TOP).drawText("Квитанція");
+        builder.drawLine(LEFT, TOP - PdfConstants.LINE_HEIGHT, 575, TOP - PdfConstants.LINE_HEIGHT);
+
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        builder.writeTo(out);
+
+        // Then
+        assertThat(out.toString(StandardCharsets.UTF_8))
+            .isEqualTo("Квитанція\n" + "-".repeat(48) + "\n");
+    }
+
+    private EscPosDocumentBuilder escPos() {
+        return new EscPosDocumentBuilder(ReceiptOutputFormat.ESC_POS, config);
+    }
+
+    private static String ascii(String text) {
+        return hex(text.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static String hex(byte[] bytes) {
+        return HexFormat.of().formatHex(bytes);
+    }
+}
@@ -0,0 +1,93 @@
+package com.aksi.service.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.core.io.FileSystemResource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.aksi.exception.BadRequestException;
+
+class Base64StreamingTest {
+
+    @TempDir Path root;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 49151, 49152, 49153, 200_000})
+    @DisplayName("Should encode files chunk by chunk exactly like the JDK encoder")
+    void shouldEncodeAcrossChunkBoundaries(int size) throws IOException {
+        // Given
+        byte[] data = randomBytes(size);
+        Path file = Files.write(root.resolve("file"), data);
+        Base64FileResource resource =
+            new Base64FileResource(new FileSystemResource(file), size, "file");
+
+        // When
+        byte[] encoded;
+        try (InputStream in = resource.getInputStream()) {
+            encoded = in.readAllBytes();
+        }
+
+        // Then
+        assertThat(new String(encoded, StandardCharsets.US_ASCII))
+            .isEqualTo(Base64.getEncoder().encodeToString(data));
+        assertThat(resource.contentLength()).isEqualTo(encoded.length);
+    }
+
+    @Test
+    @DisplayName("Should decode wrapped base64 with data URL prefix")
+    void shouldDecodeDataUrlWithLineBreaks() throws IOException {
+        // Given
+        byte[] data = randomBytes(10_000);
+        String text =
+            "data:image/png;base64," + Base64.getMimeEncoder().encodeToString(data) + "\r\n";
+
+        // When
+        Base64DecodingInputStream decoded =
+            Base64DecodingInputStream.decode(
+                new ByteArrayInputStream(text.getBytes(StandardCharsets.US_ASCII)));
+
+        // Then
+        assertThat(decoded.readAllBytes()).isEqualTo(data);
+        assertThat(decoded.declaredContentType()).isEqualTo("image/png");
+    }
+
+    @Test
+    @DisplayName("Should reject characters outside the base64 alphabet")
+    void shouldRejectInvalidCharacters() {
+        // Given
+        Base64DecodingInputStream decoded = Base64DecodingInputStream.decode("QUJD*EFG");
+
+        // When & Then
+        assertThatThrownBy(decoded::readAllBytes)
+            .isInstanceOf(BadRequestException.class)
+            .hasMessage("Invalid base64 data provided");
+    }
+
+    @Test
+    @DisplayName("Should reject data URLs that are not base64 encoded")
+    void shouldRejectPlainDataUrl() {
+        assertThatThrownBy(() -> Base64DecodingInputStream.decode("data:text/plain,QUJD"))
+            .isInstanceOf(BadRequestException.class)
+            .hasMessage("Data URL is not base64 encoded");
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] data = new byte[size];
+        new Random(size).nextBytes(data);
+        return data;
+    }
+}
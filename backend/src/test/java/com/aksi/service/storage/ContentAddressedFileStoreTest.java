@@ -0,0 +1,107 @@
+package com.aksi.service.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.aksi.exception.BadRequestException;
+import com.aksi.service.storage.ContentAddressedFileStore.StagedFile;
+import com.aksi.service.storage.backend.LocalStorageBackend;
+import com.aksi.service.storage.backend.LocalStorageBackend.FsyncPolicy;
+import com.aksi.service.storage.backend.LocalStorageBackend.Layout;
+
+class ContentAddressedFileStoreTest {
+
+    private static final String PHOTO_SHA256 =
+        "55c64d0fcd6f9d5f7c828093857e3fdfda68478bb4e9bd24d481ef391c7804e8";
+    private static final String OTHER_SHA256 =
+        "d9298a10d1b0735837dc4bd85dac641b0f3cef27a47e5d53a54f2f3f5b2fcffa";
+
+    @TempDir Path root;
+
+    private ContentAddressedFileStore store;
+
+    @BeforeEach
+    void setUp() {
+        store =
+            new ContentAddressedFileStore(
+                new FilePathResolver(root.toString(), "http://localhost", "/api/files"),
+                new LocalStorageBackend(root, Layout.SHARDED, FsyncPolicy.NONE));
+    }
+
+    @Test
+    @DisplayName("Should hash while staging and store identical content once")
+    void shouldDeduplicateIdenticalContent() throws IOException {
+        // Given
+        StagedFile first = store.stage(content("photo"), 1024);
+        StagedFile second = store.stage(content("photo"), 1024);
+        String path = ContentAddressedFileStore.contentPath(first.contentHash());
+
+        // When
+        store.moveInto(first, path, false);
+        store.moveInto(second, path, false);
+
+        // Then
+        assertThat(first.contentHash()).isEqualTo(PHOTO_SHA256);
+        assertThat(second.contentHash()).isEqualTo(PHOTO_SHA256);
+        assertThat(first.size()).isEqualTo(5);
+        assertThat(path)
+            .startsWith("cas/" + first.contentHash().substring(0, 2) + "/")
+            .endsWith(first.contentHash());
+        assertThat(Files.readString(root.resolve(path))).isEqualTo("photo");
+        assertThat(tempFiles()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject content over the size limit and leave no temp file")
+    void shouldRejectOversizedContent() throws IOException {
+        // When / Then
+        assertThatThrownBy(() -> store.stage(content("too large"), 4))
+            .isInstanceOf(BadRequestException.class);
+        assertThat(tempFiles()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should detect missing and modified files")
+    void shouldVerifyStoredContent() throws IOException {
+        // Given
+        StagedFile staged = store.stage(content("photo"), 1024);
+        String path = ContentAddressedFileStore.contentPath(staged.contentHash());
+        store.moveInto(staged, path, false);
+
+        // When / Then
+        assertThat(store.verify(path, staged.contentHash())).isTrue();
+        assertThat(store.verify(path, OTHER_SHA256)).isFalse();
+
+        Files.writeString(root.resolve(path), "bit rot");
+        assertThat(store.verify(path, staged.contentHash())).isFalse();
+
+        Files.delete(root.resolve(path));
+        assertThat(store.verify(path, staged.contentHash())).isFalse();
+    }
+
+    private static ByteArrayInputStream content(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private long tempFiles() throws IOException {
+        Path tempDir = root.resolve(ContentAddressedFileStore.TEMP_DIR);
+        if (!Files.exists(tempDir)) {
+            return 0;
+        }
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.count();
+        }
+    }
+}
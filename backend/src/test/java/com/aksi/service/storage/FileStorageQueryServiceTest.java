@@ -0,0 +1,130 @@
+package com.aksi.service.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+import com.aksi.api.file.dto.ImageSize;
+import com.aksi.domain.storage.StoredFileEntity;
+import com.aksi.exception.NotFoundException;
+import com.aksi.repository.StoredFileRepository;
+import com.aksi.service.storage.backend.LocalStorageBackend;
+import com.aksi.service.storage.backend.LocalStorageBackend.FsyncPolicy;
+import com.aksi.service.storage.backend.LocalStorageBackend.Layout;
+
+@ExtendWith(MockitoExtension.class)
+class FileStorageQueryServiceTest {
+
+    private static final String PHOTO_SHA256 =
+        "55c64d0fcd6f9d5f7c828093857e3fdfda68478bb4e9bd24d481ef391c7804e8";
+
+    @TempDir Path root;
+
+    @Mock private StoredFileRepository storedFileRepository;
+
+    private LocalStorageBackend backend;
+    private FileStorageQueryService queryService;
+
+    @BeforeEach
+    void setUp() {
+        backend = new LocalStorageBackend(root, Layout.SHARDED, FsyncPolicy.NONE);
+        queryService =
+            new FileStorageQueryService(
+                new FilePathResolver(root.toString(), "http://localhost", "/api/files"),
+                new FileValidationService(),
+                storedFileRepository,
+                backend);
+    }
+
+    @Test
+    @DisplayName("Should serve original content as immutable with its hash as entity tag")
+    void shouldServeOriginalAsImmutable() throws IOException {
+        // Given
+        String path = ContentAddressedFileStore.contentPath(PHOTO_SHA256);
+        put(path, "photo");
+        StoredFileEntity storedFile = new StoredFileEntity();
+        storedFile.setContentType("image/jpeg");
+        when(storedFileRepository.findByContentHash(PHOTO_SHA256))
+            .thenReturn(Optional.of(storedFile));
+
+        // When
+        ServedFile served = queryService.serveFile(path);
+
+        // Then
+        assertThat(served.immutable()).isTrue();
+        assertThat(served.etag()).isEqualTo("\"sha256-" + PHOTO_SHA256 + "\"");
+        assertThat(served.contentType()).isEqualTo(MediaType.IMAGE_JPEG);
+        assertThat(served.resource().contentLength()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should revalidate derivatives stored next to content")
+    void shouldRevalidateDerivatives() throws IOException {
+        // Given
+        String original = ContentAddressedFileStore.contentPath(PHOTO_SHA256);
+        String thumbnail = ImageDerivativeService.derivativePath(original, ImageSize.THUMBNAIL);
+        put(thumbnail, "thumbnail");
+
+        // When
+        ServedFile served = queryService.serveFile(thumbnail);
+
+        // Then
+        assertThat(thumbnail).startsWith(ContentAddressedFileStore.CONTENT_DIR + "/");
+        assertThat(served.immutable()).isFalse();
+        assertThat(served.etag()).doesNotContain("sha256").matches("\"[0-9a-f]+-9\"");
+        assertThat(served.contentType()).isEqualTo(MediaType.IMAGE_JPEG);
+    }
+
+    @Test
+    @DisplayName("Should revalidate files stored by name")
+    void shouldRevalidateLegacyFiles() throws IOException {
+        // Given
+        put("orders/photos/item-1.png", "legacy");
+
+        // When
+        ServedFile served = queryService.serveFile("orders/photos/item-1.png");
+
+        // Then
+        assertThat(served.immutable()).isFalse();
+        assertThat(served.contentType()).isEqualTo(MediaType.IMAGE_PNG);
+    }
+
+    @Test
+    @DisplayName("Should report missing files as not found")
+    void shouldRejectMissingFile() {
+        assertThatThrownBy(() -> queryService.serveFile("orders/photos/missing.jpg"))
+            .isInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should recognize only original content paths")
+    void shouldRecognizeContentPaths() {
+        String original = ContentAddressedFileStore.contentPath(PHOTO_SHA256);
+
+        assertThat(ContentAddressedFileStore.isContentPath(original)).isTrue();
+        assertThat(ContentAddressedFileStore.isContentPath(
+            ImageDerivativeService.derivativePath(original, ImageSize.PREVIEW))).isFalse();
+        assertThat(ContentAddressedFileStore.isContentPath(original.toUpperCase())).isFalse();
+        assertThat(ContentAddressedFileStore.isContentPath("cas/00/00/" + PHOTO_SHA256)).isFalse();
+        assertThat(ContentAddressedFileStore.isContentPath(PHOTO_SHA256)).isFalse();
+    }
+
+    private void put(String key, String content) throws IOException {
+        Path source = Files.writeString(Files.createTempFile(root, "source", ".tmp"), content);
+        backend.put(key, source, "application/octet-stream");
+    }
+}
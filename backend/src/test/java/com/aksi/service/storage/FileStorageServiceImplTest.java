@@ -0,0 +1,84 @@
+package com.aksi.service.storage;
+
+import java.time.Instant;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.MediaType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import com.aksi.api.file.dto.ImageSize;
+
+@ExtendWith(MockitoExtension.class)
+class FileStorageServiceImplTest {
+
+    private static final String ORIGINAL = "content/55/c6/55c64d0f";
+    private static final String THUMBNAIL = ORIGINAL + ".thumbnail.jpg";
+
+    @Mock private FileStorageQueryService queryService;
+    @Mock private FileStorageCommandService commandService;
+    @Mock private FileResponseBuilder responseBuilder;
+    @Mock private FileValidationService validationService;
+    @Mock private ImageDerivativeService derivativeService;
+
+    @InjectMocks private FileStorageServiceImpl fileStorageService;
+
+    @Test
+    @DisplayName("Should not mark the original immutable when it stands in for a sized copy")
+    void shouldRevalidateOriginalServedForSizedRequest() {
+        // Given
+        when(derivativeService.resolve(ORIGINAL, ImageSize.THUMBNAIL)).thenReturn(ORIGINAL);
+        when(queryService.serveFile(ORIGINAL)).thenReturn(served(true));
+
+        // When
+        ServedFile file = fileStorageService.serveFile(ORIGINAL, ImageSize.THUMBNAIL);
+
+        // Then
+        assertThat(file.immutable()).isFalse();
+        assertThat(file.etag()).isEqualTo(served(true).etag());
+    }
+
+    @Test
+    @DisplayName("Should keep the original immutable when it is requested without a size")
+    void shouldKeepOriginalImmutable() {
+        // Given
+        when(queryService.serveFile(ORIGINAL)).thenReturn(served(true));
+
+        // When
+        ServedFile file = fileStorageService.serveFile(ORIGINAL, null);
+
+        // Then
+        assertThat(file.immutable()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should serve the sized copy when it could be generated")
+    void shouldServeDerivative() {
+        // Given
+        ServedFile derivative = served(false);
+        when(derivativeService.resolve(ORIGINAL, ImageSize.THUMBNAIL)).thenReturn(THUMBNAIL);
+        when(queryService.serveFile(THUMBNAIL)).thenReturn(derivative);
+
+        // When
+        ServedFile file = fileStorageService.serveFile(ORIGINAL, ImageSize.THUMBNAIL);
+
+        // Then
+        assertThat(file).isSameAs(derivative);
+    }
+
+    private static ServedFile served(boolean immutable) {
+        return new ServedFile(
+            new ByteArrayResource(new byte[] {1}),
+            MediaType.IMAGE_JPEG,
+            Instant.EPOCH,
+            "\"sha256-55c64d0f\"",
+            immutable);
+    }
+}
@@ -0,0 +1,253 @@
+package com.aksi.service.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+import com.aksi.config.FileGcProperties;
+import com.aksi.config.FileGcProperties.Action;
+import com.aksi.domain.storage.StoredFileEntity;
+import com.aksi.exception.ConflictException;
+import com.aksi.repository.ItemPhotoRepository;
+import com.aksi.repository.OrderArchiveEntryRepository;
+import com.aksi.repository.StoredFileRepository;
+import com.aksi.service.order.archive.OrderArchiveReader;
+import com.aksi.service.storage.OrphanFileCollector.GcReport;
+import com.aksi.service.storage.backend.LocalStorageBackend;
+import com.aksi.service.storage.backend.LocalStorageBackend.FsyncPolicy;
+import com.aksi.service.storage.backend.LocalStorageBackend.Layout;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class OrphanFileCollectorTest {
+
+    private static final String REFERENCED_HASH = "ab".repeat(32);
+    private static final String ORPHANED_HASH = "cd".repeat(32);
+
+    @TempDir Path root;
+    @TempDir Path source;
+
+    @Mock private StoredFileRepository storedFileRepository;
+    @Mock private ItemPhotoRepository itemPhotoRepository;
+    @Mock private OrderArchiveEntryRepository archiveEntryRepository;
+    @Mock private OrderArchiveReader archiveReader;
+    @Mock private PlatformTransactionManager transactionManager;
+    @Mock private StringRedisTemplate redisTemplate;
+    @Mock private ValueOperations<String, String> valueOperations;
+
+    private LocalStorageBackend backend;
+    private FileGcProperties properties;
+    private OrphanFileCollector collector;
+
+    private final UUID orderId = UUID.randomUUID();
+    private final UUID itemId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        backend = new LocalStorageBackend(root, Layout.SHARDED, FsyncPolicy.NONE);
+        properties = new FileGcProperties();
+        properties.setMaxOperationsPerSecond(0);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient()
+            .when(valueOperations.setIfAbsent(
+                eq(properties.getLeaseKey()), anyString(), any(Duration.class)))
+            .thenReturn(true);
+        collector =
+            new OrphanFileCollector(
+                backend,
+                new FilePathResolver(root.toString(), "http://localhost", "/api/files"),
+                storedFileRepository,
+                itemPhotoRepository,
+                archiveEntryRepository,
+                archiveReader,
+                properties,
+                new SimpleMeterRegistry(),
+                new TransactionTemplate(transactionManager),
+                redisTemplate);
+    }
+
+    @Test
+    @DisplayName("Should quarantine old unreferenced files and keep referenced, recent and unknown ones")
+    void shouldQuarantineOnlyOldUnreferencedFiles() throws IOException {
+        // Given
+        String referencedContent = ContentAddressedFileStore.contentPath(REFERENCED_HASH);
+        String orphanedContent = ContentAddressedFileStore.contentPath(ORPHANED_HASH);
+        String referencedPhoto = photoPath("kept.jpg");
+        String orphanedPhoto = photoPath("lost.jpg");
+        String recentPhoto = photoPath("new.jpg");
+        String unknownFile = "orders/exports/report.csv";
+        store(referencedContent, 30);
+        store(referencedContent + ".thumbnail.jpg", 30);
+        store(orphanedContent, 30);
+        store(orphanedContent + ".thumbnail.jpg", 30);
+        store(referencedPhoto, 30);
+        store(orphanedPhoto, 30);
+        store(recentPhoto, 1);
+        store(unknownFile, 30);
+        when(storedFileRepository.findExistingStoragePaths(anyCollection()))
+            .thenReturn(List.of(referencedContent));
+        when(itemPhotoRepository.findUrlsByOrderItemIds(anyCollection()))
+            .thenReturn(List.of("http://localhost/api/files/" + referencedPhoto));
+
+        // When
+        GcReport report = collector.collect(Action.QUARANTINE);
+
+        // Then
+        assertThat(report.orphans()).isEqualTo(3);
+        assertThat(report.sample())
+            .containsExactlyInAnyOrder(
+                orphanedContent, orphanedContent + ".thumbnail.jpg", orphanedPhoto);
+        assertThat(report.reclaimedBytes()).isEqualTo(report.orphanBytes()).isPositive();
+        assertThat(backend.exists(orphanedContent)).isFalse();
+        assertThat(backend.exists(orphanedPhoto)).isFalse();
+        assertThat(backend.exists(quarantined(orphanedPhoto))).isTrue();
+        assertThat(backend.exists(referencedContent)).isTrue();
+        assertThat(backend.exists(referencedContent + ".thumbnail.jpg")).isTrue();
+        assertThat(backend.exists(referencedPhoto)).isTrue();
+        assertThat(backend.exists(recentPhoto)).isTrue();
+        assertThat(backend.exists(unknownFile)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should only report orphans on a dry run")
+    void shouldOnlyReportOrphansOnDryRun() throws IOException {
+        // Given
+        String orphanedPhoto = photoPath("lost.jpg");
+        store(orphanedPhoto, 30);
+
+        // When
+        GcReport report = collector.collect(Action.REPORT);
+
+        // Then
+        assertThat(report.orphans()).isEqualTo(1);
+        assertThat(report.reclaimedBytes()).isZero();
+        assertThat(backend.exists(orphanedPhoto)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should delete quarantined files after the retention period")
+    void shouldDeleteExpiredQuarantinedFiles() throws IOException {
+        // Given
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        String expired = "quarantine/" + today.minusDays(31) + "/" + photoPath("old.jpg");
+        String retained = "quarantine/" + today.minusDays(2) + "/" + photoPath("recent.jpg");
+        store(expired, 31);
+        store(retained, 31);
+
+        // When
+        GcReport report = collector.collect(Action.DELETE);
+
+        // Then
+        assertThat(report.quarantinePurged()).isEqualTo(1);
+        assertThat(backend.exists(expired)).isFalse();
+        assertThat(backend.exists(retained)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should keep content that was stored again after the batch query")
+    void shouldKeepContentRegisteredMeanwhile() throws IOException {
+        // Given: the batch query finds no record, the recheck under the row lock does
+        String content = ContentAddressedFileStore.contentPath(ORPHANED_HASH);
+        store(content, 30);
+        store(content + ".thumbnail.jpg", 30);
+        when(storedFileRepository.findExistingStoragePaths(anyCollection())).thenReturn(List.of());
+        when(storedFileRepository.findByContentHashForUpdate(ORPHANED_HASH))
+            .thenReturn(Optional.of(new StoredFileEntity()));
+
+        // When
+        GcReport report = collector.collect(Action.DELETE);
+
+        // Then
+        assertThat(report.orphans()).isEqualTo(2);
+        assertThat(report.reclaimedBytes()).isZero();
+        assertThat(backend.exists(content)).isTrue();
+        assertThat(backend.exists(content + ".thumbnail.jpg")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should keep files replaced after they were listed")
+    void shouldKeepFilesReplacedMeanwhile() throws IOException {
+        // Given: an upload replaces the file while its batch is checked against the database
+        String content = ContentAddressedFileStore.contentPath(ORPHANED_HASH);
+        store(content, 30);
+        when(storedFileRepository.findExistingStoragePaths(anyCollection())).thenAnswer(query -> {
+            Files.setLastModifiedTime(
+                backend.localPath(content).orElseThrow(), FileTime.from(Instant.now()));
+            return List.of();
+        });
+
+        // When
+        GcReport report = collector.collect(Action.QUARANTINE);
+
+        // Then
+        assertThat(report.orphans()).isEqualTo(1);
+        assertThat(report.reclaimedBytes()).isZero();
+        assertThat(backend.exists(content)).isTrue();
+        assertThat(backend.exists(quarantined(content))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should not collect while another instance holds the lease")
+    void shouldRejectConcurrentCollection() throws IOException {
+        // Given
+        String orphanedPhoto = photoPath("lost.jpg");
+        store(orphanedPhoto, 30);
+        doReturn(false)
+            .when(valueOperations)
+            .setIfAbsent(eq(properties.getLeaseKey()), anyString(), any(Duration.class));
+
+        // When / Then
+        assertThatThrownBy(() -> collector.collect(Action.DELETE))
+            .isInstanceOf(ConflictException.class);
+        assertThat(backend.exists(orphanedPhoto)).isTrue();
+    }
+
+    private String photoPath(String filename) {
+        return "orders/" + orderId + "/items/" + itemId + "/photos/" + filename;
+    }
+
+    private String quarantined(String key) {
+        return "quarantine/" + LocalDate.now(ZoneOffset.UTC) + "/" + key;
+    }
+
+    private void store(String key, int ageDays) throws IOException {
+        Path file = Files.createTempFile(source, "file", ".tmp");
+        Files.writeString(file, key);
+        backend.put(key, file, null);
+        Files.setLastModifiedTime(
+            backend.localPath(key).orElseThrow(),
+            FileTime.from(Instant.now().minus(ageDays, ChronoUnit.DAYS)));
+    }
+}
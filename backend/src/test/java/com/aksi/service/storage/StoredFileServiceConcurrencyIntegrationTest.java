@@ -0,0 +1,96 @@
+package com.aksi.service.storage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockMultipartFile;
+
+import com.aksi.domain.storage.StoredFileEntity;
+import com.aksi.integration.BaseIntegrationTest;
+import com.aksi.repository.StoredFileRepository;
+
+/**
+ * Concurrent first uploads of identical content: every upload gets a reference to one stored file
+ * instead of all but one failing on the unique content hash
+ */
+class StoredFileServiceConcurrencyIntegrationTest extends BaseIntegrationTest {
+
+    private static final int UPLOADS = 8;
+
+    @Autowired
+    private StoredFileService storedFileService;
+
+    @Autowired
+    private StoredFileRepository storedFileRepository;
+
+    @Autowired
+    private ContentAddressedFileStore fileStore;
+
+    @Test
+    @DisplayName("Should count one reference per concurrent upload of new content")
+    void shouldDeduplicateConcurrentFirstUploads() throws Exception {
+        // Given
+        byte[] content = ("photo " + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(UPLOADS);
+
+        // When
+        List<Future<StoredFileEntity>> uploads = new ArrayList<>();
+        try {
+            for (int i = 0; i < UPLOADS; i++) {
+                MockMultipartFile file =
+                    new MockMultipartFile("file", "photo-" + i + ".jpg", "image/jpeg", content);
+                uploads.add(executor.submit(() -> {
+                    start.await();
+                    return storedFileService.store(file);
+                }));
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        // Then
+        List<String> hashes = new ArrayList<>();
+        for (Future<StoredFileEntity> upload : uploads) {
+            hashes.add(upload.get().getContentHash());
+        }
+        assertThat(hashes).hasSize(UPLOADS).containsOnly(hashes.getFirst());
+
+        StoredFileEntity storedFile =
+            storedFileRepository.findByContentHash(hashes.getFirst()).orElseThrow();
+        assertThat(storedFile.getReferenceCount()).isEqualTo(UPLOADS);
+        assertThat(fileStore.verify(storedFile.getStoragePath(), storedFile.getContentHash()))
+            .isTrue();
+    }
+
+    @Test
+    @DisplayName("Should take another reference when known content is uploaded again")
+    void shouldReferenceKnownContent() {
+        // Given
+        byte[] content = ("photo " + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8);
+        StoredFileEntity first = storedFileService.store(
+            new MockMultipartFile("file", "first.jpg", "image/jpeg", content));
+
+        // When
+        StoredFileEntity second = storedFileService.store(
+            new MockMultipartFile("file", "second.jpg", "image/jpeg", content));
+
+        // Then
+        assertThat(second.getId()).isEqualTo(first.getId());
+        assertThat(storedFileRepository.findByContentHash(first.getContentHash()))
+            .hasValueSatisfying(stored -> assertThat(stored.getReferenceCount()).isEqualTo(2));
+    }
+}
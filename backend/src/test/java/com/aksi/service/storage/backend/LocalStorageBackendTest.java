@@ -0,0 +1,109 @@
+package com.aksi.service.storage.backend;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.aksi.service.storage.backend.LocalStorageBackend.FsyncPolicy;
+import com.aksi.service.storage.backend.LocalStorageBackend.Layout;
+
+class LocalStorageBackendTest {
+
+    @TempDir Path root;
+
+    private LocalStorageBackend backend() {
+        return new LocalStorageBackend(root, Layout.SHARDED, FsyncPolicy.FILE_AND_DIRECTORY);
+    }
+
+    @Test
+    @DisplayName("Should store keys in hash-sharded directories and read them back")
+    void shouldShardKeys() throws IOException {
+        // Given
+        LocalStorageBackend backend = backend();
+        Path source = Files.writeString(root.resolve("source"), "photo");
+
+        // When
+        backend.put("orders/photo.jpg", source, "image/jpeg");
+
+        // Then
+        Path stored = backend.localPath("orders/photo.jpg").orElseThrow();
+        assertThat(root.relativize(stored).toString().replace('\\', '/'))
+            .matches("shards/[0-9a-f]{2}/[0-9a-f]{2}/orders/photo\\.jpg");
+        assertThat(Files.exists(source)).isFalse();
+        assertThat(read(backend, "orders/photo.jpg")).isEqualTo("photo");
+        assertThat(backend.stat("orders/photo.jpg")).hasValueSatisfying(
+            object -> assertThat(object.size()).isEqualTo(5));
+    }
+
+    @Test
+    @DisplayName("Should keep content-addressed keys at their own path")
+    void shouldNotReshardContentAddressedKeys() throws IOException {
+        // Given
+        LocalStorageBackend backend = backend();
+        Path source = Files.writeString(root.resolve("source"), "photo");
+
+        // When
+        backend.put("cas/55/c6/55c64d0f", source, "application/octet-stream");
+
+        // Then
+        assertThat(Files.readString(root.resolve("cas/55/c6/55c64d0f"))).isEqualTo("photo");
+    }
+
+    @Test
+    @DisplayName("Should read and delete files written by the flat layout")
+    void shouldFallBackToFlatLayout() throws IOException {
+        // Given
+        LocalStorageBackend backend = backend();
+        Files.createDirectories(root.resolve("orders"));
+        Files.writeString(root.resolve("orders/legacy.jpg"), "legacy");
+
+        // When / Then
+        assertThat(backend.exists("orders/legacy.jpg")).isTrue();
+        assertThat(read(backend, "orders/legacy.jpg")).isEqualTo("legacy");
+        assertThat(backend.delete("orders/legacy.jpg")).isTrue();
+        assertThat(backend.exists("orders/legacy.jpg")).isFalse();
+        assertThat(backend.delete("orders/legacy.jpg")).isFalse();
+        assertThatThrownBy(() -> backend.open("orders/legacy.jpg"))
+            .isInstanceOf(NoSuchFileException.class);
+    }
+
+    @Test
+    @DisplayName("Should recreate a cached directory that was removed")
+    void shouldRecreateRemovedDirectory() throws IOException {
+        // Given
+        LocalStorageBackend backend = backend();
+        backend.put("orders/a.jpg", Files.writeString(root.resolve("a"), "a"), "image/jpeg");
+        Path directory = backend.localPath("orders/a.jpg").orElseThrow().getParent();
+        backend.delete("orders/a.jpg");
+        Files.delete(directory);
+
+        // When
+        backend.put("orders/a.jpg", Files.writeString(root.resolve("b"), "b"), "image/jpeg");
+
+        // Then
+        assertThat(read(backend, "orders/a.jpg")).isEqualTo("b");
+    }
+
+    @Test
+    @DisplayName("Should reject keys escaping the storage root")
+    void shouldRejectEscapingKeys() {
+        assertThatThrownBy(() -> backend().stat("../outside"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String read(StorageBackend backend, String key) throws IOException {
+        try (InputStream in = backend.open(key)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.aksi.service.storage.backend;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.testcontainers.containers.MinIOContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+
+@Testcontainers(disabledWithoutDocker = true)
+class S3StorageBackendTest {
+
+    private static final String BUCKET = "aksi-files";
+
+    @Container
+    static MinIOContainer minio = new MinIOContainer("minio/minio:RELEASE.2023-09-04T19-57-37Z");
+
+    private static S3Client client;
+
+    @TempDir Path staging;
+
+    @BeforeAll
+    static void createBucket() {
+        client =
+            S3Client.builder()
+                .endpointOverride(URI.create(minio.getS3URL()))
+                .region(Region.US_EAST_1)
+                .forcePathStyle(true)
+                .credentialsProvider(
+                    StaticCredentialsProvider.create(
+                        AwsBasicCredentials.create(minio.getUserName(), minio.getPassword())))
+                .build();
+        client.createBucket(request -> request.bucket(BUCKET));
+    }
+
+    @AfterAll
+    static void closeClient() {
+        client.close();
+    }
+
+    @Test
+    @DisplayName("Should store, stat, read and delete a small object")
+    void shouldRoundTripSmallObject() throws IOException {
+        // Given
+        S3StorageBackend backend = new S3StorageBackend(client, BUCKET, "test", 0);
+        byte[] data = randomBytes(1024);
+        Path source = Files.write(staging.resolve("small"), data);
+
+        // When
+        backend.put("orders/photo.jpg", source, "image/jpeg");
+
+        // Then
+        assertThat(backend.stat("orders/photo.jpg"))
+            .hasValueSatisfying(object -> assertThat(object.size()).isEqualTo(1024));
+        assertThat(read(backend, "orders/photo.jpg")).isEqualTo(data);
+        assertThat(backend.localPath("orders/photo.jpg")).isEmpty();
+        assertThat(
+                client
+                    .headObject(request -> request.bucket(BUCKET).key("test/orders/photo.jpg"))
+                    .contentType())
+            .isEqualTo("image/jpeg");
+
+        assertThat(backend.delete("orders/photo.jpg")).isTrue();
+        assertThat(backend.stat("orders/photo.jpg")).isEmpty();
+        assertThat(backend.delete("orders/photo.jpg")).isFalse();
+        assertThatThrownBy(() -> backend.open("orders/photo.jpg"))
+            .isInstanceOf(NoSuchFileException.class);
+    }
+
+    @Test
+    @DisplayName("Should upload files larger than the part size in parts")
+    void shouldUploadLargeObjectInParts() throws IOException {
+        // Given
+        S3StorageBackend backend =
+            new S3StorageBackend(client, BUCKET, "", S3StorageBackend.MIN_PART_SIZE);
+        byte[] data = randomBytes((int) (2.5 * S3StorageBackend.MIN_PART_SIZE));
+        Path source = Files.write(staging.resolve("large"), data);
+
+        // When
+        backend.put("cas/ab/cd/large", source, "application/octet-stream");
+
+        // Then
+        assertThat(backend.stat("cas/ab/cd/large"))
+            .hasValueSatisfying(object -> assertThat(object.size()).isEqualTo(data.length));
+        assertThat(read(backend, "cas/ab/cd/large")).isEqualTo(data);
+        assertThat(client.listMultipartUploads(request -> request.bucket(BUCKET)).uploads())
+            .isEmpty();
+    }
+
+    private static byte[] read(StorageBackend backend, String key) throws IOException {
+        try (InputStream in = backend.open(key)) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] data = new byte[size];
+        new Random(size).nextBytes(data);
+        return data;
+    }
+}
@@ -0,0 +1,205 @@
+package com.aksi.service.storage.image;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExifOrientationTest {
+
+    private static final int APP0 = 0xFFE0;
+    private static final int APP1 = 0xFFE1;
+    private static final int TAG_ORIENTATION = 0x0112;
+    private static final int TAG_RESOLUTION_UNIT = 0x0128;
+
+    /** Pixels of a 3x2 test image: A B C / D E F */
+    private static final int A = 0x110000;
+    private static final int B = 0x220000;
+    private static final int C = 0x330000;
+    private static final int D = 0x440000;
+    private static final int E = 0x550000;
+    private static final int F = 0x660000;
+
+    @ParameterizedTest(name = "orientation {0}, {1}")
+    @MethodSource("orientations")
+    @DisplayName("Should read the orientation tag in both TIFF byte orders")
+    void shouldReadOrientation(int orientation, ByteOrder byteOrder) throws IOException {
+        // Given
+        byte[] jpeg = exifJpeg(exif(byteOrder, 8, TAG_ORIENTATION, 1, orientation));
+
+        // When / Then
+        assertThat(ExifOrientation.read(new ByteArrayInputStream(jpeg))).isEqualTo(orientation);
+    }
+
+    static Stream<Arguments> orientations() {
+        return Stream.of(3, 6, 8).flatMap(orientation -> Stream.of(
+            Arguments.of(orientation, ByteOrder.LITTLE_ENDIAN),
+            Arguments.of(orientation, ByteOrder.BIG_ENDIAN)));
+    }
+
+    @Test
+    @DisplayName("Should skip other segments before the EXIF segment")
+    void shouldSkipOtherSegments() throws IOException {
+        // Given
+        byte[] jfif = "JFIF\0\1\1\0\0\1\0\1\0\0".getBytes(StandardCharsets.ISO_8859_1);
+        byte[] xmp =
+            "http://ns.adobe.com/xap/1.0/\0<x:xmpmeta/>".getBytes(StandardCharsets.ISO_8859_1);
+        byte[] jpeg = jpeg(
+            segment(APP0, jfif),
+            segment(APP1, xmp),
+            segment(APP1, exif(ByteOrder.BIG_ENDIAN, 8, TAG_ORIENTATION, 1, 6)));
+
+        // When / Then
+        assertThat(ExifOrientation.read(new ByteArrayInputStream(jpeg))).isEqualTo(6);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("corruptInputs")
+    @DisplayName("Should treat truncated or corrupt input as upright without throwing")
+    void shouldIgnoreCorruptInput(String description, byte[] input) throws IOException {
+        assertThat(ExifOrientation.read(new ByteArrayInputStream(input)))
+            .isEqualTo(ExifOrientation.NORMAL);
+    }
+
+    static Stream<Arguments> corruptInputs() {
+        byte[] exif = exif(ByteOrder.LITTLE_ENDIAN, 8, TAG_ORIENTATION, 1, 6);
+        byte[] valid = exifJpeg(exif);
+        return Stream.of(
+            Arguments.of("empty stream", new byte[0]),
+            Arguments.of("not a JPEG", new byte[] {(byte) 0x89, 'P', 'N', 'G', '\r', '\n'}),
+            Arguments.of("stream ends after SOI", new byte[] {(byte) 0xFF, (byte) 0xD8}),
+            Arguments.of("APP1 cut short", Arrays.copyOf(valid, 2 + 4 + 20)),
+            Arguments.of("APP1 length below two", concat(
+                new byte[] {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE1, 0, 1}, exif)),
+            Arguments.of("TIFF header cut off", exifJpeg(Arrays.copyOf(exif, 10))),
+            Arguments.of("IFD offset past the segment",
+                exifJpeg(exif(ByteOrder.BIG_ENDIAN, 0x1000, TAG_ORIENTATION, 1, 6))),
+            Arguments.of("negative IFD offset",
+                exifJpeg(exif(ByteOrder.BIG_ENDIAN, 0xFFFFFFF0, TAG_ORIENTATION, 1, 6))),
+            Arguments.of("entry count past the segment",
+                exifJpeg(exif(ByteOrder.LITTLE_ENDIAN, 8, TAG_RESOLUTION_UNIT, 0xFFFF, 2))),
+            Arguments.of("orientation out of range",
+                exifJpeg(exif(ByteOrder.LITTLE_ENDIAN, 8, TAG_ORIENTATION, 1, 9))),
+            Arguments.of("no EXIF segment before the image data", jpeg()));
+    }
+
+    @Test
+    @DisplayName("Should rotate orientation 3 by 180 degrees")
+    void shouldRotateHalfTurn() {
+        // When
+        BufferedImage upright = ExifOrientation.apply(image(), 3);
+
+        // Then: F E D / C B A
+        assertThat(pixels(upright)).containsExactly(new int[] {F, E, D}, new int[] {C, B, A});
+    }
+
+    @Test
+    @DisplayName("Should turn orientation 6 clockwise")
+    void shouldRotateClockwise() {
+        // When
+        BufferedImage upright = ExifOrientation.apply(image(), 6);
+
+        // Then: D A / E B / F C
+        assertThat(pixels(upright))
+            .containsExactly(new int[] {D, A}, new int[] {E, B}, new int[] {F, C});
+    }
+
+    @Test
+    @DisplayName("Should turn orientation 8 counter-clockwise")
+    void shouldRotateCounterClockwise() {
+        // When
+        BufferedImage upright = ExifOrientation.apply(image(), 8);
+
+        // Then: C F / B E / A D
+        assertThat(pixels(upright))
+            .containsExactly(new int[] {C, F}, new int[] {B, E}, new int[] {A, D});
+    }
+
+    @Test
+    @DisplayName("Should return the image itself when it is upright or the tag is invalid")
+    void shouldKeepUprightImage() {
+        BufferedImage image = image();
+        assertThat(ExifOrientation.apply(image, ExifOrientation.NORMAL)).isSameAs(image);
+        assertThat(ExifOrientation.apply(image, 0)).isSameAs(image);
+        assertThat(ExifOrientation.apply(image, 9)).isSameAs(image);
+    }
+
+    /**
+     * EXIF payload of an APP1 segment: "Exif" header, TIFF header and an IFD with one SHORT entry
+     */
+    static byte[] exif(ByteOrder byteOrder, int ifdOffset, int tag, int entryCount, int value) {
+        ByteBuffer buffer = ByteBuffer.allocate(6 + 8 + 2 + 12 + 4).order(byteOrder);
+        buffer.put("Exif\0\0".getBytes(StandardCharsets.ISO_8859_1));
+        String byteOrderMark = byteOrder == ByteOrder.LITTLE_ENDIAN ? "II" : "MM";
+        buffer.put(byteOrderMark.getBytes(StandardCharsets.ISO_8859_1));
+        buffer.putShort((short) 42);
+        buffer.putInt(ifdOffset);
+        buffer.putShort((short) entryCount);
+        buffer.putShort((short) tag);
+        buffer.putShort((short) 3); // SHORT
+        buffer.putInt(1);
+        buffer.putShort((short) value);
+        buffer.putShort((short) 0);
+        buffer.putInt(0); // no next IFD
+        return buffer.array();
+    }
+
+    static byte[] segment(int marker, byte[] payload) {
+        ByteBuffer buffer = ByteBuffer.allocate(4 + payload.length);
+        buffer.putShort((short) marker);
+        buffer.putShort((short) (payload.length + 2));
+        buffer.put(payload);
+        return buffer.array();
+    }
+
+    /** SOI, the given segments, then the start of scan */
+    static byte[] jpeg(byte[]... segments) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(new byte[] {(byte) 0xFF, (byte) 0xD8});
+        for (byte[] segment : segments) {
+            out.writeBytes(segment);
+        }
+        out.writeBytes(new byte[] {(byte) 0xFF, (byte) 0xDA, 0, 2});
+        return out.toByteArray();
+    }
+
+    static byte[] exifJpeg(byte[] exif) {
+        return jpeg(segment(APP1, exif));
+    }
+
+    private static byte[] concat(byte[] first, byte[] second) {
+        byte[] result = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+
+    private static BufferedImage image() {
+        BufferedImage image = new BufferedImage(3, 2, BufferedImage.TYPE_INT_RGB);
+        image.setRGB(0, 0, 3, 2, new int[] {A, B, C, D, E, F}, 0, 3);
+        return image;
+    }
+
+    private static int[][] pixels(BufferedImage image) {
+        int[][] rows = new int[image.getHeight()][];
+        for (int y = 0; y < image.getHeight(); y++) {
+            rows[y] = new int[image.getWidth()];
+            for (int x = 0; x < image.getWidth(); x++) {
+                rows[y][x] = image.getRGB(x, y) & 0xFFFFFF;
+            }
+        }
+        return rows;
+    }
+}
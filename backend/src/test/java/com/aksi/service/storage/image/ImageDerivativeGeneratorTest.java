@@ -0,0 +1,177 @@
+package com.aksi.service.storage.image;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageDerivativeGeneratorTest {
+
+    private static final int TAG_ORIENTATION = 0x0112;
+    private static final int TAG_RESOLUTION_UNIT = 0x0128;
+
+    @TempDir
+    Path directory;
+
+    private final ImageDerivativeGenerator generator = new ImageDerivativeGenerator();
+
+    @Test
+    @DisplayName("Should downscale a photo to the longest side and keep its aspect ratio")
+    void shouldDownscaleUprightPhoto() throws IOException {
+        // Given
+        Path photo = write("photo.jpg", jpeg(400, 200));
+
+        // When
+        BufferedImage thumbnail = generate(photo, 100);
+
+        // Then: red left half, blue right half
+        assertThat(thumbnail.getWidth()).isEqualTo(100);
+        assertThat(thumbnail.getHeight()).isEqualTo(50);
+        assertThat(isRed(thumbnail.getRGB(10, 25))).isTrue();
+        assertThat(isBlue(thumbnail.getRGB(90, 25))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should turn a photo taken in portrait upright")
+    void shouldApplyExifOrientation() throws IOException {
+        // Given: stored landscape, EXIF orientation 6 (turn clockwise), little-endian TIFF
+        byte[] exif = ExifOrientationTest.exif(ByteOrder.LITTLE_ENDIAN, 8, TAG_ORIENTATION, 1, 6);
+        Path photo = write("portrait.jpg", withExif(jpeg(400, 200), exif));
+
+        // When
+        BufferedImage thumbnail = generate(photo, 100);
+
+        // Then: the stored left edge is now the top
+        assertThat(thumbnail.getWidth()).isEqualTo(50);
+        assertThat(thumbnail.getHeight()).isEqualTo(100);
+        assertThat(isRed(thumbnail.getRGB(25, 10))).isTrue();
+        assertThat(isBlue(thumbnail.getRGB(25, 90))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should still generate a thumbnail when the EXIF segment is corrupt")
+    void shouldIgnoreCorruptExif() throws IOException {
+        // Given: an IFD claiming more entries than the segment holds
+        byte[] corrupt = ExifOrientationTest.exif(
+            ByteOrder.BIG_ENDIAN, 8, TAG_RESOLUTION_UNIT, 0xFFFF, 2);
+        Path photo = write("corrupt.jpg", withExif(jpeg(400, 200), corrupt));
+
+        // When
+        BufferedImage thumbnail = generate(photo, 100);
+
+        // Then
+        assertThat(thumbnail.getWidth()).isEqualTo(100);
+        assertThat(thumbnail.getHeight()).isEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("Should not enlarge images smaller than the target size")
+    void shouldNotEnlargeSmallImage() throws IOException {
+        // Given
+        Path photo = write("small.jpg", jpeg(40, 20));
+
+        // When
+        BufferedImage thumbnail = generate(photo, 100);
+
+        // Then
+        assertThat(thumbnail.getWidth()).isEqualTo(40);
+        assertThat(thumbnail.getHeight()).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("Should flatten transparency onto white")
+    void shouldFlattenTransparency() throws IOException {
+        // Given
+        BufferedImage transparent = new BufferedImage(20, 20, BufferedImage.TYPE_INT_ARGB);
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(transparent, "png", png);
+        Path image = write("transparent.png", png.toByteArray());
+
+        // When
+        BufferedImage thumbnail = generate(image, 100);
+
+        // Then
+        Color pixel = new Color(thumbnail.getRGB(10, 10));
+        assertThat(Math.min(pixel.getRed(), Math.min(pixel.getGreen(), pixel.getBlue())))
+            .isGreaterThan(240);
+    }
+
+    @Test
+    @DisplayName("Should write nothing for files that are not images")
+    void shouldSkipNonImages() throws IOException {
+        // Given
+        Path document = write("notes.txt", "not an image".getBytes(StandardCharsets.UTF_8));
+        Path truncated = write("truncated.jpg", Arrays.copyOf(jpeg(400, 200), 20));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        boolean documentGenerated = generator.generate(document, out, 100, 0.8f);
+
+        // Then
+        assertThat(documentGenerated).isFalse();
+        assertThat(out.size()).isZero();
+        assertThat(generator.generate(truncated, out, 100, 0.8f)).isFalse();
+        assertThat(out.size()).isZero();
+    }
+
+    private BufferedImage generate(Path source, int maxDimension) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThat(generator.generate(source, out, maxDimension, 0.9f)).isTrue();
+        BufferedImage result = ImageIO.read(new ByteArrayInputStream(out.toByteArray()));
+        assertThat(result).isNotNull();
+        return result;
+    }
+
+    private Path write(String filename, byte[] content) throws IOException {
+        return Files.write(directory.resolve(filename), content);
+    }
+
+    /** JPEG with a red left half and a blue right half */
+    private static byte[] jpeg(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.RED);
+        graphics.fillRect(0, 0, width / 2, height);
+        graphics.setColor(Color.BLUE);
+        graphics.fillRect(width / 2, 0, width - width / 2, height);
+        graphics.dispose();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpeg", out);
+        return out.toByteArray();
+    }
+
+    /** Insert an APP1 segment right after the SOI marker */
+    private static byte[] withExif(byte[] jpeg, byte[] exif) {
+        byte[] segment = ExifOrientationTest.segment(0xFFE1, exif);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(jpeg, 0, 2);
+        out.writeBytes(segment);
+        out.write(jpeg, 2, jpeg.length - 2);
+        return out.toByteArray();
+    }
+
+    private static boolean isRed(int rgb) {
+        Color color = new Color(rgb);
+        return color.getRed() > 200 && color.getBlue() < 60;
+    }
+
+    private static boolean isBlue(int rgb) {
+        Color color = new Color(rgb);
+        return color.getBlue() > 200 && color.getRed() < 60;
+    }
+}
@@ -0,0 +1,353 @@
+package com.aksi.service.storage.upload;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.aksi.api.file.dto.CreateUploadSessionRequest;
+import com.aksi.api.file.dto.FileUploadResponse;
+import com.aksi.api.file.dto.UploadSessionStatus;
+import com.aksi.config.ChunkedUploadProperties;
+import com.aksi.exception.BadRequestException;
+import com.aksi.exception.ConflictException;
+import com.aksi.exception.NotFoundException;
+import com.aksi.service.storage.ContentAddressedFileStore;
+import com.aksi.service.storage.FileMetadataService;
+import com.aksi.service.storage.FilePathResolver;
+import com.aksi.service.storage.FileResponseBuilder;
+import com.aksi.service.storage.FileStorageCommandService;
+import com.aksi.service.storage.FileValidationService;
+import com.aksi.service.storage.backend.LocalStorageBackend;
+import com.aksi.service.storage.backend.LocalStorageBackend.FsyncPolicy;
+import com.aksi.service.storage.backend.LocalStorageBackend.Layout;
+
+class ChunkedUploadServiceImplTest {
+
+    private static final int CHUNK_SIZE = 1024;
+    private static final Duration TTL = Duration.ofHours(1);
+
+    @TempDir Path root;
+
+    private final InMemoryUploadSessionStore sessionStore = new InMemoryUploadSessionStore();
+
+    private LocalStorageBackend backend;
+    private ChunkedUploadServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        backend = new LocalStorageBackend(root, Layout.SHARDED, FsyncPolicy.NONE);
+        service = newInstance();
+    }
+
+    /** Another instance sharing the session store and the upload directory */
+    private ChunkedUploadServiceImpl newInstance() {
+        FilePathResolver pathResolver =
+            new FilePathResolver(root.toString(), "http://localhost", "/api/files");
+        FileValidationService validationService = new FileValidationService();
+        ChunkedUploadProperties properties = new ChunkedUploadProperties();
+        properties.setChunkSize(DataSize.ofBytes(CHUNK_SIZE));
+        properties.setSessionTtl(TTL);
+        return new ChunkedUploadServiceImpl(
+            pathResolver,
+            validationService,
+            new FileStorageCommandService(
+                pathResolver,
+                validationService,
+                new ContentAddressedFileStore(pathResolver, backend),
+                backend),
+            new FileResponseBuilder(
+                pathResolver, new FileMetadataService(pathResolver, backend)),
+            properties,
+            sessionStore);
+    }
+
+    @Test
+    @DisplayName("Should assemble chunks sent out of order and retried after a failure")
+    void shouldAssembleChunksInAnyOrder() throws IOException {
+        // Given
+        byte[] data = randomBytes(2 * CHUNK_SIZE + 100);
+        UUID uploadId = start(data, sha256(data)).getUploadId();
+
+        // When
+        write(uploadId, data, 2);
+        assertThatThrownBy(
+                () ->
+                    service.writeChunk(
+                        uploadId, 0, sha256(chunk(data, 1)), stream(chunk(data, 0))))
+            .isInstanceOf(BadRequestException.class);
+        UploadSessionStatus status = write(uploadId, data, 0);
+
+        // Then
+        assertThat(status.getChunkCount()).isEqualTo(3);
+        assertThat(status.getMissingChunks()).containsExactly(1);
+        assertThat(status.getReceivedBytes()).isEqualTo(CHUNK_SIZE + 100);
+        assertThatThrownBy(() -> service.complete(uploadId)).isInstanceOf(ConflictException.class);
+
+        write(uploadId, data, 1);
+        FileUploadResponse response = service.complete(uploadId);
+
+        assertThat(response.getFilePath()).isEqualTo("orders/photos/" + sha256(data) + ".jpg");
+        assertThat(response.getFileSize()).isEqualTo(data.length);
+        try (InputStream in = backend.open(response.getFilePath())) {
+            assertThat(in.readAllBytes()).isEqualTo(data);
+        }
+        assertThatThrownBy(() -> service.getStatus(uploadId))
+            .isInstanceOf(NotFoundException.class);
+        assertThat(partialFiles()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject misaligned offsets and chunks of the wrong length")
+    void shouldRejectInvalidChunks() {
+        // Given
+        byte[] data = randomBytes(2 * CHUNK_SIZE);
+        UUID uploadId = start(data, null).getUploadId();
+        byte[] shortChunk = Arrays.copyOf(chunk(data, 0), CHUNK_SIZE - 1);
+
+        // When / Then
+        assertThatThrownBy(
+                () -> service.writeChunk(uploadId, 10, sha256(shortChunk), stream(shortChunk)))
+            .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(
+                () -> service.writeChunk(uploadId, 0, sha256(shortChunk), stream(shortChunk)))
+            .isInstanceOf(BadRequestException.class);
+        assertThat(service.getStatus(uploadId).getMissingChunks()).containsExactly(0, 1);
+    }
+
+    @Test
+    @DisplayName("Should delete the partial file when an upload is cancelled")
+    void shouldDiscardCancelledUpload() throws IOException {
+        // Given
+        UUID uploadId = start(randomBytes(CHUNK_SIZE), null).getUploadId();
+
+        // When
+        service.cancel(uploadId);
+
+        // Then
+        assertThat(partialFiles()).isZero();
+        assertThatThrownBy(() -> service.cancel(uploadId)).isInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should accept chunks sent to another instance and checksums in upper case")
+    void shouldContinueUploadOnAnotherInstance() throws IOException {
+        // Given
+        byte[] data = randomBytes(2 * CHUNK_SIZE);
+        UUID uploadId = start(data, sha256(data).toUpperCase(Locale.ROOT)).getUploadId();
+        ChunkedUploadServiceImpl otherInstance = newInstance();
+
+        // When
+        write(uploadId, data, 0);
+        byte[] second = chunk(data, 1);
+        UploadSessionStatus status = otherInstance.writeChunk(
+            uploadId, CHUNK_SIZE, sha256(second).toUpperCase(Locale.ROOT), stream(second));
+        FileUploadResponse response = otherInstance.complete(uploadId);
+
+        // Then
+        assertThat(status.getMissingChunks()).isEmpty();
+        assertThat(status.getReceivedBytes()).isEqualTo(data.length);
+        try (InputStream in = backend.open(response.getFilePath())) {
+            assertThat(in.readAllBytes()).isEqualTo(data);
+        }
+        assertThatThrownBy(() -> service.getStatus(uploadId))
+            .isInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should delete partial files of expired sessions but keep those of active ones")
+    void shouldPurgeExpiredUploads() throws IOException {
+        // Given
+        UUID expired = start(randomBytes(CHUNK_SIZE), null).getUploadId();
+        UUID active = start(randomBytes(CHUNK_SIZE), null).getUploadId();
+        sessionStore.expire(expired);
+        Files.setLastModifiedTime(
+            root.resolve(".uploads").resolve(expired + ".part"),
+            FileTime.from(Instant.now().minus(TTL).minusSeconds(60)));
+
+        // When
+        int purged = service.purgeExpired();
+
+        // Then
+        assertThat(purged).isEqualTo(1);
+        assertThat(partialFiles()).isEqualTo(1);
+        assertThat(service.getStatus(active).getMissingChunks()).containsExactly(0);
+        assertThatThrownBy(() -> service.getStatus(expired))
+            .isInstanceOf(NotFoundException.class);
+    }
+
+    private UploadSessionStatus start(byte[] data, String sha256) {
+        CreateUploadSessionRequest request = new CreateUploadSessionRequest();
+        request.setDirectory("orders/photos");
+        request.setOriginalFilename("photo.jpg");
+        request.setTotalSize((long) data.length);
+        request.setSha256(sha256);
+        return service.createSession(request);
+    }
+
+    private UploadSessionStatus write(UUID uploadId, byte[] data, int index) {
+        byte[] chunk = chunk(data, index);
+        long offset = (long) index * CHUNK_SIZE;
+        return service.writeChunk(uploadId, offset, sha256(chunk), stream(chunk));
+    }
+
+    private long partialFiles() throws IOException {
+        try (Stream<Path> files = Files.list(root.resolve(".uploads"))) {
+            return files.count();
+        }
+    }
+
+    private static byte[] chunk(byte[] data, int index) {
+        int from = index * CHUNK_SIZE;
+        return Arrays.copyOfRange(data, from, Math.min(data.length, from + CHUNK_SIZE));
+    }
+
+    private static ByteArrayInputStream stream(byte[] bytes) {
+        return new ByteArrayInputStream(bytes);
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] data = new byte[size];
+        new Random(size).nextBytes(data);
+        return data;
+    }
+
+    /** Session store shared by all instances of a test, like Redis */
+    private static final class InMemoryUploadSessionStore implements UploadSessionStore {
+
+        private final Map<UUID, UploadSession> sessions = new HashMap<>();
+        private final Set<UUID> completing = new HashSet<>();
+
+        @Override
+        public synchronized long countActive() {
+            return sessions.size();
+        }
+
+        @Override
+        public synchronized void create(UploadSession session) {
+            sessions.put(session.id(), session);
+        }
+
+        @Override
+        public synchronized Optional<UploadSession> find(UUID uploadId) {
+            UploadSession session = sessions.get(uploadId);
+            if (session == null
+                || completing.contains(uploadId)
+                || session.expiresAt().isBefore(Instant.now())) {
+                return Optional.empty();
+            }
+            BitSet received = (BitSet) session.received().clone();
+            return Optional.of(copy(session, received, session.expiresAt()));
+        }
+
+        @Override
+        public synchronized boolean beginWrite(UUID uploadId, int index) {
+            return touch(uploadId, index, false);
+        }
+
+        @Override
+        public synchronized boolean markReceived(UUID uploadId, int index) {
+            return touch(uploadId, index, true);
+        }
+
+        @Override
+        public synchronized int closeIfComplete(UUID uploadId, int chunkCount) {
+            Optional<UploadSession> session = find(uploadId);
+            if (session.isEmpty()) {
+                return -1;
+            }
+            int missing = chunkCount - session.get().received().cardinality();
+            if (missing == 0) {
+                completing.add(uploadId);
+            }
+            return missing;
+        }
+
+        @Override
+        public synchronized boolean cancel(UUID uploadId) {
+            return find(uploadId).isPresent() && sessions.remove(uploadId) != null;
+        }
+
+        @Override
+        public synchronized void delete(UUID uploadId) {
+            sessions.remove(uploadId);
+            completing.remove(uploadId);
+        }
+
+        @Override
+        public synchronized boolean exists(UUID uploadId) {
+            UploadSession session = sessions.get(uploadId);
+            return session != null && !session.expiresAt().isBefore(Instant.now());
+        }
+
+        @Override
+        public synchronized int removeExpired() {
+            int before = sessions.size();
+            sessions.values().removeIf(session -> session.expiresAt().isBefore(Instant.now()));
+            return before - sessions.size();
+        }
+
+        /** Let a session run out of time, as Redis would expire its keys */
+        synchronized void expire(UUID uploadId) {
+            UploadSession session = sessions.get(uploadId);
+            sessions.put(
+                uploadId, copy(session, session.received(), Instant.now().minusSeconds(1)));
+        }
+
+        private boolean touch(UUID uploadId, int index, boolean received) {
+            if (find(uploadId).isEmpty()) {
+                return false;
+            }
+            sessions.get(uploadId).received().set(index, received);
+            return true;
+        }
+
+        private static UploadSession copy(
+            UploadSession session, BitSet received, Instant expiresAt) {
+            return new UploadSession(
+                session.id(),
+                session.directory(),
+                session.originalFilename(),
+                session.totalSize(),
+                session.chunkSize(),
+                session.expectedSha256(),
+                received,
+                expiresAt);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.aksi.service.storage.upload;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.BitSet;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.aksi.integration.BaseIntegrationTest;
+
+/** Upload session state and chunk bookkeeping through Redis, as seen by any instance */
+class RedisUploadSessionStoreIntegrationTest extends BaseIntegrationTest {
+
+    private static final int CHUNKS = 10;
+
+    @Autowired
+    private RedisUploadSessionStore sessionStore;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Test
+    @DisplayName("Should record received chunks and expire the session after the TTL")
+    void shouldTrackChunks() {
+        // Given
+        UploadSession session = session(UUID.randomUUID(), "ABCDEF");
+        long activeBefore = sessionStore.countActive();
+        sessionStore.create(session);
+
+        // When: chunks in the first and second byte of the bitmap, one rewritten
+        sessionStore.beginWrite(session.id(), 0);
+        sessionStore.markReceived(session.id(), 0);
+        sessionStore.beginWrite(session.id(), 9);
+        sessionStore.markReceived(session.id(), 9);
+        sessionStore.beginWrite(session.id(), 3);
+
+        // Then
+        UploadSession stored = sessionStore.find(session.id()).orElseThrow();
+        assertThat(stored.received().stream()).containsExactly(0, 9);
+        assertThat(stored.directory()).isEqualTo("orders/photos");
+        assertThat(stored.originalFilename()).isEqualTo("photo.jpg");
+        assertThat(stored.totalSize()).isEqualTo(CHUNKS * 1024L - 100);
+        assertThat(stored.chunkCount()).isEqualTo(CHUNKS);
+        assertThat(stored.expectedSha256()).isEqualTo("ABCDEF");
+        assertThat(stored.expiresAt()).isAfter(session.expiresAt());
+        assertThat(sessionStore.countActive()).isEqualTo(activeBefore + 1);
+        assertThat(sessionStore.closeIfComplete(session.id(), CHUNKS)).isEqualTo(CHUNKS - 2);
+        assertThat(redisTemplate.getExpire(RedisUploadSessionStore.KEY_PREFIX + session.id()))
+            .isPositive();
+        assertThat(redisTemplate.getExpire(
+            RedisUploadSessionStore.KEY_PREFIX + session.id() + ":chunks"))
+            .isPositive();
+    }
+
+    @Test
+    @DisplayName("Should close a complete session for one completion and then reject chunks")
+    void shouldCloseCompleteSession() {
+        // Given
+        UploadSession session = session(UUID.randomUUID(), null);
+        sessionStore.create(session);
+        for (int i = 0; i < CHUNKS; i++) {
+            sessionStore.markReceived(session.id(), i);
+        }
+
+        // When
+        int missing = sessionStore.closeIfComplete(session.id(), CHUNKS);
+
+        // Then
+        assertThat(missing).isZero();
+        assertThat(sessionStore.closeIfComplete(session.id(), CHUNKS)).isEqualTo(-1);
+        assertThat(sessionStore.find(session.id())).isEmpty();
+        assertThat(sessionStore.beginWrite(session.id(), 0)).isFalse();
+        assertThat(sessionStore.cancel(session.id())).isFalse();
+        assertThat(sessionStore.exists(session.id())).isTrue();
+
+        sessionStore.delete(session.id());
+        assertThat(sessionStore.exists(session.id())).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should cancel an open session only once")
+    void shouldCancelOpenSession() {
+        // Given
+        UploadSession session = session(UUID.randomUUID(), null);
+        sessionStore.create(session);
+        sessionStore.markReceived(session.id(), 1);
+
+        // When / Then
+        assertThat(sessionStore.cancel(session.id())).isTrue();
+        assertThat(sessionStore.cancel(session.id())).isFalse();
+        assertThat(sessionStore.exists(session.id())).isFalse();
+        assertThat(sessionStore.markReceived(session.id(), 2)).isFalse();
+        assertThat(redisTemplate.hasKey(
+            RedisUploadSessionStore.KEY_PREFIX + session.id() + ":chunks"))
+            .isFalse();
+    }
+
+    @Test
+    @DisplayName("Should not find sessions it never stored")
+    void shouldNotFindUnknownSession() {
+        UUID uploadId = UUID.randomUUID();
+        assertThat(sessionStore.find(uploadId)).isEmpty();
+        assertThat(sessionStore.markReceived(uploadId, 0)).isFalse();
+        assertThat(sessionStore.closeIfComplete(uploadId, 1)).isEqualTo(-1);
+    }
+
+    private static UploadSession session(UUID uploadId, String expectedSha256) {
+        return new UploadSession(
+            uploadId,
+            "orders/photos",
+            "photo.jpg",
+            CHUNKS * 1024L - 100,
+            1024,
+            expectedSha256,
+            new BitSet(),
+            Instant.now().plus(Duration.ofMinutes(5)));
+    }
+}